@@ -0,0 +1,24 @@
+package org.postgresql.adba;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector} that can accumulate a chunk of rows at a time. Row operations given such a collector hand it the
+ * rows in chunks, rather than calling the accumulator for each row.
+ *
+ * @param <T> the type of the rows
+ * @param <A> the mutable accumulation type
+ * @param <R> the result type
+ */
+public interface PgBatchCollector<T, A, R> extends Collector<T, A, R> {
+
+  /**
+   * A function that folds a chunk of rows into the mutable result container. The chunk is only valid for the duration
+   * of the call.
+   *
+   * @return the function
+   */
+  BiConsumer<A, List<T>> batchAccumulator();
+}
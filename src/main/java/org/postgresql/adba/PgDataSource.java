@@ -5,21 +5,70 @@
 
 package org.postgresql.adba;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import jdk.incubator.sql2.AdbaSessionProperty;
+import jdk.incubator.sql2.ShardingKey;
 import jdk.incubator.sql2.DataSource;
 import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.SessionProperty;
 import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.buffer.DefaultByteBufferPool;
+import org.postgresql.adba.communication.packets.ReadyForQuery.TransactionStatus;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
 import org.postgresql.adba.execution.DefaultNioLoop;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.hostchooser.HostChooser;
+import org.postgresql.adba.hostchooser.HostSpec;
+import org.postgresql.adba.scan.PartitionedScan;
+import org.postgresql.adba.scan.Partitioning;
+import org.postgresql.adba.sharding.PgShardingKey;
+import org.postgresql.adba.sharding.PgShardingKeyBuilder;
+import org.postgresql.adba.sharding.Shard;
+import org.postgresql.adba.sharding.ShardMap;
+import org.postgresql.adba.pool.SessionPool;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class PgDataSource implements DataSource {
+  /**
+   * SQL that starts a read only transaction, as a hint to borrow a read only session.
+   */
+  private static final Pattern READ_ONLY_HINT = Pattern.compile(
+      "\\s*(?:start\\s+transaction|begin|set\\s+(?:session\\s+characteristics\\s+as\\s+)?transaction)\\b[^;]*?\\bread\\s+only\\b",
+      Pattern.CASE_INSENSITIVE);
+
+  /**
+   * Reset statements that drop the prepared statements of the session.
+   */
+  private static final Pattern DROPS_PREPARED_STATEMENTS = Pattern.compile(
+      "\\s*(?:discard\\s+all|deallocate\\s+(?:prepare\\s+)?all)\\b", Pattern.CASE_INSENSITIVE);
+
   private final NioLoop loop;
   private final ByteBufferPool bufferPool;
+  private final TypeRegistry typeRegistry;
+  private final HostChooser hostChooser = new HostChooser();
+  private final Executor completionExecutor;
+  private final boolean rowsOnCompletionExecutor;
+  private final ForkJoinPool parallelRowPool;
+  private final SessionPool<PgSession> pool;
+  private final boolean readReplicaRouting;
+  private final SessionPool<PgSession> readPool;
+  private final ReplicaLagProbe replicaLagProbe;
+  private final Map<Shard, SessionPool<PgSession>> shardPools = new ConcurrentHashMap<>();
   private Queue<PgSession> connections = new ConcurrentLinkedQueue<>();
+  private CompletableFuture<Void> borrowingSessions = CompletableFuture.completedFuture(null);
   private boolean closed;
   private PropertyHolder properties;
   private DefaultNioLoop defaultLoop = null;
@@ -49,6 +98,44 @@ public class PgDataSource implements DataSource {
       pool = new DefaultByteBufferPool();
     }
     this.bufferPool = pool;
+
+    this.typeRegistry = new TypeRegistry((Boolean) this.properties.get(PgDataSourceProperty.RESOLVE_CUSTOM_TYPES));
+
+    this.completionExecutor = (Executor) this.properties.get(PgDataSourceProperty.COMPLETION_EXECUTOR);
+    this.rowsOnCompletionExecutor = completionExecutor != null
+        && Boolean.TRUE.equals(this.properties.get(PgDataSourceProperty.ROWS_ON_COMPLETION_EXECUTOR));
+    this.parallelRowPool = (ForkJoinPool) this.properties.get(PgDataSourceProperty.PARALLEL_ROW_POOL);
+
+    this.readReplicaRouting = (Boolean) this.properties.get(PgDataSourceProperty.READ_REPLICA_ROUTING);
+    this.pool = createPool(false, null);
+    this.readPool = readReplicaRouting ? createPool(true, null) : null;
+
+    List<HostSpec> hosts = readReplicaRouting ? ReplicaLagProbe.hosts(properties) : List.of();
+    if (hosts.size() > 1) {
+      this.replicaLagProbe = new ReplicaLagProbe(this, hosts,
+          (Duration) this.properties.get(PgDataSourceProperty.REPLICA_MAX_LAG),
+          (Duration) this.properties.get(PgDataSourceProperty.REPLICA_LAG_PROBE_INTERVAL));
+      this.replicaLagProbe.start();
+    } else {
+      this.replicaLagProbe = null;
+    }
+  }
+
+  private SessionPool<PgSession> createPool(boolean readOnly, Shard shard) {
+    int poolMaxSize = (Integer) this.properties.get(PgDataSourceProperty.POOL_MAX_SIZE);
+    if (poolMaxSize <= 0) {
+      return null;
+    }
+
+    PooledSessionFactory factory = new PooledSessionFactory(readOnly, shard);
+    SessionPool<PgSession> pool = new SessionPool<>(factory, (Integer) this.properties.get(
+        PgDataSourceProperty.POOL_MIN_SIZE), poolMaxSize,
+        (Duration) this.properties.get(PgDataSourceProperty.POOL_IDLE_TIMEOUT),
+        (Duration) this.properties.get(PgDataSourceProperty.POOL_MAX_LIFETIME),
+        (Boolean) this.properties.get(PgDataSourceProperty.POOL_VALIDATE_ON_BORROW));
+    factory.pool = pool;
+    pool.start();
+    return pool;
   }
 
   /**
@@ -69,6 +156,78 @@ public class PgDataSource implements DataSource {
     return this.bufferPool;
   }
 
+  /**
+   * Obtains the {@link TypeRegistry}.
+   * 
+   * @return {@link TypeRegistry}.
+   */
+  public TypeRegistry getTypeRegistry() {
+    return this.typeRegistry;
+  }
+
+  /**
+   * Obtains the {@link HostChooser}, that keeps the status of the hosts as seen by the sessions of this data source.
+   * 
+   * @return {@link HostChooser}.
+   */
+  public HostChooser getHostChooser() {
+    return this.hostChooser;
+  }
+
+  /**
+   * Indicates if read only sessions are routed to the standbys, see {@link PgDataSourceProperty#READ_REPLICA_ROUTING}.
+   * 
+   * @return true if routing.
+   */
+  public boolean isReadReplicaRouting() {
+    return this.readReplicaRouting;
+  }
+
+  /**
+   * Obtains the {@link Executor} to complete submissions on.
+   * 
+   * @return {@link Executor}. <code>null</code> to complete them on the {@link NioLoop}.
+   */
+  public Executor getCompletionExecutor() {
+    return this.completionExecutor;
+  }
+
+  /**
+   * Indicates if the rows are also handed to the completion {@link Executor}.
+   * 
+   * @return <code>true</code> to collect the rows on the completion {@link Executor}.
+   */
+  public boolean isRowsOnCompletionExecutor() {
+    return this.rowsOnCompletionExecutor;
+  }
+
+  /**
+   * Obtains the {@link ForkJoinPool} to collect rows on in parallel.
+   * 
+   * @return {@link ForkJoinPool}. <code>null</code> to collect the rows as they are read.
+   */
+  public ForkJoinPool getParallelRowPool() {
+    return this.parallelRowPool;
+  }
+
+  /**
+   * Obtains the number of rows handed on at a time.
+   *
+   * @return {@link PgDataSourceProperty#ROW_BATCH_SIZE}.
+   */
+  public int getRowBatchSize() {
+    return (Integer) properties.get(PgDataSourceProperty.ROW_BATCH_SIZE);
+  }
+
+  /**
+   * Obtains how many pooled sessions the members of a parallel group are spread over.
+   *
+   * @return {@link PgDataSourceProperty#PARALLEL_GROUP_MAX_SESSIONS}.
+   */
+  public int getParallelGroupMaxSessions() {
+    return (Integer) properties.get(PgDataSourceProperty.PARALLEL_GROUP_MAX_SESSIONS);
+  }
+
   /**
    * Returns a {@link Session} builder. By default that builder will return
    * {@link Session}s with the {@code SessionProperty}s specified when
@@ -86,12 +245,279 @@ public class PgDataSource implements DataSource {
     return new PgSessionBuilder(this, new PropertyHolder(properties));
   }
   
+  /**
+   * Borrows a {@link Session} from the pool, without blocking. Borrowers are served in the order they borrow, and the
+   * {@link Session} is returned to the pool on close.
+   *
+   * @return completes with the attached {@link Session}
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   */
+  public CompletionStage<Session> borrowSession() {
+    return borrowSession(null);
+  }
+
+  /**
+   * Borrows a {@link Session} from the pool, preferring one that suits the affinity hint so that its statement cache
+   * is reused. Falls back to any idle {@link Session}. When routing to replicas, a hint that starts a read only
+   * transaction, such as <code>START TRANSACTION READ ONLY</code>, borrows a read only {@link Session}.
+   *
+   * @param affinity the SQL about to be run, to prefer a {@link Session} that has it cached, or any key for the caller,
+   *                 to prefer the {@link Session} last borrowed with that key. May be <code>null</code>.
+   * @return completes with the attached {@link Session}
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   */
+  public CompletionStage<Session> borrowSession(Object affinity) {
+    return borrowSession(affinity, isReadOnlyHint(affinity));
+  }
+
+  /**
+   * Borrows a {@link Session} from the pool, see {@link #borrowSession(Object)}.
+   *
+   * @param affinity the affinity hint, may be <code>null</code>
+   * @param readOnly to borrow a read only {@link Session}, from a standby when routing to replicas
+   * @return completes with the attached {@link Session}
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   */
+  public CompletionStage<Session> borrowSession(Object affinity, boolean readOnly) {
+    return borrowSession(affinity, readOnly, null);
+  }
+
+  /**
+   * Borrows a {@link Session} from the pool for a logical context, see {@link #borrowSession(Object)}. Commits of the
+   * {@link Session} advance the context, and a read only {@link Session} is only borrowed from a standby that is known to
+   * have replayed the writes of the context, otherwise from the primary.
+   *
+   * @param affinity the affinity hint, may be <code>null</code>
+   * @param readOnly to borrow a read only {@link Session}, from a standby when routing to replicas
+   * @param readYourWrites the {@link ReadYourWritesContext}, may be <code>null</code>
+   * @return completes with the attached {@link Session}
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   */
+  public CompletionStage<Session> borrowSession(Object affinity, boolean readOnly,
+      ReadYourWritesContext readYourWrites) {
+    if (pool == null) {
+      throw new IllegalStateException("sessions are not pooled, " + PgDataSourceProperty.POOL_MAX_SIZE + " is not set");
+    }
+
+    if (!readOnly || readPool == null) {
+      return pool.borrow(affinity).thenApply(session -> lend(session, readYourWrites));
+    }
+    return readPool.borrow(affinity).thenCompose(session -> {
+      long lsn = readYourWrites == null ? 0 : readYourWrites.getLsn();
+      HostSpec host = session.getHost();
+      if (lsn == 0 || host != null && hostChooser.hasReplayed(host, lsn)) {
+        return CompletableFuture.completedFuture(lend(session, readYourWrites));
+      }
+
+      // the standby may not have the writes yet, so read them from the primary
+      session.close();
+      return pool.borrow(affinity).thenApply(primary -> lend(primary, readYourWrites));
+    });
+  }
+
+  /**
+   * Borrows several {@link Session} from the pool together, see {@link #borrowSession(Object)}. The sessions of one
+   * call are borrowed before those of the next call, so that two callers each holding part of the pool can't wait on
+   * each other. If a borrow fails, the sessions already borrowed are returned to the pool.
+   *
+   * @param count the number of sessions, at most {@link PgDataSourceProperty#POOL_MAX_SIZE}
+   * @param readOnly to borrow read only sessions, from a standby when routing to replicas
+   * @return completes with the attached sessions
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   * @throws IllegalArgumentException if there are more sessions than the pool holds
+   */
+  public CompletionStage<List<Session>> borrowSessions(int count, boolean readOnly) {
+    if (pool == null) {
+      throw new IllegalStateException("sessions are not pooled, " + PgDataSourceProperty.POOL_MAX_SIZE + " is not set");
+    }
+    int poolMaxSize = (Integer) properties.get(PgDataSourceProperty.POOL_MAX_SIZE);
+    if (count < 1 || count > poolMaxSize) {
+      throw new IllegalArgumentException("can't borrow " + count + " sessions together, "
+          + PgDataSourceProperty.POOL_MAX_SIZE + " is " + poolMaxSize);
+    }
+
+    CompletableFuture<List<Session>> sessions;
+    synchronized (this) {
+      sessions = borrowingSessions.thenCompose(v -> {
+        List<CompletableFuture<Session>> borrowed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+          borrowed.add(borrowSession(null, readOnly).toCompletableFuture());
+        }
+        return CompletableFuture.allOf(borrowed.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((all, failure) -> {
+              if (failure != null) {
+                borrowed.stream().filter(b -> b.isDone() && !b.isCompletedExceptionally())
+                    .forEach(b -> b.join().close());
+              }
+            })
+            .thenApply(all -> {
+              List<Session> lent = new ArrayList<>();
+              borrowed.forEach(b -> lent.add(b.join()));
+              return lent;
+            });
+      });
+      borrowingSessions = sessions.handle((lent, failure) -> null);
+    }
+    return sessions;
+  }
+
+  /**
+   * Borrows a {@link Session} from the pool of the shard of the sharding key, see {@link #borrowSession(Object)}. The
+   * pool of a shard is created when first borrowed from.
+   *
+   * @param shardingKey the {@link ShardingKey}, built by {@link #shardingKeyBuilder()}
+   * @param affinity the affinity hint, may be <code>null</code>
+   * @return completes with the attached {@link Session}
+   * @throws IllegalStateException if sessions are not pooled, or there is no {@link PgDataSourceProperty#SHARD_MAP}
+   */
+  public CompletionStage<Session> borrowSession(ShardingKey shardingKey, Object affinity) {
+    if (pool == null) {
+      throw new IllegalStateException("sessions are not pooled, " + PgDataSourceProperty.POOL_MAX_SIZE + " is not set");
+    }
+
+    Shard shard = shardFor(shardingKey, null);
+    SessionPool<PgSession> shardPool;
+    synchronized (shardPools) {
+      if (closed) {
+        throw new IllegalStateException("this datasource has already been closed");
+      }
+      shardPool = shardPools.computeIfAbsent(shard, s -> createPool(false, s));
+    }
+    return shardPool.borrow(affinity).thenApply(session -> lend(session, null));
+  }
+
+  /**
+   * Creates a builder of {@link ShardingKey} for the {@link PgDataSourceProperty#SHARD_MAP} of this data source.
+   *
+   * @return the builder
+   */
+  public ShardingKey.Builder shardingKeyBuilder() {
+    return new PgShardingKeyBuilder();
+  }
+
+  /**
+   * Creates a scan that runs a query as partitions on concurrent pooled sessions, see {@link PartitionedScan}.
+   *
+   * @param sql the query, without parameters
+   * @param partitioning how the rows are split between the partitions
+   * @return the scan
+   * @throws IllegalStateException if sessions are not pooled, as {@link PgDataSourceProperty#POOL_MAX_SIZE} is not set
+   * @throws IllegalArgumentException if there are more partitions than sessions in the pool
+   */
+  public PartitionedScan partitionedScan(String sql, Partitioning partitioning) {
+    if (pool == null) {
+      throw new IllegalStateException("sessions are not pooled, " + PgDataSourceProperty.POOL_MAX_SIZE + " is not set");
+    }
+    int poolMaxSize = (Integer) properties.get(PgDataSourceProperty.POOL_MAX_SIZE);
+    if (partitioning.getPartitions() > poolMaxSize) {
+      throw new IllegalArgumentException(partitioning.getPartitions() + " partitions need as many sessions, but "
+          + PgDataSourceProperty.POOL_MAX_SIZE + " is " + poolMaxSize);
+    }
+    return new PartitionedScan(this, sql, partitioning);
+  }
+
+  /**
+   * Finds the shard of a session in the {@link PgDataSourceProperty#SHARD_MAP}.
+   *
+   * @param shardingKey the {@link jdk.incubator.sql2.AdbaSessionProperty#SHARDING_KEY}
+   * @param shardingGroupKey the {@link jdk.incubator.sql2.AdbaSessionProperty#SHARDING_GROUP_KEY}, may be
+   *                         <code>null</code>
+   * @return the shard
+   * @throws IllegalStateException if there is no {@link PgDataSourceProperty#SHARD_MAP}
+   * @throws IllegalArgumentException if a key is not built by {@link #shardingKeyBuilder()}, or no shard holds it
+   */
+  Shard shardFor(ShardingKey shardingKey, ShardingKey shardingGroupKey) {
+    ShardMap shardMap = (ShardMap) properties.get(PgDataSourceProperty.SHARD_MAP);
+    if (shardMap == null) {
+      throw new IllegalStateException("sessions with a sharding key need " + PgDataSourceProperty.SHARD_MAP);
+    }
+    if (!(shardingKey instanceof PgShardingKey)
+        || shardingGroupKey != null && !(shardingGroupKey instanceof PgShardingKey)) {
+      throw new IllegalArgumentException("sharding keys must be built by the sharding key builder of the data source");
+    }
+
+    Shard shard = shardMap.shardFor((PgShardingKey) shardingKey, (PgShardingKey) shardingGroupKey);
+    if (shard == null) {
+      throw new IllegalArgumentException("no shard holds the sharding key " + shardingKey);
+    }
+    return shard;
+  }
+
+  private static Session lend(PgSession session, ReadYourWritesContext readYourWrites) {
+    session.setReadYourWrites(readYourWrites);
+    return new PooledSession(session);
+  }
+
+  /**
+   * Indicates if the hint is SQL that starts a read only transaction.
+   *
+   * @param hint the hint
+   * @return true if read only
+   */
+  static boolean isReadOnlyHint(Object hint) {
+    return hint instanceof String && READ_ONLY_HINT.matcher((String) hint).lookingAt();
+  }
+
+  /**
+   * Returns an attached {@link Session}. When sessions are pooled this waits for one to be available, use
+   * {@link #borrowSession()} to not block.
+   *
+   * @return a {@link Session}
+   */
+  @Override
+  public Session getSession() {
+    if (pool == null) {
+      return DataSource.super.getSession();
+    }
+
+    return borrowSession().toCompletableFuture().join();
+  }
+
+  /**
+   * Returns an attached {@link Session}, handing the failure to attach it to the handler. When sessions are pooled this
+   * waits for one to be available, the handler is then given any failure to borrow it, which is also thrown.
+   *
+   * @param handler for errors in attaching or borrowing the {@link Session}
+   * @return a {@link Session}
+   */
+  @Override
+  public Session getSession(Consumer<Throwable> handler) {
+    if (pool == null) {
+      return DataSource.super.getSession(handler);
+    }
+
+    try {
+      return borrowSession().toCompletableFuture().join();
+    } catch (RuntimeException ex) {
+      Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+      if (handler != null) {
+        handler.accept(failure);
+      }
+      throw new IllegalStateException("failed to obtain a session from the pool", failure);
+    }
+  }
+
   public void unregisterConnection(PgSession connection) {
     this.connections.remove(connection);
   }
 
   @Override
   public void close() {
+    if (replicaLagProbe != null) {
+      replicaLagProbe.close();
+    }
+    if (pool != null) {
+      pool.close();
+    }
+    if (readPool != null) {
+      readPool.close();
+    }
+    synchronized (shardPools) {
+      for (SessionPool<PgSession> shardPool : shardPools.values()) {
+        shardPool.close();
+      }
+      shardPools.clear();
+    }
     for (PgSession connection : connections) {
       connection.close();
     }
@@ -108,4 +534,72 @@ public class PgDataSource implements DataSource {
   public boolean isClosed() {
     return closed;
   }
+
+  /**
+   * Opens the pooled {@link PgSession} instances.
+   */
+  private class PooledSessionFactory implements SessionPool.Factory<PgSession> {
+    private final boolean readOnly;
+    private final Shard shard;
+    private SessionPool<PgSession> pool;
+
+    private PooledSessionFactory(boolean readOnly, Shard shard) {
+      this.readOnly = readOnly;
+      this.shard = shard;
+    }
+
+    @Override
+    public CompletionStage<PgSession> open() {
+      PgSessionBuilder builder = ((PgSessionBuilder) builder()).shard(shard);
+      if (readOnly) {
+        builder.property(AdbaSessionProperty.READ_ONLY, true);
+      }
+      PgSession session = (PgSession) builder.build();
+      session.setPool(pool);
+      return session.attachOperation().submit().getCompletionStage().thenApply(v -> session);
+    }
+
+    @Override
+    public CompletionStage<Boolean> validate(PgSession session) {
+      if (session.isConnectionClosed()) {
+        return CompletableFuture.completedFuture(false);
+      }
+      return session.validationOperation(Session.Validation.COMPLETE).submit().getCompletionStage()
+          .handle((v, t) -> t == null);
+    }
+
+    @Override
+    public CompletionStage<Void> reset(PgSession session) {
+      if (session.getSessionLifecycle() != Session.Lifecycle.ATTACHED || session.isConnectionClosed()) {
+        return CompletableFuture.failedFuture(new IllegalStateException("session is no longer attached"));
+      }
+      session.setReadYourWrites(null);
+      // ends any transaction left open by the borrower, only when there is one as the server warns otherwise
+      CompletionStage<Object> reset = session.transactionStatus().thenCompose(status -> status == TransactionStatus.IDLE
+          ? CompletableFuture.completedFuture(null) : session.operation("ROLLBACK").submit().getCompletionStage());
+
+      String resetSql = (String) properties.get(PgDataSourceProperty.POOL_RESET_SQL);
+      if (resetSql != null && !resetSql.isBlank()) {
+        reset = reset.thenCompose(v -> session.operation(resetSql).submit().getCompletionStage());
+        if (DROPS_PREPARED_STATEMENTS.matcher(resetSql).lookingAt()) {
+          reset = reset.thenApply(v -> {
+            session.forgetCachedStatements();
+            return v;
+          });
+        }
+      }
+      return reset.thenApply(v -> null);
+    }
+
+    @Override
+    public boolean hasAffinity(PgSession session, Object hint) {
+      return hint instanceof String && session.hasCachedStatement((String) hint);
+    }
+
+    @Override
+    public void close(PgSession session) {
+      session.setPool(null);
+      session.closeOperation().submit();
+    }
+  }
 }
@@ -1,8 +1,12 @@
 package org.postgresql.adba;
 
 import jdk.incubator.sql2.DataSourceProperty;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.sharding.ShardMap;
 
 public enum PgDataSourceProperty implements DataSourceProperty {
   /**
@@ -13,7 +17,106 @@ public enum PgDataSourceProperty implements DataSourceProperty {
   /**
    * Allows specifying the {@link ByteBufferPool}.
    */
-  BYTE_BUFFER_POOL(ByteBufferPool.class, null, false);
+  BYTE_BUFFER_POOL(ByteBufferPool.class, null, false),
+
+  /**
+   * Loads the types from pg_type when the first session attaches, so that domains, enums, arrays of those and
+   * extension types are parsed as the built in type they are based on. The types are shared by all sessions.
+   */
+  RESOLVE_CUSTOM_TYPES(Boolean.class, false, false),
+
+  /**
+   * {@link Executor} to complete the submissions on, so that application callbacks never run on the {@link NioLoop}.
+   * The submissions of a session are completed one at a time, in order. By default they are completed by the
+   * {@link NioLoop}.
+   */
+  COMPLETION_EXECUTOR(Executor.class, null, false),
+
+  /**
+   * Also hands the rows to the {@link #COMPLETION_EXECUTOR} in batches, so that the values are decoded and collected
+   * there, leaving only the I/O and framing to the {@link NioLoop}.
+   */
+  ROWS_ON_COMPLETION_EXECUTOR(Boolean.class, false, false),
+
+  /**
+   * {@link ForkJoinPool} to decode and collect the rows of row operations on in parallel, in batches of rows whose
+   * results are combined with the combiner of the collector. By default the rows are collected one at a time as they
+   * are read. Without a {@link #COMPLETION_EXECUTOR} the submissions are then completed on this pool, still one at a
+   * time and in order for each session.
+   */
+  PARALLEL_ROW_POOL(ForkJoinPool.class, null, false),
+
+  /**
+   * Number of rows handed on at a time, to the {@link #COMPLETION_EXECUTOR}, to a batch collector, to a row publisher
+   * and to each task of the {@link #PARALLEL_ROW_POOL}. A batch is also handed on once its rows reach 64 KiB.
+   */
+  ROW_BATCH_SIZE(Integer.class, 256, false),
+
+  /**
+   * Maximum number of sessions in the pool of the data source. Sessions are pooled when this is set, and
+   * {@link PgDataSource#getSession()} then borrows a session from the pool, which it is returned to on close.
+   */
+  POOL_MAX_SIZE(Integer.class, 0, false),
+
+  /**
+   * Number of sessions the pool keeps open, even when they are idle.
+   */
+  POOL_MIN_SIZE(Integer.class, 0, false),
+
+  /**
+   * How long a pooled session may be idle before it is closed, as long as the pool stays at its minimum size.
+   */
+  POOL_IDLE_TIMEOUT(Duration.class, Duration.ofMinutes(10), false),
+
+  /**
+   * How long a pooled session may be open before it is closed, once it is returned.
+   */
+  POOL_MAX_LIFETIME(Duration.class, Duration.ofMinutes(30), false),
+
+  /**
+   * Validates a pooled session with a round trip before it is borrowed, unless it was used within the last second.
+   */
+  POOL_VALIDATE_ON_BORROW(Boolean.class, true, false),
+
+  /**
+   * Statement run on a pooled session when it is returned, after rolling back any transaction left open, to clear the
+   * state of the borrower. The default <code>RESET ALL</code> restores the settings and keeps the prepared statements,
+   * so a borrower can reuse those cached by earlier borrowers. <code>DISCARD ALL</code> also drops temporary tables,
+   * locks and the prepared statements, which the session then forgets, so every borrower prepares its statements
+   * again. <code>null</code> only rolls back.
+   */
+  POOL_RESET_SQL(String.class, "RESET ALL", false),
+
+  /**
+   * Routes read only sessions, those with {@link jdk.incubator.sql2.AdbaSessionProperty#READ_ONLY} or borrowed with a
+   * read only transaction hint, to the standbys among the hosts and all other sessions to the primary. With pooling
+   * there is a separate pool for the read only sessions.
+   */
+  READ_REPLICA_ROUTING(Boolean.class, false, false),
+
+  /**
+   * How far a standby may lag behind the primary before read only sessions avoid it, when routing to replicas.
+   */
+  REPLICA_MAX_LAG(Duration.class, Duration.ofSeconds(10), false),
+
+  /**
+   * How often the lag of the standbys is probed, when routing to replicas. Should be shorter than
+   * {@link PgSessionProperty#HOST_RECHECK_SECONDS}, as the measured lag is trusted for that long.
+   */
+  REPLICA_LAG_PROBE_INTERVAL(Duration.class, Duration.ofSeconds(5), false),
+
+  /**
+   * The {@link ShardMap} to find the hosts of the sessions with a {@link jdk.incubator.sql2.AdbaSessionProperty#SHARDING_KEY}
+   * by, instead of using {@link PgSessionProperty#HOST}. With pooling each shard has its own pool.
+   */
+  SHARD_MAP(ShardMap.class, null, false),
+
+  /**
+   * Maximum number of pooled sessions, including its own, the members of a parallel operation group are spread over.
+   * Only idle sessions are used, so a busy pool runs the members on fewer sessions. While the session of the group may
+   * be in a transaction all the members run on it.
+   */
+  PARALLEL_GROUP_MAX_SESSIONS(Integer.class, 4, false);
 
   private Class range;
   private Object defaultValue;
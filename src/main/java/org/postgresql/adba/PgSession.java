@@ -7,10 +7,14 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import jdk.incubator.sql2.AdbaSessionProperty;
 import jdk.incubator.sql2.DataSource;
 import jdk.incubator.sql2.Operation;
 import jdk.incubator.sql2.OperationGroup;
@@ -23,15 +27,24 @@ import jdk.incubator.sql2.TransactionCompletion;
 import org.postgresql.adba.buffer.ByteBufferPool;
 import org.postgresql.adba.buffer.PooledByteBuffer;
 import org.postgresql.adba.communication.NetworkConnection;
+import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.network.ImmediateComplete;
 import org.postgresql.adba.communication.network.ParseRequest;
 import org.postgresql.adba.communication.network.Portal;
+import org.postgresql.adba.communication.network.TransactionStatusRequest;
+import org.postgresql.adba.communication.packets.ReadyForQuery.TransactionStatus;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.execution.SerialExecutor;
+import org.postgresql.adba.hostchooser.CandidateHost;
+import org.postgresql.adba.hostchooser.HostSpec;
 import org.postgresql.adba.operations.PgCloseOperation;
 import org.postgresql.adba.operations.PgConnectOperation;
 import org.postgresql.adba.operations.PgOperationGroup;
 import org.postgresql.adba.operations.PgValidationOperation;
+import org.postgresql.adba.operations.helpers.ParameterHolder;
 import org.postgresql.adba.operations.helpers.PgTransaction;
+import org.postgresql.adba.pool.SessionPool;
+import org.postgresql.adba.submissions.GroupSubmission;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class PgSession extends PgOperationGroup<Object, Object> implements Session {
@@ -44,10 +57,45 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
 
   private final NetworkConnection protocol;
 
+  private final ByteBufferPool bufferPool;
+
+  private final boolean encodeOnSubmit;
+
+  /**
+   * {@link SessionPool} this session is returned to on close, <code>null</code> if not pooled.
+   */
+  private SessionPool<PgSession> pool;
+
+  /**
+   * The {@link ReadYourWritesContext} commits advance, may be <code>null</code>.
+   */
+  private volatile ReadYourWritesContext readYourWrites;
+
+  /**
+   * Completes the submissions of this session in order, <code>null</code> to complete them on the network thread.
+   */
+  private final Executor completionExecutor;
+
   protected Consumer<Throwable> errorHandler = null;
   private Lifecycle lifecycle = Lifecycle.NEW;
   private ConcurrentLinkedQueue<SessionLifecycleListener> lifecycleListeners = new ConcurrentLinkedQueue<>();
-  private PgSubmission<?> lastSubmission;
+
+  /**
+   * Completes when the submissions waiting for future parameters, and those submitted after them, have been handed to the
+   * {@link NetworkConnection}, <code>null</code> when no submission is waiting.
+   */
+  private CompletableFuture<Void> staged;
+
+  /**
+   * Number of submissions that have not completed yet.
+   */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  /**
+   * Counts the times the session was returned to its pool, to reject the operations of earlier borrowers.
+   */
+  private final AtomicInteger lease = new AtomicInteger();
+  private final Object stagingLock = new Object();
 
   /**
    * Predecessor of all member Operations and the OperationGroup itself.
@@ -70,7 +118,19 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
     this.dataSource = dataSource;
     SocketChannel channel = SocketChannel.open();
     channel.configureBlocking(false);
-    this.protocol = new NetworkConnection(this.properties, this, loop, bufferPool);
+    this.protocol = new NetworkConnection(this.properties, this, loop, bufferPool, dataSource.getTypeRegistry(),
+        dataSource.getHostChooser());
+    this.bufferPool = bufferPool;
+    this.encodeOnSubmit = Boolean.TRUE.equals(properties.get(PgSessionProperty.ENCODE_ON_SUBMIT));
+    this.readYourWrites = (ReadYourWritesContext) properties.get(PgSessionProperty.READ_YOUR_WRITES);
+    if (dataSource.getCompletionExecutor() != null) {
+      this.completionExecutor = new SerialExecutor(dataSource.getCompletionExecutor());
+    } else if (dataSource.getParallelRowPool() != null) {
+      // collecting in parallel waits for the batches on completion, which the NioLoop must not do
+      this.completionExecutor = new SerialExecutor(dataSource.getParallelRowPool());
+    } else {
+      this.completionExecutor = null;
+    }
     this.setConnection(this);
   }
 
@@ -99,6 +159,10 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
     for (Map.Entry<SessionProperty, Object> entry : getProperties().entrySet()) {
       anyAdded |= entry.getKey().configureOperation(group, entry.getValue());
     }
+    if (isReadOnly()) {
+      group.operation("SET SESSION CHARACTERISTICS AS TRANSACTION READ ONLY").submit();
+      anyAdded = true;
+    }
     if (anyAdded) {
       group.submit();
     }
@@ -275,6 +339,24 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
     return properties.getAll();
   }
 
+  /**
+   * Obtains the {@link ForkJoinPool} to collect the rows of row operations on in parallel.
+   *
+   * @return the pool, <code>null</code> if rows are collected as they are read
+   */
+  public ForkJoinPool getParallelRowPool() {
+    return dataSource.getParallelRowPool();
+  }
+
+  /**
+   * Obtains the number of rows handed on at a time.
+   *
+   * @return the number of rows
+   */
+  public int getRowBatchSize() {
+    return dataSource.getRowBatchSize();
+  }
+
   /**
    * Returns a {@link ShardingKey.Builder} that is valid for this {@link Session}.
    *
@@ -282,7 +364,7 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
    */
   @Override
   public ShardingKey.Builder shardingKeyBuilder() {
-    throw new RuntimeException("not implemented yet");
+    return dataSource.shardingKeyBuilder();
   }
 
   @Override
@@ -292,10 +374,146 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
 
   @Override
   public void close() {
+    if (pool != null) {
+      lease.incrementAndGet();
+      resetGroup();
+      pool.release(this);
+      return;
+    }
+
     this.closeOperation()
         .submit();
   }
 
+  /**
+   * Obtains the lease of the current borrower of a pooled session, which operations are created in.
+   *
+   * @return the lease, changed each time the session is returned to its pool
+   */
+  public int getLease() {
+    return lease.get();
+  }
+
+  /**
+   * Checks that an operation is submitted by the borrower it was created for.
+   *
+   * @param lease the lease the operation was created in, see {@link #getLease()}
+   * @throws IllegalStateException if the session was returned to its pool since
+   */
+  public void checkLease(int lease) {
+    if (lease != this.lease.get()) {
+      throw new IllegalStateException("session was closed and returned to the pool");
+    }
+  }
+
+  /**
+   * Indicates if the statement cache of this session has the SQL, so it needn't be prepared again.
+   *
+   * @param sql the SQL
+   * @return true if cached
+   */
+  public boolean hasCachedStatement(String sql) {
+    return protocol.getPreparedStatementCache().containsSql(sql);
+  }
+
+  /**
+   * Obtains the status of the transaction once the submissions so far have completed, with a round trip that runs
+   * nothing on the server.
+   *
+   * @return completes with the {@link TransactionStatus}
+   */
+  CompletionStage<TransactionStatus> transactionStatus() {
+    TransactionStatusRequest request = new TransactionStatusRequest();
+    enqueue(null, null, request, null);
+    return request.getStatus();
+  }
+
+  /**
+   * Forgets the cached statements once the submissions so far have been sent, as their prepared statements were
+   * dropped on the server.
+   */
+  void forgetCachedStatements() {
+    enqueue(null, null, context -> {
+      context.getPreparedStatementCache().clear();
+      return null;
+    }, null);
+  }
+
+  /**
+   * Obtains the {@link ReadYourWritesContext} that commits of this session advance.
+   *
+   * @return the context, <code>null</code> if none
+   */
+  public ReadYourWritesContext getReadYourWrites() {
+    return readYourWrites;
+  }
+
+  /**
+   * Specifies the {@link ReadYourWritesContext} for the borrower of a pooled session.
+   *
+   * @param readYourWrites the context, <code>null</code> for the one the session was built with
+   */
+  void setReadYourWrites(ReadYourWritesContext readYourWrites) {
+    this.readYourWrites = readYourWrites != null ? readYourWrites
+        : (ReadYourWritesContext) properties.get(PgSessionProperty.READ_YOUR_WRITES);
+  }
+
+  /**
+   * Indicates if the session is read only, see {@link AdbaSessionProperty#READ_ONLY}.
+   *
+   * @return true if read only
+   */
+  public boolean isReadOnly() {
+    return Boolean.TRUE.equals(properties.get(AdbaSessionProperty.READ_ONLY));
+  }
+
+  /**
+   * Obtains the host the session is connected to.
+   *
+   * @return the host, <code>null</code> if not connected
+   */
+  HostSpec getHost() {
+    CandidateHost candidate = protocol.getCandidateHost();
+    return candidate == null ? null : candidate.getHost();
+  }
+
+  /**
+   * Obtains how many sessions the members of a parallel group are spread over.
+   *
+   * @return the maximum number of sessions, including the session of the group
+   */
+  public int getMaxParallelSessions() {
+    return pool == null ? 1 : dataSource.getParallelGroupMaxSessions();
+  }
+
+  /**
+   * Indicates if a transaction may be open on this session, as the server reported one or submissions that may start
+   * one have not completed yet.
+   *
+   * @return <code>false</code> only if known to not be in a transaction
+   */
+  public boolean mayBeInTransaction() {
+    return pending.get() > 0 || protocol.getTransactionStatus() != TransactionStatus.IDLE;
+  }
+
+  /**
+   * Borrows an idle session from the pool this session is from, to run members of a parallel group on.
+   *
+   * @return the session, <code>null</code> if not pooled or no session is idle
+   */
+  public PgSession tryBorrowSibling() {
+    return pool == null ? null : pool.tryBorrow();
+  }
+
+  /**
+   * Specifies the {@link SessionPool} to return this session to on close.
+   *
+   * @param pool the pool
+   */
+  void setPool(SessionPool<PgSession> pool) {
+    this.pool = pool;
+  }
+
   protected CompletionStage<Object> attachErrorHandler(CompletionStage<Object> result) {
     if (errorHandler != null) {
       return result.exceptionally(t -> {
@@ -317,28 +535,121 @@ public class PgSession extends PgOperationGroup<Object, Object> implements Sessi
   }
 
   /**
-   * Send a new submission over the connection.
+   * Send the submission of a member of a group over the connection, unless the group holds it back until its
+   * condition is known.
+   *
+   * @param submission object to send
+   * @param group the group, may be <code>null</code>
+   */
+  public void submit(PgSubmission<?> submission, GroupSubmission<?> group) {
+    if (group != null) {
+      group.addMember(submission);
+    }
+    if (group == null || !group.hold(this, submission)) {
+      submit(submission);
+    }
+  }
+
+  /**
+   * Send a new submission over the connection. Safe to call from any thread, such as when the condition of a group
+   * releases its members while the user submits to the session, the submissions are sent in the order they are made.
    *
    * @param submission object to send
    */
   public void submit(PgSubmission<?> submission) {
+    pending.incrementAndGet();
+    submission.getCompletionStage().whenComplete((v, t) -> pending.decrementAndGet());
     switch (submission.getCompletionType()) {
       case LOCAL:
       case CATCH:
-        protocol.sendNetworkRequest(new ImmediateComplete(submission));
+        enqueue(submission, null, new ImmediateComplete(submission, completionExecutor), null);
         break;
       case GROUP:
-        if (lastSubmission != null) {
-          ((CompletableFuture<?>) lastSubmission.getCompletionStage()).thenApply(a ->
-              submission.finish(null));
-        }
+        ((GroupSubmission<?>) submission).finishWhenMembersComplete();
         break;
 
       default:
-        Portal portal = new Portal(submission);
-        protocol.sendNetworkRequest(new ParseRequest<>(portal));
+        Portal portal = new Portal(submission, completionExecutor, dataSource.isRowsOnCompletionExecutor(),
+            dataSource.getRowBatchSize());
+        ParameterHolder holder = submission.getHolder();
+        enqueue(submission, portal, new ParseRequest<>(portal), holder == null ? null : holder.resolve());
+    }
+  }
+
+  /**
+   * Hands the request to the {@link NetworkConnection} once the parameters are resolved, so that the network thread never
+   * waits for them. Requests submitted after one that waits are held back as well, to keep the order of the submissions.
+   *
+   * @param submission the submission the request is for
+   * @param portal the portal of the submission, <code>null</code> if the request doesn't bind parameters
+   * @param request the request to send
+   * @param parameters completes when the parameters are resolved, <code>null</code> if they already are
+   */
+  private void enqueue(PgSubmission<?> submission, Portal portal, NetworkRequest request,
+      CompletableFuture<Void> parameters) {
+    if (parameters != null && parameters.isDone() && !parameters.isCompletedExceptionally()) {
+      parameters = null;
+    }
+    Throwable failure = parameters == null ? encode(portal) : null;
+
+    synchronized (stagingLock) {
+      if (staged == null && parameters == null) {
+        release(submission, portal, request, failure);
+        return;
+      }
+
+      CompletableFuture<Throwable> ready = parameters == null ? CompletableFuture.completedFuture(failure)
+          : parameters.handle((v, t) -> t == null ? encode(portal) : unwrapException(t));
+      CompletableFuture<Void> previous = staged == null ? CompletableFuture.completedFuture(null) : staged;
+      CompletableFuture<Void> next = previous.thenCombine(ready, (v, t) -> {
+        release(submission, portal, request, t);
+        return null;
+      });
+      staged = next;
+      next.thenRun(() -> {
+        synchronized (stagingLock) {
+          if (staged == next) {
+            staged = null;
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Encodes the parameters on the current thread if {@link PgSessionProperty#ENCODE_ON_SUBMIT} is set.
+   *
+   * @param portal the portal to encode the parameters of, may be <code>null</code>
+   * @return the reason the parameters couldn't be encoded, <code>null</code> if they could
+   */
+  private Throwable encode(Portal portal) {
+    if (portal == null || !encodeOnSubmit) {
+      return null;
+    }
+
+    try {
+      portal.encodeParameters(bufferPool);
+      return null;
+    } catch (Throwable t) {
+      return t;
+    }
+  }
+
+  private void release(PgSubmission<?> submission, Portal portal, NetworkRequest request, Throwable failure) {
+    try {
+      if (failure == null) {
+        protocol.sendNetworkRequest(request);
+        return;
+      }
+      Portal.doHandleException(submission, failure);
+    } catch (Throwable t) {
+      logger.log(Level.WARNING, "failed to hand the submission to the network connection", t);
+    }
+
+    // the bind will not be written
+    if (portal != null) {
+      portal.releaseEncodedParameters();
     }
-    lastSubmission = submission;
   }
 
   public void unregister() {
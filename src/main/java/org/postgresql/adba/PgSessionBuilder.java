@@ -4,11 +4,17 @@ import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.stream.Collectors;
 import jdk.incubator.sql2.AdbaSessionProperty;
 import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.SessionProperty;
+import jdk.incubator.sql2.ShardingKey;
+import org.postgresql.adba.hostchooser.HostRequirement;
+import org.postgresql.adba.hostchooser.HostSpec;
+import org.postgresql.adba.sharding.Shard;
 import org.postgresql.adba.util.PropertyHolder;
 
 public class PgSessionBuilder implements Session.Builder {
@@ -17,6 +23,16 @@ public class PgSessionBuilder implements Session.Builder {
 
   private boolean buildCalled;
 
+  /**
+   * Host to connect to instead of the hosts of the url, <code>null</code> to use the url.
+   */
+  private HostSpec host;
+
+  /**
+   * Shard to connect to, <code>null</code> to find it by the sharding key.
+   */
+  private Shard shard;
+
   /**
    * Creates a builder for the supplied dataSource.
    *
@@ -40,6 +56,29 @@ public class PgSessionBuilder implements Session.Builder {
     return this;
   }
 
+  /**
+   * Connects the session to the host, whatever kind of server it is, instead of the hosts of the url. Used to probe a
+   * single host.
+   *
+   * @param host the host
+   * @return this builder
+   */
+  PgSessionBuilder host(HostSpec host) {
+    this.host = host;
+    return this;
+  }
+
+  /**
+   * Connects the session to the hosts of the shard, as for a pool of the shard.
+   *
+   * @param shard the shard, <code>null</code> to find it by the sharding key
+   * @return this builder
+   */
+  PgSessionBuilder shard(Shard shard) {
+    this.shard = shard;
+    return this;
+  }
+
   @Override
   public Session build() {
     if (buildCalled) {
@@ -56,9 +95,30 @@ public class PgSessionBuilder implements Session.Builder {
 
     if (props != null) {
       for (Map.Entry<SessionProperty, Object> prop : props.entrySet()) {
-        properties.sessionPropertyFromSessionBuilder(prop.getKey(), prop.getValue());
+        if (host == null || prop.getKey() != PgSessionProperty.HOST && prop.getKey() != PgSessionProperty.PORT) {
+          properties.sessionPropertyFromSessionBuilder(prop.getKey(), prop.getValue());
+        }
       }
     }
+    ShardingKey shardingKey = (ShardingKey) properties.get(AdbaSessionProperty.SHARDING_KEY);
+    if (shard == null && shardingKey != null) {
+      shard = dataSource.shardFor(shardingKey, (ShardingKey) properties.get(AdbaSessionProperty.SHARDING_GROUP_KEY));
+    }
+    if (shard != null) {
+      properties.overrideSessionProperty(PgSessionProperty.HOST, shard.getHosts());
+    }
+    if (host != null) {
+      properties.overrideSessionProperty(PgSessionProperty.HOST, host.getHost());
+      properties.overrideSessionProperty(PgSessionProperty.PORT, host.getPort());
+      properties.overrideSessionProperty(PgSessionProperty.TARGET_SESSION_ATTRS, HostRequirement.ANY.toString());
+    }
+
+    // Read only sessions to the standbys, others to the primary, unless the session says otherwise
+    if (dataSource.isReadReplicaRouting() && properties.get(PgSessionProperty.TARGET_SESSION_ATTRS) == null) {
+      boolean readOnly = Boolean.TRUE.equals(properties.get(AdbaSessionProperty.READ_ONLY));
+      properties.overrideSessionProperty(PgSessionProperty.TARGET_SESSION_ATTRS,
+          (readOnly ? HostRequirement.PREFER_STANDBY : HostRequirement.PRIMARY).toString());
+    }
 
     properties.addAllPgDefaults();
 
@@ -104,33 +164,18 @@ public class PgSessionBuilder implements Session.Builder {
       urlProps.put(PgSessionProperty.DATABASE,
           URLDecoder.decode(urlServer.substring(slash + 1), StandardCharsets.UTF_8));
 
-      String[] addresses = urlServer.substring(0, slash).split(",");
-      StringBuilder hosts = new StringBuilder();
-      StringBuilder ports = new StringBuilder();
-      for (String address : addresses) {
-        int portIdx = address.lastIndexOf(':');
-        if (portIdx != -1 && address.lastIndexOf(']') < portIdx) {
-          String portStr = address.substring(portIdx + 1);
-          try {
-            // squid:S2201 The return value of "parseInt" must be used.
-            // The side effect is NumberFormatException, thus ignore sonar error here
-            Integer.parseInt(portStr); // NOSONAR
-          } catch (NumberFormatException ex) {
-            return null;
-          }
-          ports.append(portStr);
-          hosts.append(address.subSequence(0, portIdx));
-        } else {
-          ports.append("5432");
-          hosts.append(address);
-        }
-        ports.append(',');
-        hosts.append(',');
+      List<HostSpec> hosts;
+      try {
+        hosts = HostSpec.parse(urlServer.substring(0, slash), 5432);
+      } catch (IllegalArgumentException ex) {
+        return null;
+      }
+      urlProps.put(PgSessionProperty.PORT, hosts.get(0).getPort());
+      if (hosts.size() == 1) {
+        urlProps.put(PgSessionProperty.HOST, hosts.get(0).getHost());
+      } else {
+        urlProps.put(PgSessionProperty.HOST, hosts.stream().map(HostSpec::toString).collect(Collectors.joining(",")));
       }
-      ports.setLength(ports.length() - 1);
-      hosts.setLength(hosts.length() - 1);
-      urlProps.put(PgSessionProperty.PORT, Integer.parseInt(ports.toString()));
-      urlProps.put(PgSessionProperty.HOST, hosts.toString());
     } else {
       /*
        * if there are no defaults set or any one of PORT, HOST, DBNAME not set then
@@ -157,11 +202,28 @@ public class PgSessionBuilder implements Session.Builder {
       if (pos == -1) {
         urlProps.put(PgSessionProperty.lookup(token), "");
       } else {
-        urlProps.put(PgSessionProperty.lookup(token.substring(0, pos)),
-            URLDecoder.decode(token.substring(pos + 1), StandardCharsets.UTF_8));
+        SessionProperty property = PgSessionProperty.lookup(token.substring(0, pos));
+        urlProps.put(property, convert(property, URLDecoder.decode(token.substring(pos + 1), StandardCharsets.UTF_8)));
       }
     }
 
     return urlProps;
   }
+
+  /**
+   * Converts a value from the url to the type of the property, for the types that have a plain text form.
+   */
+  private static Object convert(SessionProperty property, String value) {
+    if (property.range() == Boolean.class) {
+      return Boolean.valueOf(value);
+    }
+    if (property.range() == Integer.class) {
+      try {
+        return Integer.valueOf(value);
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("value of " + property.name() + " is not a number: " + value, ex);
+      }
+    }
+    return value;
+  }
 }
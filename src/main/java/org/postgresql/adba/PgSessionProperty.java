@@ -12,6 +12,9 @@ public enum PgSessionProperty implements SessionProperty {
    * with square brackets, for example:
    *
    * <p>jdbc:postgresql://[::1]:5740/accounting
+   *
+   * <p>Several hosts can be given as a comma separated list, each optionally followed by a colon and its port, for
+   * example <code>primary:5432,replica1,replica2:5433</code>. Hosts without a port use {@link #PORT}.
    */
   HOST(String.class, "localhost", false),
 
@@ -124,10 +127,53 @@ public enum PgSessionProperty implements SessionProperty {
   CURRENT_SCHEMA(String.class, "", false),
 
   /**
-   * In default mode (disabled) hosts are connected in the given order. If enabled hosts are chosen randomly from the
-   * set of suitable candidates.
+   * In default mode (disabled) hosts are connected in the given order. If enabled each session starts at the next of
+   * the suitable candidates, round-robin.
+   */
+  LOAD_BALANCE_HOSTS(Boolean.class, false, false),
+
+  /**
+   * The kind of server the session requires when several hosts are given: any, read-write, read-only, primary, standby
+   * or prefer-standby. Other than for any, the server is checked after startup and the next host is tried if it
+   * doesn't match.
+   */
+  TARGET_SESSION_ATTRS(String.class, "any", false),
+
+  /**
+   * Seconds the status of a host, as seen by the sessions of the data source, is trusted. Until then hosts that failed
+   * or are of the wrong kind are tried last or skipped.
+   */
+  HOST_RECHECK_SECONDS(Integer.class, 10, false),
+
+  /**
+   * Milliseconds to wait for an address to connect before also trying the next address of the hosts, in parallel. The
+   * first address to connect is used and the others are closed.
+   */
+  CONNECT_ATTEMPT_DELAY(Integer.class, 250, false),
+
+  /**
+   * The {@link ReadYourWritesContext} of the session. Commits advance it to their LSN, and if the session is read only
+   * it connects to a standby only if the standby has replayed up to the LSN, otherwise to the primary.
+   */
+  READ_YOUR_WRITES(ReadYourWritesContext.class, null, false),
+
+  /**
+   * Use binary format for result columns of types that are cheaper to decode from binary than from text, once the
+   * columns of a statement are known. If disabled all result columns are transferred as text.
+   */
+  BINARY_TRANSFER(Boolean.class, true, false),
+
+  /**
+   * Comma separated list of types, given as type names (int4, timestamptz) or oids, to transfer in text format even if
+   * they would by default be transferred in binary format.
+   */
+  BINARY_TRANSFER_DISABLE(String.class, "", false),
+
+  /**
+   * Encode the parameters of a statement on the thread that submits it, or that completes its last future parameter,
+   * instead of on the network thread. The network thread then only copies the encoded bytes into the bind.
    */
-  LOAD_BALANCE_HOSTS(Boolean.class, false, false);
+  ENCODE_ON_SUBMIT(Boolean.class, false, false);
 
   private Class range;
   private Object defaultValue;
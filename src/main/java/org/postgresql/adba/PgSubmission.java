@@ -4,7 +4,6 @@ import jdk.incubator.sql2.Submission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
-import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -40,7 +39,7 @@ public interface PgSubmission<T> extends Submission<T> {
 
   void addRow(DataRow row);
 
-  List<Integer> getParamTypes() throws ExecutionException, InterruptedException;
+  int[] getParamTypes() throws ExecutionException, InterruptedException;
 
   int numberOfQueryRepetitions() throws ExecutionException, InterruptedException;
 
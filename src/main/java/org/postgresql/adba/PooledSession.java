@@ -0,0 +1,233 @@
+package org.postgresql.adba;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.logging.Logger;
+import java.util.stream.Collector;
+import jdk.incubator.sql2.ArrayRowCountOperation;
+import jdk.incubator.sql2.LocalOperation;
+import jdk.incubator.sql2.MultiOperation;
+import jdk.incubator.sql2.Operation;
+import jdk.incubator.sql2.OperationGroup;
+import jdk.incubator.sql2.OutOperation;
+import jdk.incubator.sql2.ParameterizedRowCountOperation;
+import jdk.incubator.sql2.ParameterizedRowOperation;
+import jdk.incubator.sql2.ParameterizedRowPublisherOperation;
+import jdk.incubator.sql2.PrimitiveOperation;
+import jdk.incubator.sql2.Session;
+import jdk.incubator.sql2.SessionProperty;
+import jdk.incubator.sql2.ShardingKey;
+import jdk.incubator.sql2.Submission;
+import jdk.incubator.sql2.TransactionCompletion;
+import jdk.incubator.sql2.TransactionOutcome;
+
+/**
+ * The {@link Session} lent to a borrower of a pooled {@link PgSession}. Closing it returns the {@link PgSession} to the
+ * pool, after which it throws {@link IllegalStateException}, so that it can't be used on the session of the next
+ * borrower. Operations created before the close are rejected on submit, and the settings made through it as a group,
+ * such as the error handler, are forgotten.
+ */
+class PooledSession implements Session {
+
+  private final PgSession session;
+
+  private final AtomicBoolean lent = new AtomicBoolean(true);
+
+  /**
+   * Instantiate.
+   *
+   * @param session the borrowed {@link PgSession}
+   */
+  PooledSession(PgSession session) {
+    this.session = session;
+  }
+
+  private PgSession session() {
+    if (!lent.get()) {
+      throw new IllegalStateException("session was closed and returned to the pool");
+    }
+    return session;
+  }
+
+  /**
+   * Returns the session to the pool, once. Closing it again does nothing.
+   */
+  @Override
+  public void close() {
+    if (lent.compareAndSet(true, false)) {
+      session.close();
+    }
+  }
+
+  @Override
+  public Operation<Void> attachOperation() {
+    return session().attachOperation();
+  }
+
+  @Override
+  public Operation<Void> validationOperation(Validation depth) {
+    return session().validationOperation(depth);
+  }
+
+  /**
+   * Returns the session to the pool once the operations before it have run.
+   */
+  @Override
+  public Operation<Void> closeOperation() {
+    PgSession borrowed = session();
+    return borrowed.<Void>localOperation().onExecution(() -> {
+      close();
+      return null;
+    });
+  }
+
+  @Override
+  public <S, T> OperationGroup<S, T> operationGroup() {
+    return session().operationGroup();
+  }
+
+  @Override
+  public TransactionCompletion transactionCompletion() {
+    return session().transactionCompletion();
+  }
+
+  @Override
+  public Session registerLifecycleListener(SessionLifecycleListener listener) {
+    session().registerLifecycleListener(listener);
+    return this;
+  }
+
+  @Override
+  public Session deregisterLifecycleListener(SessionLifecycleListener listener) {
+    session().deregisterLifecycleListener(listener);
+    return this;
+  }
+
+  @Override
+  public Lifecycle getSessionLifecycle() {
+    return lent.get() ? session.getSessionLifecycle() : Lifecycle.CLOSED;
+  }
+
+  @Override
+  public Session abort() {
+    session().abort();
+    return this;
+  }
+
+  @Override
+  public Map<SessionProperty, Object> getProperties() {
+    return session().getProperties();
+  }
+
+  @Override
+  public ShardingKey.Builder shardingKeyBuilder() {
+    return session().shardingKeyBuilder();
+  }
+
+  @Override
+  public Session requestHook(LongConsumer request) {
+    session().requestHook(request);
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> parallel() {
+    session().parallel();
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> independent() {
+    session().independent();
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> conditional(CompletionStage<Boolean> condition) {
+    session().conditional(condition);
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> collect(Collector<Object, ?, Object> c) {
+    session().collect(c);
+    return this;
+  }
+
+  @Override
+  public PrimitiveOperation<Object> catchOperation() {
+    return session().catchOperation();
+  }
+
+  @Override
+  public <R> ArrayRowCountOperation<R> arrayRowCountOperation(String sql) {
+    return session().arrayRowCountOperation(sql);
+  }
+
+  @Override
+  public <R> ParameterizedRowCountOperation<R> rowCountOperation(String sql) {
+    return session().rowCountOperation(sql);
+  }
+
+  @Override
+  public Operation<Object> operation(String sql) {
+    return session().operation(sql);
+  }
+
+  @Override
+  public <R> OutOperation<R> outOperation(String sql) {
+    return session().outOperation(sql);
+  }
+
+  @Override
+  public <R> ParameterizedRowOperation<R> rowOperation(String sql) {
+    return session().rowOperation(sql);
+  }
+
+  @Override
+  public <R> ParameterizedRowPublisherOperation<R> rowPublisherOperation(String sql) {
+    return session().rowPublisherOperation(sql);
+  }
+
+  @Override
+  public <R> MultiOperation<R> multiOperation(String sql) {
+    return session().multiOperation(sql);
+  }
+
+  @Override
+  public Operation<TransactionOutcome> endTransactionOperation(TransactionCompletion trans) {
+    return session().endTransactionOperation(trans);
+  }
+
+  @Override
+  public <R> LocalOperation<R> localOperation() {
+    return session().localOperation();
+  }
+
+  @Override
+  public OperationGroup<Object, Object> logger(Logger logger) {
+    session().logger(logger);
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> timeout(Duration minTime) {
+    session().timeout(minTime);
+    return this;
+  }
+
+  @Override
+  public OperationGroup<Object, Object> onError(Consumer<Throwable> handler) {
+    session().onError(handler);
+    return this;
+  }
+
+  @Override
+  public Submission<Object> submit() {
+    return session().submit();
+  }
+}
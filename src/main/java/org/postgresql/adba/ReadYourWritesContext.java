@@ -0,0 +1,78 @@
+package org.postgresql.adba;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The position in the WAL of the last write committed in a logical context, such as a user's web session, so that
+ * later reads in the context see it. Sessions given the context, by {@link PgSessionProperty#READ_YOUR_WRITES} or by
+ * {@link PgDataSource#borrowSession(Object, boolean, ReadYourWritesContext)}, advance it when they commit on the
+ * primary, and read only sessions only use standbys that have replayed up to it, otherwise the primary.
+ *
+ * <p>The context is shared by the sessions and is thread safe.
+ */
+public class ReadYourWritesContext {
+  private final AtomicLong lsn = new AtomicLong();
+
+  /**
+   * Obtains the LSN reads must have been replayed up to.
+   *
+   * @return the LSN, 0 if nothing has been written yet
+   */
+  public long getLsn() {
+    return lsn.get();
+  }
+
+  /**
+   * Advances the context to include a write, keeping the latest LSN if it already includes a later one.
+   *
+   * @param lsn the LSN of the commit
+   */
+  public void advance(long lsn) {
+    this.lsn.accumulateAndGet(lsn, Long::max);
+  }
+
+  /**
+   * Indicates if a server that has replayed up to the LSN sees all the writes of this context.
+   *
+   * @param replayedLsn the replayed LSN of the server
+   * @return true if it sees the writes
+   */
+  public boolean isVisibleAt(long replayedLsn) {
+    return Long.compareUnsigned(replayedLsn, lsn.get()) >= 0;
+  }
+
+  /**
+   * Parses a pg_lsn in its text form, two hexadecimal numbers separated by a slash like <code>16/B374D848</code>.
+   *
+   * @param text the text
+   * @return the LSN
+   * @throws IllegalArgumentException if not a pg_lsn
+   */
+  public static long parseLsn(String text) {
+    int slash = text.indexOf('/');
+    if (slash <= 0 || slash == text.length() - 1) {
+      throw new IllegalArgumentException("not a pg_lsn: " + text);
+    }
+    try {
+      return Long.parseUnsignedLong(text.substring(0, slash), 16) << 32
+          | Long.parseUnsignedLong(text.substring(slash + 1), 16);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("not a pg_lsn: " + text, e);
+    }
+  }
+
+  /**
+   * Formats a LSN in the text form of pg_lsn.
+   *
+   * @param lsn the LSN
+   * @return the text
+   */
+  public static String formatLsn(long lsn) {
+    return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+  }
+
+  @Override
+  public String toString() {
+    return formatLsn(lsn.get());
+  }
+}
@@ -0,0 +1,178 @@
+package org.postgresql.adba;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collector;
+import jdk.incubator.sql2.AdbaSessionProperty;
+import jdk.incubator.sql2.Result;
+import jdk.incubator.sql2.Session;
+import jdk.incubator.sql2.SessionProperty;
+import org.postgresql.adba.hostchooser.HostChooser;
+import org.postgresql.adba.hostchooser.HostSpec;
+import org.postgresql.adba.hostchooser.HostStatus;
+import org.postgresql.adba.util.PropertyHolder;
+
+/**
+ * Periodically measures how far each standby of a data source lags behind the primary, with a session per host, and
+ * reports the standbys that lag too far to the {@link HostChooser}, so read only sessions avoid them.
+ */
+class ReplicaLagProbe {
+  private static final Logger logger = Logger.getLogger(ReplicaLagProbe.class.getName());
+
+  /**
+   * If the host is a standby, with the seconds since the last replayed transaction, 0 if all received WAL is replayed
+   * as the primary is then idle rather than the standby behind, and the replayed LSN. The lag is null on the primary,
+   * and on a standby that has not replayed a transaction yet.
+   */
+  static final String QUERY = "select pg_catalog.pg_is_in_recovery() as standby,"
+      + " case when not pg_catalog.pg_is_in_recovery() then null"
+      + " when pg_catalog.pg_last_wal_receive_lsn() = pg_catalog.pg_last_wal_replay_lsn() then 0"
+      + " else extract(epoch from now() - pg_catalog.pg_last_xact_replay_timestamp()) end::float8 as lag,"
+      + " pg_catalog.pg_last_wal_replay_lsn()::text as replayed";
+
+  private final PgDataSource dataSource;
+  private final List<HostSpec> hosts;
+  private final double maxLagSeconds;
+  private final Duration interval;
+  private final Map<HostSpec, PgSession> sessions = new HashMap<>();
+  private final Map<HostSpec, CompletableFuture<?>> outstanding = new HashMap<>();
+  private volatile boolean closed;
+
+  /**
+   * Creates the probe.
+   *
+   * @param dataSource the data source to probe the hosts of
+   * @param hosts the hosts
+   * @param maxLag how far a standby may lag
+   * @param interval how often to probe
+   */
+  ReplicaLagProbe(PgDataSource dataSource, List<HostSpec> hosts, Duration maxLag, Duration interval) {
+    this.dataSource = dataSource;
+    this.hosts = hosts;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    this.interval = interval;
+  }
+
+  /**
+   * Finds the hosts of the data source, from its url or host property.
+   *
+   * @param properties the properties of the data source
+   * @return the hosts
+   */
+  static List<HostSpec> hosts(PropertyHolder properties) {
+    String url = (String) properties.get(AdbaSessionProperty.URL);
+    Map<SessionProperty, Object> fromUrl = url == null ? null : PgSessionBuilder.parseUrl(url, null);
+    Object host = fromUrl != null && fromUrl.containsKey(PgSessionProperty.HOST) ? fromUrl.get(PgSessionProperty.HOST)
+        : properties.get(PgSessionProperty.HOST);
+    Object port = fromUrl != null && fromUrl.containsKey(PgSessionProperty.PORT) ? fromUrl.get(PgSessionProperty.PORT)
+        : properties.get(PgSessionProperty.PORT);
+    return HostSpec.parse(host == null ? (String) PgSessionProperty.HOST.defaultValue() : (String) host,
+        port == null ? (Integer) PgSessionProperty.PORT.defaultValue() : (Integer) port);
+  }
+
+  /**
+   * Probes now and then every interval, until closed.
+   */
+  void start() {
+    if (closed) {
+      return;
+    }
+
+    try {
+      probe();
+    } catch (RuntimeException ex) {
+      logger.log(Level.WARNING, "failed to probe the replica lag", ex);
+    }
+    CompletableFuture.delayedExecutor(interval.toMillis(), TimeUnit.MILLISECONDS).execute(this::start);
+  }
+
+  /**
+   * Stops probing and closes the sessions.
+   */
+  synchronized void close() {
+    closed = true;
+    for (PgSession session : sessions.values()) {
+      session.closeOperation().submit();
+    }
+    sessions.clear();
+    outstanding.clear();
+  }
+
+  private synchronized void probe() {
+    HostChooser chooser = dataSource.getHostChooser();
+    for (HostSpec host : hosts) {
+      PgSession session = sessions.get(host);
+      if (session == null || session.getSessionLifecycle() == Session.Lifecycle.CLOSED) {
+        session = (PgSession) ((PgSessionBuilder) dataSource.builder()).host(host).build();
+        session.attachOperation().submit();
+        sessions.put(host, session);
+      }
+
+      // a probe stuck on a hung session isn't repeated, the status of the host expires instead
+      CompletableFuture<?> previous = outstanding.get(host);
+      if (previous != null && !previous.isDone()) {
+        continue;
+      }
+
+      PgSession probed = session;
+      outstanding.put(host, session.<Probe>rowOperation(QUERY)
+          .collect(Collector.<Result.RowColumn, Probe>of(Probe::new, (probe, row) -> {
+            probe.standby = row.at("standby").get(Boolean.class);
+            probe.lag = row.at("lag").get(Double.class);
+            probe.replayed = row.at("replayed").get(String.class);
+          }, (a, b) -> a))
+          .submit()
+          .getCompletionStage()
+          .toCompletableFuture()
+          .whenComplete((probe, failure) -> {
+            if (failure != null) {
+              forget(host, probed);
+              chooser.report(host, HostStatus.CONNECT_FAILED);
+            } else {
+              report(chooser, host, probe, maxLagSeconds);
+            }
+          }));
+    }
+  }
+
+  /**
+   * Reports the outcome of a probe. A standby that has not replayed a transaction yet has no known lag, so it is
+   * reported as lagging.
+   *
+   * @param chooser the {@link HostChooser} to report to
+   * @param host the probed host
+   * @param probe the outcome
+   * @param maxLagSeconds how far a standby may lag
+   */
+  static void report(HostChooser chooser, HostSpec host, Probe probe, double maxLagSeconds) {
+    if (!Boolean.TRUE.equals(probe.standby)) {
+      chooser.report(host, HostStatus.PRIMARY);
+      return;
+    }
+    if (probe.replayed != null) {
+      chooser.reportReplayedLsn(host, ReadYourWritesContext.parseLsn(probe.replayed));
+    }
+    chooser.reportLag(host, probe.lag == null || probe.lag > maxLagSeconds);
+  }
+
+  private synchronized void forget(HostSpec host, PgSession session) {
+    if (sessions.remove(host, session)) {
+      session.closeOperation().submit();
+    }
+  }
+
+  /**
+   * The outcome of probing a host.
+   */
+  static class Probe {
+    Boolean standby;
+    Double lag;
+    String replayed;
+  }
+}
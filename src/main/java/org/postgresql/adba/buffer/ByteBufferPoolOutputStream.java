@@ -2,11 +2,9 @@ package org.postgresql.adba.buffer;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.postgresql.adba.communication.NetworkOutputStream;
 
@@ -28,11 +26,6 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
    */
   private final ByteBufferPool bufferPool;
 
-  /**
-   * {@link Writer} to write text.
-   */
-  private final Writer writer;
-
   /**
    * Written {@link PooledByteBuffer} instances.
    */
@@ -53,6 +46,26 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
    */
   private int packetSize = 0;
 
+  /**
+   * Index of the {@link PooledByteBuffer} containing each open value length.
+   */
+  private int[] lengthStartBuffer = new int[4];
+
+  /**
+   * Position within the {@link PooledByteBuffer} for each open value length.
+   */
+  private int[] lengthStartPosition = new int[4];
+
+  /**
+   * Size of the packet after each open value length place holder.
+   */
+  private int[] lengthStartSize = new int[4];
+
+  /**
+   * Number of open value lengths.
+   */
+  private int lengthDepth = 0;
+
   private volatile boolean closed = false;
 
   /**
@@ -62,9 +75,6 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
    */
   public ByteBufferPoolOutputStream(ByteBufferPool bufferPool) {
     this.bufferPool = bufferPool;
-
-    // TODO possibly make charset configurable (if this is required)
-    this.writer = new OutputStreamWriter(this, StandardCharsets.UTF_8);
   }
 
   /**
@@ -177,7 +187,7 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
     synchronized (writtenByteBuffers) {
 
       // Increasing packet size
-      this.packetSize += (len - off);
+      this.packetSize += len;
 
       // Ensure have current pooled buffer
       PooledByteBuffer buffer = this.getCurrentBuffer();
@@ -208,16 +218,189 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
   @Override
   public void write(String text) throws IOException {
     synchronized (writtenByteBuffers) {
-      this.writer.write(text);
-      this.writer.flush();
+      this.writeText(text);
       this.writeTerminator();
     }
   }
 
+  /**
+   * Encodes the text as UTF-8 straight into the {@link PooledByteBuffer} instances. Runs of ASCII are copied a buffer
+   * at a time, as is the bulk of SQL and names.
+   */
+  @Override
+  public void writeText(String text) {
+    synchronized (writtenByteBuffers) {
+      int length = text.length();
+      int i = 0;
+      while (i < length) {
+
+        // Copy the ASCII run into the current buffer
+        ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+        int position = buffer.position();
+        int start = position;
+        int limit = buffer.limit();
+        char c;
+        while (i < length && position < limit && (c = text.charAt(i)) < 0x80) {
+          buffer.put(position++, (byte) c);
+          i++;
+        }
+        buffer.position(position);
+        this.packetSize += position - start;
+
+        // Encode the non ASCII character (buffers filling continue the copy)
+        if (i < length && (c = text.charAt(i)) >= 0x80) {
+          i = this.writeUtf8(text, i, c);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the UTF-8 bytes of a non ASCII character.
+   * 
+   * @param text  Text containing the character.
+   * @param index Index of the character.
+   * @param c     The character.
+   * @return Index of the next character.
+   */
+  private int writeUtf8(String text, int index, char c) {
+    if (c < 0x800) {
+      this.write(0xc0 | (c >> 6));
+      this.write(0x80 | (c & 0x3f));
+    } else if (!Character.isSurrogate(c)) {
+      this.write(0xe0 | (c >> 12));
+      this.write(0x80 | ((c >> 6) & 0x3f));
+      this.write(0x80 | (c & 0x3f));
+    } else if (Character.isHighSurrogate(c) && index + 1 < text.length()
+        && Character.isLowSurrogate(text.charAt(index + 1))) {
+      int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+      this.write(0xf0 | (codePoint >> 18));
+      this.write(0x80 | ((codePoint >> 12) & 0x3f));
+      this.write(0x80 | ((codePoint >> 6) & 0x3f));
+      this.write(0x80 | (codePoint & 0x3f));
+      return index + 2;
+    } else {
+      this.write('?'); // unpaired surrogate, replaced as String.getBytes does
+    }
+    return index + 1;
+  }
+
+  @Override
+  public void writeShort(int value) {
+    synchronized (writtenByteBuffers) {
+      ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+      if (buffer.remaining() >= 2) {
+        buffer.putShort((short) value);
+        this.packetSize += 2;
+      } else {
+        this.write(value >>> 8);
+        this.write(value);
+      }
+    }
+  }
+
+  @Override
+  public void writeInt(int value) {
+    synchronized (writtenByteBuffers) {
+      ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+      if (buffer.remaining() >= 4) {
+        buffer.putInt(value);
+        this.packetSize += 4;
+      } else {
+        this.write(value >>> 24);
+        this.write(value >>> 16);
+        this.write(value >>> 8);
+        this.write(value);
+      }
+    }
+  }
+
+  @Override
+  public void writeLong(long value) {
+    synchronized (writtenByteBuffers) {
+      ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+      if (buffer.remaining() >= 8) {
+        buffer.putLong(value);
+        this.packetSize += 8;
+      } else {
+        this.writeInt((int) (value >>> 32));
+        this.writeInt((int) value);
+      }
+    }
+  }
+
+  @Override
+  public void initLength() throws IOException {
+    synchronized (writtenByteBuffers) {
+
+      // Ensure space to track the value length
+      if (this.lengthDepth == this.lengthStartBuffer.length) {
+        this.lengthStartBuffer = Arrays.copyOf(this.lengthStartBuffer, this.lengthDepth * 2);
+        this.lengthStartPosition = Arrays.copyOf(this.lengthStartPosition, this.lengthDepth * 2);
+        this.lengthStartSize = Arrays.copyOf(this.lengthStartSize, this.lengthDepth * 2);
+      }
+
+      // Obtain the position of value length
+      ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+      this.lengthStartBuffer[this.lengthDepth] = this.writtenByteBuffers.size() - 1;
+      this.lengthStartPosition[this.lengthDepth] = buffer.position();
+
+      // Make space for place holder value length bytes
+      this.write(PACKET_LENGTH_PLACE_HOLDER);
+      this.lengthStartSize[this.lengthDepth++] = this.packetSize;
+    }
+  }
+
+  @Override
+  public void completeLength() {
+    synchronized (writtenByteBuffers) {
+      if (this.lengthDepth == 0) {
+        throw new IllegalStateException("no value length to complete");
+      }
+
+      int depth = --this.lengthDepth;
+      this.putInt(this.lengthStartBuffer[depth], this.lengthStartPosition[depth],
+          this.packetSize - this.lengthStartSize[depth]);
+    }
+  }
+
+  @Override
+  public void append(NetworkOutputStream encoded) {
+    if (!(encoded instanceof ByteBufferPoolOutputStream)) {
+      throw new IllegalArgumentException("can only append a " + ByteBufferPoolOutputStream.class.getSimpleName());
+    }
+
+    synchronized (writtenByteBuffers) {
+      ByteBufferPoolOutputStream other = (ByteBufferPoolOutputStream) encoded;
+      for (PooledByteBuffer pooledBuffer = other.getNextWrittenBuffer(); pooledBuffer != null;
+          pooledBuffer = other.getNextWrittenBuffer()) {
+
+        // Copy the encoded bytes, filling up the current buffers
+        ByteBuffer bytes = pooledBuffer.getByteBuffer();
+        bytes.flip();
+        this.packetSize += bytes.remaining();
+        while (bytes.hasRemaining()) {
+          ByteBuffer buffer = this.getCurrentBuffer().getByteBuffer();
+          if (bytes.remaining() <= buffer.remaining()) {
+            buffer.put(bytes);
+          } else {
+            int limit = bytes.limit();
+            bytes.limit(bytes.position() + buffer.remaining());
+            buffer.put(bytes);
+            bytes.limit(limit);
+          }
+        }
+
+        // Encoded bytes copied so release
+        pooledBuffer.release();
+      }
+    }
+  }
+
   @Override
   public void completePacket() {
     synchronized (writtenByteBuffers) {
-      this.doCompletePacket(0, this.packetSize);
+      this.putInt(this.packetStartBuffer, this.packetStartPosition, this.packetSize);
     }
   }
 
@@ -227,35 +410,35 @@ public class ByteBufferPoolOutputStream extends NetworkOutputStream {
   }
 
   /**
-   * Recursively writes packet length to avoid object creation.
-   * 
-   * @param depth  Current depth.
-   * @param length Current length to write.
+   * Returns the buffers not yet taken to the pool, for bytes that will not be written.
    */
-  private void doCompletePacket(int depth, int length) {
+  public void release() {
     synchronized (writtenByteBuffers) {
-
-      // Drop out once written all bytes
-      if (depth >= 4) {
-        return;
+      for (PooledByteBuffer buffer : writtenByteBuffers) {
+        buffer.release();
       }
+      writtenByteBuffers.clear();
+    }
+  }
 
-      // Obtain the byte length and remove for next length byte
-      byte byteLengthValue = (byte) (length & 0xFF);
-      length >>= 8;
-
-      // Undertake recursion (so writes top bytes first)
-      this.doCompletePacket(depth + 1, length);
-
-      // Write the byte
-      PooledByteBuffer pooledByteBuffer = this.writtenByteBuffers.get(this.packetStartBuffer);
-      if (this.packetStartPosition >= pooledByteBuffer.getByteBuffer().capacity()) {
-        // Writing past buffer end, so start with next buffer
-        this.packetStartBuffer++;
-        this.packetStartPosition = 0;
-        pooledByteBuffer = this.writtenByteBuffers.get(this.packetStartBuffer);
+  /**
+   * Back-patches an int into already written bytes, which may span two {@link PooledByteBuffer} instances.
+   * 
+   * @param bufferIndex Index of the {@link PooledByteBuffer} the int starts in.
+   * @param position    Position of the int within the {@link PooledByteBuffer}.
+   * @param value       Value to write.
+   */
+  private void putInt(int bufferIndex, int position, int value) {
+    synchronized (writtenByteBuffers) {
+      ByteBuffer buffer = this.writtenByteBuffers.get(bufferIndex).getByteBuffer();
+      for (int shift = 24; shift >= 0; shift -= 8) {
+        if (position >= buffer.capacity()) {
+          // Writing past buffer end, so continue with next buffer
+          buffer = this.writtenByteBuffers.get(++bufferIndex).getByteBuffer();
+          position = 0;
+        }
+        buffer.put(position++, (byte) (value >>> shift));
       }
-      pooledByteBuffer.getByteBuffer().put(this.packetStartPosition++, byteLengthValue);
     }
   }
 
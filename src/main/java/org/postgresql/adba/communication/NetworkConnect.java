@@ -9,14 +9,6 @@ import java.io.IOException;
  */
 public interface NetworkConnect extends NetworkErrorHandler {
 
-  /**
-   * Triggers the connect.
-   * 
-   * @param context {@link NetworkConnectContext}.
-   * @throws IOException If failure to initialise.
-   */
-  void connect(NetworkConnectContext context) throws IOException;
-
   /**
    * Handles the connect by the {@link NetworkRequest}.
    * 
@@ -3,15 +3,30 @@ package org.postgresql.adba.communication;
 import static java.net.StandardSocketOptions.SO_KEEPALIVE;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.net.ssl.SSLContext;
 import org.postgresql.adba.PgSession;
 import org.postgresql.adba.PgSessionDbProperty;
@@ -22,8 +37,17 @@ import org.postgresql.adba.buffer.PooledByteBuffer;
 import org.postgresql.adba.communication.BeFrame.BackendTag;
 import org.postgresql.adba.communication.network.CloseResponse;
 import org.postgresql.adba.communication.network.ExecuteResponse;
+import org.postgresql.adba.communication.network.PortalRecycler;
 import org.postgresql.adba.communication.packets.ErrorPacket;
+import org.postgresql.adba.communication.packets.ReadyForQuery;
+import org.postgresql.adba.communication.packets.ReadyForQuery.TransactionStatus;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
 import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.hostchooser.CandidateHost;
+import org.postgresql.adba.hostchooser.HostChooser;
+import org.postgresql.adba.hostchooser.HostRequirement;
+import org.postgresql.adba.hostchooser.HostSpec;
+import org.postgresql.adba.hostchooser.HostStatus;
 import org.postgresql.adba.execution.NioService;
 import org.postgresql.adba.execution.NioServiceContext;
 import org.postgresql.adba.util.PropertyHolder;
@@ -42,18 +66,115 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
   private final ByteBufferPoolOutputStream outputStream;
 
-  private final Queue<NetworkRequest> priorityRequestQueue = new LinkedList<>();
+  /**
+   * Resolves host names, as may block.
+   */
+  private static final Executor RESOLVER = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "pgadba-resolver");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Queue<NetworkRequest> priorityRequestQueue = new ArrayDeque<>();
 
   private final Queue<NetworkRequest> requestQueue = new ConcurrentLinkedQueue<>();
 
-  private final Queue<NetworkResponse> awaitingResponses = new LinkedList<>();
+  /**
+   * Ring buffer of the {@link NetworkResponse} instances awaiting reads, so pipelining does not allocate.
+   */
+  private final Queue<NetworkResponse> awaitingResponses = new ArrayDeque<>();
+
+  private final PortalRecycler portalRecycler = new PortalRecycler();
+
+  /**
+   * Re-used for each read, as the {@link BeFrameParser} copies out the payloads.
+   */
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
 
-  private final BeFrameParser parser = new BeFrameParser();
+  private BeFrameParser parser = new BeFrameParser();
 
   private final PreparedStatementCache preparedStatementCache = new PreparedStatementCache();
 
+  private final ResultFormatPolicy resultFormatPolicy;
+
+  private final TypeRegistry typeRegistry;
+
+  private final HostChooser hostChooser;
+
+  /**
+   * Creates the {@link NetworkConnect} for each attempt to connect to a host.
+   */
+  private Supplier<NetworkConnect> connects = null;
+
   private NetworkConnect connect = null;
 
+  /**
+   * Resolved addresses remaining to be tried, in order of preference.
+   */
+  private final LinkedList<Target> targets = new LinkedList<>();
+
+  /**
+   * Number of hosts still being resolved, whose addresses join the race once known.
+   */
+  private int unresolved;
+
+  /**
+   * Indicates if the next {@link Target} may start as soon as it is resolved, as the stagger delay has passed or the
+   * previous attempts failed while there was nothing further to try.
+   */
+  private boolean attemptDue;
+
+  /**
+   * {@link ConnectAttempt} instances racing to connect.
+   */
+  private final List<ConnectAttempt> attempts = new ArrayList<>();
+
+  /**
+   * {@link ConnectAttempt} that connected first, and so carries this connection.
+   */
+  private ConnectAttempt winner;
+
+  /**
+   * Incremented each time the race restarts, so that stale {@link ConnectAttempt} instances and timers are ignored.
+   */
+  private int round;
+
+  /**
+   * Number of {@link ConnectAttempt} instances started, so that a stagger timer only fires if no other started since.
+   */
+  private int attemptsStarted;
+
+  /**
+   * Delay before starting the next {@link ConnectAttempt} while the previous ones are still connecting.
+   */
+  private long attemptDelayMillis;
+
+  /**
+   * Last failure connecting, reported should no host be connected to.
+   */
+  private Throwable lastFailure;
+
+  /**
+   * {@link CandidateHost} being connected to.
+   */
+  private CandidateHost candidate;
+
+  /**
+   * Indicates if the startup with the host has completed, so that the queued {@link NetworkRequest} instances may be
+   * sent.
+   */
+  private boolean established = false;
+
+  /**
+   * Indicates if the host has been rejected while reading, so the next host is to be connected to.
+   */
+  private boolean reconnectRequired = false;
+
+  /**
+   * {@link TransactionStatus} of the last ready for query, or open once a transaction has started before it.
+   */
+  private volatile TransactionStatus transactionStatus = TransactionStatus.IDLE;
+
   private SocketChannel socketChannel;
 
   private TlsChannel tlsChannel;
@@ -63,7 +184,12 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
   /**
    * Possible blocking {@link NetworkResponse}.
    */
-  private NetworkResponse blockingResponse = new NetworkResponse() {
+  private NetworkResponse blockingResponse = NOT_CONNECTED;
+
+  /**
+   * Blocks writing until connected.
+   */
+  private static final NetworkResponse NOT_CONNECTED = new NetworkResponse() {
     @Override
     public NetworkResponse read(NetworkReadContext context) {
       throw new IllegalStateException("Should not read until connected");
@@ -82,51 +208,230 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
    * @param connection {@link PgSession}.
    * @param loop       {@link NioLoop}.
    * @param bufferPool {@link ByteBufferPool}.
+   * @param typeRegistry {@link TypeRegistry} of the data source.
+   * @param hostChooser {@link HostChooser} of the data source.
    */
   public NetworkConnection(PropertyHolder properties, PgSession connection, NioLoop loop,
-      ByteBufferPool bufferPool) {
+      ByteBufferPool bufferPool, TypeRegistry typeRegistry, HostChooser hostChooser) {
     this.properties = properties;
     this.connection = connection;
     this.loop = loop;
     outputStream = new ByteBufferPoolOutputStream(bufferPool);
+    resultFormatPolicy = new ResultFormatPolicy(properties);
+    this.typeRegistry = typeRegistry;
+    this.hostChooser = hostChooser;
   }
 
   /**
-   * Sends the {@link NetworkConnect}.
+   * Connects to the first of the hosts that can be connected to and satisfies the
+   * {@link PgSessionProperty#TARGET_SESSION_ATTRS}.
+   *
+   * <p>The hosts are resolved off the loop thread, and the addresses of each join the race as soon as they are known, so
+   * a slow resolver doesn't hold up the other hosts. They are raced in the style of Happy Eyeballs: the next address is
+   * tried once the previous ones haven't connected within {@link PgSessionProperty#CONNECT_ATTEMPT_DELAY}
+   * or have failed, the first to connect carries the connection and the others are closed.
    * 
-   * @param networkConnect {@link NetworkConnect}.
+   * @param connects Creates the {@link NetworkConnect} for each host tried.
    */
-  public synchronized void sendNetworkConnect(NetworkConnect networkConnect) {
+  public synchronized void sendNetworkConnect(Supplier<NetworkConnect> connects) {
 
     // Synchronizes with handleConnect so service thread has correct state
     // (Connections should be long running so low impact)
 
     // Ensure only one connect
-    if (connect != null) {
+    if (this.connects != null) {
       throw new IllegalStateException("Connection already being established");
     }
-    connect = networkConnect;
+    this.connects = connects;
 
-    // Initialise the network request
+    // Determine the hosts to try
+    List<CandidateHost> candidates;
     try {
+      candidates = hostChooser.candidates(
+          HostSpec.parse((String) properties.get(PgSessionProperty.HOST), (Integer) properties.get(PgSessionProperty.PORT)),
+          HostRequirement.lookup((String) properties.get(PgSessionProperty.TARGET_SESSION_ATTRS)),
+          Boolean.TRUE.equals(properties.get(PgSessionProperty.LOAD_BALANCE_HOSTS)),
+          Duration.ofSeconds((Integer) properties.get(PgSessionProperty.HOST_RECHECK_SECONDS)));
+    } catch (IllegalArgumentException ex) {
+      connects.get().handleException(ex);
+      return;
+    }
+    attemptDelayMillis = (Integer) properties.get(PgSessionProperty.CONNECT_ATTEMPT_DELAY);
 
-      // Register the connection
-      socketChannel = SocketChannel.open();
-      socketChannel.configureBlocking(false);
-      if ((boolean) properties.get(PgSessionProperty.TCP_KEEP_ALIVE)) {
-        socketChannel.setOption(SO_KEEPALIVE, true);
+    // Resolve the hosts (in parallel, as may block), racing the addresses of each as soon as they are known
+    unresolved = candidates.size();
+    attemptDue = true;
+    if (candidates.isEmpty()) {
+      startAttempt();
+      return;
+    }
+    for (int i = 0; i < candidates.size(); i++) {
+      CandidateHost candidate = candidates.get(i);
+      int rank = i;
+      if (isAddressLiteral(candidate.getHost().getHost())) {
+        // nothing to look up, so raced straight away
+        resolved(rank, resolve(candidate, rank));
+      } else {
+        CompletableFuture.supplyAsync(() -> resolve(candidate, rank), RESOLVER)
+            .thenAccept(addresses -> resolved(rank, addresses));
       }
-      loop.registerNioService(socketChannel, (context) -> {
-        this.context = context;
-        return this;
-      });
+    }
+  }
+
+  /**
+   * Indicates if the host is an IPv4 or IPv6 address rather than a name, so resolving it doesn't block.
+   *
+   * @param host the host.
+   * @return <code>true</code> if an address.
+   */
+  static boolean isAddressLiteral(String host) {
+    return host.indexOf(':') >= 0 || !host.isEmpty() && host.chars().allMatch(c -> c == '.' || c >= '0' && c <= '9');
+  }
+
+  /**
+   * Adds the addresses of a resolved host to those to try, ahead of the hosts after it in order of preference, and
+   * starts trying them unless waiting for the stagger delay of an attempt still connecting.
+   *
+   * @param rank position of the host in order of preference.
+   * @param addresses {@link Target} for each address of the host.
+   */
+  private synchronized void resolved(int rank, List<Target> addresses) {
+    unresolved--;
+    ListIterator<Target> position = targets.listIterator();
+    while (position.hasNext()) {
+      if (position.next().rank > rank) {
+        position.previous();
+        break;
+      }
+    }
+    addresses.forEach(position::add);
+
+    if (winner == null && attemptDue) {
+      startAttempt();
+    }
+  }
+
+  /**
+   * Resolves the addresses of the {@link CandidateHost}, alternating between IPv6 and IPv4 as does Happy Eyeballs, so
+   * that a broken address family doesn't delay connecting.
+   * 
+   * @param candidate {@link CandidateHost}.
+   * @param rank position of the host in order of preference.
+   * @return {@link Target} for each address, none if the host can't be resolved.
+   */
+  private List<Target> resolve(CandidateHost candidate, int rank) {
+    InetAddress[] addresses;
+    try {
+      addresses = InetAddress.getAllByName(candidate.getHost().getHost());
+    } catch (UnknownHostException ex) {
+      hostChooser.report(candidate.getHost(), HostStatus.CONNECT_FAILED);
+      synchronized (this) {
+        lastFailure = ex;
+      }
+      return List.of();
+    }
 
-      // Undertake connect
-      networkConnect.connect(this);
+    Deque<InetAddress> first = new ArrayDeque<>();
+    Deque<InetAddress> second = new ArrayDeque<>();
+    for (InetAddress address : addresses) {
+      (address.getClass() == addresses[0].getClass() ? first : second).add(address);
+    }
+    List<Target> resolved = new ArrayList<>(addresses.length);
+    while (!first.isEmpty() || !second.isEmpty()) {
+      if (!first.isEmpty()) {
+        resolved.add(new Target(candidate, rank, new InetSocketAddress(first.poll(), candidate.getHost().getPort())));
+      }
+      if (!second.isEmpty()) {
+        resolved.add(new Target(candidate, rank, new InetSocketAddress(second.poll(), candidate.getHost().getPort())));
+      }
+    }
+    return resolved;
+  }
 
+  /**
+   * Starts racing the remaining {@link Target} instances.
+   * 
+   * @param failure Failure of the previous host, <code>null</code> if first race.
+   */
+  private synchronized void race(Throwable failure) {
+    round++;
+    winner = null;
+    candidate = null;
+    if (failure != null) {
+      lastFailure = failure;
+    }
+    startAttempt();
+  }
+
+  /**
+   * Starts a {@link ConnectAttempt} for the next {@link Target}, failing the connect if there are no further
+   * {@link Target} instances, no host still being resolved and no {@link ConnectAttempt} still connecting.
+   */
+  private synchronized void startAttempt() {
+    while (!targets.isEmpty()) {
+      ConnectAttempt attempt = new ConnectAttempt(targets.poll(), round);
+      try {
+        attempt.start();
+        attempts.add(attempt);
+        attemptDue = false;
+        int started = ++attemptsStarted;
+        int attemptRound = round;
+        CompletableFuture.delayedExecutor(attemptDelayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+          synchronized (this) {
+            if (winner == null && round == attemptRound && attemptsStarted == started) {
+              startAttempt();
+            }
+          }
+        });
+        return;
+      } catch (IOException ex) {
+        attempt.close();
+        hostChooser.report(attempt.target.candidate.getHost(), HostStatus.CONNECT_FAILED);
+        lastFailure = ex;
+      }
+    }
+
+    attemptDue = true;
+    if (attempts.isEmpty() && winner == null && unresolved == 0) {
+      // No further hosts
+      connects.get().handleException(lastFailure != null ? lastFailure : new IOException("No host to connect to"));
+      connection.unregister();
+    }
+  }
+
+  /**
+   * Closes the channel to the current host and discards the state of the startup with it.
+   */
+  private void closeChannel() {
+    try {
+      if (tlsChannel != null) {
+        tlsChannel.close();
+      } else if (socketChannel != null) {
+        socketChannel.close();
+      }
+      if (context != null) {
+        context.unregister();
+      }
     } catch (IOException ex) {
-      networkConnect.handleException(ex);
+      // Ignore, as moving on to the next host
     }
+    tlsChannel = null;
+    context = null;
+
+    // Discard any writes and responses for the host
+    if (incompleteWriteBuffer != null) {
+      incompleteWriteBuffer.release();
+      incompleteWriteBuffer = null;
+    }
+    PooledByteBuffer written;
+    while ((written = outputStream.getNextWrittenBuffer()) != null) {
+      written.release();
+    }
+    priorityRequestQueue.clear();
+    awaitingResponses.clear();
+    immediateResponse = null;
+    blockingResponse = NOT_CONNECTED;
+    parser = new BeFrameParser();
   }
 
   /**
@@ -143,13 +448,44 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     }
   }
 
+  /**
+   * Obtains the {@link TransactionStatus} as of the responses read so far.
+   *
+   * @return {@link TransactionStatus}.
+   */
+  public TransactionStatus getTransactionStatus() {
+    return transactionStatus;
+  }
+
+  private void trackTransaction(BeFrame frame) {
+    if (frame.getTag() == BackendTag.READY_FOR_QUERY) {
+      transactionStatus = new ReadyForQuery(frame.getPayload()).getTransactionStatus();
+    } else if (frame.getTag() == BackendTag.COMMAND_COMPLETE && startsTransaction(frame.getPayload())) {
+      transactionStatus = TransactionStatus.OPEN;
+    }
+  }
+
+  /**
+   * Indicates if the tag of a command complete is of a command that starts a transaction.
+   *
+   * @param payload the payload of the command complete
+   * @return <code>true</code> for <code>BEGIN</code> and <code>START TRANSACTION</code>
+   */
+  static boolean startsTransaction(byte[] payload) {
+    if (payload.length == 0 || payload[0] != 'B' && payload[0] != 'S') {
+      return false;
+    }
+    String tag = new String(payload, StandardCharsets.US_ASCII);
+    return tag.startsWith("BEGIN") || tag.startsWith("START TRANSACTION");
+  }
+
   /**
    * Indicates if the connection is closed.
    * 
    * @return <code>true</code> if the connection is closed.
    */
   public boolean isConnectionClosed() {
-    return !socketChannel.isConnected();
+    return socketChannel == null || !socketChannel.isConnected();
   }
 
   /*
@@ -172,10 +508,9 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     // Load initial action to be undertaken first
     if (initialRequest != null) {
 
-      // Run initial request
-      Queue<NetworkRequest> queue = new LinkedList<>();
-      queue.add(initialRequest);
-      handleWrite(queue);
+      // Run initial request (others held back until established)
+      priorityRequestQueue.add(initialRequest);
+      handleWrite(requestQueue);
     }
   }
 
@@ -216,6 +551,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
         }
 
         // Loop until all next requests flushed
+        request.recycleRequest();
         request = nextRequest;
       } while (request != null);
     }
@@ -241,7 +577,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     if (blockingResponse == null) {
 
       // Flush out the requests (doing priority queue first)
-      if (!flushRequests(priorityRequestQueue)) {
+      if (!flushRequests(priorityRequestQueue) && established) {
         flushRequests(requests);
       }
     }
@@ -272,7 +608,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     PooledByteBuffer pooledBuffer = outputStream.getNextWrittenBuffer();
     if (pooledBuffer == null) {
       checkIfCloseAndPerformClose();
-      if (requests.size() == 0) {
+      if (!established || requests.size() == 0) {
         context.setInterestedOps(SelectionKey.OP_READ);
       }
       return;
@@ -303,7 +639,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     pooledBuffer.release();
 
     // As here all data written
-    if (outputStream.hasMoreToWrite() || requests.size() != 0) {
+    if (outputStream.hasMoreToWrite() || established && requests.size() != 0) {
       context.setInterestedOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
     } else if (outputStream.isClosed()) {
       checkIfCloseAndPerformClose();
@@ -361,17 +697,15 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
   @Override
   public void handleRead() throws IOException {
-    // TODO use pooled byte buffers
-    ByteBuffer readBuffer = ByteBuffer.allocate(1024);
-
     // Reset for reads
+    readBuffer.clear();
     int bytesRead = -1;
     isWriteRequired = false;
     try {
 
       // Consume data on the socket
-      while (tlsChannel == null ? (bytesRead = socketChannel.read(readBuffer)) > 0
-          : (bytesRead = tlsChannel.read(readBuffer)) > 0) {
+      while (!reconnectRequired && (tlsChannel == null ? (bytesRead = socketChannel.read(readBuffer)) > 0
+          : (bytesRead = tlsChannel.read(readBuffer)) > 0)) {
 
         // Setup for consuming parts
         readBuffer.flip();
@@ -379,9 +713,17 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
 
         // Service the BE frames
         BeFrame frame;
-        while ((frame = parser.parseBeFrame(readBuffer, position, bytesRead)) != null) {
+        while (!reconnectRequired && (frame = parser.parseBeFrame(readBuffer, position, bytesRead)) != null) {
           position += parser.getConsumedBytes();
 
+          // Notices (such as warnings) may arrive at any time, so are not a response
+          if (frame.getTag() == BackendTag.NOTICE_RESPONSE) {
+            continue;
+          }
+
+          // Track the transaction before the submissions complete
+          trackTransaction(frame);
+
           // Obtain the awaiting response
           NetworkResponse awaitingResponse = getAwaitingResponse();
 
@@ -400,7 +742,9 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
               if (awaitingResponses.peek() instanceof ExecuteResponse) {
                 haveConsumedExecuteResponse = true;
               }
-              awaitingResponses.poll().handleException(errorPacket);
+              NetworkResponse failed = awaitingResponses.poll();
+              failed.handleException(errorPacket);
+              failed.recycleResponse();
             }
           } else { // Provide frame to awaiting response
             beFrame = frame;
@@ -414,6 +758,11 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
             // Flag to write (as very likely have writes)
             isWriteRequired = true;
           }
+
+          // Recycle once the response is complete
+          if (immediateResponse != awaitingResponse) {
+            awaitingResponse.recycleResponse();
+          }
         }
 
         // Clear buffer for re-use
@@ -427,10 +776,17 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
       e.printStackTrace();
       throw e;
     } finally {
-      if (isWriteRequired) {
+      if (isWriteRequired && !reconnectRequired) {
         context.writeRequired();
       }
     }
+    if (reconnectRequired) {
+      reconnectRequired = false;
+      closeChannel();
+      race(new IOException("No host satisfies " + PgSessionProperty.TARGET_SESSION_ATTRS.name().toLowerCase()
+          + "=" + candidate.getRequirement()));
+      return;
+    }
     if (tlsChannel == null && bytesRead < 0) {
       throw new ClosedChannelException();
     }
@@ -441,6 +797,14 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
   @Override
   public void handleException(Throwable ex) {
 
+    // Try the next host if failed connecting to this host
+    if (!established && candidate != null && ex instanceof IOException) {
+      hostChooser.report(candidate.getHost(), HostStatus.CONNECT_FAILED);
+      closeChannel();
+      race(ex);
+      return;
+    }
+
     // Unregister the connection (as closed)
     connection.unregister();
 
@@ -451,7 +815,7 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     }
 
     // Close the connection (if open)
-    if (socketChannel.isOpen()) {
+    if (socketChannel != null && socketChannel.isOpen()) {
       try {
         socketChannel.close();
         context.unregister();
@@ -531,9 +895,177 @@ public class NetworkConnection implements NioService, NetworkConnectContext, Net
     return preparedStatementCache;
   }
 
+  @Override
+  public PortalRecycler getPortalRecycler() {
+    return portalRecycler;
+  }
+
+  @Override
+  public ResultFormatPolicy getResultFormatPolicy() {
+    return resultFormatPolicy;
+  }
+
+  @Override
+  public TypeRegistry getTypeRegistry() {
+    return typeRegistry;
+  }
+
   @Override
   public void setProperty(PgSessionDbProperty property, Object value) {
     properties.sessionDbProperty(property, value);
   }
 
-}
\ No newline at end of file
+  @Override
+  public CandidateHost getCandidateHost() {
+    return candidate;
+  }
+
+  @Override
+  public void establish(HostStatus status) {
+    hostChooser.report(candidate.getHost(), status);
+    established = true;
+    isWriteRequired = true;
+  }
+
+  @Override
+  public void rejectHost(HostStatus status) {
+    hostChooser.report(candidate.getHost(), status);
+    reconnectRequired = true;
+  }
+
+  /**
+   * Address of a {@link CandidateHost} to connect to.
+   */
+  private static class Target {
+    private final CandidateHost candidate;
+    private final int rank;
+    private final InetSocketAddress address;
+
+    private Target(CandidateHost candidate, int rank, InetSocketAddress address) {
+      this.candidate = candidate;
+      this.rank = rank;
+      this.address = address;
+    }
+  }
+
+  /**
+   * Attempt to connect to a {@link Target} on its own {@link SocketChannel}. Once it has won the race it forwards all
+   * events to the {@link NetworkConnection}.
+   */
+  private class ConnectAttempt implements NioService {
+    private final Target target;
+    private final int attemptRound;
+    private SocketChannel channel;
+    private NioServiceContext attemptContext;
+
+    private ConnectAttempt(Target target, int attemptRound) {
+      this.target = target;
+      this.attemptRound = attemptRound;
+    }
+
+    private void start() throws IOException {
+      channel = SocketChannel.open();
+      channel.configureBlocking(false);
+      if ((boolean) properties.get(PgSessionProperty.TCP_KEEP_ALIVE)) {
+        channel.setOption(SO_KEEPALIVE, true);
+      }
+      loop.registerNioService(channel, (context) -> {
+        attemptContext = context;
+        return this;
+      });
+      channel.connect(target.address);
+    }
+
+    private void close() {
+      try {
+        if (attemptContext != null) {
+          attemptContext.unregister();
+        }
+        if (channel != null) {
+          channel.close();
+        }
+      } catch (IOException ex) {
+        // Ignore, as no longer required
+      }
+    }
+
+    /**
+     * Handles failure to connect, so starts the next {@link ConnectAttempt} without waiting for the delay.
+     */
+    private void failed(Throwable ex) {
+      synchronized (NetworkConnection.this) {
+        attempts.remove(this);
+        close();
+        hostChooser.report(target.candidate.getHost(), HostStatus.CONNECT_FAILED);
+        lastFailure = ex;
+        if (winner == null && round == attemptRound) {
+          startAttempt();
+        }
+      }
+    }
+
+    @Override
+    public void handleConnect() throws Exception {
+      synchronized (NetworkConnection.this) {
+        if (winner != null || round != attemptRound) {
+          attempts.remove(this);
+          close();
+          return;
+        }
+        if (!channel.isConnectionPending() && !channel.isConnected()) {
+          // readiness of the channel registered before its connect started
+          return;
+        }
+        try {
+          if (!channel.finishConnect()) {
+            // still connecting, as readiness can be reported early
+            return;
+          }
+        } catch (IOException ex) {
+          failed(ex);
+          return;
+        }
+
+        // Won the race, so close the others (trying them again should this host not do)
+        attempts.remove(this);
+        for (int i = attempts.size() - 1; i >= 0; i--) {
+          ConnectAttempt other = attempts.get(i);
+          other.close();
+          targets.addFirst(other.target);
+        }
+        attempts.clear();
+
+        // Carry the connection
+        winner = this;
+        candidate = target.candidate;
+        socketChannel = channel;
+        context = attemptContext;
+        connect = connects.get();
+      }
+      NetworkConnection.this.handleConnect();
+    }
+
+    @Override
+    public void handleRead() throws Exception {
+      if (winner == this) {
+        NetworkConnection.this.handleRead();
+      }
+    }
+
+    @Override
+    public void handleWrite() throws Exception {
+      if (winner == this) {
+        NetworkConnection.this.handleWrite();
+      }
+    }
+
+    @Override
+    public void handleException(Throwable ex) {
+      if (winner == this) {
+        NetworkConnection.this.handleException(ex);
+      } else {
+        failed(ex);
+      }
+    }
+  }
+}
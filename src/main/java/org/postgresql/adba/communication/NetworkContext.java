@@ -2,6 +2,7 @@ package org.postgresql.adba.communication;
 
 import java.nio.channels.SocketChannel;
 import jdk.incubator.sql2.SessionProperty;
+import org.postgresql.adba.hostchooser.CandidateHost;
 import org.postgresql.adba.util.PropertyHolder;
 
 /**
@@ -25,5 +26,12 @@ public interface NetworkContext {
    */
   PropertyHolder getProperties();
 
+  /**
+   * Obtains the {@link CandidateHost} being connected to.
+   * 
+   * @return {@link CandidateHost}.
+   */
+  CandidateHost getCandidateHost();
+
   void startTls();
 }
\ No newline at end of file
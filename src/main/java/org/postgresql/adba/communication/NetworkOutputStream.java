@@ -25,6 +25,74 @@ public abstract class NetworkOutputStream extends OutputStream {
    */
   public abstract void write(String text) throws IOException;
 
+  /**
+   * Writes text into the packet without a terminator.
+   * 
+   * @param text Text.
+   * @throws IOException If fails to write the text.
+   */
+  public abstract void writeText(String text) throws IOException;
+
+  /**
+   * Writes a short in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeShort(int value) throws IOException {
+    this.write(value >>> 8);
+    this.write(value);
+  }
+
+  /**
+   * Writes an int in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeInt(int value) throws IOException {
+    this.write(value >>> 24);
+    this.write(value >>> 16);
+    this.write(value >>> 8);
+    this.write(value);
+  }
+
+  /**
+   * Writes a long in network byte order.
+   * 
+   * @param value Value.
+   * @throws IOException If fails to write the value.
+   */
+  public void writeLong(long value) throws IOException {
+    this.writeInt((int) (value >>> 32));
+    this.writeInt((int) value);
+  }
+
+  /**
+   * Starts a value whose length isn't known until it is written, a place holder is written for the length. Lengths
+   * can be nested, for the elements of an array for example.
+   * 
+   * @throws IOException If fails to write the place holder.
+   */
+  public abstract void initLength() throws IOException;
+
+  /**
+   * Back-patches the length of the value most recently started with {@link #initLength()}, the length doesn't include
+   * the length bytes themselves.
+   * 
+   * @throws IOException If fails to write the length.
+   */
+  public abstract void completeLength() throws IOException;
+
+  /**
+   * Appends the bytes written to another stream, that was used to encode part of a packet ahead of time. The buffers
+   * of the other stream are released.
+   * 
+   * @param encoded Stream holding the encoded bytes, not within a packet.
+   * @throws IOException If fails to append the bytes.
+   */
+  public abstract void append(NetworkOutputStream encoded) throws IOException;
+
   /**
    * Writes the terminator.
    * 
@@ -1,6 +1,9 @@
 package org.postgresql.adba.communication;
 
 import org.postgresql.adba.PgSessionDbProperty;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
+import org.postgresql.adba.hostchooser.HostRequirement;
+import org.postgresql.adba.hostchooser.HostStatus;
 
 /**
  * Context for writing to the network.
@@ -23,6 +26,20 @@ public interface NetworkReadContext extends NetworkContext {
    */
   PreparedStatementCache getPreparedStatementCache();
 
+  /**
+   * Obtains the {@link ResultFormatPolicy}.
+   * 
+   * @return {@link ResultFormatPolicy}.
+   */
+  ResultFormatPolicy getResultFormatPolicy();
+
+  /**
+   * Obtains the {@link TypeRegistry} of the data source.
+   * 
+   * @return {@link TypeRegistry}.
+   */
+  TypeRegistry getTypeRegistry();
+
   /**
    * set a {@link PgSessionDbProperty} that came from the server.
    * 
@@ -31,6 +48,20 @@ public interface NetworkReadContext extends NetworkContext {
    */
   void setProperty(PgSessionDbProperty property, Object value);
 
+  /**
+   * Flags the startup with the host as complete, so that the queued {@link NetworkRequest} instances are sent.
+   * 
+   * @param status {@link HostStatus} of the host.
+   */
+  void establish(HostStatus status);
+
+  /**
+   * Rejects the host, as it doesn't satisfy the {@link HostRequirement}, to connect to the next host.
+   * 
+   * @param status {@link HostStatus} of the host.
+   */
+  void rejectHost(HostStatus status);
+
   /**
    * Triggers for a {@link NetworkRequest} to be undertaken.
    * 
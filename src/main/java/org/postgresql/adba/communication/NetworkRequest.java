@@ -38,4 +38,11 @@ public interface NetworkRequest {
     return null;
   }
 
+  /**
+   * Invoked once this {@link NetworkRequest} is written and its
+   * {@link NetworkResponse} obtained, so that it may be re-used.
+   */
+  default void recycleRequest() {
+  }
+
 }
\ No newline at end of file
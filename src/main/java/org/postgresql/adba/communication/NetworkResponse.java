@@ -17,4 +17,11 @@ public interface NetworkResponse extends NetworkErrorHandler {
    * @throws IOException If failure in handling the read.
    */
   NetworkResponse read(NetworkReadContext context) throws IOException;
+
+  /**
+   * Invoked once this {@link NetworkResponse} has handled all its reads (or the
+   * failure), so that it may be re-used.
+   */
+  default void recycleResponse() {
+  }
 }
\ No newline at end of file
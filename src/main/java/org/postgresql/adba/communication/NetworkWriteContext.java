@@ -1,5 +1,7 @@
 package org.postgresql.adba.communication;
 
+import org.postgresql.adba.communication.network.PortalRecycler;
+
 /**
  * Context for writing to the network.
  * 
@@ -21,4 +23,11 @@ public interface NetworkWriteContext extends NetworkContext {
    */
   PreparedStatementCache getPreparedStatementCache();
 
+  /**
+   * Obtains the {@link PortalRecycler}.
+   * 
+   * @return {@link PortalRecycler}.
+   */
+  PortalRecycler getPortalRecycler();
+
 }
\ No newline at end of file
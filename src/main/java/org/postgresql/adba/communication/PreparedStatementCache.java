@@ -1,9 +1,11 @@
 package org.postgresql.adba.communication;
 
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.postgresql.adba.communication.network.Query;
 
@@ -14,6 +16,11 @@ public class PreparedStatementCache {
    */
   private Map<StatementKey, Query> sqlToQuery = new HashMap<>();
 
+  /**
+   * SQL of the cached queries, readable from any thread.
+   */
+  private final Set<String> cachedSql = ConcurrentHashMap.newKeySet();
+
   /**
    * Obtains the {@link Query} for the SQL.
    * 
@@ -21,20 +28,42 @@ public class PreparedStatementCache {
    * @param params Parameters.
    * @return {@link Query}.
    */
-  public Query getQuery(String sql, List<Integer> params) {
+  public Query getQuery(String sql, int[] params) {
     if (sql == null) {
       throw new IllegalArgumentException("No SQL provided");
     }
 
     // Obtain or create the query
-    return sqlToQuery.computeIfAbsent(new StatementKey(sql, params), key -> new Query());
+    return sqlToQuery.computeIfAbsent(new StatementKey(sql, params), key -> {
+      cachedSql.add(sql);
+      return new Query();
+    });
+  }
+
+  /**
+   * Indicates if a query for the SQL is cached. May be called from any thread.
+   * 
+   * @param sql SQL.
+   * @return <code>true</code> if cached.
+   */
+  public boolean containsSql(String sql) {
+    return cachedSql.contains(sql);
+  }
+
+  /**
+   * Forgets all the queries, as their prepared statements were dropped on the server, such as by
+   * <code>DISCARD ALL</code>. Only called on the networking thread.
+   */
+  public void clear() {
+    sqlToQuery.clear();
+    cachedSql.clear();
   }
 
   private class StatementKey {
     private final String sql;
-    private final List<Integer> params;
+    private final int[] params;
 
-    private StatementKey(String sql, List<Integer> params) {
+    private StatementKey(String sql, int[] params) {
       this.sql = sql;
       this.params = params;
     }
@@ -50,12 +79,12 @@ public class PreparedStatementCache {
       }
 
       StatementKey that = (StatementKey) o;
-      return Objects.equals(sql, that.sql) && Objects.equals(params, that.params);
+      return Objects.equals(sql, that.sql) && Arrays.equals(params, that.params);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(sql, params);
+      return 31 * Objects.hashCode(sql) + Arrays.hashCode(params);
     }
   }
 
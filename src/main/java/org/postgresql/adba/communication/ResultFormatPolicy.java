@@ -0,0 +1,89 @@
+package org.postgresql.adba.communication;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.postgresql.adba.PgSessionProperty;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+import org.postgresql.adba.util.PropertyHolder;
+
+/**
+ * Decides in which format each result column of a statement is requested from the server.
+ *
+ * <p>The defaults come from {@link ColumnTypes#getPreferredResultFormat()} and can be overridden per session with
+ * {@link PgSessionProperty#BINARY_TRANSFER} and {@link PgSessionProperty#BINARY_TRANSFER_DISABLE}.
+ */
+public class ResultFormatPolicy {
+  private final boolean binaryTransfer;
+  private final Set<ColumnTypes> textOnly = EnumSet.noneOf(ColumnTypes.class);
+
+  /**
+   * Creates the policy from the session properties.
+   *
+   * @param properties the properties of the session
+   */
+  public ResultFormatPolicy(PropertyHolder properties) {
+    Boolean binary = (Boolean) properties.get(PgSessionProperty.BINARY_TRANSFER);
+    binaryTransfer = binary == null || binary;
+
+    String disabled = (String) properties.get(PgSessionProperty.BINARY_TRANSFER_DISABLE);
+    if (disabled != null) {
+      for (String type : disabled.split(",")) {
+        if (!type.isBlank()) {
+          textOnly.add(lookup(type.trim()));
+        }
+      }
+    }
+  }
+
+  /**
+   * The format to request a result column of the supplied type in.
+   *
+   * @param type the type of the column
+   * @return the format to request
+   */
+  public FormatCodeTypes formatFor(ColumnTypes type) {
+    if (!binaryTransfer || textOnly.contains(type)) {
+      return FormatCodeTypes.TEXT;
+    }
+
+    return type.getPreferredResultFormat();
+  }
+
+  /**
+   * Chooses the format for each of the described columns.
+   *
+   * @param descriptions the columns as described by the server
+   * @return the columns with the format they should be requested in, or <code>null</code> if all columns should be
+   *         transferred as text
+   */
+  public ColumnDescription[] negotiate(ColumnDescription[] descriptions) {
+    ColumnDescription[] negotiated = null;
+
+    for (int i = 0; i < descriptions.length; i++) {
+      FormatCodeTypes format = formatFor(descriptions[i].getColumnType());
+      if (format != FormatCodeTypes.TEXT) {
+        if (negotiated == null) {
+          negotiated = descriptions.clone();
+        }
+        negotiated[i] = descriptions[i].withFormatCode(format);
+      }
+    }
+
+    return negotiated;
+  }
+
+  private static ColumnTypes lookup(String type) {
+    try {
+      return ColumnTypes.lookup(Integer.parseInt(type));
+    } catch (NumberFormatException e) {
+      try {
+        return ColumnTypes.valueOf(type.toUpperCase());
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException("unknown type in " + PgSessionProperty.BINARY_TRANSFER_DISABLE + ": " + type,
+            ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package org.postgresql.adba.communication.network;
+
+import org.postgresql.adba.communication.NetworkRequest;
+
+/**
+ * Abstract {@link Portal} {@link NetworkRequest} that is recycled by the {@link PortalRecycler} of the connection.
+ *
+ * @author Daniel Sagenschneider
+ */
+public abstract class AbstractPortalRequest implements NetworkRequest {
+
+  /**
+   * {@link PortalRecycler} this request is obtained from.
+   */
+  protected final PortalRecycler recycler;
+
+  /**
+   * {@link Portal}.
+   */
+  protected Portal portal;
+
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler}.
+   */
+  protected AbstractPortalRequest(PortalRecycler recycler) {
+    this.recycler = recycler;
+  }
+
+  /**
+   * Specifies the {@link Portal} for this use of the request.
+   *
+   * @param portal {@link Portal}.
+   * @return <code>this</code>.
+   */
+  AbstractPortalRequest init(Portal portal) {
+    this.portal = portal;
+    return this;
+  }
+}
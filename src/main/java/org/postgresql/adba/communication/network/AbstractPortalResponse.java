@@ -3,29 +3,45 @@ package org.postgresql.adba.communication.network;
 import org.postgresql.adba.communication.NetworkResponse;
 
 /**
- * Abstract {@link Portal} {@link NetworkResponse}.
+ * Abstract {@link Portal} {@link NetworkResponse} that is recycled by the {@link PortalRecycler} of the connection.
  * 
  * @author Daniel Sagenschneider
  */
 public abstract class AbstractPortalResponse implements NetworkResponse {
 
+  /**
+   * {@link PortalRecycler} this response is obtained from.
+   */
+  protected final PortalRecycler recycler;
+
   /**
    * {@link Portal}.
    */
-  protected final Portal portal;
+  protected Portal portal;
 
   /**
    * Instantiate.
    * 
+   * @param recycler {@link PortalRecycler}.
+   */
+  protected AbstractPortalResponse(PortalRecycler recycler) {
+    this.recycler = recycler;
+  }
+
+  /**
+   * Specifies the {@link Portal} for this use of the response.
+   *
    * @param portal {@link Portal}.
+   * @return <code>this</code>.
    */
-  public AbstractPortalResponse(Portal portal) {
+  AbstractPortalResponse init(Portal portal) {
     this.portal = portal;
+    return this;
   }
 
   @Override
   public NetworkResponse handleException(Throwable ex) {
     portal.handleException(ex);
-    return new ReadyForQueryResponse();
+    return PortalRecycler.READY_FOR_QUERY;
   }
-}
\ No newline at end of file
+}
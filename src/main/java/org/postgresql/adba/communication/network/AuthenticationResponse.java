@@ -3,11 +3,13 @@ package org.postgresql.adba.communication.network;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import org.postgresql.adba.PgSessionDbProperty;
+import org.postgresql.adba.ReadYourWritesContext;
 import org.postgresql.adba.communication.BeFrame;
 import org.postgresql.adba.communication.NetworkReadContext;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.packets.AuthenticationRequest;
 import org.postgresql.adba.communication.packets.ParameterStatus;
+import org.postgresql.adba.hostchooser.HostStatus;
 import org.postgresql.adba.submissions.ConnectSubmission;
 
 /**
@@ -34,8 +36,7 @@ public class AuthenticationResponse implements NetworkResponse {
         switch (authentication.getType()) {
 
           case SUCCESS:
-            // Connected, so trigger any waiting submissions
-            connectSubmission.finish(null);
+            // Authenticated, connected once ready for query
             return this;
 
           default:
@@ -57,6 +58,14 @@ public class AuthenticationResponse implements NetworkResponse {
         return this;
 
       case READY_FOR_QUERY:
+        ReadYourWritesContext readYourWrites = HostCheckRequest.requiredWrites(context.getProperties());
+        if (context.getCandidateHost().getRequirement().requiresCheck() || readYourWrites != null) {
+          // Check the server is of the required kind, and has the writes to read, before using it
+          context.write(new HostCheckRequest(connectSubmission, readYourWrites));
+          return null;
+        }
+
+        TypeRegistryRequest.connected(context, connectSubmission, HostStatus.CONNECT_OK);
         return null;
 
       default:
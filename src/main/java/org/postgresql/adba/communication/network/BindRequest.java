@@ -1,25 +1,29 @@
 package org.postgresql.adba.communication.network;
 
+import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
 import org.postgresql.adba.communication.FrontendTag;
 import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
-import org.postgresql.adba.operations.helpers.QueryParameter;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Bind {@link NetworkRequest}.
  * 
  * @author Daniel Sagenschneider
  */
-public class BindRequest<T> implements NetworkRequest {
+public class BindRequest<T> extends AbstractPortalRequest {
 
-  private final Portal portal;
-
-  public BindRequest(Portal portal) {
-    this.portal = portal;
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the request is recycled to.
+   */
+  BindRequest(PortalRecycler recycler) {
+    super(recycler);
   }
 
   /*
@@ -29,41 +33,65 @@ public class BindRequest<T> implements NetworkRequest {
   @Override
   public NetworkRequest write(NetworkWriteContext context) throws Exception {
 
-    // Obtain the query details
-    ParameterHolder holder = portal.getParameterHolder();
-
     // Write the packet
     NetworkOutputStream wire = context.getOutputStream();
     wire.write(FrontendTag.BIND.getByte());
     wire.initPacket();
     wire.write(portal.getPortalName());
     wire.write(portal.getQuery().getQueryName());
-    wire.write(BinaryHelper.writeShort(holder.size()));
-    for (QueryParameter qp : holder.parameters()) {
-      wire.write(BinaryHelper.writeShort(qp.getParameterFormatCode()));
+    ByteBufferPoolOutputStream encoded = portal.takeEncodedParameters();
+    if (encoded != null) { // encoded by the submitting thread
+      try {
+        wire.append(encoded);
+      } finally {
+        encoded.release();
+      }
+    } else {
+      writeParameters(portal.getParameterHolder(), wire);
     }
-    wire.write(BinaryHelper.writeShort(holder.size()));
-    int paramIndex = 0;
-    for (QueryParameter qp : holder.parameters()) {
-      byte[] paramData = qp.getParameter(paramIndex++);
-      if (paramData.length == 0) { // handling the null special case
-        wire.write(BinaryHelper.writeInt(-1));
-      } else {
-        wire.write(BinaryHelper.writeInt(paramData.length));
-        wire.write(paramData);
+    RowDescription resultDescription = portal.getQuery().getResultDescription();
+    portal.setResultDescription(resultDescription);
+    if (resultDescription == null) { // all result columns as text
+      wire.writeShort(0);
+    } else {
+      wire.writeShort(resultDescription.getDescriptions().length);
+      for (ColumnDescription column : resultDescription.getDescriptions()) {
+        wire.writeShort(column.getFormatCode().getCode());
       }
     }
-    wire.writeTerminator();
-    wire.writeTerminator();
     wire.completePacket();
 
     // Next step to execute
-    return new ExecuteRequest<>(portal);
+    return recycler.executeRequests.obtain().init(portal);
+  }
+
+  /**
+   * Writes the parameter format codes and values of the bind.
+   * 
+   * @param holder {@link ParameterHolder}.
+   * @param wire   {@link NetworkOutputStream} to write to.
+   * @throws Exception If fails to write the parameters.
+   */
+  static void writeParameters(ParameterHolder holder, NetworkOutputStream wire) throws Exception {
+    wire.writeShort(holder.size());
+    for (int i = 0; i < holder.size(); i++) {
+      wire.writeShort(holder.get(i).getParameterFormatCode());
+    }
+    wire.writeShort(holder.size());
+    for (int i = 0; i < holder.size(); i++) {
+      holder.get(i).writeParameter(i, wire);
+    }
   }
 
   @Override
   public NetworkResponse getRequiredResponse() {
-    return new BindResponse(portal);
+    return recycler.bindResponses.obtain().init(portal);
+  }
+
+  @Override
+  public void recycleRequest() {
+    portal = null;
+    recycler.bindRequests.recycle(this);
   }
 
-}
\ No newline at end of file
+}
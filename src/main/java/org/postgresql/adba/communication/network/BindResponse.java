@@ -13,8 +13,13 @@ import org.postgresql.adba.communication.NetworkResponse;
  */
 public class BindResponse extends AbstractPortalResponse {
 
-  public BindResponse(Portal portal) {
-    super(portal);
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the response is recycled to.
+   */
+  BindResponse(PortalRecycler recycler) {
+    super(recycler);
   }
 
   @Override
@@ -30,4 +35,10 @@ public class BindResponse extends AbstractPortalResponse {
     }
   }
 
+  @Override
+  public void recycleResponse() {
+    portal = null;
+    recycler.bindResponses.recycle(this);
+  }
+
 }
@@ -11,17 +11,15 @@ import org.postgresql.adba.communication.NetworkWriteContext;
  * 
  * @author Daniel Sagenschneider
  */
-public class DescribeRequest<T> implements NetworkRequest {
-
-  private final Portal portal;
+public class DescribeRequest<T> extends AbstractPortalRequest {
 
   /**
    * Instantiate.
    *
-   * @param portal the portal this request connects to
+   * @param recycler {@link PortalRecycler} the request is recycled to.
    */
-  public DescribeRequest(Portal portal) {
-    this.portal = portal;
+  DescribeRequest(PortalRecycler recycler) {
+    super(recycler);
   }
 
   /*
@@ -40,12 +38,18 @@ public class DescribeRequest<T> implements NetworkRequest {
     wire.completePacket();
 
     // Next step to bind
-    return new BindRequest<>(portal);
+    return recycler.bindRequests.obtain().init(portal);
   }
 
   @Override
   public NetworkResponse getRequiredResponse() {
-    return new DescribeResponse(portal);
+    return recycler.describeResponses.obtain().init(portal);
+  }
+
+  @Override
+  public void recycleRequest() {
+    portal = null;
+    recycler.describeRequests.recycle(this);
   }
 
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import org.postgresql.adba.communication.BeFrame;
 import org.postgresql.adba.communication.NetworkReadContext;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
 
 import java.io.IOException;
 
@@ -14,8 +17,13 @@ import java.io.IOException;
  */
 public class DescribeResponse extends AbstractPortalResponse {
 
-  public DescribeResponse(Portal portal) {
-    super(portal);
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the response is recycled to.
+   */
+  DescribeResponse(PortalRecycler recycler) {
+    super(recycler);
   }
 
   @Override
@@ -24,14 +32,20 @@ public class DescribeResponse extends AbstractPortalResponse {
     switch (frame.getTag()) {
 
       case NO_DATA:
+        portal.getQuery().flagDescribed();
         return null;
 
       case PARAM_DESCRIPTION:
         return this; // wait on row description
 
       case ROW_DESCRIPTION:
-        RowDescription rowDescription = new RowDescription(frame.getPayload());
-        portal.getQuery().setRowDescription(rowDescription);
+        TypeRegistry types = context.getTypeRegistry();
+        boolean settled = types == null || types.isSettled();
+        RowDescription rowDescription = new RowDescription(frame.getPayload(), types);
+        portal.getQuery().setRowDescription(rowDescription, context.getResultFormatPolicy());
+        if (settled || !hasOther(rowDescription)) {
+          portal.getQuery().flagDescribed();
+        } // else described again on the next execution, once the types are loaded
         return null; // nothing further
 
       default:
@@ -39,4 +53,25 @@ public class DescribeResponse extends AbstractPortalResponse {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Indicates if a column is of a type that isn't known.
+   *
+   * @param rowDescription {@link RowDescription}.
+   * @return <code>true</code> if a column is OTHER.
+   */
+  static boolean hasOther(RowDescription rowDescription) {
+    for (ColumnDescription column : rowDescription.getDescriptions()) {
+      if (column.getColumnType() == ColumnTypes.OTHER) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void recycleResponse() {
+    portal = null;
+    recycler.describeResponses.recycle(this);
+  }
+
+}
@@ -5,19 +5,21 @@ import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Execute {@link NetworkRequest}.
  * 
  * @author Daniel Sagenschneider
  */
-public class ExecuteRequest<T> implements NetworkRequest {
+public class ExecuteRequest<T> extends AbstractPortalRequest {
 
-  private final Portal portal;
-
-  public ExecuteRequest(Portal portal) {
-    this.portal = portal;
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the request is recycled to.
+   */
+  ExecuteRequest(PortalRecycler recycler) {
+    super(recycler);
   }
 
   /*
@@ -32,16 +34,22 @@ public class ExecuteRequest<T> implements NetworkRequest {
     wire.write(FrontendTag.EXECUTE.getByte());
     wire.initPacket();
     wire.write(portal.getPortalName());
-    wire.write(BinaryHelper.writeInt(0)); // number of rows to return, 0 == all
+    wire.writeInt(0); // number of rows to return, 0 == all
     wire.completePacket();
 
-    // TODO Auto-generated method stub
-    return new SyncRequest(portal);
+    // Next step to sync
+    return recycler.syncRequests.obtain().init(portal);
   }
 
   @Override
   public NetworkResponse getRequiredResponse() {
-    return new ExecuteResponse(portal);
+    return recycler.executeResponses.obtain().init(portal);
+  }
+
+  @Override
+  public void recycleRequest() {
+    portal = null;
+    recycler.executeRequests.recycle(this);
   }
 
-}
\ No newline at end of file
+}
@@ -15,8 +15,13 @@ import org.postgresql.adba.communication.packets.DataRow;
  */
 public class ExecuteResponse extends AbstractPortalResponse {
 
-  public ExecuteResponse(Portal portal) {
-    super(portal);
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the response is recycled to.
+   */
+  ExecuteResponse(PortalRecycler recycler) {
+    super(recycler);
   }
 
   @Override
@@ -26,8 +31,8 @@ public class ExecuteResponse extends AbstractPortalResponse {
 
       case DATA_ROW:
         if (!portal.getQuery().isCanceled()) {
-          DataRow dataRow = new DataRow(frame.getPayload(), portal.getQuery().getRowDescription().getDescriptions(),
-              portal.nextRowNumber(), portal.getQuery());
+          DataRow dataRow = new DataRow(frame.getPayload(), portal.getResultDescription(), portal.nextRowNumber(),
+              portal.getQuery());
           portal.addDataRow(dataRow);
         }
         return this;
@@ -45,4 +50,10 @@ public class ExecuteResponse extends AbstractPortalResponse {
     }
   }
 
-}
\ No newline at end of file
+  @Override
+  public void recycleResponse() {
+    portal = null;
+    recycler.executeResponses.recycle(this);
+  }
+
+}
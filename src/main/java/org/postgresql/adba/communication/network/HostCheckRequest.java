@@ -0,0 +1,133 @@
+package org.postgresql.adba.communication.network;
+
+import jdk.incubator.sql2.AdbaSessionProperty;
+import org.postgresql.adba.PgSessionProperty;
+import org.postgresql.adba.ReadYourWritesContext;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.hostchooser.HostStatus;
+import org.postgresql.adba.submissions.ConnectSubmission;
+import org.postgresql.adba.util.PropertyHolder;
+
+/**
+ * Checks after startup that the server satisfies the {@link PgSessionProperty#TARGET_SESSION_ATTRS}, and for a read
+ * only session with a {@link PgSessionProperty#READ_YOUR_WRITES} context that a standby has replayed its writes.
+ */
+public class HostCheckRequest implements NetworkRequest, NetworkResponse {
+
+  /**
+   * Query for whether the server is a standby, whether transactions are read only and the replayed LSN, all in text
+   * format.
+   */
+  static final String QUERY = "select pg_catalog.pg_is_in_recovery(), pg_catalog.current_setting('transaction_read_only'),"
+      + " pg_catalog.pg_last_wal_replay_lsn()";
+
+  /**
+   * {@link ConnectSubmission}.
+   */
+  private final ConnectSubmission connectSubmission;
+
+  private boolean inRecovery;
+
+  private boolean readOnly;
+
+  private String replayedLsn;
+
+  /**
+   * {@link ReadYourWritesContext} the server must have replayed, <code>null</code> if any.
+   */
+  private final ReadYourWritesContext readYourWrites;
+
+  /**
+   * Instantiate.
+   *
+   * @param connectSubmission {@link ConnectSubmission}.
+   * @param readYourWrites {@link ReadYourWritesContext} a standby must have replayed, may be <code>null</code>.
+   */
+  public HostCheckRequest(ConnectSubmission connectSubmission, ReadYourWritesContext readYourWrites) {
+    this.connectSubmission = connectSubmission;
+    this.readYourWrites = readYourWrites;
+  }
+
+  /**
+   * Obtains the {@link ReadYourWritesContext} a standby must have replayed to be used by a session.
+   *
+   * @param properties the properties of the session.
+   * @return {@link ReadYourWritesContext}, <code>null</code> if the session is not read only or nothing is written yet.
+   */
+  public static ReadYourWritesContext requiredWrites(PropertyHolder properties) {
+    ReadYourWritesContext readYourWrites = (ReadYourWritesContext) properties.get(PgSessionProperty.READ_YOUR_WRITES);
+    if (readYourWrites == null || readYourWrites.getLsn() == 0
+        || !Boolean.TRUE.equals(properties.get(AdbaSessionProperty.READ_ONLY))) {
+      return null;
+    }
+    return readYourWrites;
+  }
+
+  /*
+   * =================== NetworkRequest ====================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+    NetworkOutputStream wire = context.getOutputStream();
+    wire.write(FrontendTag.QUERY.getByte());
+    wire.initPacket();
+    wire.write(QUERY);
+    wire.completePacket();
+    return null;
+  }
+
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return this;
+  }
+
+  /*
+   * =================== NetworkResponse ====================
+   */
+
+  @Override
+  public NetworkResponse read(NetworkReadContext context) {
+    BeFrame frame = context.getBeFrame();
+    switch (frame.getTag()) {
+
+      case ROW_DESCRIPTION:
+      case COMMAND_COMPLETE:
+        return this;
+
+      case DATA_ROW:
+        String[] columns = TypeRegistryRequest.textColumns(frame.getPayload());
+        inRecovery = "t".equals(columns[0]);
+        readOnly = "on".equals(columns[1]);
+        replayedLsn = columns[2];
+        return this;
+
+      case READY_FOR_QUERY:
+        HostStatus status = inRecovery ? HostStatus.STANDBY : HostStatus.PRIMARY;
+        boolean replayed = !inRecovery || readYourWrites == null
+            || replayedLsn != null && readYourWrites.isVisibleAt(ReadYourWritesContext.parseLsn(replayedLsn));
+        if (replayed && context.getCandidateHost().getRequirement().accept(inRecovery, readOnly)) {
+          TypeRegistryRequest.connected(context, connectSubmission, status);
+        } else {
+          context.rejectHost(status);
+        }
+        return null;
+
+      default:
+        throw new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + this.getClass().getSimpleName());
+    }
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    Portal.doHandleException(connectSubmission, ex);
+    return null;
+  }
+
+}
@@ -1,5 +1,6 @@
 package org.postgresql.adba.communication.network;
 
+import java.util.concurrent.Executor;
 import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.NetworkRequest;
 import org.postgresql.adba.communication.NetworkWriteContext;
@@ -13,13 +14,29 @@ public class ImmediateComplete implements NetworkRequest {
 
   private final PgSubmission<?> submission;
 
-  public ImmediateComplete(PgSubmission<?> submission) {
+  /**
+   * {@link Executor} to complete the {@link PgSubmission} on, <code>null</code> to complete it on the network thread.
+   */
+  private final Executor completionExecutor;
+
+  /**
+   * Instantiate.
+   *
+   * @param submission {@link PgSubmission}.
+   * @param completionExecutor {@link Executor} to complete the {@link PgSubmission} on. May be <code>null</code>.
+   */
+  public ImmediateComplete(PgSubmission<?> submission, Executor completionExecutor) {
     this.submission = submission;
+    this.completionExecutor = completionExecutor;
   }
 
   @Override
   public NetworkRequest write(NetworkWriteContext context) throws Exception {
-    submission.finish(null);
+    if (completionExecutor == null) {
+      submission.finish(null);
+    } else {
+      completionExecutor.execute(() -> submission.finish(null));
+    }
     return null;
   }
 
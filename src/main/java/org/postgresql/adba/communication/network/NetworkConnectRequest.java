@@ -1,7 +1,6 @@
 package org.postgresql.adba.communication.network;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import jdk.incubator.sql2.AdbaSessionProperty;
 import org.postgresql.adba.PgSessionProperty;
 import org.postgresql.adba.communication.BeFrame;
@@ -42,14 +41,6 @@ public class NetworkConnectRequest implements NetworkConnect, NetworkRequest, Ne
    * =================== NetworkRequest ====================
    */
 
-  @Override
-  public void connect(NetworkConnectContext context) throws IOException {
-    // Undertake connecting
-    PropertyHolder properties = context.getProperties();
-    context.getSocketChannel().connect(new InetSocketAddress((String) properties.get(PgSessionProperty.HOST),
-        (Integer) properties.get(PgSessionProperty.PORT)));
-  }
-
   @Override
   public NetworkRequest finishConnect(NetworkConnectContext context) throws IOException {
 
@@ -7,8 +7,6 @@ import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.communication.PreparedStatementCache;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
-import org.postgresql.adba.operations.helpers.QueryParameter;
-import org.postgresql.adba.util.BinaryHelper;
 
 /**
  * Row operation {@link NetworkRequest}.
@@ -19,6 +17,11 @@ public class ParseRequest<T> implements NetworkRequest {
 
   private final Portal portal;
 
+  /**
+   * {@link PortalRecycler} of the connection, available once written.
+   */
+  private PortalRecycler recycler;
+
   public ParseRequest(Portal portal) {
     this.portal = portal;
   }
@@ -59,15 +62,20 @@ public class ParseRequest<T> implements NetworkRequest {
       wire.initPacket();
       wire.write(query.getQueryName());
       wire.write(sql);
-      wire.write(BinaryHelper.writeShort(holder.size()));
-      for (QueryParameter qp : holder.parameters()) {
-        wire.write(BinaryHelper.writeInt(qp.getOid()));
+      int[] paramTypes = holder.getParamTypes();
+      wire.writeShort(paramTypes.length);
+      for (int paramType : paramTypes) {
+        wire.writeInt(paramType);
       }
       wire.completePacket();
     }
 
-    // Determine if describe or bind
-    return new DescribeRequest<>(portal);
+    // Determine if describe or bind (result already described on previous execution)
+    recycler = context.getPortalRecycler();
+    if (query.isDescribed()) {
+      return recycler.bindRequests.obtain().init(portal);
+    }
+    return recycler.describeRequests.obtain().init(portal);
 
   }
 
@@ -78,7 +86,7 @@ public class ParseRequest<T> implements NetworkRequest {
     // Determine if waiting on parse
     if (!query.isWaitingParse()) {
       query.flagWaitingParse();
-      return new ParseResponse(portal);
+      return recycler.parseResponses.obtain().init(portal);
     }
 
     // Already waiting on parse
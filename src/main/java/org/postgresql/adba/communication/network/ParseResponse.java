@@ -13,8 +13,13 @@ import org.postgresql.adba.communication.NetworkResponse;
  */
 public class ParseResponse extends AbstractPortalResponse {
 
-  public ParseResponse(Portal portal) {
-    super(portal);
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the response is recycled to.
+   */
+  ParseResponse(PortalRecycler recycler) {
+    super(recycler);
   }
 
   @Override
@@ -31,4 +36,10 @@ public class ParseResponse extends AbstractPortalResponse {
     }
   }
 
+  @Override
+  public void recycleResponse() {
+    portal = null;
+    recycler.parseResponses.recycle(this);
+  }
+
 }
@@ -3,18 +3,24 @@ package org.postgresql.adba.communication.network;
 import static org.postgresql.adba.PgSubmission.Types.ARRAY_COUNT;
 
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import jdk.incubator.sql2.SqlException;
+import org.postgresql.adba.PgDataSourceProperty;
 import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.buffer.ByteBufferPool;
+import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
 import org.postgresql.adba.communication.packets.CommandComplete;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.communication.packets.ErrorPacket;
+import org.postgresql.adba.communication.packets.RowDescription;
 import org.postgresql.adba.communication.packets.parts.ErrorResponseField;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 import org.postgresql.adba.submissions.ArrayCountSubmission;
+import org.postgresql.adba.submissions.RowChunker;
 import org.postgresql.adba.util.PgCount;
 
 /**
@@ -57,11 +63,23 @@ public class Portal {
     ((CompletableFuture) submission.getCompletionStage()).completeExceptionally(ex);
   }
 
-  private static AtomicLong nameIndex = new AtomicLong(0);
+  /**
+   * The unnamed portal, as each portal is executed to completion before the next is bound.
+   */
+  private static final String UNNAMED = "";
 
   private final PgSubmission<?> submission;
 
-  private String name;
+  /**
+   * {@link Executor} to complete the {@link PgSubmission} on. <code>null</code> to complete on the network thread.
+   */
+  private final Executor completionExecutor;
+
+  /**
+   * Rows waiting to be handed to the completion {@link Executor}. <code>null</code> if rows are added on the network
+   * thread.
+   */
+  private final RowChunker rowBatch;
 
   private long nextRowNumber = 0;
 
@@ -70,14 +88,39 @@ public class Portal {
    */
   private Query query = null;
 
+  /**
+   * {@link RowDescription} of the result as requested in the bind. <code>null</code> if all columns are text.
+   */
+  private RowDescription resultDescription = null;
+
+  /**
+   * Parameters of the bind encoded ahead of time by the submitting thread. <code>null</code> if to be encoded by the
+   * network thread.
+   */
+  private ByteBufferPoolOutputStream encodedParameters = null;
+
   /**
    * Instantiate.
    * 
    * @param submission {@link PgSubmission}.
    */
   public Portal(PgSubmission<?> submission) {
-    name = "p" + nameIndex.incrementAndGet();
+    this(submission, null, false, (Integer) PgDataSourceProperty.ROW_BATCH_SIZE.defaultValue());
+  }
+
+  /**
+   * Instantiate.
+   * 
+   * @param submission         {@link PgSubmission}.
+   * @param completionExecutor {@link Executor} to complete the {@link PgSubmission} on, which must run the tasks in
+   *                           order. May be <code>null</code> to complete on the network thread.
+   * @param rowsOnExecutor     <code>true</code> to also add the rows on the completion {@link Executor}.
+   * @param rowBatchSize       Number of rows handed to the completion {@link Executor} at a time.
+   */
+  public Portal(PgSubmission<?> submission, Executor completionExecutor, boolean rowsOnExecutor, int rowBatchSize) {
     this.submission = submission;
+    this.completionExecutor = completionExecutor;
+    this.rowBatch = completionExecutor != null && rowsOnExecutor ? new RowChunker(rowBatchSize) : null;
   }
 
   /**
@@ -98,13 +141,59 @@ public class Portal {
     return submission.getHolder();
   }
 
+  /**
+   * Encodes the parameters of the bind on the calling thread, so that the network thread only copies the bytes.
+   * Submissions that bind multiple times are left to be encoded by the network thread.
+   * 
+   * @param bufferPool {@link ByteBufferPool} to encode into.
+   * @throws Exception If fails to encode the parameters.
+   */
+  public void encodeParameters(ByteBufferPool bufferPool) throws Exception {
+    if (submission.getCompletionType() == ARRAY_COUNT || getParameterHolder() == null) {
+      return;
+    }
+
+    ByteBufferPoolOutputStream encoded = new ByteBufferPoolOutputStream(bufferPool);
+    try {
+      BindRequest.writeParameters(getParameterHolder(), encoded);
+    } catch (Exception | Error ex) {
+      encoded.release();
+      throw ex;
+    }
+    synchronized (this) {
+      encodedParameters = encoded;
+    }
+  }
+
+  /**
+   * Obtains the parameters encoded by {@link #encodeParameters(ByteBufferPool)}, they can only be obtained once. The
+   * taker must release them.
+   * 
+   * @return Encoded parameters. May be <code>null</code>.
+   */
+  synchronized ByteBufferPoolOutputStream takeEncodedParameters() {
+    ByteBufferPoolOutputStream encoded = encodedParameters;
+    encodedParameters = null;
+    return encoded;
+  }
+
+  /**
+   * Returns the buffers of the encoded parameters to the pool, as the bind will not be written.
+   */
+  public void releaseEncodedParameters() {
+    ByteBufferPoolOutputStream encoded = takeEncodedParameters();
+    if (encoded != null) {
+      encoded.release();
+    }
+  }
+
   /**
    * Obtains the portal name.
    * 
    * @return Portal name.
    */
   public String getPortalName() {
-    return name;
+    return UNNAMED;
   }
 
   /**
@@ -113,7 +202,38 @@ public class Portal {
    * @param ex {@link Throwable}.
    */
   public void handleException(Throwable ex) {
-    doHandleException(submission, ex);
+    releaseEncodedParameters();
+    flushRows();
+    complete(() -> doHandleException(submission, ex));
+  }
+
+  /**
+   * Runs the completion of the {@link PgSubmission}, on the completion {@link Executor} if there is one.
+   * 
+   * @param completion Completion of the {@link PgSubmission}.
+   */
+  private void complete(Runnable completion) {
+    if (completionExecutor == null) {
+      completion.run();
+    } else {
+      completionExecutor.execute(completion);
+    }
+  }
+
+  /**
+   * Hands the batched rows to the completion {@link Executor}.
+   */
+  private void flushRows() {
+    if (rowBatch == null || rowBatch.isEmpty()) {
+      return;
+    }
+
+    List<DataRow> rows = rowBatch.take();
+    completionExecutor.execute(() -> {
+      for (DataRow row : rows) {
+        submission.addRow(row);
+      }
+    });
   }
 
   /**
@@ -134,6 +254,27 @@ public class Portal {
     this.query = query;
   }
 
+  /**
+   * Obtains the {@link RowDescription} of the result, in the formats the columns were requested in.
+   * 
+   * @return {@link RowDescription}.
+   */
+  RowDescription getResultDescription() {
+    if (resultDescription == null) {
+      return query.getRowDescription();
+    }
+    return resultDescription;
+  }
+
+  /**
+   * Specifies the {@link RowDescription} of the result as requested in the bind.
+   * 
+   * @param resultDescription {@link RowDescription}. <code>null</code> if all columns are text.
+   */
+  void setResultDescription(RowDescription resultDescription) {
+    this.resultDescription = resultDescription;
+  }
+
   /**
    * Obtains the next row number.
    * 
@@ -149,7 +290,14 @@ public class Portal {
    * @param dataRow {@link DataRow}.
    */
   void addDataRow(DataRow dataRow) {
-    submission.addRow(dataRow);
+    if (rowBatch == null) {
+      submission.addRow(dataRow);
+      return;
+    }
+
+    if (rowBatch.add(dataRow)) {
+      flushRows();
+    }
   }
 
   /**
@@ -159,6 +307,12 @@ public class Portal {
    * @param socketChannel {@link SocketChannel}.
    */
   void commandComplete(CommandComplete complete, SocketChannel socketChannel) {
+    // for ARRAY_COUNT only whether to execute again is decided on the network thread, see hasMoreToExecute()
+    flushRows();
+    complete(() -> doCommandComplete(complete, socketChannel));
+  }
+
+  private void doCommandComplete(CommandComplete complete, SocketChannel socketChannel) {
     try {
       switch (submission.getCompletionType()) {
         case COUNT:
@@ -0,0 +1,78 @@
+package org.postgresql.adba.communication.network;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+
+/**
+ * Recycles the {@link Portal} requests and responses of a connection, so that executing a cached statement does not
+ * allocate them each time.
+ *
+ * <p>Only used by the network thread of the connection, so is not thread safe.
+ *
+ * @author Daniel Sagenschneider
+ */
+public class PortalRecycler {
+
+  /**
+   * Maximum number of free instances kept for each step, a deep pipeline only allocates beyond this.
+   */
+  private static final int MAX_FREE = 64;
+
+  /**
+   * {@link ReadyForQueryResponse}, which is stateless so is shared.
+   */
+  static final ReadyForQueryResponse READY_FOR_QUERY = new ReadyForQueryResponse();
+
+  final Pool<DescribeRequest<?>> describeRequests = new Pool<>(DescribeRequest::new);
+
+  final Pool<BindRequest<?>> bindRequests = new Pool<>(BindRequest::new);
+
+  final Pool<ExecuteRequest<?>> executeRequests = new Pool<>(ExecuteRequest::new);
+
+  final Pool<SyncRequest> syncRequests = new Pool<>(SyncRequest::new);
+
+  final Pool<ParseResponse> parseResponses = new Pool<>(ParseResponse::new);
+
+  final Pool<DescribeResponse> describeResponses = new Pool<>(DescribeResponse::new);
+
+  final Pool<BindResponse> bindResponses = new Pool<>(BindResponse::new);
+
+  final Pool<ExecuteResponse> executeResponses = new Pool<>(ExecuteResponse::new);
+
+  /**
+   * Free instances of one step.
+   *
+   * @param <S> type of step.
+   */
+  final class Pool<S> {
+
+    private final ArrayDeque<S> free = new ArrayDeque<>();
+
+    private final Function<PortalRecycler, S> factory;
+
+    private Pool(Function<PortalRecycler, S> factory) {
+      this.factory = factory;
+    }
+
+    /**
+     * Obtains a free instance, creating one if none are free.
+     *
+     * @return Instance of the step.
+     */
+    S obtain() {
+      S step = free.pollFirst();
+      return step != null ? step : factory.apply(PortalRecycler.this);
+    }
+
+    /**
+     * Returns the instance once it is no longer used.
+     *
+     * @param step Instance of the step.
+     */
+    void recycle(S step) {
+      if (free.size() < MAX_FREE) {
+        free.addFirst(step);
+      }
+    }
+  }
+}
@@ -2,7 +2,9 @@ package org.postgresql.adba.communication.network;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.postgresql.adba.communication.ResultFormatPolicy;
 import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
 
 /**
  * Query.
@@ -31,11 +33,22 @@ public class Query {
    */
   private boolean isAwaitingParse = false;
 
+  /**
+   * Indicates if the result of the query has been described.
+   */
+  private boolean isDescribed = false;
+
   /**
    * {@link RowDescription}.
    */
   private RowDescription rowDescription = null;
 
+  /**
+   * {@link RowDescription} with the formats to request the result columns in. <code>null</code> to request all as
+   * text.
+   */
+  private RowDescription resultDescription = null;
+
 
   private boolean canceled;
 
@@ -87,6 +100,22 @@ public class Query {
     isAwaitingParse = true;
   }
 
+  /**
+   * Indicates if the result of the query has been described, so executing it again need not describe it.
+   * 
+   * @return <code>true</code> if described.
+   */
+  boolean isDescribed() {
+    return isDescribed;
+  }
+
+  /**
+   * Flags that the result of the query has been described.
+   */
+  void flagDescribed() {
+    isDescribed = true;
+  }
+
   /**
    * Obtains the {@link RowDescription}.
    * 
@@ -100,9 +129,21 @@ public class Query {
    * Specifies the {@link RowDescription}.
    * 
    * @param rowDescription {@link RowDescription}.
+   * @param policy         {@link ResultFormatPolicy} to choose the format of each result column.
    */
-  void setRowDescription(RowDescription rowDescription) {
+  void setRowDescription(RowDescription rowDescription, ResultFormatPolicy policy) {
     this.rowDescription = rowDescription;
+    ColumnDescription[] negotiated = policy.negotiate(rowDescription.getDescriptions());
+    this.resultDescription = negotiated == null ? null : new RowDescription(negotiated);
+  }
+
+  /**
+   * Obtains the {@link RowDescription} with the formats to request the result columns in.
+   * 
+   * @return {@link RowDescription}. <code>null</code> if all columns are to be requested as text.
+   */
+  RowDescription getResultDescription() {
+    return resultDescription;
   }
 
   public void cancel() {
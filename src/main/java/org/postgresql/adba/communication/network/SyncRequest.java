@@ -10,11 +10,15 @@ import org.postgresql.adba.communication.NetworkWriteContext;
  * 
  * @author Daniel Sagenschneider
  */
-public class SyncRequest implements NetworkRequest {
-  private final Portal portal;
+public class SyncRequest extends AbstractPortalRequest {
 
-  public SyncRequest(Portal portal) {
-    this.portal = portal;
+  /**
+   * Instantiate.
+   *
+   * @param recycler {@link PortalRecycler} the request is recycled to.
+   */
+  SyncRequest(PortalRecycler recycler) {
+    super(recycler);
   }
 
   /*
@@ -30,11 +34,17 @@ public class SyncRequest implements NetworkRequest {
     wire.completePacket();
 
     if (portal.hasMoreToExecute()) {
-      return new BindRequest<>(portal);
+      return recycler.bindRequests.obtain().init(portal);
     }
 
     // Nothing further
     return null;
   }
 
-}
\ No newline at end of file
+  @Override
+  public void recycleRequest() {
+    portal = null;
+    recycler.syncRequests.recycle(this);
+  }
+
+}
@@ -1,8 +1,6 @@
 package org.postgresql.adba.communication.network;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
-import org.postgresql.adba.PgSessionProperty;
 import org.postgresql.adba.communication.BeFrame;
 import org.postgresql.adba.communication.NetworkConnect;
 import org.postgresql.adba.communication.NetworkConnectContext;
@@ -13,7 +11,6 @@ import org.postgresql.adba.communication.NetworkResponse;
 import org.postgresql.adba.communication.NetworkWriteContext;
 import org.postgresql.adba.submissions.ConnectSubmission;
 import org.postgresql.adba.util.BinaryHelper;
-import org.postgresql.adba.util.PropertyHolder;
 
 public class TlsConnectRequest implements NetworkConnect, NetworkRequest, NetworkResponse {
 
@@ -35,14 +32,6 @@ public class TlsConnectRequest implements NetworkConnect, NetworkRequest, Networ
    * =================== NetworkRequest ====================
    */
 
-  @Override
-  public void connect(NetworkConnectContext context) throws IOException {
-    // Undertake connecting
-    PropertyHolder properties = context.getProperties();
-    context.getSocketChannel().connect(new InetSocketAddress((String) properties.get(PgSessionProperty.HOST),
-        (Integer) properties.get(PgSessionProperty.PORT)));
-  }
-
   @Override
   public NetworkRequest finishConnect(NetworkConnectContext context) throws IOException {
 
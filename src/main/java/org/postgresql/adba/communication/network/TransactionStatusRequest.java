@@ -0,0 +1,74 @@
+package org.postgresql.adba.communication.network;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.communication.packets.ReadyForQuery;
+import org.postgresql.adba.communication.packets.ReadyForQuery.TransactionStatus;
+
+/**
+ * Syncs with the server to obtain the {@link TransactionStatus} once the requests before it have completed. A sync on
+ * its own only returns a ready for query, so nothing runs on the server.
+ */
+public class TransactionStatusRequest implements NetworkRequest, NetworkResponse {
+
+  private final CompletableFuture<TransactionStatus> status = new CompletableFuture<>();
+
+  /**
+   * Obtains the {@link TransactionStatus}.
+   *
+   * @return completes with the {@link TransactionStatus} of the ready for query.
+   */
+  public CompletionStage<TransactionStatus> getStatus() {
+    return status;
+  }
+
+  /*
+   * =================== NetworkRequest ====================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+    NetworkOutputStream wire = context.getOutputStream();
+    wire.write(FrontendTag.SYNC.getByte());
+    wire.initPacket();
+    wire.completePacket();
+    return null;
+  }
+
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return this;
+  }
+
+  /*
+   * =================== NetworkResponse ====================
+   */
+
+  @Override
+  public NetworkResponse read(NetworkReadContext context) {
+    BeFrame frame = context.getBeFrame();
+    switch (frame.getTag()) {
+
+      case READY_FOR_QUERY:
+        status.complete(new ReadyForQuery(frame.getPayload()).getTransactionStatus());
+        return null;
+
+      default:
+        throw new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + this.getClass().getSimpleName());
+    }
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    status.completeExceptionally(ex);
+    return null;
+  }
+
+}
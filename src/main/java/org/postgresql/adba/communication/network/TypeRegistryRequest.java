@@ -0,0 +1,167 @@
+package org.postgresql.adba.communication.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.FrontendTag;
+import org.postgresql.adba.communication.NetworkOutputStream;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.NetworkRequest;
+import org.postgresql.adba.communication.NetworkResponse;
+import org.postgresql.adba.communication.NetworkWriteContext;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
+import org.postgresql.adba.hostchooser.HostStatus;
+import org.postgresql.adba.submissions.ConnectSubmission;
+import org.postgresql.adba.util.BinaryHelper;
+
+/**
+ * Loads the {@link TypeRegistry} from pg_type while connecting, before the session is handed to the user. A failure
+ * to load does not fail the connect, custom types are then read as text until another session loads them.
+ */
+public class TypeRegistryRequest implements NetworkRequest, NetworkResponse {
+
+  /**
+   * {@link ConnectSubmission}.
+   */
+  private final ConnectSubmission connectSubmission;
+
+  /**
+   * {@link TypeRegistry} to load.
+   */
+  private final TypeRegistry typeRegistry;
+
+  /**
+   * {@link HostStatus} to establish the connection with once loaded.
+   */
+  private final HostStatus status;
+
+  private final List<String[]> rows = new ArrayList<>();
+
+  private boolean failed;
+
+  private volatile boolean done;
+
+  /**
+   * Instantiate.
+   *
+   * @param connectSubmission {@link ConnectSubmission}.
+   * @param typeRegistry {@link TypeRegistry} to load.
+   * @param status {@link HostStatus} to establish the connection with.
+   */
+  public TypeRegistryRequest(ConnectSubmission connectSubmission, TypeRegistry typeRegistry, HostStatus status) {
+    this.connectSubmission = connectSubmission;
+    this.typeRegistry = typeRegistry;
+    this.status = status;
+  }
+
+  /**
+   * Completes the connect, first loading the {@link TypeRegistry} if no other session has.
+   *
+   * @param context {@link NetworkReadContext}.
+   * @param connectSubmission {@link ConnectSubmission}.
+   * @param status {@link HostStatus} of the server.
+   */
+  public static void connected(NetworkReadContext context, ConnectSubmission connectSubmission, HostStatus status) {
+    TypeRegistry typeRegistry = context.getTypeRegistry();
+    if (typeRegistry != null && typeRegistry.startLoading()) {
+      TypeRegistryRequest request = new TypeRegistryRequest(connectSubmission, typeRegistry, status);
+      // the connection may be lost while loading, so let the next session load instead
+      connectSubmission.getCompletionStage().whenComplete((v, ex) -> {
+        if (!request.done) {
+          typeRegistry.loadFailed(ex);
+        }
+      });
+      context.write(request);
+      return;
+    }
+
+    // Connected, so trigger any waiting submissions
+    context.establish(status);
+    connectSubmission.finish(null);
+  }
+
+  /**
+   * Reads the columns of a data row of a simple query, which are all in text format.
+   *
+   * @param payload the payload of the DATA_ROW.
+   * @return the columns, <code>null</code> for a null value.
+   */
+  static String[] textColumns(byte[] payload) {
+    String[] columns = new String[BinaryHelper.readShort(payload[0], payload[1])];
+    int position = 2;
+    for (int i = 0; i < columns.length; i++) {
+      int length = BinaryHelper.readInt(payload[position], payload[position + 1], payload[position + 2],
+          payload[position + 3]);
+      position += 4;
+      if (length >= 0) {
+        columns[i] = new String(payload, position, length, StandardCharsets.UTF_8);
+        position += length;
+      }
+    }
+    return columns;
+  }
+
+  /*
+   * =================== NetworkRequest ====================
+   */
+
+  @Override
+  public NetworkRequest write(NetworkWriteContext context) throws Exception {
+    NetworkOutputStream wire = context.getOutputStream();
+    wire.write(FrontendTag.QUERY.getByte());
+    wire.initPacket();
+    wire.write(TypeRegistry.QUERY);
+    wire.completePacket();
+    return null;
+  }
+
+  @Override
+  public NetworkResponse getRequiredResponse() {
+    return this;
+  }
+
+  /*
+   * =================== NetworkResponse ====================
+   */
+
+  @Override
+  public NetworkResponse read(NetworkReadContext context) {
+    BeFrame frame = context.getBeFrame();
+    switch (frame.getTag()) {
+
+      case ROW_DESCRIPTION:
+      case COMMAND_COMPLETE:
+        return this;
+
+      case DATA_ROW:
+        rows.add(textColumns(frame.getPayload()));
+        return this;
+
+      case READY_FOR_QUERY:
+        if (!failed) {
+          try {
+            typeRegistry.loaded(rows);
+          } catch (RuntimeException ex) {
+            typeRegistry.loadFailed(ex);
+          }
+        }
+        done = true;
+        context.establish(status);
+        connectSubmission.finish(null);
+        return null;
+
+      default:
+        throw new IllegalStateException("Invalid tag '" + frame.getTag() + "' for " + this.getClass().getSimpleName());
+    }
+  }
+
+  @Override
+  public NetworkResponse handleException(Throwable ex) {
+    // fall back to text for custom types, the connect completes on the following ready for query
+    failed = true;
+    typeRegistry.loadFailed(ex);
+    return this;
+  }
+
+}
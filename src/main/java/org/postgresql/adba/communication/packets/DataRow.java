@@ -2,48 +2,64 @@ package org.postgresql.adba.communication.packets;
 
 import jdk.incubator.sql2.Result;
 import jdk.incubator.sql2.SqlType;
-import org.postgresql.adba.communication.TableCell;
 import org.postgresql.adba.communication.network.Query;
+import org.postgresql.adba.communication.packets.parsers.BinaryParser;
+import org.postgresql.adba.communication.packets.parsers.TextDecoder;
 import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
 import org.postgresql.adba.util.BinaryHelper;
+import org.postgresql.adba.util.ByteRangeFunction;
 
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
 
 public class DataRow implements Result.RowColumn, Result.OutColumn {
-  private Map<String, Integer> columnNames;
-  private Map<Integer, TableCell> columns;
+  private final byte[] bytes;
+  private final RowDescription description;
+  /**
+   * start and length of every column in the payload, two entries per column. A length of -1 is a null value.
+   */
+  private final int[] cells;
   private long rowNumber;
   private int currentPos = 1;
+  private int first = 1;
+  private int last;
   private Query query;
 
   /**
    * parses the bytes that describe one data row in a result set.
    * @param bytes bytes to parse
-   * @param description the descriptions of the columns
+   * @param description the description of the columns
    * @param rowNumber current row number in the result set
    * @param query the query object, needed to be able to cancel a query
    */
-  public DataRow(byte[] bytes, ColumnDescription[] description, long rowNumber, Query query) {
+  public DataRow(byte[] bytes, RowDescription description, long rowNumber, Query query) {
+    this.bytes = bytes;
+    this.description = description;
     this.rowNumber = rowNumber;
     this.query = query;
 
     short numOfColumns = BinaryHelper.readShort(bytes[0], bytes[1]);
     int pos = 2;
-    int columnPos = 1;
-    columns = new HashMap<>(numOfColumns);
-    columnNames = new HashMap<>(numOfColumns);
+    cells = new int[numOfColumns * 2];
     for (int i = 0; i < numOfColumns; i++) {
       int length = BinaryHelper.readInt(bytes[pos], bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]);
       pos += 4;
-      columnNames.put(description[i].getName().toLowerCase(), columnPos);
-      columns.put(columnPos, new TableCell(bytes, pos, pos + length, description[i]));
+      cells[i * 2] = pos;
+      cells[i * 2 + 1] = length;
       if (length >= 0) {
         pos += length;
       }
-      columnPos++;
     }
+    last = numOfColumns;
+  }
+
+  /**
+   * the size of the row as sent by the server.
+   * @return number of bytes in the payload
+   */
+  public int payloadLength() {
+    return bytes.length;
   }
 
   @Override
@@ -58,36 +74,147 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
 
   @Override
   public <T> T get(Class<T> type) {
-    TableCell tc = columns.get(currentPos);
-
-    if (tc == null) {
-      throw new IllegalArgumentException("no column with position " + currentPos);
-    }
+    int start = cells[(currentPos - 1) * 2];
+    int length = cells[(currentPos - 1) * 2 + 1];
 
-    if (tc.getStart() > tc.getStop()) { // handle the null special case
+    if (length < 0) { // handle the null special case
       return null;
     }
 
-    switch (tc.getColumnDescription().getFormatCode()) {
+    ColumnDescription column = column();
+    switch (column.getFormatCode()) {
       case TEXT:
-        String data = new String(BinaryHelper.subBytes(tc.getBytes(), tc.getStart(), tc.getStop()), StandardCharsets.UTF_8);
-        return (T)tc.getColumnDescription().getColumnType().getTextParser().apply(data, type);
+        ByteRangeFunction<Object> decoder = column.getColumnType().getTextDecoder();
+        if (decoder != null) {
+          return (T)decoder.apply(bytes, start, start + length, type);
+        }
+        String data = new String(bytes, start, length, StandardCharsets.UTF_8);
+        return (T)column.getColumnType().getTextParser().apply(data, type);
       case BINARY:
-        return (T)tc.getColumnDescription().getColumnType().getBinaryParser().apply(tc.getBytes(), tc.getStart(),
-            tc.getStop(), type);
+        return (T)column.getColumnType().getBinaryParser().apply(bytes, start, start + length, type);
       default:
         throw new IllegalStateException("unimplemented switch case");
     }
   }
 
+  /**
+   * checks if the value of the current column is null, the primitive getters can't be used on null values.
+   * @return true if the value is null
+   */
+  public boolean isNull() {
+    return cells[(currentPos - 1) * 2 + 1] < 0;
+  }
+
+  /**
+   * reads the current column as an int, without boxing or creating an intermediate String.
+   * @return the value
+   * @throws ArithmeticException if the value doesn't fit in an int
+   */
+  public int getInt() {
+    return Math.toIntExact(getLong());
+  }
+
+  /**
+   * reads the current column as a long, without boxing or creating an intermediate String.
+   * @return the value
+   */
+  public long getLong() {
+    int start = start();
+    int length = cells[(currentPos - 1) * 2 + 1];
+
+    if (column().getFormatCode() == FormatCodeTypes.TEXT) {
+      return TextDecoder.parseLong(bytes, start, start + length);
+    }
+
+    switch (column().getColumnType()) {
+      case INT2:
+        return BinaryHelper.readShort(bytes[start], bytes[start + 1]);
+      case INT4:
+        return BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+      case INT8:
+        return BinaryHelper.readLong(bytes, start);
+      default:
+        throw unsupported("long");
+    }
+  }
+
+  /**
+   * reads the current column as a double, without boxing or creating an intermediate String.
+   * @return the value
+   */
+  public double getDouble() {
+    int start = start();
+    int length = cells[(currentPos - 1) * 2 + 1];
+
+    if (column().getFormatCode() == FormatCodeTypes.TEXT) {
+      return TextDecoder.parseDouble(bytes, start, start + length);
+    }
+
+    switch (column().getColumnType()) {
+      case FLOAT4:
+        return Float.intBitsToFloat(BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2],
+            bytes[start + 3]));
+      case FLOAT8:
+        return Double.longBitsToDouble(BinaryHelper.readLong(bytes, start));
+      case INT2:
+      case INT4:
+      case INT8:
+        return getLong();
+      default:
+        throw unsupported("double");
+    }
+  }
+
+  /**
+   * reads the current column as a boolean, without boxing or creating an intermediate String.
+   * @return the value
+   */
+  public boolean getBoolean() {
+    int start = start();
+
+    if (column().getFormatCode() == FormatCodeTypes.TEXT) {
+      return TextDecoder.parseBoolean(bytes, start, start + cells[(currentPos - 1) * 2 + 1]);
+    }
+
+    if (column().getColumnType() != ColumnTypes.BOOL) {
+      throw unsupported("boolean");
+    }
+
+    return bytes[start] != 0;
+  }
+
+  /**
+   * reads the current date, timestamp or timestamptz column as microseconds since 1970-01-01 00:00:00 UTC, without
+   * creating any intermediate objects. Values without time zone are counted as if they were in UTC, infinity is
+   * returned as {@link Long#MAX_VALUE} and {@link Long#MIN_VALUE}.
+   * @return microseconds since the epoch
+   */
+  public long getEpochMicros() {
+    int start = start();
+
+    if (column().getFormatCode() == FormatCodeTypes.TEXT) {
+      return TextDecoder.parseEpochMicros(bytes, start, start + cells[(currentPos - 1) * 2 + 1]);
+    }
+
+    switch (column().getColumnType()) {
+      case TIMESTAMP:
+      case TIMESTAMPTZ:
+        return BinaryParser.timestampToEpochMicros(bytes, start);
+      case DATE:
+        return BinaryParser.dateToEpochMicros(bytes, start);
+      default:
+        throw unsupported("epoch micros");
+    }
+  }
+
   @Override
   public String identifier() {
-    return columns.get(currentPos).getColumnDescription().getName();
+    return column().getName();
   }
 
   @Override
   public int index() {
-    return currentPos;
+    return currentPos - first + 1;
   }
 
   @Override
@@ -97,38 +224,29 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
 
   @Override
   public SqlType sqlType() {
-    if (!columns.containsKey(currentPos)) {
-      throw new IllegalArgumentException("no column with id " + currentPos);
-    }
-
-    return columns.get(currentPos).getColumnDescription().getColumnType().sqlType();
+    return column().getColumnType().sqlType();
   }
 
   @Override
   public <T> Class<T> javaType() {
-    if (!columns.containsKey(currentPos)) {
-      throw new IllegalArgumentException("no column with id " + currentPos);
-    }
-
-    return columns.get(currentPos).getColumnDescription().getColumnType().javaType();
+    return column().getColumnType().javaType();
   }
 
   @Override
   public long length() {
-    TableCell tc = columns.get(currentPos);
-    return tc.getStop() - tc.getStart();
+    return cells[(currentPos - 1) * 2 + 1];
   }
 
   @Override
   public int numberOfValuesRemaining() {
-    return columns.size() - currentPos;
+    return last - currentPos;
   }
 
   @Override
-  public Column at(String id) {
-    Integer newPos = columnNames.get(id.toLowerCase());
+  public DataRow at(String id) {
+    int newPos = description.indexOf(id);
 
-    if (newPos == null) {
+    if (newPos < first || newPos > last) {
       throw new IllegalArgumentException("no column with id " + id);
     }
 
@@ -137,36 +255,60 @@ public class DataRow implements Result.RowColumn, Result.OutColumn {
   }
 
   @Override
-  public Column at(int index) {
-    if (!columns.containsKey(index)) {
+  public DataRow at(int index) {
+    int newPos = index < 0 ? last + index + 1 : first + index - 1;
+
+    if (index == 0 || newPos < first || newPos > last) {
       throw new IllegalArgumentException("no column with index " + index);
     }
 
-    currentPos = index;
+    currentPos = newPos;
     return this;
   }
 
   @Override
   public Column slice(int numValues) {
-    throw new RuntimeException("not implemented yet");
+    int sliceFirst = numValues < 0 ? currentPos + numValues : currentPos;
+    int sliceLast = numValues < 0 ? currentPos - 1 : currentPos + numValues - 1;
 
+    if (numValues == 0 || sliceFirst < first || sliceLast > last) {
+      throw new IllegalArgumentException("can't slice " + numValues + " columns from column " + index());
+    }
+
+    DataRow row = (DataRow) clone();
+    row.first = sliceFirst;
+    row.last = sliceLast;
+    row.currentPos = sliceFirst;
+    return row;
   }
 
   @Override
   public Column clone() {
-    DataRow row;
-
     try {
-      row = (DataRow) super.clone();
+      // the payload, description and cell offsets are never modified, so they can be shared
+      return (DataRow) super.clone();
     } catch (CloneNotSupportedException e) {
       throw new Error();
     }
+  }
 
-    row.columnNames = new HashMap<>(columnNames);
-    row.columns = new HashMap<>(columns);
-    row.rowNumber = rowNumber;
-    row.currentPos = currentPos;
+  private ColumnDescription column() {
+    return description.getDescriptions()[currentPos - 1];
+  }
 
-    return row;
+  /**
+   * the start of the current value, for the primitive getters that can't return null.
+   */
+  private int start() {
+    if (isNull()) {
+      throw new IllegalStateException("the value of column " + currentPos + " is null");
+    }
+
+    return cells[(currentPos - 1) * 2];
+  }
+
+  private IllegalStateException unsupported(String javaType) {
+    return new IllegalStateException("column " + currentPos + " of type " + column().getColumnType()
+        + " can't be read as " + javaType);
   }
 }
@@ -1,12 +1,18 @@
 package org.postgresql.adba.communication.packets;
 
 import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.FormatCodeTypes;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
 import org.postgresql.adba.util.BinaryHelper;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 public class RowDescription {
-  private ColumnDescription[] descriptions;
+  private final ColumnDescription[] descriptions;
+  private final Map<String, Integer> columnIndexes;
 
   /**
    * parses a sequence of bytes in to a RowDescription object.
@@ -14,9 +20,37 @@ public class RowDescription {
    * @param bytes bytes to parse
    */
   public RowDescription(byte[] bytes) {
+    this(parse(bytes, null));
+  }
+
+  /**
+   * parses a sequence of bytes in to a RowDescription object, resolving types that aren't built in with the registry.
+   *
+   * @param bytes bytes to parse
+   * @param types the registry of the types of the data source
+   */
+  public RowDescription(byte[] bytes, TypeRegistry types) {
+    this(parse(bytes, types));
+  }
+
+  /**
+   * creates a RowDescription from already parsed column descriptions, the lookup of columns by name is built here once
+   * and shared by all rows of the result.
+   *
+   * @param descriptions the descriptions of the columns
+   */
+  public RowDescription(ColumnDescription[] descriptions) {
+    this.descriptions = descriptions;
+    columnIndexes = new HashMap<>(descriptions.length * 2);
+    for (int i = 0; i < descriptions.length; i++) {
+      columnIndexes.put(descriptions[i].getName().toLowerCase(), i + 1);
+    }
+  }
+
+  private static ColumnDescription[] parse(byte[] bytes, TypeRegistry types) {
     short numOfColumns = BinaryHelper.readShort(bytes[0], bytes[1]);
     int pos = 2;
-    descriptions = new ColumnDescription[numOfColumns];
+    ColumnDescription[] descriptions = new ColumnDescription[numOfColumns];
     for (int i = 0; i < numOfColumns; i++) {
       int nameEnd = BinaryHelper.nextNullBytePos(bytes, pos);
       String name = new String(BinaryHelper.subBytes(bytes, pos, nameEnd), StandardCharsets.UTF_8);
@@ -34,12 +68,25 @@ public class RowDescription {
       short formatCode = BinaryHelper.readShort(bytes[pos], bytes[pos + 1]);
       pos += 2;
 
-      descriptions[i] = new ColumnDescription(name, objectIdOfTable, attributeNumberOfColumn, fieldOId,
-          dataTypeSize, typeModifier, formatCode);
+      ColumnTypes columnType = types == null ? ColumnTypes.lookup(fieldOId) : types.lookup(fieldOId);
+      descriptions[i] = new ColumnDescription(name, objectIdOfTable, attributeNumberOfColumn, columnType,
+          dataTypeSize, typeModifier, FormatCodeTypes.lookup(formatCode));
     }
+    return descriptions;
   }
 
   public ColumnDescription[] getDescriptions() {
     return descriptions;
   }
+
+  /**
+   * finds the position of a column by name, ignoring case.
+   *
+   * @param name the name of the column
+   * @return the 1-based index of the column, or -1 if there is no column with that name
+   */
+  public int indexOf(String name) {
+    Integer index = columnIndexes.get(name.toLowerCase());
+    return index == null ? -1 : index;
+  }
 }
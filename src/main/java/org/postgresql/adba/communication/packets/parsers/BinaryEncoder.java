@@ -0,0 +1,295 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * {@link ParameterEncoder} instances for the common types, that write the values without allocating.
+ */
+public class BinaryEncoder {
+  public static final ParameterEncoder INT2 = ParameterEncoder.fixedWidth(2, BinaryEncoder::int2);
+  public static final ParameterEncoder INT4 = ParameterEncoder.fixedWidth(4, BinaryEncoder::int4);
+  public static final ParameterEncoder INT8 = ParameterEncoder.fixedWidth(8, BinaryEncoder::int8);
+  public static final ParameterEncoder FLOAT4 = ParameterEncoder.fixedWidth(4, BinaryEncoder::float4);
+  public static final ParameterEncoder FLOAT8 = ParameterEncoder.fixedWidth(8, BinaryEncoder::float8);
+  public static final ParameterEncoder BOOL = ParameterEncoder.fixedWidth(1, BinaryEncoder::bool);
+  public static final ParameterEncoder TEXT = BinaryEncoder::text;
+  public static final ParameterEncoder BYTEA = BinaryEncoder::bytea;
+  public static final ParameterEncoder UUID = ParameterEncoder.fixedWidth(16, BinaryEncoder::uuid);
+  public static final ParameterEncoder NUMERIC = BinaryEncoder::numeric;
+  public static final ParameterEncoder DATE = ParameterEncoder.fixedWidth(4, BinaryEncoder::date);
+  public static final ParameterEncoder TIME = ParameterEncoder.fixedWidth(8, BinaryEncoder::time);
+  public static final ParameterEncoder TIMETZ = ParameterEncoder.fixedWidth(12, BinaryEncoder::timetz);
+  public static final ParameterEncoder TIMESTAMP = ParameterEncoder.fixedWidth(8, BinaryEncoder::timestamp);
+  public static final ParameterEncoder TIMESTAMPTZ = ParameterEncoder.fixedWidth(8, BinaryEncoder::timestamptz);
+
+  private static final short NUMERIC_POS = 0x0000;
+  private static final short NUMERIC_NEG = 0x4000;
+  private static final short NUMERIC_NAN = (short) 0xC000;
+  private static final short NUMERIC_PINF = (short) 0xD000;
+  private static final short NUMERIC_NINF = (short) 0xF000;
+
+  private BinaryEncoder() {
+  }
+
+  private static void int2(Object input, NetworkOutputStream out) throws IOException {
+    out.writeShort(((Number) input).shortValue());
+  }
+
+  private static void int4(Object input, NetworkOutputStream out) throws IOException {
+    out.writeInt(((Number) input).intValue());
+  }
+
+  private static void int8(Object input, NetworkOutputStream out) throws IOException {
+    out.writeLong(((Number) input).longValue());
+  }
+
+  private static void float4(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof Float) {
+      out.writeInt(Float.floatToIntBits((Float) input));
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a float to server");
+  }
+
+  private static void float8(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof Double) {
+      out.writeLong(Double.doubleToLongBits((Double) input));
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a double to server");
+  }
+
+  private static void bool(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof Boolean) {
+      out.write((Boolean) input ? 1 : 0);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a boolean to server");
+  }
+
+  private static void text(Object input, NetworkOutputStream out) throws IOException {
+    out.writeText((String) input);
+  }
+
+  private static void bytea(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof byte[]) {
+      out.write((byte[]) input);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a byte[] to server");
+  }
+
+  /**
+   * Creates an encoder for one dimensional arrays in the binary array format of the server.
+   *
+   * @param elementOid the oid of the type of the elements
+   * @param element the encoder of the elements
+   * @return an encoder for arrays of the elements
+   */
+  public static ParameterEncoder array(int elementOid, ParameterEncoder element) {
+    return (input, out) -> {
+      if (!(input instanceof Object[])) {
+        throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as an array to server");
+      }
+
+      Object[] in = (Object[]) input;
+      if (in.length == 0) {
+        out.writeInt(0); // number of dimensions
+        out.writeInt(0); // flags
+        out.writeInt(elementOid);
+        return;
+      }
+
+      boolean hasNulls = false;
+      for (Object value : in) {
+        hasNulls |= value == null;
+      }
+      out.writeInt(1); // number of dimensions
+      out.writeInt(hasNulls ? 1 : 0); // flags
+      out.writeInt(elementOid);
+      out.writeInt(in.length); // length of first dimension
+      out.writeInt(1); // lower bound
+      for (Object value : in) {
+        element.write(value, out);
+      }
+    };
+  }
+
+  private static void uuid(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof UUID) {
+      out.writeLong(((UUID) input).getMostSignificantBits());
+      out.writeLong(((UUID) input).getLeastSignificantBits());
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a UUID to server");
+  }
+
+  /**
+   * Writes a number as base 10000 digits, with the weight of the first digit, the sign and the number of decimal digits.
+   * NaN and the infinities of floating point numbers are written as the special values of the sign, infinity needs
+   * PostgreSQL 14 or later.
+   */
+  private static void numeric(Object input, NetworkOutputStream out) throws IOException {
+    if (!(input instanceof Number)) {
+      throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a BigDecimal to server");
+    }
+
+    if (input instanceof Double || input instanceof Float) {
+      double floating = ((Number) input).doubleValue();
+      if (Double.isNaN(floating) || Double.isInfinite(floating)) {
+        out.writeShort(0); // number of digits
+        out.writeShort(0); // weight
+        out.writeShort(Double.isNaN(floating) ? NUMERIC_NAN : floating > 0 ? NUMERIC_PINF : NUMERIC_NINF);
+        out.writeShort(0); // scale
+        return;
+      }
+    }
+
+    BigDecimal value;
+    if (input instanceof BigDecimal) {
+      value = (BigDecimal) input;
+    } else if (input instanceof BigInteger) {
+      value = new BigDecimal((BigInteger) input);
+    } else if (input instanceof Long || input instanceof Integer || input instanceof Short || input instanceof Byte) {
+      value = BigDecimal.valueOf(((Number) input).longValue());
+    } else {
+      value = new BigDecimal(input.toString());
+    }
+    if (value.scale() < 0) {
+      value = value.setScale(0);
+    }
+
+    // the digits padded with zeros, so that the integer and fraction parts are whole groups of 4 digits
+    String unscaled = value.unscaledValue().abs().toString();
+    int scale = value.scale();
+    int integerDigits = Math.max(unscaled.length() - scale, 0);
+    int integerPadding = (4 - integerDigits % 4) % 4;
+    int fractionPadding = (4 - scale % 4) % 4;
+    int leadingZeros = integerPadding + Math.max(scale - unscaled.length(), 0);
+    StringBuilder digits = new StringBuilder(leadingZeros + unscaled.length() + fractionPadding);
+    for (int i = 0; i < leadingZeros; i++) {
+      digits.append('0');
+    }
+    digits.append(unscaled);
+    for (int i = 0; i < fractionPadding; i++) {
+      digits.append('0');
+    }
+
+    int first = 0;
+    int last = digits.length() / 4 - 1;
+    while (first <= last && group(digits, first) == 0) {
+      first++;
+    }
+    while (last >= first && group(digits, last) == 0) {
+      last--;
+    }
+
+    int count = last - first + 1;
+    out.writeShort(count);
+    out.writeShort(count == 0 ? 0 : (integerDigits + integerPadding) / 4 - 1 - first); // weight
+    out.writeShort(value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS);
+    out.writeShort(scale);
+    for (int i = first; i <= last; i++) {
+      out.writeShort(group(digits, i));
+    }
+  }
+
+  private static int group(CharSequence digits, int index) {
+    int value = 0;
+    for (int i = index * 4; i < index * 4 + 4; i++) {
+      value = value * 10 + digits.charAt(i) - '0';
+    }
+    return value;
+  }
+
+  private static void date(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof LocalDate) {
+      LocalDate x = (LocalDate) input;
+      if (x.equals(LocalDate.MAX)) {
+        out.writeInt(Integer.MAX_VALUE);
+      } else if (x.equals(LocalDate.MIN)) {
+        out.writeInt(Integer.MIN_VALUE);
+      } else {
+        out.writeInt(Math.toIntExact(x.toEpochDay() - BinaryParser.PG_EPOCH_DATE.toEpochDay()));
+      }
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDate to server");
+  }
+
+  private static void time(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof LocalTime) {
+      out.writeLong(((LocalTime) input).toNanoOfDay() / 1000);
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalTime to server");
+  }
+
+  private static void timetz(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof OffsetTime) {
+      OffsetTime x = (OffsetTime) input;
+      out.writeLong(x.toLocalTime().toNanoOfDay() / 1000);
+      out.writeInt(-x.getOffset().getTotalSeconds()); // the server counts seconds west of UTC
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a OffsetTime to server");
+  }
+
+  private static void timestamp(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof LocalDateTime) {
+      LocalDateTime x = (LocalDateTime) input;
+      if (x.equals(LocalDateTime.MAX)) {
+        out.writeLong(Long.MAX_VALUE);
+      } else if (x.equals(LocalDateTime.MIN)) {
+        out.writeLong(Long.MIN_VALUE);
+      } else {
+        out.writeLong(micros(x.toEpochSecond(ZoneOffset.UTC), x.getNano()));
+      }
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDateTime to server");
+  }
+
+  private static void timestamptz(Object input, NetworkOutputStream out) throws IOException {
+    if (input instanceof OffsetDateTime) {
+      OffsetDateTime x = (OffsetDateTime) input;
+      if (x.equals(OffsetDateTime.MAX)) {
+        out.writeLong(Long.MAX_VALUE);
+      } else if (x.equals(OffsetDateTime.MIN)) {
+        out.writeLong(Long.MIN_VALUE);
+      } else {
+        out.writeLong(micros(x.toEpochSecond(), x.getNano()));
+      }
+      return;
+    }
+
+    throw new RuntimeException(input.getClass().getName()
+        + " can't be converted to byte[] to send as a OffsetDateTime to server");
+  }
+
+  /**
+   * Microseconds since 2000-01-01, the sub microsecond part is truncated.
+   */
+  private static long micros(long epochSeconds, int nanos) {
+    return Math.addExact(Math.multiplyExact(epochSeconds - BinaryParser.PG_EPOCH_SECONDS, 1_000_000L), nanos / 1000);
+  }
+}
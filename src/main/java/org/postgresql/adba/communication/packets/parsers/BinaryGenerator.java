@@ -2,22 +2,14 @@ package org.postgresql.adba.communication.packets.parsers;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.OffsetDateTime;
-import java.time.OffsetTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.UUID;
-import java.util.stream.Collectors;
 import org.postgresql.adba.pgdatatypes.Box;
 import org.postgresql.adba.pgdatatypes.Circle;
 import org.postgresql.adba.pgdatatypes.IntegerRange;
@@ -35,12 +27,6 @@ import org.postgresql.adba.util.BinaryHelper;
 
 public class BinaryGenerator {
 
-  private static final DateTimeFormatter localDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-  private static final DateTimeFormatter localTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss.nnnnnnnnn");
-  private static final DateTimeFormatter localDateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.nnnnnnnnn");
-  private static final DateTimeFormatter offsetTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss.nnnnnnnnn X");
-  private static final DateTimeFormatter offsetDateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.nnnnnnnnn X");
-
   private static final byte[] bits = new byte[]{1, 2, 4, 8, 16, 32, 64, (byte) 128};
 
   /**
@@ -144,20 +130,6 @@ public class BinaryGenerator {
     throw new RuntimeException("not implemented yet");
   }
 
-  /**
-   * parses Number to a short represented as a byte array.
-   *
-   * @param input the Number to convert
-   * @return a byte array of length 0 or 2
-   */
-  public static byte[] fromSmallInt(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    return BinaryHelper.writeShort(((Number) input).shortValue());
-  }
-
   /**
    * parses Number to a int represented as a byte array.
    *
@@ -172,20 +144,6 @@ public class BinaryGenerator {
     return BinaryHelper.writeInt(((Number) input).intValue());
   }
 
-  /**
-   * parses Number to a long represented as a byte array.
-   *
-   * @param input the Number to convert
-   * @return a byte array of length 8
-   */
-  public static byte[] fromBigInt(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    return BinaryHelper.writeLong(((Number) input).longValue());
-  }
-
   /**
    * parses Float to a byte array.
    *
@@ -308,61 +266,6 @@ public class BinaryGenerator {
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a double[] to server");
   }
 
-  /**
-   * parses a BigDecimal to a byte array.
-   *
-   * @param input the BigDecimal to convert
-   * @return a byte array of appropriate length or null
-   */
-  public static byte[] fromBigDecimal(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof Number) {
-      return input.toString().getBytes(StandardCharsets.UTF_8);
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a BigDecimal to server");
-  }
-
-  /**
-   * parses an array of BigDecimal objects to a byte array.
-   *
-   * @param input the BigDecimal[] to convert
-   * @return a byte array of appropriate length or null
-   */
-  public static byte[] fromBigDecimalArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof BigDecimal[]) {
-      BigDecimal[] in = (BigDecimal[]) input;
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-          } else {
-            baos.write(in[i].toString().getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a BigDecimal[] to server");
-  }
-
   /**
    * parses a Character to a byte array.
    *
@@ -445,37 +348,6 @@ public class BinaryGenerator {
     return ((String) input).getBytes(StandardCharsets.UTF_8);
   }
 
-  /**
-   * parses a UUID to a byte array.
-   *
-   * @param input the UUID to convert
-   * @return a byte array
-   */
-  public static byte[] fromUuid(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    return input.toString().getBytes(StandardCharsets.UTF_8);
-  }
-
-  /**
-   * parses a UUID[] to a byte array.
-   *
-   * @param input the UUID[] to convert
-   * @return a byte array
-   */
-  public static byte[] fromUuidArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    UUID[] in = (UUID[]) input;
-    String str = "{" + String.join(",", Arrays.stream(in).map(u -> u == null ? "NULL" : u.toString())
-        .collect(Collectors.toList())) + "}";
-    return str.getBytes(StandardCharsets.UTF_8);
-  }
-
   /**
    * parses an array into to a byte array.
    *
@@ -793,259 +665,6 @@ public class BinaryGenerator {
     return new byte[]{};
   }
 
-  /**
-   * parses a LocalDate to a byte array.
-   *
-   * @param input the LocalDate to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalDate(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalDate) {
-      LocalDate x = (LocalDate) input;
-      if (x == LocalDate.MAX) {
-        return "infinity".getBytes(StandardCharsets.UTF_8);
-      } else if (x == LocalDate.MIN) {
-        return "-infinity".getBytes(StandardCharsets.UTF_8);
-      }
-
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(localDateFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDate to server");
-  }
-
-  /**
-   * parses a LocalDate to a byte array.
-   *
-   * @param input the LocalDate to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalDateArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalDate[]) {
-      LocalDate[] in = (LocalDate[]) input;
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          if (in[i] == LocalDate.MAX) {
-            baos.write("infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          } else if (in[i] == LocalDate.MIN) {
-            baos.write("-infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          baos.write(in[i].format(localDateFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDate[] to server");
-  }
-
-  /**
-   * parses a LocalTime to a byte array.
-   *
-   * @param input the LocalTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalTime(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalTime) {
-      LocalTime x = (LocalTime) input;
-
-      return x.format(localTimeFormatter).getBytes(StandardCharsets.UTF_8);
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalTime to server");
-  }
-
-  /**
-   * parses a LocalTime to a byte array.
-   *
-   * @param input the LocalTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalTimeArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalTime[]) {
-      LocalTime[] in = (LocalTime[]) input;
-
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-          } else {
-            baos.write(in[i].format(localTimeFormatter).getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalTime[] to server");
-  }
-
-  /**
-   * parses a LocalDateTime to a byte array.
-   *
-   * @param input the LocalDateTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalDateTime(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalDateTime) {
-      LocalDateTime x = (LocalDateTime) input;
-      if (x == LocalDateTime.MAX) {
-        return "infinity".getBytes(StandardCharsets.UTF_8);
-      } else if (x == LocalDateTime.MIN) {
-        return "-infinity".getBytes(StandardCharsets.UTF_8);
-      }
-
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(localDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a LocalDateTime to server");
-  }
-
-  /**
-   * parses a LocalDateTime to a byte array.
-   *
-   * @param input the LocalDateTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromLocalDateTimeArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof LocalDateTime[]) {
-      LocalDateTime[] in = (LocalDateTime[]) input;
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          if (in[i] == LocalDateTime.MAX) {
-            baos.write("infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          } else if (in[i] == LocalDateTime.MIN) {
-            baos.write("-infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          baos.write(in[i].format(localDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName()
-        + " can't be converted to byte[] to send as a LocalDateTime[] to server");
-  }
-
-  /**
-   * converts what the user sends for a binary blog to what the server wants as a binary blob (which are the same things).
-   *
-   * @param input data from the user
-   * @return a byte array containing the information
-   */
-  public static byte[] fromByteArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof byte[]) {
-      return (byte[]) input;
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a byte[] to server");
-  }
-
   public static byte[] fromNull(Object input) {
     return new byte[]{};
   }
@@ -1086,154 +705,6 @@ public class BinaryGenerator {
     throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a boolean to server");
   }
 
-  /**
-   * parses a OffsetTime to a byte array.
-   *
-   * @param input the OffsetTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromOffsetTime(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof OffsetTime) {
-      OffsetTime x = (OffsetTime) input;
-
-      return x.format(offsetTimeFormatter).getBytes(StandardCharsets.UTF_8);
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a OffsetTime to server");
-  }
-
-  /**
-   * parses a OffsetTime to a byte array.
-   *
-   * @param input the OffsetTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromOffsetTimeArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof OffsetTime[]) {
-      OffsetTime[] in = (OffsetTime[]) input;
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-          } else {
-            baos.write(in[i].format(offsetTimeFormatter).getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName() + " can't be converted to byte[] to send as a OffsetTime[] to server");
-  }
-
-  /**
-   * parses a OffsetDateTime to a byte array.
-   *
-   * @param input the OffsetDateTime to convert
-   * @return a byte array
-   */
-  public static byte[] fromOffsetDateTime(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof OffsetDateTime) {
-      OffsetDateTime x = (OffsetDateTime) input;
-      if (x == OffsetDateTime.MAX) {
-        return "infinity".getBytes(StandardCharsets.UTF_8);
-      } else if (x == OffsetDateTime.MIN) {
-        return "-infinity".getBytes(StandardCharsets.UTF_8);
-      }
-
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write(x.format(offsetDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-        if (x.getYear() < 0) {
-          baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-        }
-
-        return baos.toByteArray();
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-    }
-
-    throw new RuntimeException(input.getClass().getName()
-        + " can't be converted to byte[] to send as a OffsetDateTime to server");
-  }
-
-  /**
-   * parses an array of OffsetDateTime objects to a byte array.
-   *
-   * @param input the OffsetDateTime[] to convert
-   * @return a byte array
-   */
-  public static byte[] fromOffsetDateTimeArray(Object input) {
-    if (input == null) {
-      return new byte[]{};
-    }
-
-    if (input instanceof OffsetDateTime[]) {
-      OffsetDateTime[] in = (OffsetDateTime[]) input;
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-      try {
-        baos.write('{');
-        for (int i = 0; i < in.length; i++) {
-          if (i != 0) {
-            baos.write(',');
-          }
-
-          if (in[i] == null) {
-            baos.write("NULL".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          if (in[i] == OffsetDateTime.MAX) {
-            baos.write("infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          } else if (in[i] == OffsetDateTime.MIN) {
-            baos.write("-infinity".getBytes(StandardCharsets.UTF_8));
-            continue;
-          }
-
-          baos.write(in[i].format(offsetDateTimeFormatter).getBytes(StandardCharsets.UTF_8));
-
-          if (in[i].getYear() < 0) {
-            baos.write(" BC".getBytes(StandardCharsets.UTF_8));
-          }
-        }
-        baos.write('}');
-      } catch (IOException e) {
-        throw new IllegalArgumentException("couldn't parse input to byte array", e);
-      }
-      return baos.toByteArray();
-    }
-
-    throw new RuntimeException(input.getClass().getName()
-        + " can't be converted to byte[] to send as a OffsetDateTime to server");
-  }
-
   /**
    * Converts a Duration object to a string the database understands.
    * @param input a Duration
@@ -1,14 +1,24 @@
 package org.postgresql.adba.communication.packets.parsers;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 import org.postgresql.adba.util.BinaryHelper;
 
 public class BinaryParser {
+  static final LocalDate PG_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+  private static final LocalDateTime PG_EPOCH = PG_EPOCH_DATE.atStartOfDay();
+  static final long PG_EPOCH_SECONDS = PG_EPOCH.toEpochSecond(ZoneOffset.UTC);
+
   public static Object boolsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return bytes[start] != 0;
   }
 
   public static Object byteasend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return BinaryHelper.subBytes(bytes, start, end);
   }
 
   public static Object charsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -19,20 +29,74 @@ public class BinaryParser {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the 8 byte integer from the database to the requested class.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int8send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    long value = BinaryHelper.readLong(bytes, start);
+
+    if (Integer.class.equals(requestedClass)) {
+      return Math.toIntExact(value);
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return (short) value;
+    }
+
+    return value;
   }
 
+  /**
+   * Converts the 2 byte integer from the database to the requested class.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int2send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    short value = BinaryHelper.readShort(bytes[start], bytes[start + 1]);
+
+    if (Long.class.equals(requestedClass)) {
+      return (long) value;
+    }
+
+    if (Integer.class.equals(requestedClass)) {
+      return (int) value;
+    }
+
+    return value;
   }
 
   public static Object int2vectorsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the 4 byte integer from the database to the requested class.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
   public static Object int4send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    return BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+    int value = BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+
+    if (Long.class.equals(requestedClass)) {
+      return (long) value;
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return (short) value;
+    }
+
+    return value;
   }
 
   public static Object regprocsend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -104,11 +168,11 @@ public class BinaryParser {
   }
 
   public static Object float4send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return Float.intBitsToFloat(BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]));
   }
 
   public static Object float8send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return Double.longBitsToDouble(BinaryHelper.readLong(bytes, start));
   }
 
   public static Object abstimesend(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -151,20 +215,61 @@ public class BinaryParser {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the number of days since 2000-01-01 to a LocalDate.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDate
+   */
   public static Object date_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    int days = BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+
+    if (days == Integer.MAX_VALUE) {
+      return LocalDate.MAX;
+    }
+
+    if (days == Integer.MIN_VALUE) {
+      return LocalDate.MIN;
+    }
+
+    return PG_EPOCH_DATE.plusDays(days);
   }
 
   public static Object time_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
 
+  /**
+   * Converts the number of microseconds since 2000-01-01 00:00:00 to either a LocalDateTime or LocalTime based on
+   * what the user requested.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return object
+   */
   public static Object timestamp_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    LocalDateTime ldt = toLocalDateTime(BinaryHelper.readLong(bytes, start));
+
+    if (LocalTime.class.equals(requestedClass)) {
+      return ldt.toLocalTime();
+    }
+
+    return ldt;
   }
 
+  /**
+   * Converts the number of microseconds since 2000-01-01 00:00:00 UTC to an OffsetDateTime in UTC.
+   * @param bytes the payload
+   * @param start where the value starts
+   * @param end where the value ends
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetDateTime
+   */
   public static Object timestamptz_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return toLocalDateTime(BinaryHelper.readLong(bytes, start)).atOffset(ZoneOffset.UTC);
   }
 
   public static Object interval_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -224,7 +329,7 @@ public class BinaryParser {
   }
 
   public static Object uuid_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
-    throw new RuntimeException("not implemented yet");
+    return new UUID(BinaryHelper.readLong(bytes, start), BinaryHelper.readLong(bytes, start + 8));
   }
 
   public static Object txid_snapshot_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
@@ -274,4 +379,52 @@ public class BinaryParser {
   public static Object record_send(byte[] bytes, Integer start, Integer end, Class<?> requestedClass) {
     throw new RuntimeException("not implemented yet");
   }
+
+  /**
+   * Reads a timestamp or timestamptz as microseconds since 1970-01-01 00:00:00 UTC, infinity is kept as
+   * {@link Long#MAX_VALUE} and {@link Long#MIN_VALUE}.
+   * @param bytes the payload
+   * @param start position of the value
+   * @return microseconds since the epoch
+   */
+  public static long timestampToEpochMicros(byte[] bytes, int start) {
+    long micros = BinaryHelper.readLong(bytes, start);
+
+    if (micros == Long.MAX_VALUE || micros == Long.MIN_VALUE) {
+      return micros;
+    }
+
+    return micros + PG_EPOCH_SECONDS * 1_000_000L;
+  }
+
+  /**
+   * Reads a date as microseconds since 1970-01-01, infinity is returned as {@link Long#MAX_VALUE} and
+   * {@link Long#MIN_VALUE}.
+   * @param bytes the payload
+   * @param start position of the value
+   * @return microseconds since the epoch
+   */
+  public static long dateToEpochMicros(byte[] bytes, int start) {
+    int days = BinaryHelper.readInt(bytes[start], bytes[start + 1], bytes[start + 2], bytes[start + 3]);
+
+    if (days == Integer.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    } else if (days == Integer.MIN_VALUE) {
+      return Long.MIN_VALUE;
+    }
+
+    return (days * 86_400L + PG_EPOCH_SECONDS) * 1_000_000L;
+  }
+
+  private static LocalDateTime toLocalDateTime(long micros) {
+    if (micros == Long.MAX_VALUE) {
+      return LocalDateTime.MAX;
+    }
+
+    if (micros == Long.MIN_VALUE) {
+      return LocalDateTime.MIN;
+    }
+
+    return PG_EPOCH.plus(micros, ChronoUnit.MICROS);
+  }
 }
@@ -0,0 +1,108 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import java.io.IOException;
+import java.util.function.Function;
+import org.postgresql.adba.communication.NetworkOutputStream;
+
+/**
+ * Writes a bind parameter straight into the {@link NetworkOutputStream}, instead of producing a byte array first.
+ *
+ * <p>Encoders of fixed width types report their {@link #width()} so the length can be written up front, the length of
+ * variable width types is back-patched once the value is written.
+ */
+@FunctionalInterface
+public interface ParameterEncoder {
+  /**
+   * The width of types whose length is only known once the value is encoded.
+   */
+  int VARIABLE_WIDTH = -1;
+
+  /**
+   * Writes the value, without its length.
+   *
+   * @param value the value to write, never null
+   * @param out the stream to write to
+   * @throws IOException if the value can't be written
+   */
+  void encode(Object value, NetworkOutputStream out) throws IOException;
+
+  /**
+   * The number of bytes {@link #encode(Object, NetworkOutputStream)} writes.
+   *
+   * @return the number of bytes, or {@link #VARIABLE_WIDTH}
+   */
+  default int width() {
+    return VARIABLE_WIDTH;
+  }
+
+  /**
+   * Writes the value prefixed with its length, null is written as length -1.
+   *
+   * @param value the value to write
+   * @param out the stream to write to
+   * @throws IOException if the value can't be written
+   */
+  default void write(Object value, NetworkOutputStream out) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    int width = width();
+    if (width == VARIABLE_WIDTH) {
+      out.initLength();
+      encode(value, out);
+      out.completeLength();
+    } else {
+      out.writeInt(width);
+      encode(value, out);
+    }
+  }
+
+  /**
+   * Creates an encoder for a type that always takes the same number of bytes.
+   *
+   * @param width the number of bytes the encoder writes
+   * @param encoder the encoder
+   * @return an encoder that reports the width
+   */
+  static ParameterEncoder fixedWidth(int width, ParameterEncoder encoder) {
+    return new ParameterEncoder() {
+      @Override
+      public void encode(Object value, NetworkOutputStream out) throws IOException {
+        encoder.encode(value, out);
+      }
+
+      @Override
+      public int width() {
+        return width;
+      }
+    };
+  }
+
+  /**
+   * Adapts one of the {@link BinaryGenerator} functions, for the types that don't have an encoder of their own.
+   *
+   * @param generator the function that creates the bytes of a value
+   * @return an encoder that copies the generated bytes
+   */
+  static ParameterEncoder fromGenerator(Function<Object, byte[]> generator) {
+    return new ParameterEncoder() {
+      @Override
+      public void encode(Object value, NetworkOutputStream out) throws IOException {
+        out.write(generator.apply(value));
+      }
+
+      @Override
+      public void write(Object value, NetworkOutputStream out) throws IOException {
+        byte[] bytes = generator.apply(value);
+        if (bytes.length == 0) { // the generators return an empty array for null
+          out.writeInt(-1);
+        } else {
+          out.writeInt(bytes.length);
+          out.write(bytes);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,602 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+
+/**
+ * Decodes values in the text format straight from the bytes of the data row, without creating a String. Values that
+ * are not on the form PostgreSQL outputs with the default ISO DateStyle and postgres IntervalStyle are handed over to
+ * {@link TextParser}.
+ */
+public class TextDecoder {
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+  private static final long MICROS_PER_DAY = 86_400L * MICROS_PER_SECOND;
+
+  /**
+   * Lengths of a year and a month in an interval, the same as {@link TextParser#intervalOut(String, Class)} uses.
+   */
+  private static final long MICROS_PER_YEAR = 31_556_952_000_000L;
+  private static final long MICROS_PER_MONTH = 30 * MICROS_PER_DAY;
+
+  /**
+   * Returned by the helpers when the value isn't on the expected form, no valid date or time is this far in the past.
+   */
+  private static final long INVALID = Long.MIN_VALUE + 1;
+
+  /**
+   * The largest long that can be converted to a double without losing precision.
+   */
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+      1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /**
+   * parses a decimal integer.
+   *
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @return the value
+   * @throws NumberFormatException if the bytes isn't an integer that fits in a long
+   */
+  public static long parseLong(byte[] bytes, int start, int end) {
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    if (pos == end) {
+      throw numberFormatException(bytes, start, end);
+    }
+
+    // accumulate negatively, as the negative range is larger
+    long result = 0;
+    for (; pos < end; pos++) {
+      int digit = bytes[pos] - '0';
+      if (digit < 0 || digit > 9 || result < (Long.MIN_VALUE + digit) / 10) {
+        throw numberFormatException(bytes, start, end);
+      }
+      result = result * 10 - digit;
+    }
+
+    if (!negative) {
+      if (result == Long.MIN_VALUE) {
+        throw numberFormatException(bytes, start, end);
+      }
+      return -result;
+    }
+    return result;
+  }
+
+  /**
+   * parses a decimal number. Plain numbers with up to 15 significant digits are calculated directly, as both the
+   * digits and the power of ten are exact doubles and the division is correctly rounded, the rest are handed to
+   * {@link Double#parseDouble(String)}.
+   *
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @return the value
+   */
+  public static double parseDouble(byte[] bytes, int start, int end) {
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+
+    long digits = 0;
+    int scale = -1;
+    int numDigits = 0;
+    for (; pos < end; pos++) {
+      byte b = bytes[pos];
+      if (b == '.' && scale < 0) {
+        scale = 0;
+      } else if (b >= '0' && b <= '9' && digits < MAX_EXACT_DOUBLE / 10) {
+        digits = digits * 10 + (b - '0');
+        numDigits++;
+        if (scale >= 0) {
+          scale++;
+        }
+      } else {
+        break;
+      }
+    }
+
+    if (pos != end || numDigits == 0 || scale >= POWERS_OF_TEN.length) {
+      return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+    }
+
+    double result = scale > 0 ? digits / POWERS_OF_TEN[scale] : digits;
+    return negative ? -result : result;
+  }
+
+  /**
+   * parses a boolean.
+   *
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @return true if the value is the letter t
+   */
+  public static boolean parseBoolean(byte[] bytes, int start, int end) {
+    return end - start == 1 && bytes[start] == 't';
+  }
+
+  /**
+   * parses a date, timestamp or timestamptz in the ISO format into microseconds since 1970-01-01 00:00:00 UTC.
+   * Values without time zone are counted as if they were in UTC. Infinity is returned as {@link Long#MAX_VALUE} and
+   * {@link Long#MIN_VALUE}.
+   *
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @return the number of microseconds since the epoch
+   */
+  public static long parseEpochMicros(byte[] bytes, int start, int end) {
+    int offsetPos = offsetPos(bytes, start, end);
+    long micros = localMicros(bytes, start, offsetPos);
+    long offset = offsetPos == end ? 0 : offsetSeconds(bytes, offsetPos, end);
+
+    if (micros == INVALID || offset == INVALID) {
+      String in = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+      switch (in) {
+        case "infinity":
+          return Long.MAX_VALUE;
+        case "-infinity":
+          return Long.MIN_VALUE;
+        default:
+          break;
+      }
+
+      LocalDateTime ldt;
+      if (in.indexOf(':') < 0) {
+        ldt = ((LocalDate) TextParser.dateOut(in, LocalDate.class)).atStartOfDay();
+      } else if (offsetPos != end) {
+        ldt = ((OffsetDateTime) TextParser.timestampTimeZoneOut(in, OffsetDateTime.class))
+            .withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+      } else {
+        ldt = (LocalDateTime) TextParser.timestampOut(in, LocalDateTime.class);
+      }
+      return ldt.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + ldt.getNano() / 1000;
+    }
+
+    return micros - offset * MICROS_PER_SECOND;
+  }
+
+  public static Object boolOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return parseBoolean(bytes, start, end);
+  }
+
+  /**
+   * Converts the number from the database to the requested class.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int2Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+
+    if (Long.class.equals(requestedClass)) {
+      return value;
+    }
+
+    if (Integer.class.equals(requestedClass)) {
+      return toInt(value, bytes, start, end);
+    }
+
+    return toShort(value, bytes, start, end);
+  }
+
+  /**
+   * Converts the number from the database to the requested class.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int4Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+
+    if (Long.class.equals(requestedClass)) {
+      return value;
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return toShort(value, bytes, start, end);
+    }
+
+    return toInt(value, bytes, start, end);
+  }
+
+  /**
+   * Converts the number from the database to the requested class.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Number
+   */
+  public static Object int8Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long value = parseLong(bytes, start, end);
+
+    if (Integer.class.equals(requestedClass)) {
+      return toInt(value, bytes, start, end);
+    }
+
+    if (Short.class.equals(requestedClass)) {
+      return toShort(value, bytes, start, end);
+    }
+
+    return value;
+  }
+
+  public static Object oidOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return parseLong(bytes, start, end);
+  }
+
+  public static Object float8Out(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    return parseDouble(bytes, start, end);
+  }
+
+  /**
+   * Converts a date on the form yyyy-MM-dd.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a LocalDate
+   */
+  public static Object dateOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    if (end - start != 10 || bytes[start + 4] != '-' || bytes[start + 7] != '-') {
+      return TextParser.dateOut(string(bytes, start, end), requestedClass);
+    }
+
+    int year = digits(bytes, start, 4);
+    int month = digits(bytes, start + 5, 2);
+    int day = digits(bytes, start + 8, 2);
+    if (!isDate(year, month, day)) {
+      return TextParser.dateOut(string(bytes, start, end), requestedClass);
+    }
+
+    return LocalDate.of(year, month, day);
+  }
+
+  /**
+   * Converts a time on the form HH:mm:ss[.SSSSSS].
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a LocalTime
+   */
+  public static Object timeOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long micros = timeMicros(bytes, start, end);
+
+    if (micros == INVALID || micros >= MICROS_PER_DAY) {
+      return TextParser.timeOut(string(bytes, start, end), requestedClass);
+    }
+
+    return LocalTime.ofNanoOfDay(micros * 1000);
+  }
+
+  /**
+   * Converts a timestamp on the form yyyy-MM-dd HH:mm:ss[.SSSSSS] into either a LocalDateTime or LocalTime based on
+   * what the user requested.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return object
+   */
+  public static Object timestampOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long micros = localMicros(bytes, start, end);
+
+    if (micros == INVALID) {
+      return TextParser.timestampOut(string(bytes, start, end), requestedClass);
+    }
+
+    LocalDateTime ldt = toLocalDateTime(micros);
+    if (LocalTime.class.equals(requestedClass)) {
+      return ldt.toLocalTime();
+    }
+
+    return ldt;
+  }
+
+  /**
+   * Converts a timestamp on the form yyyy-MM-dd HH:mm:ss[.SSSSSS]+HH[:mm[:ss]] to the same instant in UTC.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetDateTime in UTC
+   */
+  public static Object timestampTimeZoneOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    int offsetPos = offsetPos(bytes, start, end);
+    long micros = localMicros(bytes, start, offsetPos);
+    long offset = offsetPos == end ? INVALID : offsetSeconds(bytes, offsetPos, end);
+
+    if (micros == INVALID || offset == INVALID) {
+      return TextParser.timestampTimeZoneOut(string(bytes, start, end), requestedClass);
+    }
+
+    return OffsetDateTime.of(toLocalDateTime(micros), ZoneOffset.ofTotalSeconds((int) offset))
+        .withOffsetSameInstant(ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts an interval in the postgres IntervalStyle, like 1 year 2 mons -3 days +04:05:06.789.
+   * @param bytes the payload
+   * @param start first byte of the value
+   * @param end the position after the last byte of the value
+   * @param requestedClass the class that the user wanted
+   * @return a Duration
+   */
+  public static Object intervalOut(byte[] bytes, int start, int end, Class<?> requestedClass) {
+    long micros = 0;
+    int pos = start;
+
+    while (pos < end) {
+      if (pos != start) {
+        if (bytes[pos] != ' ') {
+          return TextParser.intervalOut(string(bytes, start, end), requestedClass);
+        }
+        pos++;
+      }
+
+      long sign = 1;
+      if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+        sign = bytes[pos] == '-' ? -1 : 1;
+        pos++;
+      }
+      int numberStart = pos;
+      long value = 0;
+      while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9' && pos - numberStart < 10) {
+        value = value * 10 + (bytes[pos++] - '0');
+      }
+      if (pos == numberStart || pos == end) {
+        return TextParser.intervalOut(string(bytes, start, end), requestedClass);
+      }
+
+      if (bytes[pos] == ':') {
+        // the time part is last, and the hours can be more than two digits
+        long time = minutesSecondsMicros(bytes, pos + 1, end);
+        if (time == INVALID) {
+          return TextParser.intervalOut(string(bytes, start, end), requestedClass);
+        }
+        micros += sign * (value * 3600 * MICROS_PER_SECOND + time);
+        pos = end;
+      } else if (bytes[pos] == ' ') {
+        int unitStart = ++pos;
+        while (pos < end && bytes[pos] != ' ') {
+          pos++;
+        }
+        long unit = unitMicros(bytes, unitStart, pos);
+        if (unit == INVALID) {
+          return TextParser.intervalOut(string(bytes, start, end), requestedClass);
+        }
+        micros += sign * value * unit;
+      } else {
+        return TextParser.intervalOut(string(bytes, start, end), requestedClass);
+      }
+    }
+
+    return Duration.ofSeconds(Math.floorDiv(micros, MICROS_PER_SECOND), Math.floorMod(micros, MICROS_PER_SECOND) * 1000);
+  }
+
+  /**
+   * the length of an interval unit, like year, mons or days.
+   */
+  private static long unitMicros(byte[] bytes, int start, int end) {
+    if (end - start < 3) {
+      return INVALID;
+    }
+
+    switch (bytes[start]) {
+      case 'y':
+        return MICROS_PER_YEAR;
+      case 'm':
+        return bytes[start + 1] == 'o' ? MICROS_PER_MONTH : INVALID;
+      case 'd':
+        return MICROS_PER_DAY;
+      default:
+        return INVALID;
+    }
+  }
+
+  /**
+   * finds where the time zone offset starts in a timestamptz, or returns end if there is none.
+   */
+  private static int offsetPos(byte[] bytes, int start, int end) {
+    for (int pos = end - 1; pos >= start + 19; pos--) {
+      if (bytes[pos] == '+' || bytes[pos] == '-') {
+        return pos;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * parses a time zone offset on the form +HH[:mm[:ss]].
+   *
+   * @return the offset in seconds, or INVALID
+   */
+  private static long offsetSeconds(byte[] bytes, int start, int end) {
+    int len = end - start;
+    if (len != 3 && len != 6 && len != 9) {
+      return INVALID;
+    }
+
+    long offset = 0;
+    for (int pos = start + 1, unit = 3600; pos < end; pos += 3, unit /= 60) {
+      int value = digits(bytes, pos, 2);
+      if (value < 0 || (pos + 2 < end && bytes[pos + 2] != ':')) {
+        return INVALID;
+      }
+      offset += value * unit;
+    }
+    return bytes[start] == '-' ? -offset : offset;
+  }
+
+  /**
+   * parses yyyy-MM-dd[ HH:mm:ss[.SSSSSS]].
+   *
+   * @return microseconds since 1970-01-01 00:00:00, or INVALID
+   */
+  private static long localMicros(byte[] bytes, int start, int end) {
+    int len = end - start;
+    if (len < 10 || bytes[start + 4] != '-' || bytes[start + 7] != '-') {
+      return INVALID;
+    }
+
+    int year = digits(bytes, start, 4);
+    int month = digits(bytes, start + 5, 2);
+    int day = digits(bytes, start + 8, 2);
+    if (!isDate(year, month, day)) {
+      return INVALID;
+    }
+
+    long micros = daysFromCivil(year, month, day) * MICROS_PER_DAY;
+    if (len == 10) {
+      return micros;
+    }
+
+    long time = bytes[start + 10] == ' ' ? timeMicros(bytes, start + 11, end) : INVALID;
+    if (time == INVALID) {
+      return INVALID;
+    }
+    return micros + time;
+  }
+
+  /**
+   * Checks the parsed fields are a date of the proleptic calendar, so that it can be built without an exception.
+   *
+   * @return false if a field is missing or out of range
+   */
+  private static boolean isDate(int year, int month, int day) {
+    return year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+  }
+
+  /**
+   * parses HH:mm:ss[.SSSSSS], the fraction can have less than six digits.
+   *
+   * @return microseconds since midnight, or INVALID
+   */
+  private static long timeMicros(byte[] bytes, int start, int end) {
+    int hour = end - start > 2 && bytes[start + 2] == ':' ? digits(bytes, start, 2) : -1;
+    long micros = hour < 0 ? INVALID : minutesSecondsMicros(bytes, start + 3, end);
+    if (micros == INVALID) {
+      return INVALID;
+    }
+
+    return hour * 3600 * MICROS_PER_SECOND + micros;
+  }
+
+  /**
+   * parses mm:ss[.SSSSSS], the fraction can have less than six digits.
+   *
+   * @return the number of microseconds, or INVALID
+   */
+  private static long minutesSecondsMicros(byte[] bytes, int start, int end) {
+    if (end - start < 5 || bytes[start + 2] != ':') {
+      return INVALID;
+    }
+
+    int minute = digits(bytes, start, 2);
+    int second = digits(bytes, start + 3, 2);
+    if (minute < 0 || second < 0) {
+      return INVALID;
+    }
+
+    long micros = 0;
+    int pos = start + 5;
+    if (pos < end) {
+      if (bytes[pos] != '.' || end - pos > 7 || end - pos < 2) {
+        return INVALID;
+      }
+      int scale = 0;
+      for (pos++; pos < end; pos++, scale++) {
+        int digit = bytes[pos] - '0';
+        if (digit < 0 || digit > 9) {
+          return INVALID;
+        }
+        micros = micros * 10 + digit;
+      }
+      for (; scale < 6; scale++) {
+        micros *= 10;
+      }
+    }
+
+    return (minute * 60L + second) * MICROS_PER_SECOND + micros;
+  }
+
+  private static LocalDateTime toLocalDateTime(long micros) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+        (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC);
+  }
+
+  /**
+   * reads a fixed number of ascii digits.
+   *
+   * @return the value, or -1 if there was something else than digits
+   */
+  private static int digits(byte[] bytes, int pos, int count) {
+    int result = 0;
+    for (int i = pos; i < pos + count; i++) {
+      int digit = bytes[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      result = result * 10 + digit;
+    }
+    return result;
+  }
+
+  /**
+   * the number of days since 1970-01-01 for a date in the proleptic gregorian calendar.
+   */
+  private static long daysFromCivil(int year, int month, int day) {
+    long y = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  private static int toInt(long value, byte[] bytes, int start, int end) {
+    if (value != (int) value) {
+      throw numberFormatException(bytes, start, end);
+    }
+    return (int) value;
+  }
+
+  private static short toShort(long value, byte[] bytes, int start, int end) {
+    if (value != (short) value) {
+      throw numberFormatException(bytes, start, end);
+    }
+    return (short) value;
+  }
+
+  private static String string(byte[] bytes, int start, int end) {
+    return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  private static NumberFormatException numberFormatException(byte[] bytes, int start, int end) {
+    return new NumberFormatException("For input string: \"" + string(bytes, start, end) + "\"");
+  }
+}
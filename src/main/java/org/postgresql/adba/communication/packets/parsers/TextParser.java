@@ -11,11 +11,15 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.StringTokenizer;
 import java.util.UUID;
@@ -36,11 +40,14 @@ import org.postgresql.adba.pgdatatypes.Point;
 import org.postgresql.adba.pgdatatypes.Polygon;
 
 public class TextParser {
-  private static final DateTimeFormatter timestampWithoutTimeZoneFormatter = DateTimeFormatter
-      .ofPattern("yyyy-MM-dd HH:mm:ss[.SSSSSS]");
-  private static final DateTimeFormatter timestampWithTimeZoneFormatter = DateTimeFormatter
-      .ofPattern("yyyy-MM-dd HH:mm:ss[.SSSSSS]X");
-  private static final DateTimeFormatter localDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  // the fraction has trailing zeros removed, offsets can have seconds, and years before 1 have a BC suffix
+  private static final DateTimeFormatter timestampWithoutTimeZoneFormatter = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd HH:mm:ss").appendFraction(ChronoField.NANO_OF_SECOND, 0, 6, true)
+      .appendPattern("[ G]").toFormatter(Locale.ENGLISH);
+  private static final DateTimeFormatter timestampWithTimeZoneFormatter = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd HH:mm:ss").appendFraction(ChronoField.NANO_OF_SECOND, 0, 6, true)
+      .appendOffset("+HH:mm:ss", "Z").appendPattern("[ G]").toFormatter(Locale.ENGLISH);
+  private static final DateTimeFormatter localDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd[ G]", Locale.ENGLISH);
   private static final DateTimeFormatter localTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss[.SSSSSS]");
   private static final DateTimeFormatter offsetTimeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss[.SSSSSS]X");
 
@@ -878,8 +885,14 @@ public class TextParser {
     return result;
   }
 
+  /**
+   * Converts a timestamptz to an OffsetDateTime in UTC, as the binary format has no offset.
+   * @param in the timestamptz as a string, in the session TimeZone
+   * @param requestedClass the class that the user wanted
+   * @return an OffsetDateTime in UTC
+   */
   public static Object timestampTimeZoneOut(String in, Class<?> requestedClass) {
-    return OffsetDateTime.parse(in, timestampWithTimeZoneFormatter);
+    return OffsetDateTime.parse(in, timestampWithTimeZoneFormatter).withOffsetSameInstant(ZoneOffset.UTC);
   }
 
   /**
@@ -901,7 +914,8 @@ public class TextParser {
       if ("NULL".equals(parts[i])) {
         result[i] = null;
       } else {
-        result[i] = OffsetDateTime.parse(parts[i].substring(1, parts[i].length() - 1), timestampWithTimeZoneFormatter);
+        result[i] = OffsetDateTime.parse(parts[i].substring(1, parts[i].length() - 1), timestampWithTimeZoneFormatter)
+            .withOffsetSameInstant(ZoneOffset.UTC);
       }
     }
 
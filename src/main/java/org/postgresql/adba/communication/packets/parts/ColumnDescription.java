@@ -22,13 +22,45 @@ public class ColumnDescription {
    */
   public ColumnDescription(String name, int objectIdOfTable, short attributeNumberOfColumn, int fieldOId,
                            short dataTypeSize, int typeModifier, short formatCode) {
+    this(name, objectIdOfTable, attributeNumberOfColumn, ColumnTypes.lookup(fieldOId), dataTypeSize, typeModifier,
+        FormatCodeTypes.lookup(formatCode));
+  }
+
+  /**
+   * Represents a description of a column in a result set whose type is already resolved.
+   *
+   * @param name name of the column
+   * @param objectIdOfTable the oid of the table
+   * @param attributeNumberOfColumn the column number
+   * @param columnType the type of the field
+   * @param dataTypeSize the size of the data type
+   * @param typeModifier type modifier
+   * @param formatCode format code
+   */
+  public ColumnDescription(String name, int objectIdOfTable, short attributeNumberOfColumn, ColumnTypes columnType,
+                           short dataTypeSize, int typeModifier, FormatCodeTypes formatCode) {
     this.name = name;
     this.objectIdOfTable = objectIdOfTable;
     this.attributeNumberOfColumn = attributeNumberOfColumn;
-    this.columnType = ColumnTypes.lookup(fieldOId);
+    this.columnType = columnType;
     this.dataTypeSize = dataTypeSize;
     this.typeModifier = typeModifier;
-    this.formatCode = FormatCodeTypes.lookup(formatCode);
+    this.formatCode = formatCode;
+  }
+
+  /**
+   * Creates a copy of this description that is transferred in another format.
+   *
+   * @param formatCode the format the column is transferred in
+   * @return a description with the same column information but the supplied format
+   */
+  public ColumnDescription withFormatCode(FormatCodeTypes formatCode) {
+    if (this.formatCode == formatCode) {
+      return this;
+    }
+
+    return new ColumnDescription(name, objectIdOfTable, attributeNumberOfColumn, columnType, dataTypeSize,
+        typeModifier, formatCode);
   }
 
   public String getName() {
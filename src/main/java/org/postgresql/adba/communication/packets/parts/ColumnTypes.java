@@ -8,8 +8,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import org.postgresql.adba.communication.packets.parsers.BinaryParser;
+import org.postgresql.adba.communication.packets.parsers.TextDecoder;
 import org.postgresql.adba.communication.packets.parsers.TextParser;
 import org.postgresql.adba.pgdatatypes.Box;
 import org.postgresql.adba.pgdatatypes.Circle;
@@ -24,6 +30,7 @@ import org.postgresql.adba.pgdatatypes.OffsetDateTimeRange;
 import org.postgresql.adba.pgdatatypes.Path;
 import org.postgresql.adba.pgdatatypes.Point;
 import org.postgresql.adba.pgdatatypes.Polygon;
+import org.postgresql.adba.util.ByteRangeFunction;
 import org.postgresql.adba.util.QuadFunction;
 
 public enum ColumnTypes {
@@ -203,6 +210,51 @@ public enum ColumnTypes {
   _REGROLE(4097, TextParser::array_out, BinaryParser::array_send, null, null),
   OTHER(0, TextParser::passthrough, null, null, null);
 
+  /**
+   * Types that are cheaper to decode from the binary format than from text, and so are requested as binary in the
+   * result columns once the row description of a statement is known.
+   */
+  private static final Set<ColumnTypes> BINARY_RESULT_TYPES = Collections.unmodifiableSet(EnumSet.of(BOOL, BYTEA,
+      INT2, INT4, INT8, FLOAT4, FLOAT8, UUID, DATE, TIMESTAMP, TIMESTAMPTZ));
+
+  /**
+   * Parsers of the text format that work directly on the bytes of the row, for the types where creating a String
+   * first is a noticeable part of the cost.
+   */
+  private static final Map<ColumnTypes, ByteRangeFunction<Object>> TEXT_DECODERS = new EnumMap<>(ColumnTypes.class);
+
+  static {
+    TEXT_DECODERS.put(BOOL, TextDecoder::boolOut);
+    TEXT_DECODERS.put(INT2, TextDecoder::int2Out);
+    TEXT_DECODERS.put(INT4, TextDecoder::int4Out);
+    TEXT_DECODERS.put(INT8, TextDecoder::int8Out);
+    TEXT_DECODERS.put(OID, TextDecoder::oidOut);
+    TEXT_DECODERS.put(FLOAT8, TextDecoder::float8Out);
+    TEXT_DECODERS.put(DATE, TextDecoder::dateOut);
+    TEXT_DECODERS.put(TIME, TextDecoder::timeOut);
+    TEXT_DECODERS.put(TIMESTAMP, TextDecoder::timestampOut);
+    TEXT_DECODERS.put(TIMESTAMPTZ, TextDecoder::timestampTimeZoneOut);
+    TEXT_DECODERS.put(INTERVAL, TextDecoder::intervalOut);
+  }
+
+  /**
+   * The built in types indexed by their oid, the builtin oids are all small and dense enough for a plain array.
+   */
+  private static final ColumnTypes[] BY_OID;
+
+  static {
+    int maxOid = 0;
+    for (ColumnTypes ct : values()) {
+      maxOid = Math.max(maxOid, ct.oid);
+    }
+    BY_OID = new ColumnTypes[maxOid + 1];
+    for (ColumnTypes ct : values()) {
+      if (ct != OTHER) {
+        BY_OID[ct.oid] = ct;
+      }
+    }
+  }
+
   private final int oid;
   private final BiFunction<String, Class<?>, Object> textParser;
   private final QuadFunction<byte[], Integer, Integer, Class<?>, Object> binaryParser;
@@ -225,19 +277,38 @@ public enum ColumnTypes {
    * @return the ColumnTypes object
    */
   public static ColumnTypes lookup(int oid) {
-    for (ColumnTypes ct : values()) {
-      if (ct.oid == oid) {
-        return ct;
-      }
+    if (oid <= 0 || oid >= BY_OID.length) {
+      return OTHER;
     }
 
-    return OTHER;
+    ColumnTypes ct = BY_OID[oid];
+    return ct == null ? OTHER : ct;
+  }
+
+  public int getOid() {
+    return oid;
+  }
+
+  /**
+   * The format that result columns of this type preferably are transferred in.
+   * @return BINARY if the type has a cheap binary decoder, otherwise TEXT
+   */
+  public FormatCodeTypes getPreferredResultFormat() {
+    return BINARY_RESULT_TYPES.contains(this) ? FormatCodeTypes.BINARY : FormatCodeTypes.TEXT;
   }
 
   public BiFunction<String, Class<?>, Object> getTextParser() {
     return textParser;
   }
 
+  /**
+   * The parser of the text format that reads directly from the bytes of the row.
+   * @return the parser, or null if the value has to be parsed from a String with {@link #getTextParser()}
+   */
+  public ByteRangeFunction<Object> getTextDecoder() {
+    return TEXT_DECODERS.get(this);
+  }
+
   public QuadFunction<byte[], Integer, Integer, Class<?>, Object> getBinaryParser() {
     return binaryParser;
   }
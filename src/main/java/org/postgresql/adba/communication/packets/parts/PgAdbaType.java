@@ -15,7 +15,9 @@ import java.util.Map;
 import java.util.function.Function;
 import jdk.incubator.sql2.AdbaType;
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.packets.parsers.BinaryEncoder;
 import org.postgresql.adba.communication.packets.parsers.BinaryGenerator;
+import org.postgresql.adba.communication.packets.parsers.ParameterEncoder;
 import org.postgresql.adba.pgdatatypes.Box;
 import org.postgresql.adba.pgdatatypes.Circle;
 import org.postgresql.adba.pgdatatypes.IntegerRange;
@@ -46,19 +48,19 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code SMALLINT}.
    */
-  SMALLINT("smallint", 21, AdbaType.SMALLINT, BinaryGenerator::fromSmallInt, FormatCodeTypes.BINARY),
+  SMALLINT("smallint", 21, AdbaType.SMALLINT, BinaryEncoder.INT2, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code INTEGER}.
    */
-  INTEGER("integer", 23, AdbaType.INTEGER, BinaryGenerator::fromInt, FormatCodeTypes.BINARY),
+  INTEGER("integer", 23, AdbaType.INTEGER, BinaryEncoder.INT4, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code BIGINT}.
    */
-  BIGINT("bigint", 20, AdbaType.BIGINT, BinaryGenerator::fromBigInt, FormatCodeTypes.BINARY),
+  BIGINT("bigint", 20, AdbaType.BIGINT, BinaryEncoder.INT8, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code FLOAT}.
    */
-  FLOAT("float", 700, AdbaType.FLOAT, BinaryGenerator::fromFloat, FormatCodeTypes.BINARY),
+  FLOAT("float", 700, AdbaType.FLOAT, BinaryEncoder.FLOAT4, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code FLOAT}.
    */
@@ -70,23 +72,24 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code REAL}.
    */
-  REAL("float", 700, AdbaType.REAL, BinaryGenerator::fromFloat, FormatCodeTypes.BINARY),
+  REAL("float", 700, AdbaType.REAL, BinaryEncoder.FLOAT4, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code DOUBLE}.
    */
-  DOUBLE("double", 701, AdbaType.DOUBLE, BinaryGenerator::fromDouble, FormatCodeTypes.BINARY),
+  DOUBLE("double", 701, AdbaType.DOUBLE, BinaryEncoder.FLOAT8, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code NUMERIC}.
    */
-  NUMERIC("numeric", 1700, AdbaType.NUMERIC, BinaryGenerator::fromBigDecimal, FormatCodeTypes.TEXT),
+  NUMERIC("numeric", 1700, AdbaType.NUMERIC, BinaryEncoder.NUMERIC, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code NUMERIC}.
    */
-  NUMERIC_ARRAY("_numeric", 1231, AdbaType.ARRAY, BinaryGenerator::fromBigDecimalArray, FormatCodeTypes.TEXT),
+  NUMERIC_ARRAY("_numeric", 1231, AdbaType.ARRAY,
+      BinaryEncoder.array(1700, BinaryEncoder.NUMERIC), FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code DECIMAL}.
    */
-  DECIMAL("numeric", 1700, AdbaType.DECIMAL, BinaryGenerator::fromBigDecimal, FormatCodeTypes.TEXT),
+  DECIMAL("numeric", 1700, AdbaType.DECIMAL, BinaryEncoder.NUMERIC, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code CHAR}.
    */
@@ -94,55 +97,56 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code VARCHAR}.
    */
-  VARCHAR("varchar", 1043, AdbaType.VARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  VARCHAR("varchar", 1043, AdbaType.VARCHAR, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the type UUID.
    */
-  UUID("uuid", 2950, AdbaType.OTHER, BinaryGenerator::fromUuid, FormatCodeTypes.TEXT),
+  UUID("uuid", 2950, AdbaType.OTHER, BinaryEncoder.UUID, FormatCodeTypes.BINARY),
   /**
    * Identifies an array of UUIDs.
    */
-  UUID_ARRAY("_uuid", 2951, AdbaType.ARRAY, BinaryGenerator::fromUuidArray, FormatCodeTypes.TEXT),
+  UUID_ARRAY("_uuid", 2951, AdbaType.ARRAY, BinaryEncoder.array(2950, BinaryEncoder.UUID), FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code LONGVARCHAR}.
    */
-  LONGVARCHAR("text", 25, AdbaType.LONG_VARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  LONGVARCHAR("text", 25, AdbaType.LONG_VARCHAR, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code DATE}.
    */
-  DATE("date", 1082, AdbaType.DATE, BinaryGenerator::fromLocalDate, FormatCodeTypes.TEXT),
+  DATE("date", 1082, AdbaType.DATE, BinaryEncoder.DATE, FormatCodeTypes.BINARY),
   /**
    * Identifies an array of LocalDate objects.
    */
-  DATE_ARRAY("_date", 1182, AdbaType.ARRAY, BinaryGenerator::fromLocalDateArray, FormatCodeTypes.TEXT),
+  DATE_ARRAY("_date", 1182, AdbaType.ARRAY, BinaryEncoder.array(1082, BinaryEncoder.DATE), FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code TIME}.
    */
-  TIME("time", 1083, AdbaType.TIME, BinaryGenerator::fromLocalTime, FormatCodeTypes.TEXT),
+  TIME("time", 1083, AdbaType.TIME, BinaryEncoder.TIME, FormatCodeTypes.BINARY),
   /**
    * Identifies an array of LocalTime objects.
    */
-  TIME_ARRAY("_time", 1183, AdbaType.ARRAY, BinaryGenerator::fromLocalTimeArray, FormatCodeTypes.TEXT),
+  TIME_ARRAY("_time", 1183, AdbaType.ARRAY, BinaryEncoder.array(1083, BinaryEncoder.TIME), FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code TIMESTAMP}.
    */
-  TIMESTAMP("timestamp", 1114, AdbaType.TIMESTAMP, BinaryGenerator::fromLocalDateTime, FormatCodeTypes.TEXT),
+  TIMESTAMP("timestamp", 1114, AdbaType.TIMESTAMP, BinaryEncoder.TIMESTAMP, FormatCodeTypes.BINARY),
   /**
    * Identifies an array of LocalDateTime objects.
    */
-  TIMESTAMP_ARRAY("_timestamp", 1115, AdbaType.ARRAY, BinaryGenerator::fromLocalDateTimeArray, FormatCodeTypes.TEXT),
+  TIMESTAMP_ARRAY("_timestamp", 1115, AdbaType.ARRAY,
+      BinaryEncoder.array(1114, BinaryEncoder.TIMESTAMP), FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code BINARY}.
    */
-  BINARY("bytea", 17, AdbaType.BINARY, BinaryGenerator::fromByteArray, FormatCodeTypes.TEXT),
+  BINARY("bytea", 17, AdbaType.BINARY, BinaryEncoder.BYTEA, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code VARBINARY}.
    */
-  VARBINARY("bytea", 17, AdbaType.VARBINARY, BinaryGenerator::fromByteArray, FormatCodeTypes.TEXT),
+  VARBINARY("bytea", 17, AdbaType.VARBINARY, BinaryEncoder.BYTEA, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code LONGVARBINARY}.
    */
-  LONGVARBINARY("bytea", 17, AdbaType.LONG_VARBINARY, BinaryGenerator::fromByteArray, FormatCodeTypes.TEXT),
+  LONGVARBINARY("bytea", 17, AdbaType.LONG_VARBINARY, BinaryEncoder.BYTEA, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL value {@code NULL}.
    */
@@ -202,11 +206,11 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code BLOB}.
    */
-  BLOB("bytea", 17, AdbaType.BLOB, BinaryGenerator::fromByteArray, FormatCodeTypes.BINARY),
+  BLOB("bytea", 17, AdbaType.BLOB, BinaryEncoder.BYTEA, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code CLOB}.
    */
-  CLOB("text", 25, AdbaType.CLOB, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  CLOB("text", 25, AdbaType.CLOB, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code REF}.
    */
@@ -218,7 +222,7 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code BOOLEAN}.
    */
-  BOOLEAN("boolean", 16, AdbaType.BOOLEAN, BinaryGenerator::fromBoolean, FormatCodeTypes.BINARY),
+  BOOLEAN("boolean", 16, AdbaType.BOOLEAN, BinaryEncoder.BOOL, FormatCodeTypes.BINARY),
 
   /**
    * Identifies the SQL type {@code ROWID}.
@@ -231,15 +235,15 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code NVARCHAR}.
    */
-  NVARCHAR("varchar", 1043, AdbaType.NVARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  NVARCHAR("varchar", 1043, AdbaType.NVARCHAR, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code LONGNVARCHAR}.
    */
-  LONGNVARCHAR("text", 25, AdbaType.LONG_NVARCHAR, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  LONGNVARCHAR("text", 25, AdbaType.LONG_NVARCHAR, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code NCLOB}.
    */
-  NCLOB("text", 25, AdbaType.NCLOB, BinaryGenerator::fromString, FormatCodeTypes.TEXT),
+  NCLOB("text", 25, AdbaType.NCLOB, BinaryEncoder.TEXT, FormatCodeTypes.TEXT),
   /**
    * Identifies the generic SQL type {@code SQLXML}.
    */
@@ -257,24 +261,24 @@ public enum PgAdbaType implements SqlType {
   /**
    * Identifies the generic SQL type {@code TIME WITH TIME ZONE}.
    */
-  TIME_WITH_TIME_ZONE("time with timezone", 1266, AdbaType.TIME_WITH_TIME_ZONE, BinaryGenerator::fromOffsetTime,
-      FormatCodeTypes.TEXT),
+  TIME_WITH_TIME_ZONE("time with timezone", 1266, AdbaType.TIME_WITH_TIME_ZONE,
+      BinaryEncoder.TIMETZ, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code TIME WITH TIME ZONE}.
    */
-  TIME_WITH_TIME_ZONE_ARRAY("time with timezone", 1270, AdbaType.ARRAY, BinaryGenerator::fromOffsetTimeArray,
-      FormatCodeTypes.TEXT),
+  TIME_WITH_TIME_ZONE_ARRAY("time with timezone", 1270, AdbaType.ARRAY,
+      BinaryEncoder.array(1266, BinaryEncoder.TIMETZ), FormatCodeTypes.BINARY),
 
   /**
    * Identifies the generic SQL type {@code TIMESTAMP WITH TIME ZONE}.
    */
   TIMESTAMP_WITH_TIME_ZONE("timestamp with timezone", 1184, AdbaType.TIMESTAMP_WITH_TIME_ZONE,
-      BinaryGenerator::fromOffsetDateTime, FormatCodeTypes.TEXT),
+      BinaryEncoder.TIMESTAMPTZ, FormatCodeTypes.BINARY),
   /**
    * Identifies the generic SQL type {@code TIMESTAMP WITH TIME ZONE}.
    */
   TIMESTAMP_WITH_TIME_ZONE_ARRAY("timestamp with timezone[]", 1185, AdbaType.ARRAY,
-      BinaryGenerator::fromOffsetDateTimeArray, FormatCodeTypes.TEXT),
+      BinaryEncoder.array(1184, BinaryEncoder.TIMESTAMPTZ), FormatCodeTypes.BINARY),
   /**
    * Identifies an Interval of time.
    */
@@ -459,11 +463,26 @@ public enum PgAdbaType implements SqlType {
   private String name;
   private Integer oid;
   private AdbaType adbaType;
-  private Function<Object, byte[]> byteGenerator;
+  private ParameterEncoder encoder;
   private FormatCodeTypes formatCodeTypes;
 
   private static final Map<Class, PgAdbaType> classToDb = new HashMap<>();
 
+  /**
+   * Caches the guessed type per class, the map is only read when a class is seen for the first time.
+   */
+  private static final ClassValue<PgAdbaType> typeFromClass = new ClassValue<>() {
+    @Override
+    protected PgAdbaType computeValue(Class<?> clazz) {
+      PgAdbaType type = classToDb.get(clazz);
+      if (type != null) {
+        return type;
+      }
+
+      return clazz.isArray() ? ARRAY : OTHER;
+    }
+  };
+
   static {
     //classToDb.put(Void.class, BIT);
     classToDb.put(Byte.class, TINYINT);
@@ -560,10 +579,14 @@ public enum PgAdbaType implements SqlType {
 
   PgAdbaType(String name, Integer oid, AdbaType adbaType, Function<Object, byte[]> byteGenerator,
       FormatCodeTypes formatCodeTypes) {
+    this(name, oid, adbaType, ParameterEncoder.fromGenerator(byteGenerator), formatCodeTypes);
+  }
+
+  PgAdbaType(String name, Integer oid, AdbaType adbaType, ParameterEncoder encoder, FormatCodeTypes formatCodeTypes) {
     this.name = name;
     this.oid = oid;
     this.adbaType = adbaType;
-    this.byteGenerator = byteGenerator;
+    this.encoder = encoder;
     this.formatCodeTypes = formatCodeTypes;
   }
 
@@ -591,12 +614,8 @@ public enum PgAdbaType implements SqlType {
    * @param clazz java class to guess for
    * @return database type
    */
-  public static PgAdbaType guessTypeFromClass(Class clazz) {
-    if (clazz.isArray() && !classToDb.containsKey(clazz)) {
-      return ARRAY;
-    }
-
-    return classToDb.computeIfAbsent(clazz, c -> OTHER);
+  public static PgAdbaType guessTypeFromClass(Class<?> clazz) {
+    return typeFromClass.get(clazz);
   }
 
   @Override
@@ -618,8 +637,8 @@ public enum PgAdbaType implements SqlType {
     return oid;
   }
 
-  public Function<Object, byte[]> getByteGenerator() {
-    return byteGenerator;
+  public ParameterEncoder getEncoder() {
+    return encoder;
   }
 
   public FormatCodeTypes getFormatCodeTypes() {
@@ -0,0 +1,162 @@
+package org.postgresql.adba.communication.packets.parts;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves types that aren't built in to the server, like domains, enums, arrays of those and extension types, to the
+ * built in type that is used to parse them.
+ *
+ * <p>There is one registry per data source, it's loaded from pg_type while the first session connects and is then
+ * shared by all sessions.
+ */
+public class TypeRegistry {
+  /**
+   * The query that loads the types, the oids are read as int8 as they are unsigned.
+   */
+  public static final String QUERY = "select oid::int8 as oid, typtype::text as typtype, typcategory::text as typcategory,"
+      + " typbasetype::int8 as typbasetype, typelem::int8 as typelem, typarray::int8 as typarray from pg_catalog.pg_type";
+
+  /**
+   * Guards against resolving a malformed chain of domains forever.
+   */
+  private static final int MAX_DEPTH = 16;
+
+  private final boolean enabled;
+  private final AtomicBoolean loading = new AtomicBoolean();
+  private volatile Map<Integer, ColumnTypes> types = Collections.emptyMap();
+  private volatile boolean loaded;
+
+  /**
+   * Creates a registry.
+   *
+   * @param enabled if the types should be loaded from the server
+   */
+  public TypeRegistry(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Finds the type to use for an oid.
+   *
+   * @param oid the oid of the type
+   * @return the built in type, or the type it was resolved to, or OTHER if it's unknown
+   */
+  public ColumnTypes lookup(int oid) {
+    ColumnTypes type = ColumnTypes.lookup(oid);
+    if (type != ColumnTypes.OTHER) {
+      return type;
+    }
+
+    return types.getOrDefault(oid, ColumnTypes.OTHER);
+  }
+
+  /**
+   * Indicates if lookups are final, as the types are loaded or aren't to be loaded. Until then an oid that isn't built in
+   * may be OTHER only for now, so what's resolved from it shouldn't be kept.
+   *
+   * @return true if an unknown oid stays unknown
+   */
+  public boolean isSettled() {
+    return !enabled || loaded;
+  }
+
+  /**
+   * Claims the loading of the types, only the first caller gets to load them.
+   *
+   * @return true if the caller should run the {@link #QUERY} and pass the rows to {@link #loaded(List)}
+   */
+  public boolean startLoading() {
+    return enabled && loading.compareAndSet(false, true);
+  }
+
+  /**
+   * Called if the loading failed, so that the next session tries again. Until then custom types are read as text.
+   *
+   * @param t the reason the loading failed
+   */
+  public void loadFailed(Throwable t) {
+    loading.set(false);
+  }
+
+  /**
+   * Resolves the types from the rows of {@link #QUERY}.
+   *
+   * @param rows the columns of each row, in text format
+   */
+  public void loaded(List<String[]> rows) {
+    Map<Integer, PgType> types = new HashMap<>();
+    for (String[] columns : rows) {
+      PgType type = new PgType(columns);
+      types.put(type.oid, type);
+    }
+    resolve(types);
+  }
+
+  private void resolve(Map<Integer, PgType> rows) {
+    Map<Integer, ColumnTypes> resolved = new HashMap<>();
+    for (PgType row : rows.values()) {
+      if (ColumnTypes.lookup(row.oid) == ColumnTypes.OTHER) {
+        ColumnTypes type = resolve(rows, row.oid, 0);
+        if (type != ColumnTypes.OTHER) {
+          resolved.put(row.oid, type);
+        }
+      }
+    }
+    types = resolved;
+    loaded = true;
+  }
+
+  private ColumnTypes resolve(Map<Integer, PgType> rows, int oid, int depth) {
+    ColumnTypes builtin = ColumnTypes.lookup(oid);
+    PgType row = rows.get(oid);
+    if (builtin != ColumnTypes.OTHER || row == null || depth > MAX_DEPTH) {
+      return builtin;
+    }
+
+    switch (row.typtype) {
+      case "d": // domain, parsed as its base type
+        return resolve(rows, row.typbasetype, depth + 1);
+      case "e": // enum, parsed as a string
+        return ColumnTypes.TEXT;
+      default:
+        break;
+    }
+
+    if ("A".equals(row.typcategory) && row.typelem != 0) {
+      ColumnTypes element = resolve(rows, row.typelem, depth + 1);
+      PgType elementRow = rows.get(element.getOid());
+      if (element == ColumnTypes.OTHER || elementRow == null) {
+        return ColumnTypes.OTHER;
+      }
+      return ColumnTypes.lookup(elementRow.typarray);
+    }
+
+    if ("S".equals(row.typcategory)) { // string like extension types, citext for example
+      return ColumnTypes.TEXT;
+    }
+
+    return ColumnTypes.OTHER;
+  }
+
+  static class PgType {
+    private final int oid;
+    private final String typtype;
+    private final String typcategory;
+    private final int typbasetype;
+    private final int typelem;
+    private final int typarray;
+
+    private PgType(String[] columns) {
+      oid = (int) Long.parseLong(columns[0]);
+      typtype = columns[1];
+      typcategory = columns[2];
+      typbasetype = (int) Long.parseLong(columns[3]);
+      typelem = (int) Long.parseLong(columns[4]);
+      typarray = (int) Long.parseLong(columns[5]);
+    }
+  }
+}
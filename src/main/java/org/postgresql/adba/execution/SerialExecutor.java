@@ -0,0 +1,64 @@
+package org.postgresql.adba.execution;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link Executor} that runs its tasks one at a time, in the order they were submitted, on another {@link Executor}.
+ *
+ * <p>Used to complete the submissions of a session off the network thread, while keeping them in order.
+ */
+public class SerialExecutor implements Executor {
+
+  private static final Logger logger = Logger.getLogger(SerialExecutor.class.getName());
+
+  private final Executor executor;
+
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+  private final Runnable drain = this::drain;
+
+  /**
+   * Instantiate.
+   *
+   * @param executor {@link Executor} to run the tasks on.
+   */
+  public SerialExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    tasks.add(task);
+    schedule();
+  }
+
+  private void schedule() {
+    if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+      executor.execute(drain);
+    }
+  }
+
+  private void drain() {
+    try {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        try {
+          task.run();
+        } catch (RuntimeException ex) {
+          // tasks complete their submission on failure, so carry on with the next
+          logger.log(Level.SEVERE, "Failed to run task", ex);
+        }
+      }
+    } finally {
+      scheduled.set(false);
+      schedule(); // tasks added after the last poll
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.postgresql.adba.hostchooser;
+
+/**
+ * A host to try connecting to, and the requirement it has to satisfy once connected.
+ */
+public class CandidateHost {
+  private final HostSpec host;
+  private final HostRequirement requirement;
+
+  /**
+   * Creates the candidate.
+   *
+   * @param host the host
+   * @param requirement the requirement the host has to satisfy
+   */
+  public CandidateHost(HostSpec host, HostRequirement requirement) {
+    this.host = host;
+    this.requirement = requirement;
+  }
+
+  public HostSpec getHost() {
+    return host;
+  }
+
+  public HostRequirement getRequirement() {
+    return requirement;
+  }
+
+  @Override
+  public String toString() {
+    return host + " (" + requirement + ")";
+  }
+}
@@ -0,0 +1,163 @@
+package org.postgresql.adba.hostchooser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Orders the hosts of a session to connect to, using the status of the hosts as last seen by the sessions of the data
+ * source.
+ *
+ * <p>Hosts known to have failed, or known to be of the wrong kind for the {@link HostRequirement}, are skipped until the
+ * status is older than the recheck interval. Standbys lagging too far behind are only tried after the other hosts, and
+ * hosts that recently failed are still tried last, in case they are back.
+ * With load balancing each session starts at the next host, round-robin.
+ */
+public class HostChooser {
+  private final Map<HostSpec, Known> statuses = new ConcurrentHashMap<>();
+  private final Map<HostSpec, Long> replayedLsns = new ConcurrentHashMap<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private final LongSupplier clock;
+
+  /**
+   * Creates a chooser.
+   */
+  public HostChooser() {
+    this(System::nanoTime);
+  }
+
+  HostChooser(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Orders the hosts to connect to.
+   *
+   * @param hosts the hosts of the session, in the order configured
+   * @param requirement what the session requires of the server
+   * @param loadBalance if the sessions should be spread over the hosts
+   * @param recheck how long the status of a host is trusted
+   * @return the hosts to try in order, with the requirement each has to satisfy
+   */
+  public List<CandidateHost> candidates(List<HostSpec> hosts, HostRequirement requirement, boolean loadBalance,
+      Duration recheck) {
+    List<HostSpec> ordered = hosts;
+    if (loadBalance && hosts.size() > 1) {
+      int start = Math.floorMod(next.getAndIncrement(), hosts.size());
+      ordered = new ArrayList<>(hosts.size());
+      ordered.addAll(hosts.subList(start, hosts.size()));
+      ordered.addAll(hosts.subList(0, start));
+    }
+
+    List<CandidateHost> candidates = new ArrayList<>();
+    long now = clock.getAsLong();
+    if (requirement == HostRequirement.PREFER_STANDBY) {
+      addCandidates(candidates, ordered, HostRequirement.STANDBY, now, recheck.toNanos());
+      addCandidates(candidates, ordered, HostRequirement.ANY, now, recheck.toNanos());
+    } else {
+      addCandidates(candidates, ordered, requirement, now, recheck.toNanos());
+    }
+    return candidates;
+  }
+
+  private void addCandidates(List<CandidateHost> candidates, List<HostSpec> hosts, HostRequirement requirement,
+      long now, long recheckNanos) {
+    List<CandidateHost> lagging = new ArrayList<>();
+    List<CandidateHost> failed = new ArrayList<>();
+    for (HostSpec host : hosts) {
+      HostStatus status = status(host, now, recheckNanos);
+      if (status == HostStatus.STANDBY_LAGGING && requirement.allowConnectingTo(status)) {
+        lagging.add(new CandidateHost(host, requirement));
+      } else if (requirement.allowConnectingTo(status)) {
+        candidates.add(new CandidateHost(host, requirement));
+      } else if (status == HostStatus.CONNECT_FAILED) {
+        failed.add(new CandidateHost(host, requirement));
+      }
+    }
+    candidates.addAll(lagging);
+    candidates.addAll(failed);
+  }
+
+  /**
+   * Records the status of a host, as seen by a session connecting to it.
+   *
+   * @param host the host
+   * @param status the status, {@link HostStatus#CONNECT_OK} keeps a known role of the host and
+   *               {@link HostStatus#STANDBY} keeps a standby known to be lagging
+   */
+  public void report(HostSpec host, HostStatus status) {
+    long now = clock.getAsLong();
+    statuses.merge(host, new Known(status, now), (previous, known) -> {
+      boolean keep = status == HostStatus.CONNECT_OK && previous.status != HostStatus.CONNECT_FAILED
+          || status == HostStatus.STANDBY && previous.status == HostStatus.STANDBY_LAGGING;
+      return keep ? new Known(previous.status, now) : known;
+    });
+  }
+
+  /**
+   * Records how far a standby is behind the primary, as measured by a probe.
+   *
+   * @param host the standby
+   * @param lagging if the standby is further behind than is acceptable, so only used if no other standby is
+   */
+  public void reportLag(HostSpec host, boolean lagging) {
+    statuses.put(host, new Known(lagging ? HostStatus.STANDBY_LAGGING : HostStatus.STANDBY, clock.getAsLong()));
+  }
+
+  /**
+   * Records how far a standby has replayed the WAL of the primary, as measured by a probe.
+   *
+   * @param host the standby
+   * @param lsn the replayed LSN
+   */
+  public void reportReplayedLsn(HostSpec host, long lsn) {
+    replayedLsns.put(host, lsn);
+  }
+
+  /**
+   * Indicates if a host is known to see the writes committed on the primary up to the LSN, as it is the primary or a
+   * standby that has replayed up to it.
+   *
+   * @param host the host
+   * @param lsn the LSN
+   * @return true if known to see the writes
+   */
+  public boolean hasReplayed(HostSpec host, long lsn) {
+    Known known = statuses.get(host);
+    if (known != null && known.status == HostStatus.PRIMARY) {
+      return true;
+    }
+    Long replayed = replayedLsns.get(host);
+    return replayed != null && Long.compareUnsigned(replayed, lsn) >= 0;
+  }
+
+  /**
+   * The last known status of a host.
+   *
+   * @param host the host
+   * @param recheck how long the status is trusted
+   * @return the status, <code>null</code> if unknown or too old
+   */
+  public HostStatus status(HostSpec host, Duration recheck) {
+    return status(host, clock.getAsLong(), recheck.toNanos());
+  }
+
+  private HostStatus status(HostSpec host, long now, long recheckNanos) {
+    Known known = statuses.get(host);
+    return known == null || now - known.at >= recheckNanos ? null : known.status;
+  }
+
+  private static class Known {
+    private final HostStatus status;
+    private final long at;
+
+    private Known(HostStatus status, long at) {
+      this.status = status;
+      this.at = at;
+    }
+  }
+}
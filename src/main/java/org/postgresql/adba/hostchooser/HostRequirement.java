@@ -0,0 +1,101 @@
+package org.postgresql.adba.hostchooser;
+
+/**
+ * The kind of server a session requires, as given by <code>target_session_attrs</code>.
+ */
+public enum HostRequirement {
+  ANY("any"),
+  READ_WRITE("read-write"),
+  READ_ONLY("read-only"),
+  PRIMARY("primary"),
+  STANDBY("standby"),
+  PREFER_STANDBY("prefer-standby");
+
+  private final String attrs;
+
+  HostRequirement(String attrs) {
+    this.attrs = attrs;
+  }
+
+  /**
+   * Returns the requirement for the <code>target_session_attrs</code> value.
+   *
+   * @param attrs the value, <code>null</code> or empty for {@link #ANY}
+   * @return the matching requirement
+   * @throws IllegalArgumentException if the value is unknown
+   */
+  public static HostRequirement lookup(String attrs) {
+    if (attrs == null || attrs.isEmpty()) {
+      return ANY;
+    }
+
+    for (HostRequirement requirement : values()) {
+      if (requirement.attrs.equalsIgnoreCase(attrs) || requirement.name().equalsIgnoreCase(attrs)) {
+        return requirement;
+      }
+    }
+
+    throw new IllegalArgumentException("unknown target_session_attrs: " + attrs);
+  }
+
+  /**
+   * Indicates if the server has to be checked after startup.
+   *
+   * @return true if the attributes of the server have to be queried
+   */
+  public boolean requiresCheck() {
+    return this != ANY;
+  }
+
+  /**
+   * Indicates if it's worth connecting to a host with the last known status.
+   *
+   * @param status the last known status of the host, <code>null</code> if not known
+   * @return true if the host may satisfy this requirement
+   */
+  public boolean allowConnectingTo(HostStatus status) {
+    if (status == null || status == HostStatus.CONNECT_OK) {
+      return true;
+    }
+
+    switch (status) {
+      case CONNECT_FAILED:
+        return false;
+      case PRIMARY:
+        return this != READ_ONLY && this != STANDBY;
+      case STANDBY:
+        return this != READ_WRITE && this != PRIMARY;
+      case STANDBY_LAGGING:
+        return this == ANY || this == PREFER_STANDBY;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Indicates if the connected server satisfies this requirement.
+   *
+   * @param inRecovery if the server is in recovery, that is a standby
+   * @param readOnly if transactions are read only by default
+   * @return true if the session can use the server
+   */
+  public boolean accept(boolean inRecovery, boolean readOnly) {
+    switch (this) {
+      case READ_WRITE:
+        return !readOnly;
+      case READ_ONLY:
+        return readOnly;
+      case PRIMARY:
+        return !inRecovery;
+      case STANDBY:
+        return inRecovery;
+      default:
+        return true;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return attrs;
+  }
+}
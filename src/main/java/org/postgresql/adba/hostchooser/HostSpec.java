@@ -0,0 +1,100 @@
+package org.postgresql.adba.hostchooser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Host and port of a server.
+ */
+public class HostSpec {
+  private final String host;
+  private final int port;
+
+  /**
+   * Creates the host specification.
+   *
+   * @param host the host name or address
+   * @param port the port
+   */
+  public HostSpec(String host, int port) {
+    this.host = host;
+    this.port = port;
+  }
+
+  /**
+   * Parses a comma separated list of hosts, each optionally followed by a colon and its port. IPv6 addresses with a
+   * port are enclosed in square brackets, for example <code>[::1]:5433</code>.
+   *
+   * @param hosts the list of hosts
+   * @param defaultPort the port of the hosts that don't specify one
+   * @return the hosts in the order listed
+   * @throws IllegalArgumentException if a port is not a number or the list has no hosts
+   */
+  public static List<HostSpec> parse(String hosts, int defaultPort) {
+    List<HostSpec> specs = new ArrayList<>();
+    for (String address : hosts.split(",")) {
+      address = address.trim();
+      if (address.isEmpty()) {
+        continue;
+      }
+
+      String host = address;
+      String port = null;
+      if (address.startsWith("[")) {
+        int close = address.indexOf(']');
+        if (close == -1) {
+          throw new IllegalArgumentException("unterminated IPv6 address in host: " + address);
+        }
+        host = address.substring(1, close);
+        if (address.startsWith(":", close + 1)) {
+          port = address.substring(close + 2);
+        }
+      } else if (address.indexOf(':') != -1 && address.indexOf(':') == address.lastIndexOf(':')) {
+        host = address.substring(0, address.indexOf(':'));
+        port = address.substring(address.indexOf(':') + 1);
+      }
+
+      try {
+        specs.add(new HostSpec(host, port == null ? defaultPort : Integer.parseInt(port)));
+      } catch (NumberFormatException ex) {
+        throw new IllegalArgumentException("invalid port in host: " + address, ex);
+      }
+    }
+
+    if (specs.isEmpty()) {
+      throw new IllegalArgumentException("no host in: " + hosts);
+    }
+    return specs;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof HostSpec)) {
+      return false;
+    }
+    HostSpec hostSpec = (HostSpec) o;
+    return port == hostSpec.port && host.equals(hostSpec.host);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(host, port);
+  }
+
+  @Override
+  public String toString() {
+    return (host.indexOf(':') == -1 ? host : "[" + host + "]") + ":" + port;
+  }
+}
@@ -0,0 +1,31 @@
+package org.postgresql.adba.hostchooser;
+
+/**
+ * What is known about a host from the last attempt to connect to it.
+ */
+public enum HostStatus {
+  /**
+   * The host could not be connected to.
+   */
+  CONNECT_FAILED,
+
+  /**
+   * The host could be connected to, whether it's a primary or a standby is not known.
+   */
+  CONNECT_OK,
+
+  /**
+   * The host is a primary.
+   */
+  PRIMARY,
+
+  /**
+   * The host is a standby, in recovery and only accepting read only transactions.
+   */
+  STANDBY,
+
+  /**
+   * The host is a standby that has fallen further behind the primary than is acceptable.
+   */
+  STANDBY_LAGGING
+}
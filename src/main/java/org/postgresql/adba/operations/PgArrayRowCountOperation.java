@@ -21,6 +21,7 @@ import java.util.stream.Collector;
 
 public class PgArrayRowCountOperation<R> implements ArrayRowCountOperation<R> {
   private final PgSession connection;
+  private final int lease;
   private final String sql;
   private ParameterHolder holder;
   private Consumer<Throwable> errorHandler;
@@ -35,8 +36,9 @@ public class PgArrayRowCountOperation<R> implements ArrayRowCountOperation<R> {
    */
   public PgArrayRowCountOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
-    this.holder = new ParameterHolder();
+    this.holder = new ParameterHolder(sql);
     this.groupSubmission = groupSubmission;
   }
 
@@ -84,11 +86,12 @@ public class PgArrayRowCountOperation<R> implements ArrayRowCountOperation<R> {
 
   @Override
   public Submission<R> submit() {
+    connection.checkLease(lease);
     PgSubmission<R> submission = new ArrayCountSubmission<>(this::cancel, errorHandler, holder, sql, groupSubmission);
     if (collector != null) {
       submission.setCollector(collector);
     }
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
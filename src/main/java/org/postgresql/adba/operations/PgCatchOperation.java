@@ -5,18 +5,24 @@ import jdk.incubator.sql2.Submission;
 import org.postgresql.adba.PgSession;
 import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.submissions.BaseSubmission;
+import org.postgresql.adba.submissions.GroupSubmission;
 
 public class PgCatchOperation<S> implements PrimitiveOperation<S> {
   private PgSession connection;
+  private final int lease;
+  private GroupSubmission groupSubmission;
 
-  public PgCatchOperation(PgSession connection) {
+  public PgCatchOperation(PgSession connection, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
+    this.groupSubmission = groupSubmission;
   }
 
   @Override
   public Submission<S> submit() {
+    connection.checkLease(lease);
     BaseSubmission<S> submission = new BaseSubmission<>(this::cancel, PgSubmission.Types.CATCH, null, null, null, null);
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
@@ -51,7 +51,7 @@ public class PgConnectOperation implements Operation<Void> {
     submission.getCompletionStage().thenAccept(s -> {
       connection.setLifeCycleOpen();
     });
-    protocol.sendNetworkConnect(submission.getNetworkConnect());
+    protocol.sendNetworkConnect(submission::newNetworkConnect);
 
     return submission;
   }
@@ -16,12 +16,14 @@ public class PgLocalOperation<T> implements LocalOperation<T> {
     return null;
   };
   private PgSession connection;
+  private final int lease;
   private Callable<T> action = defaultAction;
   private Consumer<Throwable> errorHandler;
   private GroupSubmission groupSubmission;
 
   public PgLocalOperation(PgSession connection, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.groupSubmission = groupSubmission;
   }
 
@@ -50,8 +52,9 @@ public class PgLocalOperation<T> implements LocalOperation<T> {
 
   @Override
   public Submission<T> submit() {
+    connection.checkLease(lease);
     PgSubmission<T> submission = new LocalSubmission<>(this::cancel, errorHandler, action, groupSubmission);
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
@@ -5,6 +5,7 @@ import jdk.incubator.sql2.Submission;
 import org.postgresql.adba.PgSession;
 import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
+import org.postgresql.adba.submissions.GroupSubmission;
 import org.postgresql.adba.submissions.VoidSubmission;
 
 import java.time.Duration;
@@ -12,12 +13,23 @@ import java.util.function.Consumer;
 
 public class PgOperation<S> implements Operation<S> {
   private final PgSession connection;
+  private final int lease;
   private final String sql;
+  private final GroupSubmission groupSubmission;
   private Consumer<Throwable> errorHandler;
 
-  public PgOperation(PgSession connection, String sql) {
+  /**
+   * Creates the operation.
+   *
+   * @param connection session to run it on
+   * @param sql the SQL
+   * @param groupSubmission group the operation is a member of, which it has no result for
+   */
+  public PgOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
+    this.groupSubmission = groupSubmission;
   }
 
   @Override
@@ -37,8 +49,9 @@ public class PgOperation<S> implements Operation<S> {
 
   @Override
   public Submission<S> submit() {
+    connection.checkLease(lease);
     PgSubmission<S> submission = new VoidSubmission<>(this::cancel, errorHandler, new ParameterHolder(), null, sql);
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
@@ -14,10 +14,14 @@ import jdk.incubator.sql2.Session.Lifecycle;
 import jdk.incubator.sql2.Submission;
 import jdk.incubator.sql2.TransactionCompletion;
 import jdk.incubator.sql2.TransactionOutcome;
+import org.postgresql.adba.PgDataSourceProperty;
 import org.postgresql.adba.PgSession;
 import org.postgresql.adba.submissions.GroupSubmission;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.logging.Level;
@@ -37,6 +41,16 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
   private Logger logger = Logger.getLogger(PgOperationGroup.class.getName());
   protected Consumer<Throwable> errorHandler = null;
   private boolean held = true;
+  private boolean parallel;
+  private boolean independent;
+  private CompletionStage<Boolean> condition;
+
+  /**
+   * Sessions the members of a parallel group run on, the first being the session of the group.
+   */
+  private final List<Lane<T>> lanes = new ArrayList<>();
+  private boolean lanesExhausted;
+  private int assigned;
 
   private Collector collector = DEFAULT_COLLECTOR;
 
@@ -54,25 +68,71 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
     this.connection = connection;
   }
 
+  /**
+   * Runs the members in any order. If the session of the group is pooled, the members are spread over it and idle
+   * sessions of its pool, up to {@link PgDataSourceProperty#PARALLEL_GROUP_MAX_SESSIONS}, and the results of each
+   * session are combined with the combiner of the collector.
+   *
+   * <p>The members are only spread when the session is known to not be in a transaction, that is the server reported
+   * none and all the submissions of the session have completed when the first member is added. Otherwise every member
+   * runs on the session of the group, within its transaction.
+   *
+   * @return this group
+   */
   @Override
   public OperationGroup<S, T> parallel() {
-    throw new RuntimeException("not implemented yet");
+    if (groupSubmission != null) {
+      throw new IllegalStateException("parallel must be called before the group is submitted");
+    }
+
+    parallel = true;
+    return this;
   }
 
+  /**
+   * Makes the failure of a member not skip the members after it.
+   *
+   * @return this group
+   */
   @Override
   public OperationGroup<S, T> independent() {
-    throw new RuntimeException("not implemented yet");
+    if (groupSubmission != null) {
+      throw new IllegalStateException("independent must be called before the group is submitted");
+    }
+
+    independent = true;
+    return this;
   }
 
+  /**
+   * Holds the members back until the condition completes, without stalling the other work of the session meanwhile.
+   * If it completes with true the members are then pipelined, otherwise they are skipped without being sent and the
+   * group completes with <code>null</code>.
+   *
+   * @param condition the condition
+   * @return this group
+   */
   @Override
   public OperationGroup<S, T> conditional(CompletionStage<Boolean> condition) {
-    throw new RuntimeException("not implemented yet");
+    if (groupSubmission != null) {
+      throw new IllegalStateException("conditional must be called before the group is submitted");
+    }
+    if (condition == null) {
+      throw new IllegalArgumentException("condition may not be null");
+    }
+
+    this.condition = condition;
+    return this;
   }
 
   @Override
   public Submission<T> submit() {
     GroupSubmission<T> sub = new GroupSubmission<>(this::cancel, errorHandler);
     sub.setCollector(collector);
+    sub.setIndependent(independent);
+    if (condition != null) {
+      sub.setCondition(condition);
+    }
 
     groupSubmission = sub;
 
@@ -82,8 +142,73 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
   @Override
   public void close() {
     held = false;
-    
-    connection.submit(groupSubmission);
+
+    // the members are only submitted to the sessions once the condition holds
+    groupSubmission.whenReleased(executed -> {
+      if (executed) {
+        complete();
+      } else {
+        for (Lane<T> lane : lanes) {
+          if (lane.session != connection) {
+            lane.session.close();
+          }
+        }
+        groupSubmission.getCompletionStage().toCompletableFuture().complete(null);
+      }
+    });
+  }
+
+  private void complete() {
+    if (lanes.isEmpty()) {
+      connection.submit(groupSubmission);
+      return;
+    }
+
+    // the group is done once the members on every session are, failed by the first member that failed
+    List<CompletableFuture<Throwable>> drained = new ArrayList<>();
+    for (Lane<T> lane : lanes) {
+      drained.add(lane.submission.membersCompleted());
+    }
+    CompletableFuture.allOf(drained.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+      Throwable failure = null;
+      for (int i = 0; i < lanes.size(); i++) {
+        Lane<T> lane = lanes.get(i);
+        if (lane.session != connection) {
+          lane.session.close();
+        }
+        groupSubmission.combine(lane.submission);
+        if (failure == null) {
+          failure = drained.get(i).join();
+        }
+      }
+      groupSubmission.finishMembers(failure);
+    });
+  }
+
+  /**
+   * Chooses the session for the next member, borrowing another session of the pool for parallel groups while there
+   * are idle ones.
+   *
+   * @return the session and the submission the member adds its result to
+   */
+  private Lane<T> nextLane() {
+    if (!parallel || groupSubmission == null) {
+      return new Lane<>(connection, groupSubmission);
+    }
+
+    if (lanes.isEmpty()) {
+      lanes.add(new Lane<>(connection, groupSubmission.newLane()));
+      // members on other sessions would run outside the transaction, and commit even if it rolls back
+      lanesExhausted = connection.mayBeInTransaction();
+    } else if (!lanesExhausted && lanes.size() < connection.getMaxParallelSessions()) {
+      PgSession borrowed = connection.tryBorrowSibling();
+      if (borrowed != null) {
+        lanes.add(new Lane<>(borrowed, groupSubmission.newLane()));
+      } else {
+        lanesExhausted = true;
+      }
+    }
+    return lanes.get(assigned++ % lanes.size());
   }
 
   @Override
@@ -107,7 +232,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "CatchOperation created for connection " + this);
     }
 
-    return new PgCatchOperation<>(connection);
+    Lane<T> lane = nextLane();
+    return new PgCatchOperation<>(lane.session, lane.submission);
   }
 
   @Override
@@ -125,7 +251,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "ArrayCountOperation created for connection " + this);
     }
 
-    return new PgArrayRowCountOperation<>(connection, sql, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgArrayRowCountOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -143,7 +270,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "CountOperation created for connection " + this);
     }
 
-    return new PgRowCountOperation<>(connection, sql, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgRowCountOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -161,7 +289,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "Operation created for connection " + this);
     }
 
-    return new PgOperation<>(connection, sql);
+    Lane<T> lane = nextLane();
+    return new PgOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -179,7 +308,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "OutOperation created for connection " + this);
     }
 
-    return new PgOutOperation<>(connection, sql, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgOutOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -197,7 +327,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "RowOperation created for connection " + this);
     }
 
-    return new PgParameterizedRowOperation<>(connection, sql, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgParameterizedRowOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -215,7 +346,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "ParameterizedRowPublisherOperation created for connection " + this);
     }
 
-    return new PgRowPublisherOperation<>(connection, sql, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgRowPublisherOperation<>(lane.session, sql, lane.submission);
   }
 
   @Override
@@ -256,7 +388,8 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
       logger.log(Level.CONFIG, "LocalOperation created for connection " + this);
     }
 
-    return new PgLocalOperation<>(connection, groupSubmission);
+    Lane<T> lane = nextLane();
+    return new PgLocalOperation<>(lane.session, lane.submission);
   }
 
   @Override
@@ -289,8 +422,39 @@ public class PgOperationGroup<S, T> implements OperationGroup<S, T> {
     return this;
   }
 
+  /**
+   * Forgets the settings of the group, such as the error handler and the collector, so that the next borrower of a
+   * pooled session starts afresh.
+   */
+  protected void resetGroup() {
+    logger = Logger.getLogger(PgOperationGroup.class.getName());
+    errorHandler = null;
+    held = true;
+    parallel = false;
+    independent = false;
+    condition = null;
+    lanes.clear();
+    lanesExhausted = false;
+    assigned = 0;
+    collector = DEFAULT_COLLECTOR;
+    groupSubmission = null;
+  }
+
   private boolean cancel() {
     // todo set life cycle to canceled
     return true;
   }
+
+  /**
+   * Session members of the group run on, with the submission they add their results to.
+   */
+  private static class Lane<T> {
+    private final PgSession session;
+    private final GroupSubmission<T> submission;
+
+    private Lane(PgSession session, GroupSubmission<T> submission) {
+      this.session = session;
+      this.submission = submission;
+    }
+  }
 }
@@ -21,6 +21,7 @@ import java.util.function.Function;
 
 public class PgOutOperation<R> implements OutOperation<R> {
   private final PgSession connection;
+  private final int lease;
   private final String sql;
   private ParameterHolder holder;
   private Consumer<Throwable> errorHandler;
@@ -36,8 +37,9 @@ public class PgOutOperation<R> implements OutOperation<R> {
    */
   public PgOutOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
-    this.holder = new ParameterHolder();
+    this.holder = new ParameterHolder(sql);
     this.outParameterTypes = new HashMap<>();
     this.groupSubmission = groupSubmission;
   }
@@ -96,9 +98,10 @@ public class PgOutOperation<R> implements OutOperation<R> {
 
   @Override
   public Submission<R> submit() {
+    connection.checkLease(lease);
     PgSubmission<R> submission = new OutSubmission<>(this::cancel, errorHandler, sql, outParameterTypes, processor,
         groupSubmission, holder);
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
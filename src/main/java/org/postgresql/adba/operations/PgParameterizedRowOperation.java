@@ -18,6 +18,7 @@ import java.util.stream.Collector;
 
 public class PgParameterizedRowOperation<R> implements ParameterizedRowOperation<R> {
   private PgSession connection;
+  private final int lease;
   private String sql;
   private ParameterHolder holder;
   private Collector collector = Collector.of(() -> null, (a, v) -> {
@@ -33,8 +34,9 @@ public class PgParameterizedRowOperation<R> implements ParameterizedRowOperation
    */
   public PgParameterizedRowOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
-    this.holder = new ParameterHolder();
+    this.holder = new ParameterHolder(sql);
     this.groupSubmission = groupSubmission;
   }
 
@@ -90,9 +92,14 @@ public class PgParameterizedRowOperation<R> implements ParameterizedRowOperation
 
   @Override
   public Submission<R> submit() {
+    connection.checkLease(lease);
     RowSubmission<R> submission = new RowSubmission<>(this::cancel, errorHandler, holder, groupSubmission, sql);
     submission.setCollector(collector);
-    connection.submit(submission);
+    submission.setRowBatchSize(connection.getRowBatchSize());
+    if (connection.getParallelRowPool() != null) {
+      submission.collectInParallel(connection.getParallelRowPool());
+    }
+    connection.submit(submission, groupSubmission);
 
     return submission;
   }
@@ -20,6 +20,7 @@ import java.util.function.Function;
 
 public class PgRowCountOperation<R> implements ParameterizedRowCountOperation<R> {
   private PgSession connection;
+  private final int lease;
   private String sql;
   private ParameterHolder holder;
   private Consumer<Throwable> errorHandler;
@@ -35,8 +36,9 @@ public class PgRowCountOperation<R> implements ParameterizedRowCountOperation<R>
    */
   public PgRowCountOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
-    this.holder = new ParameterHolder();
+    this.holder = new ParameterHolder(sql);
     this.groupSubmission = groupSubmission;
   }
 
@@ -92,9 +94,10 @@ public class PgRowCountOperation<R> implements ParameterizedRowCountOperation<R>
 
   @Override
   public Submission<R> submit() {
+    connection.checkLease(lease);
     PgSubmission<R> submission = new CountSubmission<>(this::cancel, errorHandler, holder, returningRowSubmission, sql,
         groupSubmission, processor);
-    connection.submit(submission);
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
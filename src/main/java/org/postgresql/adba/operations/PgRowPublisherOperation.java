@@ -11,8 +11,10 @@ import org.postgresql.adba.operations.helpers.ParameterHolder;
 import org.postgresql.adba.operations.helpers.ValueQueryParameter;
 import org.postgresql.adba.submissions.GroupSubmission;
 import org.postgresql.adba.submissions.ProcessorSubmission;
+import org.postgresql.adba.submissions.RowChunkSubscriber;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Flow;
 import java.util.concurrent.SubmissionPublisher;
@@ -20,10 +22,11 @@ import java.util.function.Consumer;
 
 public class PgRowPublisherOperation<R> implements ParameterizedRowPublisherOperation<R> {
   private PgSession connection;
+  private final int lease;
   private String sql;
   private ParameterHolder holder;
   private Consumer<Throwable> errorHandler;
-  private SubmissionPublisher<Result.RowColumn> publisher = new SubmissionPublisher<>();
+  private SubmissionPublisher<List<Result.RowColumn>> publisher = new SubmissionPublisher<>();
   private PgSubmission<R> submission;
   private GroupSubmission groupSubmission;
   private CompletionStage<? extends R> result;
@@ -37,8 +40,9 @@ public class PgRowPublisherOperation<R> implements ParameterizedRowPublisherOper
    */
   public PgRowPublisherOperation(PgSession connection, String sql, GroupSubmission groupSubmission) {
     this.connection = connection;
+    this.lease = connection.getLease();
     this.sql = sql;
-    this.holder = new ParameterHolder();
+    this.holder = new ParameterHolder(sql);
     this.groupSubmission = groupSubmission;
   }
 
@@ -68,7 +72,7 @@ public class PgRowPublisherOperation<R> implements ParameterizedRowPublisherOper
       throw new IllegalArgumentException("subscriber is not allowed to be null");
     }
 
-    publisher.subscribe(subscriber);
+    publisher.subscribe(new RowChunkSubscriber(subscriber));
     this.result = result;
     result.thenAccept(r -> {
       if (groupSubmission != null) {
@@ -104,8 +108,12 @@ public class PgRowPublisherOperation<R> implements ParameterizedRowPublisherOper
 
   @Override
   public Submission<R> submit() {
-    submission = new ProcessorSubmission<>(this::cancel, errorHandler, sql, publisher, holder, groupSubmission, result);
-    connection.submit(submission);
+    connection.checkLease(lease);
+    ProcessorSubmission<R> processor = new ProcessorSubmission<>(this::cancel, errorHandler, sql, publisher, holder,
+        groupSubmission, result);
+    processor.setRowBatchSize(connection.getRowBatchSize());
+    submission = processor;
+    connection.submit(submission, groupSubmission);
     return submission;
   }
 
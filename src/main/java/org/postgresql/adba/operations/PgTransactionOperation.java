@@ -2,22 +2,34 @@ package org.postgresql.adba.operations;
 
 import java.time.Duration;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import jdk.incubator.sql2.Operation;
+import jdk.incubator.sql2.Result;
 import jdk.incubator.sql2.Submission;
 import jdk.incubator.sql2.TransactionCompletion;
 import jdk.incubator.sql2.TransactionOutcome;
 import org.postgresql.adba.PgSession;
-import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.ReadYourWritesContext;
+import org.postgresql.adba.operations.helpers.ParameterHolder;
+import org.postgresql.adba.submissions.RowSubmission;
 import org.postgresql.adba.submissions.TransactionSubmission;
 
 public class PgTransactionOperation implements Operation<TransactionOutcome> {
+  /**
+   * The LSN the WAL is inserted up to, which after a commit includes the commit even if it is not yet flushed, as with
+   * an asynchronous commit.
+   */
+  static final String COMMIT_LSN_QUERY = "select pg_catalog.pg_current_wal_insert_lsn()::text as lsn";
+
   private TransactionCompletion transaction;
   private PgSession connection;
+  private final int lease;
   private Consumer<Throwable> errorHandler;
 
   public PgTransactionOperation(TransactionCompletion transaction, PgSession connection) {
     this.transaction = transaction;
     this.connection = connection;
+    this.lease = connection.getLease();
   }
 
   @Override
@@ -37,14 +49,28 @@ public class PgTransactionOperation implements Operation<TransactionOutcome> {
 
   @Override
   public Submission<TransactionOutcome> submit() {
+    connection.checkLease(lease);
     String sql;
     if (transaction.isRollbackOnly()) {
       sql = "ROLLBACK TRANSACTION";
     } else {
       sql = "COMMIT TRANSACTION";
     }
-    PgSubmission<TransactionOutcome> submission = new TransactionSubmission(this::cancel, errorHandler, sql);
+    TransactionSubmission submission = new TransactionSubmission(this::cancel, errorHandler, sql);
+
+    ReadYourWritesContext readYourWrites = connection.getReadYourWrites();
+    if (readYourWrites == null || transaction.isRollbackOnly() || connection.isReadOnly()) {
+      connection.submit(submission);
+      return submission;
+    }
+
+    // pipelined straight after the commit, which only completes once the context includes it
+    RowSubmission<String> lsn = new RowSubmission<>(this::cancel, null, new ParameterHolder(), null, COMMIT_LSN_QUERY);
+    lsn.setCollector(Collectors.reducing(null, (Result.RowColumn row) -> row.at("lsn").get(String.class),
+        (a, b) -> b));
+    submission.advanceOnCommit(readYourWrites, lsn.getCompletionStage());
     connection.submit(submission);
+    connection.submit(lsn);
     return submission;
   }
 
@@ -1,11 +1,12 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
 
 public class ArrayQueryParameter implements QueryParameter {
   private PgAdbaType type;
@@ -46,7 +47,7 @@ public class ArrayQueryParameter implements QueryParameter {
   }
 
   private Object firstNonNull(List<?> values) {
-    return values.stream().filter(Objects::nonNull).findFirst();
+    return values.stream().filter(Objects::nonNull).findFirst().orElse(null);
   }
 
   @Override
@@ -60,8 +61,8 @@ public class ArrayQueryParameter implements QueryParameter {
   }
 
   @Override
-  public byte[] getParameter(int index) throws ExecutionException, InterruptedException {
-    return type.getByteGenerator().apply(values.get(index));
+  public void writeParameter(int index, NetworkOutputStream out) throws IOException {
+    type.getEncoder().write(values.get(index), out);
   }
 
   @Override
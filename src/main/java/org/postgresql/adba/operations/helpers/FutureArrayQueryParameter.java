@@ -1,8 +1,10 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -24,30 +26,39 @@ public class FutureArrayQueryParameter implements QueryParameter {
   }
 
   private void resolveType() throws ExecutionException, InterruptedException {
-    if (type == null && values == null && valueHolder == null) {
+    if (valueHolder != null) {
+      resolved(valueHolder.toCompletableFuture().get());
+    } else if (type == null) {
       type = PgAdbaType.NULL;
-    } else if (type == null && valueHolder != null) {
-      Object value = valueHolder.toCompletableFuture().get();
-      valueHolder = null;
+    }
+  }
+
+  private void resolved(Object value) {
+    valueHolder = null;
 
-      if (value == null) {
+    if (value == null) {
+      if (type == null) {
         type = PgAdbaType.NULL;
-      } else {
-        assignValues(value);
-
-        Object firstNonNull = firstNonNull(values);
-        if (firstNonNull == null) {
-          type = PgAdbaType.NULL;
-        } else {
-          type = PgAdbaType.guessTypeFromClass(firstNonNull.getClass());
-        }
       }
-    } else if (values == null && valueHolder != null) {
-      assignValues(valueHolder.toCompletableFuture().get());
-      valueHolder = null;
+      return;
+    }
+
+    assignValues(value);
+    if (type == null) {
+      Object firstNonNull = firstNonNull(values);
+      type = firstNonNull == null ? PgAdbaType.NULL : PgAdbaType.guessTypeFromClass(firstNonNull.getClass());
     }
   }
 
+  @Override
+  public CompletionStage<?> resolve() {
+    if (valueHolder == null) {
+      return null;
+    }
+
+    return valueHolder.thenAccept(this::resolved);
+  }
+
   private void assignValues(Object value) {
     if (List.class.isAssignableFrom(value.getClass())) {
       values = (List<?>) value;
@@ -59,7 +70,7 @@ public class FutureArrayQueryParameter implements QueryParameter {
   }
 
   private Object firstNonNull(List<?> values) {
-    return values.stream().filter(Objects::nonNull).findFirst();
+    return values.stream().filter(Objects::nonNull).findFirst().orElse(null);
   }
 
   @Override
@@ -77,10 +88,11 @@ public class FutureArrayQueryParameter implements QueryParameter {
   }
 
   @Override
-  public byte[] getParameter(int index) throws ExecutionException, InterruptedException {
+  public void writeParameter(int index, NetworkOutputStream out)
+      throws ExecutionException, InterruptedException, IOException {
     resolveType();
 
-    return type.getByteGenerator().apply(values.get(index));
+    type.getEncoder().write(values.get(index), out);
   }
 
   @Override
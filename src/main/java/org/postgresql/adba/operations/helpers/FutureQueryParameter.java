@@ -1,8 +1,10 @@
 package org.postgresql.adba.operations.helpers;
 
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
+import java.io.IOException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 
@@ -21,19 +23,29 @@ public class FutureQueryParameter implements QueryParameter {
   }
 
   private void resolveType() throws ExecutionException, InterruptedException {
-    if (type == null && value == null && valueHolder == null) {
+    if (valueHolder != null) {
+      resolved(valueHolder.toCompletableFuture().get());
+    } else if (type == null) {
       type = PgAdbaType.NULL;
-    } else if (type == null && valueHolder != null) {
-      value = valueHolder.toCompletableFuture().get();
-      valueHolder = null;
-
-      if (value == null) {
-        type = PgAdbaType.NULL;
-      } else {
-        type = PgAdbaType.guessTypeFromClass(value.getClass());
-      }
     }
+  }
 
+  private void resolved(Object value) {
+    this.value = value;
+    valueHolder = null;
+
+    if (type == null) {
+      type = value == null ? PgAdbaType.NULL : PgAdbaType.guessTypeFromClass(value.getClass());
+    }
+  }
+
+  @Override
+  public CompletionStage<?> resolve() {
+    if (valueHolder == null) {
+      return null;
+    }
+
+    return valueHolder.thenAccept(this::resolved);
   }
 
   @Override
@@ -51,12 +63,11 @@ public class FutureQueryParameter implements QueryParameter {
   }
 
   @Override
-  public byte[] getParameter(int index) throws ExecutionException, InterruptedException {
-    if (valueHolder != null) {
-      return type.getByteGenerator().apply(valueHolder.toCompletableFuture().get());
-    } else {
-      return type.getByteGenerator().apply(value);
-    }
+  public void writeParameter(int index, NetworkOutputStream out)
+      throws ExecutionException, InterruptedException, IOException {
+    resolveType();
+
+    type.getEncoder().write(value, out);
   }
 
   @Override
@@ -1,21 +1,49 @@
 package org.postgresql.adba.operations.helpers;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 
 public class ParameterHolder {
-  private Map<Integer, QueryParameter> parameterMap = new TreeMap<>();
+  private static final QueryParameter[] NO_PARAMETERS = new QueryParameter[0];
+
+  private QueryParameter[] parameters;
+  private int size;
+  private int[] paramTypes;
+
+  /**
+   * holder for a query without parameters.
+   */
+  public ParameterHolder() {
+    parameters = NO_PARAMETERS;
+  }
+
+  /**
+   * holder sized from the placeholders in the query, more parameters than that can still be added.
+   *
+   * @param sql the query
+   */
+  public ParameterHolder(String sql) {
+    parameters = new QueryParameter[countPlaceholders(sql)];
+  }
 
   public short size() {
-    return (short) parameterMap.size();
+    return (short) size;
   }
 
-  public Collection<QueryParameter> parameters() {
-    return parameterMap.values();
+  /**
+   * the parameter for a placeholder.
+   *
+   * @param index the index of the parameter, starting at 0 for $1
+   * @return the parameter
+   */
+  public QueryParameter get(int index) {
+    if (index >= size || parameters[index] == null) {
+      throw new IllegalStateException("no value set for the parameter $" + (index + 1));
+    }
+
+    return parameters[index];
   }
 
   /**
@@ -25,28 +53,62 @@ public class ParameterHolder {
    * @param queryParameter the parameter, either the value or an future
    */
   public void add(String id, QueryParameter queryParameter) {
+    int index;
     try {
-      parameterMap.put(Integer.parseInt(id.substring(1)), queryParameter);
+      index = Integer.parseInt(id.substring(1)) - 1;
     } catch (NumberFormatException e) {
       throw new IllegalArgumentException("the names of parameter placeholders must be on the format: "
           + "$<number> with the numbers starting at 1 and increasing by 1 for each parameter", e);
     }
+    if (index < 0 || index >= Short.MAX_VALUE) {
+      throw new IllegalArgumentException("the names of parameter placeholders must be on the format: "
+          + "$<number> with the numbers starting at 1 and increasing by 1 for each parameter");
+    }
+
+    if (index >= parameters.length) {
+      parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+    }
+    parameters[index] = queryParameter;
+    size = Math.max(size, index + 1);
+    paramTypes = null;
   }
 
   /**
-   * get a list of oid's for the parameters for this query.
-   * @return a list of oid's
+   * get the oid's for the parameters for this query, they are only resolved once.
+   * @return the oid's, in the order of the placeholders
    * @throws ExecutionException if the parameters are futures that throw during resolving
    * @throws InterruptedException if the parameters are futures that throw during resolving
    */
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
-    List<Integer> types = new ArrayList<>();
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
+    if (paramTypes == null) {
+      int[] types = new int[size];
+      for (int i = 0; i < size; i++) {
+        types[i] = get(i).getOid();
+      }
+      paramTypes = types;
+    }
+
+    return paramTypes;
+  }
 
-    for (Map.Entry<Integer, QueryParameter> entry : parameterMap.entrySet()) {
-      types.add(entry.getValue().getOid());
+  /**
+   * starts resolving the parameters that are futures.
+   * @return a future that completes when all parameters are known, or null if they already are
+   */
+  public CompletableFuture<Void> resolve() {
+    CompletableFuture<?>[] pending = null;
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      CompletionStage<?> stage = parameters[i] == null ? null : parameters[i].resolve();
+      if (stage != null) {
+        if (pending == null) {
+          pending = new CompletableFuture<?>[size];
+        }
+        pending[count++] = stage.toCompletableFuture();
+      }
     }
 
-    return types;
+    return pending == null ? null : CompletableFuture.allOf(Arrays.copyOf(pending, count));
   }
 
   /**
@@ -56,10 +118,43 @@ public class ParameterHolder {
    * @throws InterruptedException if the parameters are futures that throw during resolving
    */
   public int numberOfQueryRepetitions() throws ExecutionException, InterruptedException {
-    if (parameterMap.size() == 0) {
+    if (size == 0) {
       return 1;
     }
 
-    return parameterMap.entrySet().iterator().next().getValue().numberOfQueryRepetitions();
+    return get(0).numberOfQueryRepetitions();
+  }
+
+  /**
+   * finds the highest $n placeholder in the query, outside of string literals and quoted identifiers.
+   *
+   * @param sql the query
+   * @return the number of parameters the query takes
+   */
+  static int countPlaceholders(String sql) {
+    if (sql == null) {
+      return 0;
+    }
+
+    int count = 0;
+    char quote = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"') {
+        quote = c;
+      } else if (c == '$' && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+        int number = 0;
+        while (i + 1 < sql.length() && sql.charAt(i + 1) >= '0' && sql.charAt(i + 1) <= '9' && number < Short.MAX_VALUE) {
+          number = number * 10 + sql.charAt(++i) - '0';
+        }
+        count = Math.max(count, number);
+      }
+    }
+
+    return Math.min(count, Short.MAX_VALUE);
   }
 }
@@ -1,13 +1,29 @@
 package org.postgresql.adba.operations.helpers;
 
+import java.io.IOException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import org.postgresql.adba.communication.NetworkOutputStream;
 
 public interface QueryParameter {
   int getOid() throws ExecutionException, InterruptedException;
 
   short getParameterFormatCode() throws ExecutionException, InterruptedException;
 
-  byte[] getParameter(int index) throws ExecutionException, InterruptedException;
+  /**
+   * writes the value for a repetition of the query, prefixed with its length.
+   * @param index the repetition of the query
+   * @param out the stream to write to
+   */
+  void writeParameter(int index, NetworkOutputStream out) throws ExecutionException, InterruptedException, IOException;
+
+  /**
+   * starts resolving a value that isn't known yet, so that it doesn't have to be waited for when it's written.
+   * @return a stage that completes when the value is known, or null if it is already known
+   */
+  default CompletionStage<?> resolve() {
+    return null;
+  }
 
   int numberOfQueryRepetitions() throws ExecutionException, InterruptedException;
 }
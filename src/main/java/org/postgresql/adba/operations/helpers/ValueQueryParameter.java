@@ -1,6 +1,8 @@
 package org.postgresql.adba.operations.helpers;
 
+import java.io.IOException;
 import jdk.incubator.sql2.SqlType;
+import org.postgresql.adba.communication.NetworkOutputStream;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
 
 public class ValueQueryParameter implements QueryParameter {
@@ -50,8 +52,8 @@ public class ValueQueryParameter implements QueryParameter {
   }
 
   @Override
-  public byte[] getParameter(int index) {
-    return type.getByteGenerator().apply(value);
+  public void writeParameter(int index, NetworkOutputStream out) throws IOException {
+    type.getEncoder().write(value, out);
   }
 
   @Override
@@ -0,0 +1,509 @@
+package org.postgresql.adba.pool;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Non blocking pool of sessions.
+ *
+ * <p>Borrowers are queued in order and each is handed a session as a {@link CompletionStage} once one is idle, or has
+ * been opened if the pool is below its maximum size. Returned sessions are reset before they are idle again. Sessions
+ * that have been idle too long or have reached their maximum lifetime are closed by the housekeeping, which also keeps
+ * the pool at its minimum size.
+ *
+ * @param <S> the type of the sessions
+ */
+public class SessionPool<S> {
+
+  /**
+   * Opens, validates, resets and closes the sessions of a {@link SessionPool}.
+   *
+   * @param <S> the type of the sessions
+   */
+  public interface Factory<S> {
+
+    /**
+     * Opens a new session.
+     *
+     * @return completes with the session once it is attached
+     */
+    CompletionStage<S> open();
+
+    /**
+     * Validates a session before it is handed to a borrower.
+     *
+     * @param session the session
+     * @return completes with <code>true</code> if the session can be used
+     */
+    CompletionStage<Boolean> validate(S session);
+
+    /**
+     * Resets a returned session, so that the next borrower gets a clean session.
+     *
+     * @param session the session
+     * @return completes once reset, exceptionally if the session can't be reused
+     */
+    CompletionStage<Void> reset(S session);
+
+    /**
+     * Closes a session that leaves the pool.
+     *
+     * @param session the session
+     */
+    void close(S session);
+
+    /**
+     * Indicates if the session suits the borrower with the affinity hint, for example as it has already prepared the
+     * statements the borrower is about to run.
+     *
+     * @param session the session
+     * @param hint the affinity hint of the borrower
+     * @return <code>true</code> to prefer the session for the borrower
+     */
+    default boolean hasAffinity(S session, Object hint) {
+      return false;
+    }
+  }
+
+  /**
+   * Sessions used within this time are handed out without validating them.
+   */
+  static final long VALIDATION_THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Number of affinity hints each session remembers.
+   */
+  static final int AFFINITY_HINTS = 8;
+
+  private final Factory<S> factory;
+  private final int minSize;
+  private final int maxSize;
+  private final long idleTimeoutNanos;
+  private final long maxLifetimeNanos;
+  private final boolean validateOnBorrow;
+  private final LongSupplier clock;
+
+  private final ArrayDeque<Entry<S>> idle = new ArrayDeque<>();
+  private final ArrayDeque<Waiter<S>> waiters = new ArrayDeque<>();
+  private final Map<S, Entry<S>> borrowed = new IdentityHashMap<>();
+  private int size;
+  private int opening;
+  private boolean closed;
+
+  /**
+   * Creates the pool.
+   *
+   * @param factory the factory of the sessions
+   * @param minSize the number of sessions to keep open, even if idle
+   * @param maxSize the maximum number of sessions
+   * @param idleTimeout how long a session may be idle before it is closed
+   * @param maxLifetime how long a session may be open before it is closed
+   * @param validateOnBorrow if sessions are validated before they are handed to a borrower
+   */
+  public SessionPool(Factory<S> factory, int minSize, int maxSize, Duration idleTimeout, Duration maxLifetime,
+      boolean validateOnBorrow) {
+    this(factory, minSize, maxSize, idleTimeout, maxLifetime, validateOnBorrow, System::nanoTime);
+  }
+
+  SessionPool(Factory<S> factory, int minSize, int maxSize, Duration idleTimeout, Duration maxLifetime,
+      boolean validateOnBorrow, LongSupplier clock) {
+    if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+      throw new IllegalArgumentException("invalid pool size, min " + minSize + " max " + maxSize);
+    }
+
+    this.factory = factory;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.maxLifetimeNanos = maxLifetime.toNanos();
+    this.validateOnBorrow = validateOnBorrow;
+    this.clock = clock;
+  }
+
+  /**
+   * Starts the housekeeping, which runs at half the idle timeout.
+   */
+  public void start() {
+    housekeep();
+    scheduleHousekeeping();
+  }
+
+  private void scheduleHousekeeping() {
+    long period = Math.max(Math.min(idleTimeoutNanos, maxLifetimeNanos) / 2, TimeUnit.SECONDS.toNanos(1));
+    Executor delayed = CompletableFuture.delayedExecutor(period, TimeUnit.NANOSECONDS);
+    delayed.execute(() -> {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+      }
+      housekeep();
+      scheduleHousekeeping();
+    });
+  }
+
+  /**
+   * Borrows a session. Borrowers are served in the order they borrow.
+   *
+   * @return completes with the session
+   */
+  public CompletionStage<S> borrow() {
+    return borrow(null);
+  }
+
+  /**
+   * Borrows a session, preferring an idle session that was last borrowed with the same affinity hint or that the
+   * {@link Factory} has an affinity for. Falls back to any idle session. Borrowers are served in the order they borrow.
+   *
+   * @param hint the affinity hint, such as a key for the caller or the SQL about to be run. May be <code>null</code>.
+   * @return completes with the session
+   */
+  public CompletionStage<S> borrow(Object hint) {
+    Waiter<S> waiter = new Waiter<>(hint);
+    synchronized (this) {
+      if (closed) {
+        waiter.future.completeExceptionally(new IllegalStateException("the pool is closed"));
+        return waiter.future;
+      }
+      waiters.addLast(waiter);
+    }
+
+    dispatch();
+    return waiter.future;
+  }
+
+  /**
+   * Borrows an idle session without waiting, for work that can also be done without it. Sessions that would have to be
+   * validated first are not borrowed, nor are sessions while other borrowers wait.
+   *
+   * @return the session, <code>null</code> if none is idle
+   */
+  public synchronized S tryBorrow() {
+    if (closed || !waiters.isEmpty() || idle.isEmpty()) {
+      return null;
+    }
+
+    Entry<S> entry = idle.peekLast();
+    long now = clock.getAsLong();
+    if (isExpired(entry, now) || validateOnBorrow && now - entry.lastUsed >= VALIDATION_THRESHOLD_NANOS) {
+      return null;
+    }
+    idle.pollLast();
+    borrowed.put(entry.session, entry);
+    return entry.session;
+  }
+
+  /**
+   * Returns a borrowed session, it is reset before it can be borrowed again.
+   *
+   * @param session the session
+   * @return <code>false</code> if the session is not borrowed, for example as it has already been returned
+   */
+  public boolean release(S session) {
+    Entry<S> entry;
+    synchronized (this) {
+      entry = borrowed.remove(session);
+    }
+    if (entry == null) {
+      return false;
+    }
+
+    factory.reset(session).whenComplete((v, t) -> {
+      boolean reusable = false;
+      if (t == null) {
+        synchronized (this) {
+          long now = clock.getAsLong();
+          reusable = !closed && !isExpired(entry, now);
+          if (reusable) {
+            entry.lastUsed = now;
+            idle.addLast(entry);
+          }
+        }
+      }
+      if (!reusable) {
+        destroy(entry);
+      }
+      dispatch();
+    });
+    return true;
+  }
+
+  /**
+   * Closes the pool. Idle sessions are closed now, borrowed sessions when they are returned.
+   */
+  public void close() {
+    List<Entry<S>> idleEntries;
+    List<Waiter<S>> pending;
+    synchronized (this) {
+      closed = true;
+      idleEntries = new ArrayList<>(idle);
+      idle.clear();
+      pending = new ArrayList<>(waiters);
+      waiters.clear();
+    }
+
+    for (Waiter<S> waiter : pending) {
+      waiter.future.completeExceptionally(new IllegalStateException("the pool is closed"));
+    }
+    for (Entry<S> entry : idleEntries) {
+      destroy(entry);
+    }
+  }
+
+  /**
+   * Obtains the number of sessions, both open and being opened.
+   *
+   * @return the number of sessions
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Obtains the number of idle sessions.
+   *
+   * @return the number of idle sessions
+   */
+  public synchronized int idleCount() {
+    return idle.size();
+  }
+
+  /**
+   * Closes the sessions that have been idle too long or have reached their maximum lifetime, and opens sessions to
+   * keep the pool at its minimum size.
+   */
+  void housekeep() {
+    List<Entry<S>> evicted = new ArrayList<>();
+    int toOpen;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      long now = clock.getAsLong();
+      for (Iterator<Entry<S>> iterator = idle.iterator(); iterator.hasNext(); ) {
+        Entry<S> entry = iterator.next();
+        boolean idleTooLong = now - entry.lastUsed > idleTimeoutNanos && size - evicted.size() > minSize;
+        if (idleTooLong || isExpired(entry, now)) {
+          iterator.remove();
+          evicted.add(entry);
+        }
+      }
+
+      toOpen = Math.max(0, minSize - (size - evicted.size()));
+      size += toOpen;
+      opening += toOpen;
+    }
+
+    for (Entry<S> entry : evicted) {
+      destroy(entry);
+    }
+    for (int i = 0; i < toOpen; i++) {
+      open();
+    }
+  }
+
+  /**
+   * Hands idle sessions to the waiting borrowers, opening sessions for them while below the maximum size.
+   */
+  private void dispatch() {
+    while (true) {
+      Entry<S> entry;
+      Waiter<S> waiter;
+      Entry<S> expired = null;
+      synchronized (this) {
+        while (!waiters.isEmpty() && waiters.peekFirst().future.isDone()) {
+          waiters.pollFirst(); // cancelled by the borrower
+        }
+        if (waiters.isEmpty()) {
+          return;
+        }
+
+        entry = pollIdle(waiters.peekFirst().hint);
+        if (entry != null && isExpired(entry, clock.getAsLong())) {
+          expired = entry;
+          entry = null;
+          waiter = null;
+        } else if (entry != null) {
+          waiter = waiters.pollFirst();
+          borrowed.put(entry.session, entry);
+        } else if (size < maxSize && opening < waiters.size()) {
+          size++;
+          opening++;
+          waiter = null;
+        } else {
+          return; // wait for a session to be returned or opened
+        }
+      }
+
+      if (expired != null) {
+        destroy(expired);
+      } else if (entry == null) {
+        open();
+      } else {
+        hand(entry, waiter);
+      }
+    }
+  }
+
+  /**
+   * Takes the idle session with affinity to the hint, otherwise the most recently used as most likely still valid.
+   *
+   * @param hint the affinity hint of the borrower, may be <code>null</code>
+   * @return the idle session, <code>null</code> if none
+   */
+  private Entry<S> pollIdle(Object hint) {
+    if (hint != null) {
+      for (Iterator<Entry<S>> iterator = idle.descendingIterator(); iterator.hasNext(); ) {
+        Entry<S> entry = iterator.next();
+        if (entry.hasHint(hint) || factory.hasAffinity(entry.session, hint)) {
+          iterator.remove();
+          return entry;
+        }
+      }
+    }
+    return idle.pollLast();
+  }
+
+  private void open() {
+    CompletionStage<S> opened;
+    try {
+      opened = factory.open();
+    } catch (RuntimeException ex) {
+      opened = CompletableFuture.failedFuture(ex);
+    }
+
+    opened.whenComplete((session, t) -> {
+      Waiter<S> failed = null;
+      Entry<S> entry = null;
+      synchronized (this) {
+        opening--;
+        if (t != null) {
+          size--;
+          failed = waiters.pollFirst(); // the oldest borrower learns why there is no session
+        } else {
+          long now = clock.getAsLong();
+          entry = new Entry<>(session, now);
+          if (!closed) {
+            idle.addLast(entry);
+            entry = null;
+          }
+        }
+      }
+
+      if (failed != null) {
+        failed.future.completeExceptionally(t);
+      }
+      if (entry != null) {
+        destroy(entry);
+      }
+      dispatch();
+    });
+  }
+
+  private void hand(Entry<S> entry, Waiter<S> waiter) {
+    long now = clock.getAsLong();
+    if (!validateOnBorrow || now - entry.lastUsed < VALIDATION_THRESHOLD_NANOS) {
+      deliver(entry, waiter);
+      return;
+    }
+
+    factory.validate(entry.session).whenComplete((valid, t) -> {
+      if (t == null && Boolean.TRUE.equals(valid)) {
+        deliver(entry, waiter);
+        return;
+      }
+
+      synchronized (this) {
+        borrowed.remove(entry.session);
+        waiters.addFirst(waiter); // keeps its place in the queue
+      }
+      destroy(entry);
+      dispatch();
+    });
+  }
+
+  private void deliver(Entry<S> entry, Waiter<S> waiter) {
+    if (waiter.hint != null) {
+      synchronized (this) {
+        entry.rememberHint(waiter.hint);
+      }
+    }
+    if (waiter.future.complete(entry.session)) {
+      return;
+    }
+
+    // Borrower gave up meanwhile, so the session is idle again
+    synchronized (this) {
+      borrowed.remove(entry.session);
+      idle.addLast(entry);
+    }
+    dispatch();
+  }
+
+  private void destroy(Entry<S> entry) {
+    synchronized (this) {
+      size--;
+    }
+    factory.close(entry.session);
+  }
+
+  private boolean isExpired(Entry<S> entry, long now) {
+    return now - entry.created > maxLifetimeNanos;
+  }
+
+  private static class Entry<S> {
+    private final S session;
+    private final long created;
+    private long lastUsed;
+    private Object[] hints;
+    private int nextHint;
+
+    private Entry(S session, long now) {
+      this.session = session;
+      this.created = now;
+      this.lastUsed = now;
+    }
+
+    private boolean hasHint(Object hint) {
+      if (hints != null) {
+        for (Object remembered : hints) {
+          if (hint.equals(remembered)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    private void rememberHint(Object hint) {
+      if (hasHint(hint)) {
+        return;
+      }
+      if (hints == null) {
+        hints = new Object[AFFINITY_HINTS];
+      }
+      hints[nextHint] = hint;
+      nextHint = (nextHint + 1) % AFFINITY_HINTS;
+    }
+  }
+
+  private static class Waiter<S> {
+    private final CompletableFuture<S> future = new CompletableFuture<>();
+    private final Object hint;
+
+    private Waiter(Object hint) {
+      this.hint = hint;
+    }
+  }
+}
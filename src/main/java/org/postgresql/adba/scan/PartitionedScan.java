@@ -0,0 +1,232 @@
+package org.postgresql.adba.scan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import jdk.incubator.sql2.ParameterizedRowOperation;
+import jdk.incubator.sql2.Result;
+import jdk.incubator.sql2.Session;
+import org.postgresql.adba.PgDataSource;
+
+/**
+ * Runs a query as several partitions concurrently, each on its own pooled {@link Session}, and merges the rows. Large
+ * exports then use several server and client cores. Created by
+ * {@link PgDataSource#partitionedScan(String, Partitioning)}.
+ *
+ * <p>By default the partitions read the same snapshot, exported by the first {@link Session} with
+ * <code>pg_export_snapshot()</code>, so the merged rows are those of a single query. The sessions are then borrowed
+ * from the primary.
+ *
+ * <p>The sessions of a scan are borrowed together with {@link PgDataSource#borrowSessions(int, boolean)}, so scans
+ * running at once wait their turn rather than each holding part of the pool.
+ */
+public class PartitionedScan {
+  static final String START_TRANSACTION = "START TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY";
+
+  static final String EXPORT_SNAPSHOT = "select pg_catalog.pg_export_snapshot() as snapshot";
+
+  private final PgDataSource dataSource;
+  private final String sql;
+  private final Partitioning partitioning;
+  private boolean consistentSnapshot = true;
+
+  /**
+   * Creates the scan.
+   *
+   * @param dataSource the data source to borrow the sessions from
+   * @param sql the query, without parameters
+   * @param partitioning how the rows are split between the partitions
+   */
+  public PartitionedScan(PgDataSource dataSource, String sql, Partitioning partitioning) {
+    if (sql == null || partitioning == null) {
+      throw new IllegalArgumentException("a partitioned scan needs a query and a partitioning");
+    }
+    this.dataSource = dataSource;
+    this.sql = sql;
+    this.partitioning = partitioning;
+  }
+
+  /**
+   * Sets whether the partitions read the same snapshot. Without it, the partitions may see different commits, but may
+   * read from standbys when routing to replicas.
+   *
+   * @param consistentSnapshot true to share a snapshot, the default
+   * @return this scan
+   */
+  public PartitionedScan consistentSnapshot(boolean consistentSnapshot) {
+    this.consistentSnapshot = consistentSnapshot;
+    return this;
+  }
+
+  /**
+   * Runs the scan, collecting the rows of each partition as they arrive, in no particular order.
+   *
+   * @param mapper maps a row to a value, called concurrently for the partitions
+   * @param collector collects the values, the containers of the partitions are combined with its combiner
+   * @param <R> the type of the values
+   * @param <T> the type of the result
+   * @return completes with the result, once all the partitions have completed
+   */
+  public <R, T> CompletionStage<T> collect(Function<Result.RowColumn, R> mapper, Collector<R, ?, T> collector) {
+    return unordered(mapper, collector);
+  }
+
+  /**
+   * Runs the scan, ordering each partition and merging them into a single ordered sequence. Every value of every
+   * partition is held in memory until all the partitions have completed and are merged, so this suits scans whose
+   * result fits in memory, otherwise use {@link #collect(Function, Collector)}.
+   *
+   * @param mapper maps a row to a value, called concurrently for the partitions
+   * @param orderBy the SQL of the <code>order by</code> of each partition, such as <code>id, created desc</code>
+   * @param comparator compares the values in the same order
+   * @param collector collects the values, in order
+   * @param <R> the type of the values
+   * @param <T> the type of the result
+   * @return completes with the result, once all the partitions have completed
+   */
+  public <R, T> CompletionStage<T> collectOrdered(Function<Result.RowColumn, R> mapper, String orderBy,
+      Comparator<? super R> comparator, Collector<R, ?, T> collector) {
+    if (orderBy == null || comparator == null) {
+      throw new IllegalArgumentException("an ordered scan needs the order by and a comparator");
+    }
+    return run(orderBy, Collectors.mapping(mapper, Collectors.toList()),
+        partitions -> merge(partitions, comparator, collector));
+  }
+
+  private <R, A, T> CompletionStage<T> unordered(Function<Result.RowColumn, R> mapper, Collector<R, A, T> collector) {
+    BiConsumer<A, R> accumulator = collector.accumulator();
+    BinaryOperator<A> combiner = collector.combiner();
+    return run(null, Collector.<Result.RowColumn, A>of(collector.supplier(),
+        (container, row) -> accumulator.accept(container, mapper.apply(row)), combiner), containers -> {
+          A result = containers.get(0);
+          for (int i = 1; i < containers.size(); i++) {
+            result = combiner.apply(result, containers.get(i));
+          }
+          return collector.finisher().apply(result);
+        });
+  }
+
+  private <X, T> CompletionStage<T> run(String orderBy, Collector<Result.RowColumn, ?, X> partitionCollector,
+      Function<List<X>, T> merge) {
+    // borrowed together, so that concurrent scans don't each hold part of the pool waiting for the rest
+    return dataSource.borrowSessions(partitioning.getPartitions(), !consistentSnapshot)
+        .thenCompose(sessions -> scan(sessions, orderBy, partitionCollector)
+            .thenApply(merge)
+            .whenComplete((t, failure) -> sessions.forEach(Session::close)));
+  }
+
+  private <X> CompletableFuture<List<X>> scan(List<Session> sessions, String orderBy,
+      Collector<Result.RowColumn, ?, X> partitionCollector) {
+    CompletableFuture<String> snapshot = consistentSnapshot && sessions.size() > 1 ? exportSnapshot(sessions.get(0))
+        : CompletableFuture.completedFuture(null);
+
+    // the exporting session keeps its transaction, and so the snapshot, open until the sessions are returned
+    return snapshot.thenCompose(snapshotId -> {
+      List<CompletableFuture<X>> partitions = new ArrayList<>();
+      for (int i = 0; i < sessions.size(); i++) {
+        Session session = sessions.get(i);
+        CompletableFuture<?> imported = snapshotId != null && i > 0 ? importSnapshot(session, snapshotId)
+            : CompletableFuture.completedFuture(null);
+
+        // queried once the snapshot is imported, so the scan fails with why it couldn't be
+        int partition = i;
+        partitions.add(imported.thenCompose(v -> {
+          ParameterizedRowOperation<X> query = session.rowOperation(partitionSql(partition, orderBy));
+          List<Object> parameters = partitioning.parameters(partition);
+          for (int p = 0; p < parameters.size(); p++) {
+            query.set("$" + (p + 1), parameters.get(p), partitioning.getType());
+          }
+          return query.collect(partitionCollector).submit().getCompletionStage();
+        }));
+      }
+
+      return CompletableFuture.allOf(partitions.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+        List<X> results = new ArrayList<>();
+        partitions.forEach(p -> results.add(p.join()));
+        return results;
+      });
+    });
+  }
+
+  private static CompletableFuture<String> exportSnapshot(Session session) {
+    CompletableFuture<?> started = start(session);
+    CompletableFuture<String> exported = session.<String>rowOperation(EXPORT_SNAPSHOT)
+        .collect(Collectors.reducing(null, row -> row.at("snapshot").get(String.class), (a, b) -> b))
+        .submit()
+        .getCompletionStage()
+        .toCompletableFuture();
+    return started.thenCompose(v -> exported);
+  }
+
+  private static CompletableFuture<?> importSnapshot(Session session, String snapshotId) {
+    CompletableFuture<?> started = start(session);
+    CompletableFuture<?> imported = session.operation("SET TRANSACTION SNAPSHOT '" + snapshotId.replace("'", "''") + "'")
+        .submit()
+        .getCompletionStage()
+        .toCompletableFuture();
+    return started.thenCompose(v -> imported);
+  }
+
+  /**
+   * Starts the transaction of the snapshot. Should it fail, its failure is the one to report rather than that of the
+   * statements submitted after it.
+   */
+  private static CompletableFuture<?> start(Session session) {
+    return session.operation(START_TRANSACTION).submit().getCompletionStage().toCompletableFuture();
+  }
+
+  /**
+   * Builds the query of a partition.
+   *
+   * @param partition the partition, from 0
+   * @param orderBy the order by, <code>null</code> if unordered
+   * @return the SQL
+   */
+  String partitionSql(int partition, String orderBy) {
+    return "select * from (" + sql + ") as partitioned_scan where " + partitioning.predicate(partition)
+        + (orderBy == null ? "" : " order by " + orderBy);
+  }
+
+  /**
+   * Merges ordered partitions into the collector, taking the least head of the partitions each time.
+   *
+   * @param partitions the values of each partition, each in order
+   * @param comparator the order
+   * @param collector collects the merged values
+   * @param <R> the type of the values
+   * @param <A> the type of the container
+   * @param <T> the type of the result
+   * @return the result
+   */
+  static <R, A, T> T merge(List<List<R>> partitions, Comparator<? super R> comparator, Collector<R, A, T> collector) {
+    PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+      int order = comparator.compare(partitions.get(a[0]).get(a[1]), partitions.get(b[0]).get(b[1]));
+      return order != 0 ? order : Integer.compare(a[0], b[0]);
+    });
+    for (int i = 0; i < partitions.size(); i++) {
+      if (!partitions.get(i).isEmpty()) {
+        heads.add(new int[] {i, 0});
+      }
+    }
+
+    A container = collector.supplier().get();
+    BiConsumer<A, R> accumulator = collector.accumulator();
+    while (!heads.isEmpty()) {
+      int[] head = heads.poll();
+      List<R> partition = partitions.get(head[0]);
+      accumulator.accept(container, partition.get(head[1]));
+      if (++head[1] < partition.size()) {
+        heads.add(head);
+      }
+    }
+    return collector.finisher().apply(container);
+  }
+}
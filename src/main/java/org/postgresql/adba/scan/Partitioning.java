@@ -0,0 +1,126 @@
+package org.postgresql.adba.scan;
+
+import java.util.Arrays;
+import java.util.List;
+import jdk.incubator.sql2.SqlType;
+
+/**
+ * How the rows of a {@link PartitionedScan} are split between its partitions, as a predicate on an expression of the
+ * rows for each partition. Every row, including those where the expression is null, is in exactly one partition.
+ */
+public class Partitioning {
+  private final String expression;
+  private final int partitions;
+  private final SqlType type;
+  private final Object[] splits;
+
+  private Partitioning(String expression, int partitions, SqlType type, Object[] splits) {
+    if (expression == null || expression.isBlank()) {
+      throw new IllegalArgumentException("partitioning needs an expression");
+    }
+    this.expression = expression;
+    this.partitions = partitions;
+    this.type = type;
+    this.splits = splits;
+  }
+
+  /**
+   * Partitions by the hash of an expression modulo the number of partitions. This spreads the rows evenly whatever
+   * their values, but each partition reads all the rows.
+   *
+   * @param expression an expression of the columns of the query, such as a column name
+   * @param partitions the number of partitions
+   * @return the partitioning
+   */
+  public static Partitioning hash(String expression, int partitions) {
+    if (partitions < 1) {
+      throw new IllegalArgumentException("at least one partition is needed, not " + partitions);
+    }
+    return new Partitioning(expression, partitions, null, null);
+  }
+
+  /**
+   * Partitions by ranges of an expression, split at the given values. A partition holds the rows from its split up to
+   * the next one, the first also those below the first split or null, and the last those from the last split. With an
+   * index on the expression each partition only reads its rows.
+   *
+   * @param expression an expression of the columns of the query, such as a column name
+   * @param type the {@link SqlType} of the expression
+   * @param splits the values the ranges are split at, in ascending order
+   * @return the partitioning, with one more partition than splits
+   */
+  @SuppressWarnings("unchecked")
+  public static Partitioning ranges(String expression, SqlType type, Object... splits) {
+    if (type == null || splits == null) {
+      throw new IllegalArgumentException("ranges need a type and the values to split at");
+    }
+    for (int i = 0; i < splits.length; i++) {
+      if (splits[i] == null) {
+        throw new IllegalArgumentException("can not split at null");
+      }
+      if (i > 0 && splits[i] instanceof Comparable && ((Comparable<Object>) splits[i - 1]).compareTo(splits[i]) >= 0) {
+        throw new IllegalArgumentException("splits must be ascending: " + Arrays.toString(splits));
+      }
+    }
+    return new Partitioning(expression, splits.length + 1, type, splits.clone());
+  }
+
+  /**
+   * Obtains the number of partitions.
+   *
+   * @return the number of partitions
+   */
+  public int getPartitions() {
+    return partitions;
+  }
+
+  /**
+   * Builds the SQL predicate that selects the rows of a partition, with its {@link #parameters(int)} as
+   * <code>$1</code> and <code>$2</code>.
+   *
+   * @param partition the partition, from 0
+   * @return the predicate
+   */
+  String predicate(int partition) {
+    if (splits == null) {
+      return "coalesce(pg_catalog.hashtext((" + expression + ")::text) & 2147483647, 0) % " + partitions + " = "
+          + partition;
+    }
+
+    String value = "(" + expression + ")";
+    if (partitions == 1) {
+      return "true";
+    } else if (partition == 0) {
+      return "(" + value + " < $1 or " + value + " is null)";
+    } else if (partition == partitions - 1) {
+      return value + " >= $1";
+    }
+    return value + " >= $1 and " + value + " < $2";
+  }
+
+  /**
+   * Obtains the values of the parameters of the predicate of a partition.
+   *
+   * @param partition the partition, from 0
+   * @return the values, in parameter order
+   */
+  List<Object> parameters(int partition) {
+    if (splits == null || partitions == 1) {
+      return List.of();
+    } else if (partition == 0) {
+      return List.of(splits[0]);
+    } else if (partition == partitions - 1) {
+      return List.of(splits[partition - 1]);
+    }
+    return List.of(splits[partition - 1], splits[partition]);
+  }
+
+  /**
+   * Obtains the {@link SqlType} of the parameters.
+   *
+   * @return the {@link SqlType}, <code>null</code> when hashing
+   */
+  SqlType getType() {
+    return type;
+  }
+}
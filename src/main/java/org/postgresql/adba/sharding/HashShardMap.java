@@ -0,0 +1,70 @@
+package org.postgresql.adba.sharding;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spreads the sharding keys over the shards by the hash of their sub-keys. The hash is of the text of the sub-keys,
+ * so it is the same in every JVM and a key stays on its shard as long as the list of shards is unchanged. The sub-keys
+ * are therefore limited to values whose text is their value: strings, numbers, booleans, characters, {@link UUID},
+ * <code>byte[]</code> and the <code>java.time</code> types.
+ */
+public class HashShardMap implements ShardMap {
+  private final List<Shard> shards;
+
+  /**
+   * Creates the map.
+   *
+   * @param shards the shards, in a fixed order
+   */
+  public HashShardMap(List<Shard> shards) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("no shards");
+    }
+    this.shards = new ArrayList<>(shards);
+  }
+
+  /**
+   * Creates the map.
+   *
+   * @param shards the shards, in a fixed order
+   */
+  public HashShardMap(Shard... shards) {
+    this(Arrays.asList(shards));
+  }
+
+  @Override
+  public Shard shardFor(PgShardingKey shardingKey, PgShardingKey shardingGroupKey) {
+    return shards.get(Math.floorMod(hash(shardingKey), shards.size()));
+  }
+
+  /**
+   * Hashes the sub-keys, mixing the bits so that consecutive keys spread evenly.
+   *
+   * @param shardingKey the key
+   * @return the hash
+   * @throws IllegalArgumentException if a sub-key isn't of a type whose text is its value
+   */
+  static int hash(PgShardingKey shardingKey) {
+    int hash = 0;
+    for (Object subkey : shardingKey.getSubkeys()) {
+      if (!isValue(subkey)) {
+        throw new IllegalArgumentException("a sub-key of type " + subkey.getClass().getName()
+            + " can't be hashed to a shard, use its string, number, UUID, byte[] or java.time value");
+      }
+      String text = subkey instanceof byte[] ? Arrays.toString((byte[]) subkey) : subkey.toString();
+      hash = 31 * hash + text.hashCode();
+    }
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean isValue(Object subkey) {
+    return subkey instanceof String || subkey instanceof Number || subkey instanceof Boolean
+        || subkey instanceof Character || subkey instanceof UUID || subkey instanceof byte[]
+        || subkey instanceof TemporalAccessor;
+  }
+}
@@ -0,0 +1,61 @@
+package org.postgresql.adba.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import jdk.incubator.sql2.ShardingKey;
+import jdk.incubator.sql2.SqlType;
+
+/**
+ * {@link ShardingKey} of the sub-keys in the order they were added, to look up the shard of a session in the
+ * {@link ShardMap} of the data source.
+ */
+public class PgShardingKey implements ShardingKey {
+  private final List<Object> subkeys;
+  private final List<SqlType> subkeyTypes;
+
+  PgShardingKey(List<Object> subkeys, List<SqlType> subkeyTypes) {
+    this.subkeys = Collections.unmodifiableList(new ArrayList<>(subkeys));
+    this.subkeyTypes = Collections.unmodifiableList(new ArrayList<>(subkeyTypes));
+  }
+
+  /**
+   * Obtains the sub-keys.
+   *
+   * @return the sub-keys, in order
+   */
+  public List<Object> getSubkeys() {
+    return subkeys;
+  }
+
+  /**
+   * Obtains the types of the sub-keys.
+   *
+   * @return the types, in the order of the sub-keys
+   */
+  public List<SqlType> getSubkeyTypes() {
+    return subkeyTypes;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PgShardingKey)) {
+      return false;
+    }
+    return subkeys.equals(((PgShardingKey) o).subkeys);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(subkeys);
+  }
+
+  @Override
+  public String toString() {
+    return subkeys.toString();
+  }
+}
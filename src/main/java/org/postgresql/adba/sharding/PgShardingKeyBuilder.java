@@ -0,0 +1,34 @@
+package org.postgresql.adba.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import jdk.incubator.sql2.ShardingKey;
+import jdk.incubator.sql2.SqlType;
+
+/**
+ * Builds a {@link PgShardingKey}.
+ */
+public class PgShardingKeyBuilder implements ShardingKey.Builder {
+  private final List<Object> subkeys = new ArrayList<>();
+  private final List<SqlType> subkeyTypes = new ArrayList<>();
+
+  @Override
+  public ShardingKey.Builder subkey(Object subkey, SqlType subkeyType) {
+    if (subkey == null) {
+      throw new IllegalArgumentException("sub-key may not be null");
+    }
+
+    subkeys.add(subkey);
+    subkeyTypes.add(subkeyType);
+    return this;
+  }
+
+  @Override
+  public ShardingKey build() {
+    if (subkeys.isEmpty()) {
+      throw new IllegalStateException("a sharding key needs at least one sub-key");
+    }
+
+    return new PgShardingKey(subkeys, subkeyTypes);
+  }
+}
@@ -0,0 +1,48 @@
+package org.postgresql.adba.sharding;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps ranges of the first sub-key of the sharding keys to shards. Each shard holds the keys from its lower bound up
+ * to the lower bound of the next shard.
+ */
+public class RangeShardMap implements ShardMap {
+  private final TreeMap<Comparable<Object>, Shard> lowerBounds = new TreeMap<>();
+
+  /**
+   * Adds a shard.
+   *
+   * @param lowerBound the lowest first sub-key the shard holds, of the same type as the first sub-keys
+   * @param shard the shard
+   * @return this map
+   */
+  @SuppressWarnings("unchecked")
+  public RangeShardMap shard(Comparable<?> lowerBound, Shard shard) {
+    if (lowerBound == null || shard == null) {
+      throw new IllegalArgumentException("a range needs a lower bound and a shard");
+    }
+    lowerBounds.put((Comparable<Object>) lowerBound, shard);
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Shard shardFor(PgShardingKey shardingKey, PgShardingKey shardingGroupKey) {
+    Object subkey = shardingKey.getSubkeys().get(0);
+    if (!(subkey instanceof Comparable)) {
+      throw new IllegalArgumentException("the first sub-key is not comparable: " + subkey);
+    }
+
+    Map.Entry<Comparable<Object>, Shard> range;
+    try {
+      range = lowerBounds.floorEntry((Comparable<Object>) subkey);
+    } catch (ClassCastException ex) {
+      throw new IllegalArgumentException("the first sub-key is not of the type of the ranges: " + subkey, ex);
+    }
+    if (range == null) {
+      throw new IllegalArgumentException("no shard holds the sharding key " + shardingKey);
+    }
+    return range.getValue();
+  }
+}
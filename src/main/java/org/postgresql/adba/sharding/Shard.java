@@ -0,0 +1,55 @@
+package org.postgresql.adba.sharding;
+
+import org.postgresql.adba.PgSessionProperty;
+
+/**
+ * A shard, the cluster holding the rows of some sharding keys.
+ */
+public class Shard {
+  private final String name;
+  private final String hosts;
+
+  /**
+   * Creates the shard.
+   *
+   * @param name the name of the shard, unique within the {@link ShardMap}
+   * @param hosts the hosts of the cluster, in the format of {@link PgSessionProperty#HOST}
+   */
+  public Shard(String name, String hosts) {
+    if (name == null || hosts == null) {
+      throw new IllegalArgumentException("a shard needs a name and hosts");
+    }
+    this.name = name;
+    this.hosts = hosts;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getHosts() {
+    return hosts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Shard)) {
+      return false;
+    }
+    Shard shard = (Shard) o;
+    return name.equals(shard.name) && hosts.equals(shard.hosts);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return name + " (" + hosts + ")";
+  }
+}
@@ -0,0 +1,21 @@
+package org.postgresql.adba.sharding;
+
+import jdk.incubator.sql2.AdbaSessionProperty;
+import org.postgresql.adba.PgDataSourceProperty;
+
+/**
+ * Maps the sharding keys of sessions to the shards, set as {@link PgDataSourceProperty#SHARD_MAP}.
+ */
+public interface ShardMap {
+
+  /**
+   * Finds the shard of a session.
+   *
+   * @param shardingKey the {@link AdbaSessionProperty#SHARDING_KEY} of the session
+   * @param shardingGroupKey the {@link AdbaSessionProperty#SHARDING_GROUP_KEY} of the session, may be
+   *                         <code>null</code>
+   * @return the shard
+   * @throws IllegalArgumentException if no shard holds the key
+   */
+  Shard shardFor(PgShardingKey shardingKey, PgShardingKey shardingGroupKey);
+}
@@ -112,7 +112,7 @@ public class ArrayCountSubmission<T> implements PgSubmission<T> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
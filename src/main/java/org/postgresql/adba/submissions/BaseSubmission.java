@@ -4,7 +4,6 @@ import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -114,7 +113,7 @@ public class BaseSubmission<T> implements PgSubmission<T> {
     }
   }
 
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
@@ -1,6 +1,5 @@
 package org.postgresql.adba.submissions;
 
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -30,7 +29,7 @@ public class ConnectSubmission implements PgSubmission<Void> {
 
   private GroupSubmission groupSubmission;
   
-  private NetworkConnect request;
+  private final boolean tls;
 
   /**
    * Creates the connect submission.
@@ -44,19 +43,19 @@ public class ConnectSubmission implements PgSubmission<Void> {
     this.cancel = cancel;
     this.errorHandler = errorHandler;
     this.groupSubmission = groupSubmission;
-    if (properties.containsKey(PgSessionProperty.SSL) && (Boolean)properties.get(PgSessionProperty.SSL)) {
-      this.request = new TlsConnectRequest(this);
-    } else {
-      this.request = new NetworkConnectRequest(this);
-    }
+    this.tls = properties.containsKey(PgSessionProperty.SSL) && (Boolean)properties.get(PgSessionProperty.SSL);
 
     if (groupSubmission != null) {
       groupSubmission.stackFuture((CompletableFuture<Void>) getCompletionStage());
     }
   }
   
-  public NetworkConnect getNetworkConnect() {
-    return request;
+  /**
+   * Creates the {@link NetworkConnect} for an attempt to connect to a host.
+   * @return a new {@link NetworkConnect}
+   */
+  public NetworkConnect newNetworkConnect() {
+    return tls ? new TlsConnectRequest(this) : new NetworkConnectRequest(this);
   }
 
   @Override
@@ -116,7 +115,7 @@ public class ConnectSubmission implements PgSubmission<Void> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return null;
   }
 
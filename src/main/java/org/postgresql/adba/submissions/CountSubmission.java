@@ -1,6 +1,5 @@
 package org.postgresql.adba.submissions;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -101,7 +100,7 @@ public class CountSubmission<T> implements PgSubmission<T> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
@@ -1,11 +1,16 @@
 package org.postgresql.adba.submissions;
 
+import jdk.incubator.sql2.SqlSkippedException;
+import org.postgresql.adba.PgSession;
 import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.communication.network.Portal;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -21,6 +26,9 @@ public class GroupSubmission<T> implements PgSubmission<T> {
   private final AtomicBoolean sendConsumed = new AtomicBoolean(false);
   private Collector collector;
   private Object collectorHolder;
+  private boolean independent;
+  private Hold hold;
+  private final List<CompletableFuture<?>> members = new ArrayList<>();
 
   public GroupSubmission(Supplier<Boolean> cancel, Consumer<Throwable> errorHandler) {
     this.cancel = cancel;
@@ -86,7 +94,7 @@ public class GroupSubmission<T> implements PgSubmission<T> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return null;
   }
 
@@ -114,11 +122,130 @@ public class GroupSubmission<T> implements PgSubmission<T> {
     return publicStage;
   }
 
+  /**
+   * Tracks the completion of a member, which the group waits for before it completes.
+   * @param member the submission of the member
+   */
+  public synchronized void addMember(PgSubmission<?> member) {
+    members.add(member.getCompletionStage().toCompletableFuture());
+  }
+
+  /**
+   * Waits for the members added so far to complete.
+   * @return completes with the failure of the first member that failed, <code>null</code> if none did or the group is
+   *     independent
+   */
+  public CompletableFuture<Throwable> membersCompleted() {
+    CompletableFuture<?>[] stages;
+    synchronized (this) {
+      stages = members.toArray(new CompletableFuture<?>[0]);
+    }
+    return CompletableFuture.allOf(stages).handle((v, t) -> {
+      if (independent) {
+        return null;
+      }
+      for (CompletableFuture<?> stage : stages) {
+        if (stage.isCompletedExceptionally()) {
+          Throwable failure = stage.handle((r, e) -> e).join();
+          return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Completes the group once its members have, exceptionally with the failure of the first member that failed unless
+   * the group is independent.
+   */
+  public void finishWhenMembersComplete() {
+    membersCompleted().thenAccept(this::finishMembers);
+  }
+
+  /**
+   * Completes the group after its members.
+   * @param failure the failure of the first member that failed, <code>null</code> to complete with the result
+   */
+  public void finishMembers(Throwable failure) {
+    if (failure == null) {
+      finish(null);
+    } else {
+      Portal.doHandleException(this, failure);
+    }
+  }
+
+  /**
+   * Makes the members independent, so the failure of one doesn't fail the members after it.
+   * @param independent true if independent
+   */
+  public void setIndependent(boolean independent) {
+    this.independent = independent;
+  }
+
+  /**
+   * Holds the members back until the condition completes, then submits them if it completed with true and skips them
+   * otherwise.
+   * @param condition the condition of the group
+   */
+  public void setCondition(CompletionStage<Boolean> condition) {
+    hold = new Hold(condition);
+  }
+
+  /**
+   * Holds the submission of a member back while the condition is pending, or skips it if the condition failed.
+   * @param session the session to submit the member to once the condition holds
+   * @param submission the submission of the member
+   * @return false if the submission is to be submitted now
+   */
+  public boolean hold(PgSession session, PgSubmission<?> submission) {
+    return hold != null && hold.hold(session, submission);
+  }
+
+  /**
+   * Runs the action once the held members are submitted or skipped, straight away if the group has no condition.
+   * @param action receives true if the members were submitted
+   */
+  public void whenReleased(Consumer<Boolean> action) {
+    if (hold == null) {
+      action.accept(true);
+    } else {
+      hold.whenReleased(action);
+    }
+  }
+
+  /**
+   * Creates a submission for the members of this group that run on one of the sessions of a parallel group. It has its
+   * own result container, which is combined into this group by {@link #combine(GroupSubmission)}.
+   * @return the submission for the members on the session
+   */
+  public GroupSubmission<T> newLane() {
+    GroupSubmission<T> lane = new GroupSubmission<>(cancel, errorHandler);
+    lane.setCollector(collector);
+    lane.setIndependent(independent);
+    lane.hold = hold;
+    return lane;
+  }
+
+  /**
+   * Combines the results of the members of a lane into this group, with the combiner of the collector.
+   * @param lane lane created by {@link #newLane()}
+   */
+  public void combine(GroupSubmission<T> lane) {
+    try {
+      collectorHolder = collector.combiner().apply(collectorHolder, lane.collectorHolder);
+    } catch (Throwable e) {
+      ((CompletableFuture<T>) getCompletionStage()).completeExceptionally(e);
+    }
+  }
+
   /**
    * the group submission have a monad of operations, and this adds another on top of it.
    * @param completionStage operation to add
    */
   public void stackFuture(CompletableFuture<T> completionStage) {
+    if (independent) {
+      return;
+    }
     if (membersTail == null) {
       membersTail = getCompletionStage();
     }
@@ -129,4 +256,86 @@ public class GroupSubmission<T> implements PgSubmission<T> {
     });
     membersTail = completionStage;
   }
+
+  /**
+   * The members of a conditional group, held back until the condition completes. Shared by the lanes of the group.
+   */
+  private static class Hold {
+    private final List<PgSession> sessions = new ArrayList<>();
+    private final List<PgSubmission<?>> held = new ArrayList<>();
+    private final List<Consumer<Boolean>> released = new ArrayList<>();
+    private Boolean outcome;
+
+    private Hold(CompletionStage<Boolean> condition) {
+      condition.whenComplete((value, t) -> release(t == null && Boolean.TRUE.equals(value)));
+    }
+
+    private boolean hold(PgSession session, PgSubmission<?> submission) {
+      synchronized (this) {
+        if (outcome == null) {
+          sessions.add(session);
+          held.add(submission);
+          return true;
+        }
+        if (outcome) {
+          return false;
+        }
+      }
+      skip(submission);
+      return true;
+    }
+
+    private void whenReleased(Consumer<Boolean> action) {
+      Boolean known;
+      synchronized (this) {
+        known = outcome;
+        if (known == null) {
+          released.add(action);
+          return;
+        }
+      }
+      action.accept(known);
+    }
+
+    /**
+     * Submits or skips the held members outside the lock, as that runs error handlers and may race with the user
+     * submitting to the same sessions. Members held meanwhile are released after them, keeping their order.
+     */
+    private void release(boolean execute) {
+      List<Consumer<Boolean>> actions;
+      while (true) {
+        List<PgSession> toSessions;
+        List<PgSubmission<?>> toRelease;
+        synchronized (this) {
+          if (held.isEmpty()) {
+            outcome = execute;
+            actions = new ArrayList<>(released);
+            released.clear();
+            break;
+          }
+          toSessions = new ArrayList<>(sessions);
+          toRelease = new ArrayList<>(held);
+          sessions.clear();
+          held.clear();
+        }
+
+        for (int i = 0; i < toRelease.size(); i++) {
+          if (execute) {
+            toSessions.get(i).submit(toRelease.get(i));
+          } else {
+            skip(toRelease.get(i));
+          }
+        }
+      }
+
+      for (Consumer<Boolean> action : actions) {
+        action.accept(execute);
+      }
+    }
+
+    private static void skip(PgSubmission<?> submission) {
+      Portal.doHandleException(submission,
+          new SqlSkippedException("the condition of the operation group is not met", null, null, -1, null, -1));
+    }
+  }
 }
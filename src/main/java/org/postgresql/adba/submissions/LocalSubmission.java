@@ -4,7 +4,6 @@ import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
-import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -81,7 +80,7 @@ public class LocalSubmission<T> implements PgSubmission<T> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return null;
   }
 
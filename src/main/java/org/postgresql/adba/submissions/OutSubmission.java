@@ -6,7 +6,6 @@ import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -93,7 +92,7 @@ public class OutSubmission<T> implements PgSubmission<T> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
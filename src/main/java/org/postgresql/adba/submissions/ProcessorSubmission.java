@@ -1,10 +1,12 @@
 package org.postgresql.adba.submissions;
 
 import jdk.incubator.sql2.Result;
+import org.postgresql.adba.PgDataSourceProperty;
 import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -21,7 +23,8 @@ public class ProcessorSubmission<T> implements PgSubmission<T> {
   private Consumer<Throwable> errorHandler;
   private String sql;
   private ParameterHolder holder;
-  private SubmissionPublisher<Result.RowColumn> publisher;
+  private SubmissionPublisher<List<Result.RowColumn>> publisher;
+  private RowChunker chunk = new RowChunker((Integer) PgDataSourceProperty.ROW_BATCH_SIZE.defaultValue());
   private GroupSubmission groupSubmission;
   private final AtomicBoolean sendConsumed = new AtomicBoolean(false);
   private CompletionStage<? extends T> result;
@@ -32,12 +35,12 @@ public class ProcessorSubmission<T> implements PgSubmission<T> {
    * @param cancel cancel method
    * @param errorHandler error handler method
    * @param sql the query
-   * @param publisher publisher that consumes rows
+   * @param publisher publisher of the rows, in chunks
    * @param holder holder for parameter values
    * @param groupSubmission group submission this submission is a part of
    */
   public ProcessorSubmission(Supplier<Boolean> cancel, Consumer<Throwable> errorHandler, String sql,
-      SubmissionPublisher<Result.RowColumn> publisher, ParameterHolder holder, GroupSubmission groupSubmission,
+      SubmissionPublisher<List<Result.RowColumn>> publisher, ParameterHolder holder, GroupSubmission groupSubmission,
       CompletionStage<? extends T> result) {
     this.cancel = cancel;
     this.errorHandler = errorHandler;
@@ -73,8 +76,19 @@ public class ProcessorSubmission<T> implements PgSubmission<T> {
 
   }
 
+  /**
+   * Sets the number of rows published at a time.
+   * @param rowBatchSize number of rows
+   */
+  public void setRowBatchSize(int rowBatchSize) {
+    this.chunk = new RowChunker(rowBatchSize);
+  }
+
   @Override
   public Object finish(Object finishObject) {
+    if (!chunk.isEmpty()) {
+      offerChunk();
+    }
     publisher.close();
     ((CompletableFuture<T>)getCompletionStage()).complete(null);
     ((CompletableFuture<? extends T>)result).complete(null);
@@ -83,14 +97,20 @@ public class ProcessorSubmission<T> implements PgSubmission<T> {
 
   @Override
   public void addRow(DataRow row) {
-    publisher.offer(row, (subscriber, rowItem) -> {
+    if (chunk.add(row)) {
+      offerChunk();
+    }
+  }
+
+  private void offerChunk() {
+    publisher.offer(Collections.unmodifiableList(chunk.take()), (subscriber, rows) -> {
       subscriber.onError(new IllegalStateException("failed to offer item to subscriber"));
       return false;
     });
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
@@ -0,0 +1,125 @@
+package org.postgresql.adba.submissions;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.incubator.sql2.Result;
+
+/**
+ * Subscribes to chunks of rows and signals the rows one by one to the subscriber of the operation, within the demand
+ * of that subscriber. The publisher then hands over a chunk at a time, rather than a row at a time.
+ */
+public class RowChunkSubscriber implements Flow.Subscriber<List<Result.RowColumn>>, Flow.Subscription {
+  private final Flow.Subscriber<? super Result.RowColumn> subscriber;
+  private final Queue<List<Result.RowColumn>> chunks = new ConcurrentLinkedQueue<>();
+  private final AtomicLong demand = new AtomicLong();
+  private final AtomicInteger work = new AtomicInteger();
+  private volatile Flow.Subscription subscription;
+  private volatile boolean done;
+  private volatile Throwable error;
+  private volatile boolean cancelled;
+
+  /**
+   * only accessed by the thread draining the chunks.
+   */
+  private List<Result.RowColumn> current;
+  private int index;
+  private boolean chunkRequested;
+
+  /**
+   * Creates the subscriber.
+   *
+   * @param subscriber the subscriber to signal the rows to
+   */
+  public RowChunkSubscriber(Flow.Subscriber<? super Result.RowColumn> subscriber) {
+    this.subscriber = subscriber;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscriber.onSubscribe(this);
+  }
+
+  @Override
+  public void onNext(List<Result.RowColumn> chunk) {
+    chunks.add(chunk);
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    error = throwable;
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void request(long n) {
+    if (n <= 0) {
+      subscription.cancel();
+      onError(new IllegalArgumentException("the number of rows requested must be positive, was " + n));
+      return;
+    }
+
+    demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+    drain();
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    subscription.cancel();
+  }
+
+  private void drain() {
+    if (work.getAndIncrement() != 0) {
+      return; // the draining thread picks up the change
+    }
+
+    do {
+      while (!cancelled) {
+
+        // Keep a chunk on its way while there is demand
+        if (!chunkRequested && !done && demand.get() > 0) {
+          chunkRequested = true;
+          subscription.request(1);
+        }
+
+        if (current == null || index == current.size()) {
+          current = chunks.poll();
+          index = 0;
+          if (current != null) {
+            chunkRequested = false;
+            continue;
+          }
+
+          if (done) {
+            cancelled = true;
+            if (error != null) {
+              subscriber.onError(error);
+            } else {
+              subscriber.onComplete();
+            }
+          }
+          break;
+        }
+
+        if (demand.get() == 0) {
+          break;
+        }
+        demand.decrementAndGet();
+        subscriber.onNext(current.get(index++));
+      }
+    } while (work.decrementAndGet() != 0);
+  }
+}
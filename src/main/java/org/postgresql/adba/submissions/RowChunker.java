@@ -0,0 +1,60 @@
+package org.postgresql.adba.submissions;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.postgresql.adba.PgDataSourceProperty;
+import org.postgresql.adba.communication.packets.DataRow;
+
+/**
+ * Groups rows into chunks, by count and by bytes, so that they are handed on a chunk at a time. The one batching of
+ * rows, whether handed to the completion executor, to a collector, to a publisher or to a parallel task, sized by
+ * {@link PgDataSourceProperty#ROW_BATCH_SIZE}.
+ */
+public class RowChunker {
+  static final int MAX_BYTES = 64 * 1024;
+
+  private final int maxRows;
+  private List<DataRow> rows;
+  private int bytes;
+
+  /**
+   * Instantiate.
+   *
+   * @param maxRows number of rows in a full chunk
+   */
+  public RowChunker(int maxRows) {
+    if (maxRows < 1) {
+      throw new IllegalArgumentException("a chunk needs at least one row, not " + maxRows);
+    }
+    this.maxRows = maxRows;
+    this.rows = new ArrayList<>(maxRows);
+  }
+
+  /**
+   * Adds a row to the chunk.
+   *
+   * @param row the row
+   * @return true if the chunk is full and should be taken
+   */
+  public boolean add(DataRow row) {
+    rows.add(row);
+    bytes += row.payloadLength();
+    return rows.size() >= maxRows || bytes >= MAX_BYTES;
+  }
+
+  public boolean isEmpty() {
+    return rows.isEmpty();
+  }
+
+  /**
+   * Takes the rows of the chunk, starting a new chunk.
+   *
+   * @return the rows
+   */
+  public List<DataRow> take() {
+    List<DataRow> chunk = rows;
+    rows = new ArrayList<>(maxRows);
+    bytes = 0;
+    return chunk;
+  }
+}
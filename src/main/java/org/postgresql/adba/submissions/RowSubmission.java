@@ -1,13 +1,18 @@
 package org.postgresql.adba.submissions;
 
+import org.postgresql.adba.PgBatchCollector;
+import org.postgresql.adba.PgDataSourceProperty;
 import org.postgresql.adba.PgSubmission;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -26,6 +31,12 @@ public class RowSubmission<T> implements PgSubmission<T> {
 
   private GroupSubmission groupSubmission;
 
+  private RowChunker chunk = new RowChunker((Integer) PgDataSourceProperty.ROW_BATCH_SIZE.defaultValue());
+
+  private ForkJoinPool parallelPool;
+  private List<CompletableFuture<Object>> parts;
+  private boolean sharedContainer;
+
   /**
    * A submission for a normal query.
    *
@@ -88,14 +99,39 @@ public class RowSubmission<T> implements PgSubmission<T> {
     collectorHolder = collector.supplier().get();
   }
 
+  /**
+   * Sets the number of rows accumulated at a time, and collected by each task when collecting in parallel.
+   * @param rowBatchSize number of rows
+   */
+  public void setRowBatchSize(int rowBatchSize) {
+    this.chunk = new RowChunker(rowBatchSize);
+  }
+
+  /**
+   * Collects the rows in parallel on the pool, a batch of rows per task, rather than one by one as they are read. The
+   * results of the batches are combined in the order of the rows, unless the collector is concurrent and unordered, in
+   * which case all batches accumulate into the one container. Only the batches run on the pool, {@link #finish(Object)}
+   * waits for them and completes the submission on the calling thread, so it must not be called by the NioLoop.
+   * @param pool the pool to collect the rows on
+   */
+  public void collectInParallel(ForkJoinPool pool) {
+    this.parallelPool = pool;
+    this.parts = new ArrayList<>();
+  }
+
   /**
    * When all rows in the result set is consumed, this is called.
    * @param finishObject not in use
    * @return the result of the operation
    */
   public Object finish(Object finishObject) {
+    if (parallelPool != null && collector != null) {
+      return finishInParallel();
+    }
+
     T o = null;
     if (collector != null) {
+      accumulateChunk();
       o = (T) collector.finisher().apply(collectorHolder);
       if (groupSubmission != null) {
         groupSubmission.addGroupResult(o);
@@ -110,14 +146,88 @@ public class RowSubmission<T> implements PgSubmission<T> {
    * @param row row to add
    */
   public void addRow(DataRow row) {
+    if (chunk.add(row)) {
+      if (parallelPool != null) {
+        forkBatch();
+      } else {
+        accumulateChunk();
+      }
+    }
+  }
+
+  private void accumulateChunk() {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
     try {
-      collector.accumulator().accept(collectorHolder, row);
+      accumulate(collector, collectorHolder, chunk.take());
     } catch (Throwable e) {
-      publicStage.completeExceptionally(e);
+      ((CompletableFuture<T>) getCompletionStage()).completeExceptionally(e);
     }
   }
 
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  /**
+   * Accumulates the rows into the container, all at once if the collector is a {@link PgBatchCollector}.
+   * @param collector the collector
+   * @param container the container of the collector
+   * @param rows the rows to accumulate
+   */
+  static void accumulate(Collector collector, Object container, List<DataRow> rows) {
+    if (collector instanceof PgBatchCollector) {
+      ((PgBatchCollector) collector).batchAccumulator().accept(container, rows);
+      return;
+    }
+
+    for (DataRow row : rows) {
+      collector.accumulator().accept(container, row);
+    }
+  }
+
+  private void forkBatch() {
+    if (parts.isEmpty()) {
+      sharedContainer = collector.characteristics().contains(Collector.Characteristics.CONCURRENT)
+          && collector.characteristics().contains(Collector.Characteristics.UNORDERED);
+    }
+
+    List<DataRow> rows = chunk.take();
+    parts.add(CompletableFuture.supplyAsync(() -> {
+      Object container = sharedContainer ? collectorHolder : collector.supplier().get();
+      accumulate(collector, container, rows);
+      return container;
+    }, parallelPool));
+  }
+
+  private T finishInParallel() {
+    if (!chunk.isEmpty() || parts.isEmpty()) {
+      forkBatch();
+    }
+
+    // combined and completed by the caller, so that the submissions of the session complete in order
+    CompletableFuture<T> stage = (CompletableFuture<T>) getCompletionStage();
+    T o;
+    try {
+      Object container = parts.get(0).join();
+      for (int i = 1; i < parts.size() && !sharedContainer; i++) {
+        container = collector.combiner().apply(container, parts.get(i).join());
+      }
+      o = (T) collector.finisher().apply(container);
+    } catch (CompletionException e) {
+      stage.completeExceptionally(e.getCause());
+      return null;
+    } catch (Throwable e) {
+      stage.completeExceptionally(e);
+      return null;
+    }
+
+    if (groupSubmission != null) {
+      groupSubmission.addGroupResult(o);
+    }
+    stage.complete(o);
+    return o;
+  }
+
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return holder.getParamTypes();
   }
 
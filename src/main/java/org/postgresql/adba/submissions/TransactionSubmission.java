@@ -2,11 +2,11 @@ package org.postgresql.adba.submissions;
 
 import jdk.incubator.sql2.TransactionOutcome;
 import org.postgresql.adba.PgSubmission;
+import org.postgresql.adba.ReadYourWritesContext;
 import org.postgresql.adba.communication.packets.CommandComplete;
 import org.postgresql.adba.communication.packets.DataRow;
 import org.postgresql.adba.operations.helpers.ParameterHolder;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -22,6 +22,8 @@ public class TransactionSubmission implements PgSubmission<TransactionOutcome> {
   private final AtomicBoolean sendConsumed = new AtomicBoolean(false);
   private Consumer<Throwable> errorHandler;
   private ParameterHolder holder = new ParameterHolder();
+  private ReadYourWritesContext readYourWrites;
+  private CompletionStage<String> commitLsn;
 
   /**
    * Creates the submission object of the transation operations.
@@ -36,6 +38,18 @@ public class TransactionSubmission implements PgSubmission<TransactionOutcome> {
     this.sql = sql;
   }
 
+  /**
+   * Advances the context to the LSN of the commit, before completing, if the outcome is a commit. A failure to obtain
+   * the LSN, such as on a standby, leaves the context as it is.
+   *
+   * @param readYourWrites the context
+   * @param commitLsn completes with the LSN of the commit, in the text form of pg_lsn
+   */
+  public void advanceOnCommit(ReadYourWritesContext readYourWrites, CompletionStage<String> commitLsn) {
+    this.readYourWrites = readYourWrites;
+    this.commitLsn = commitLsn;
+  }
+
   @Override
   public String getSql() {
     return sql;
@@ -64,16 +78,29 @@ public class TransactionSubmission implements PgSubmission<TransactionOutcome> {
   @Override
   public Object finish(Object finishObject) {
     CommandComplete.Types type = (CommandComplete.Types)finishObject;
+    TransactionOutcome outcome;
     if (type == CommandComplete.Types.ROLLBACK) {
-      ((CompletableFuture<TransactionOutcome>) getCompletionStage())
-          .complete(TransactionOutcome.ROLLBACK);
+      outcome = TransactionOutcome.ROLLBACK;
     } else if (type == CommandComplete.Types.COMMIT) {
-      ((CompletableFuture<TransactionOutcome>) getCompletionStage())
-          .complete(TransactionOutcome.COMMIT);
+      outcome = TransactionOutcome.COMMIT;
     } else {
-      ((CompletableFuture<TransactionOutcome>) getCompletionStage())
-          .complete(TransactionOutcome.UNKNOWN);
+      outcome = TransactionOutcome.UNKNOWN;
+    }
+
+    if (commitLsn == null) {
+      ((CompletableFuture<TransactionOutcome>) getCompletionStage()).complete(outcome);
+      return null;
     }
+
+    commitLsn.whenComplete((lsn, t) -> {
+      try {
+        if (outcome == TransactionOutcome.COMMIT && t == null && lsn != null) {
+          readYourWrites.advance(ReadYourWritesContext.parseLsn(lsn));
+        }
+      } finally {
+        ((CompletableFuture<TransactionOutcome>) getCompletionStage()).complete(outcome);
+      }
+    });
     return null;
   }
 
@@ -83,7 +110,7 @@ public class TransactionSubmission implements PgSubmission<TransactionOutcome> {
   }
 
   @Override
-  public List<Integer> getParamTypes() throws ExecutionException, InterruptedException {
+  public int[] getParamTypes() throws ExecutionException, InterruptedException {
     return null;
   }
 
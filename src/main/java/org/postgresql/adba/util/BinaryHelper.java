@@ -14,6 +14,17 @@ public class BinaryHelper {
     return (short) (((b1 & 255) << 8) + ((b2 & 255)));
   }
 
+  /**
+   * reads a long in network byte order.
+   * @param bytes the array to read from
+   * @param pos the position of the first byte
+   * @return the long value
+   */
+  public static long readLong(byte[] bytes, int pos) {
+    return ((long) readInt(bytes[pos], bytes[pos + 1], bytes[pos + 2], bytes[pos + 3]) << 32)
+        | (readInt(bytes[pos + 4], bytes[pos + 5], bytes[pos + 6], bytes[pos + 7]) & 0xFFFFFFFFL);
+  }
+
   /**
    * writes a long to a byte array in network byte order.
    * @param val long to write
@@ -0,0 +1,12 @@
+package org.postgresql.adba.util;
+
+/**
+ * A function over a range of a byte array, like {@link QuadFunction} but without boxing the positions.
+ *
+ * @param <R> the type of the result
+ */
+@FunctionalInterface
+public interface ByteRangeFunction<R> {
+
+  R apply(byte[] bytes, int start, int end, Class<?> requestedClass);
+}
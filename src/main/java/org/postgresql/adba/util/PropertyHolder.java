@@ -95,6 +95,20 @@ public class PropertyHolder {
     add(property, value, sessionProperties);
   }
 
+  /**
+   * Set a value for a property on the Session level, replacing any value already set.
+   *
+   * @param property property to set
+   * @param value value, can be null
+   */
+  public void overrideSessionProperty(SessionProperty property, Object value) {
+    if (value != null && !property.validate(value)) {
+      throw new IllegalArgumentException("value of " + property.name() + " is of the wrong type");
+    }
+
+    add(property, value, sessionProperties);
+  }
+
   public void sessionDbProperty(PgSessionDbProperty property, Object value) {
     add(property, value, sessionProperties);
   }
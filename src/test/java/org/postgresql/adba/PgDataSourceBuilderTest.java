@@ -4,8 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import jdk.incubator.sql2.AdbaSessionProperty;
+import jdk.incubator.sql2.AdbaType;
+import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.SessionProperty;
+import jdk.incubator.sql2.ShardingKey;
 import org.junit.jupiter.api.Test;
+import org.postgresql.adba.sharding.RangeShardMap;
+import org.postgresql.adba.sharding.Shard;
 
 public class PgDataSourceBuilderTest {
 
@@ -56,6 +62,26 @@ public class PgDataSourceBuilderTest {
     assertThrows(IllegalStateException.class, () -> builder.registerSessionProperty(p));
   }
 
+  @Test
+  public void sessionWithShardingKeyConnectsToItsShard() {
+    Shard tenants = new Shard("tenants", "db2:5433");
+    PgDataSource dataSource = (PgDataSource) new PgDataSourceBuilder()
+        .url("jdbc:postgresql://db1:5432/test")
+        .property(PgDataSourceProperty.SHARD_MAP, new RangeShardMap().shard("", tenants))
+        .build();
+    try {
+      ShardingKey key = dataSource.shardingKeyBuilder().subkey("tenant-1", AdbaType.VARCHAR).build();
+      Session session = dataSource.builder().property(AdbaSessionProperty.SHARDING_KEY, key).build();
+
+      assertEquals("db2:5433", session.getProperties().get(PgSessionProperty.HOST));
+      ShardingKey unmapped = session.shardingKeyBuilder().subkey(1, AdbaType.INTEGER).build();
+      assertThrows(IllegalArgumentException.class,
+          () -> dataSource.builder().property(AdbaSessionProperty.SHARDING_KEY, unmapped).build());
+    } finally {
+      dataSource.close();
+    }
+  }
+
   @Test
   public void sessionPropertyWithNull() {
     PgDataSourceBuilder builder = new PgDataSourceBuilder();
@@ -1,25 +1,33 @@
 package org.postgresql.adba;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.postgresql.adba.testutil.CollectorUtils.singleCollector;
 import static org.postgresql.adba.testutil.FutureUtil.get10;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import jdk.incubator.sql2.AdbaSessionProperty;
 import jdk.incubator.sql2.AdbaSessionProperty.TransactionIsolation;
 import jdk.incubator.sql2.DataSource;
 import jdk.incubator.sql2.DataSourceFactory;
+import jdk.incubator.sql2.Operation;
 import jdk.incubator.sql2.OperationGroup;
 import jdk.incubator.sql2.Session;
 import jdk.incubator.sql2.Session.Builder;
 import jdk.incubator.sql2.SessionProperty;
 import org.junit.jupiter.api.Test;
 import org.postgresql.adba.communication.packets.parts.PgAdbaType;
+import org.postgresql.adba.scan.Partitioning;
 import org.postgresql.adba.testutil.DatabaseHolder;
 import org.testcontainers.containers.PostgreSQLContainer;
 
@@ -165,6 +173,139 @@ public class PgDataSourceTest {
     }
   }
 
+  @Test
+  public void closedPooledSessionCanNotBeUsed() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 1)
+        .build();
+    try {
+      Session first = pooled.getSession();
+      first.close();
+      first.close();
+
+      try (Session second = pooled.getSession()) {
+        assertThrows(IllegalStateException.class, () -> first.rowOperation("select 1 as t"));
+        assertEquals(Session.Lifecycle.CLOSED, first.getSessionLifecycle());
+        assertEquals(Integer.valueOf(1), get10(second.<Integer>rowOperation("select 1 as t")
+            .collect(singleCollector(Integer.class))
+            .submit()
+            .getCompletionStage()));
+      }
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void nextBorrowerStartsWithoutTheGroupSettings() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 1)
+        .build();
+    try {
+      Session first = pooled.getSession();
+      first.onError(t -> { });
+      Operation<Object> stale = first.operation("select 1");
+      first.close();
+
+      try (Session second = pooled.getSession()) {
+        second.onError(t -> { });
+        assertThrows(IllegalStateException.class, stale::submit);
+        assertEquals(Integer.valueOf(1), get10(second.<Integer>rowOperation("select 1 as t")
+            .collect(singleCollector(Integer.class))
+            .submit()
+            .getCompletionStage()));
+      }
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void returnedSessionIsRolledBackAndReset() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 1)
+        .build();
+    try {
+      try (Session first = pooled.getSession()) {
+        first.operation("SET statement_timeout = '77s'").submit();
+        get10(first.operation("START TRANSACTION").submit().getCompletionStage());
+      }
+
+      try (Session second = pooled.getSession()) {
+        // a transaction left open would make now() the time it started
+        assertEquals(Boolean.TRUE, get10(second.<Boolean>rowOperation("select now() = statement_timestamp() as t")
+            .collect(singleCollector(Boolean.class))
+            .submit()
+            .getCompletionStage()));
+        assertEquals("0", get10(second.<String>rowOperation("select current_setting('statement_timeout') as t")
+            .collect(singleCollector(String.class))
+            .submit()
+            .getCompletionStage()));
+      }
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void sessionsBorrowedTogetherTakeTurns() throws Exception {
+    PgDataSource pooled = (PgDataSource) new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 2)
+        .build();
+    try {
+      CompletableFuture<List<Session>> first = pooled.borrowSessions(2, false).toCompletableFuture();
+      CompletableFuture<List<Session>> second = pooled.borrowSessions(2, false).toCompletableFuture();
+
+      List<Session> firstSessions = get10(first);
+      assertEquals(2, firstSessions.size());
+      assertFalse(second.isDone());
+
+      firstSessions.forEach(Session::close);
+      List<Session> secondSessions = get10(second);
+      assertEquals(2, secondSessions.size());
+      secondSessions.forEach(Session::close);
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void partitionedScanReadsEveryRow() throws Exception {
+    PgDataSource pooled = (PgDataSource) new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 3)
+        .build();
+    try {
+      List<Integer> ids = get10(pooled.partitionedScan("select g as id from generate_series(1, 100) g",
+          Partitioning.hash("id", 3))
+          .<Integer, List<Integer>>collectOrdered(row -> row.at("id").get(Integer.class), "id",
+              Comparator.naturalOrder(), Collectors.toList()));
+
+      assertEquals(IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toList()), ids);
+    } finally {
+      pooled.close();
+    }
+  }
+
   public enum SeedSessionProperty implements SessionProperty {
     SEED;
 
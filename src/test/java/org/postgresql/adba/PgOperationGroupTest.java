@@ -2,13 +2,17 @@ package org.postgresql.adba;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import jdk.incubator.sql2.AdbaType;
 import jdk.incubator.sql2.DataSource;
 import jdk.incubator.sql2.OperationGroup;
@@ -119,6 +123,128 @@ public class PgOperationGroupTest {
     }
   }
 
+  @Test
+  public void parallelGroupSpreadsOverPooledSessions() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 3)
+        .property(PgDataSourceProperty.POOL_VALIDATE_ON_BORROW, false)
+        .build();
+    try {
+      List<Session> warm = Arrays.asList(pooled.getSession(), pooled.getSession(), pooled.getSession());
+      warm.forEach(Session::close);
+      Thread.sleep(500); // the returned sessions are reset before they are idle
+
+      try (Session session = pooled.getSession()) {
+        OperationGroup<Integer, Set<Integer>> operationGroup = session.operationGroup();
+        Submission<Set<Integer>> sub = operationGroup
+            .parallel()
+            .independent()
+            .collect(Collectors.toSet())
+            .submit();
+        operationGroup.rowOperation("select 1/0 as t")
+            .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+        for (int i = 0; i < 3; i++) {
+          operationGroup.rowOperation("select pg_backend_pid() as t")
+              .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+        }
+        operationGroup.close();
+
+        Set<Integer> pids = sub.getCompletionStage().toCompletableFuture().get(10, SECONDS);
+        assertEquals(3, pids.size(), "the members ran on three sessions despite the failure");
+      }
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void parallelGroupStaysInTheTransaction() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 3)
+        .build();
+    try {
+      List<Session> warm = Arrays.asList(pooled.getSession(), pooled.getSession(), pooled.getSession());
+      warm.forEach(Session::close);
+      Thread.sleep(500); // the returned sessions are reset before they are idle
+
+      try (Session session = pooled.getSession()) {
+        session.operation("START TRANSACTION").submit().getCompletionStage().toCompletableFuture().get(10, SECONDS);
+
+        OperationGroup<Integer, Set<Integer>> operationGroup = session.operationGroup();
+        Submission<Set<Integer>> sub = operationGroup
+            .parallel()
+            .collect(Collectors.toSet())
+            .submit();
+        for (int i = 0; i < 3; i++) {
+          operationGroup.rowOperation("select pg_backend_pid() as t")
+              .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+        }
+        operationGroup.close();
+
+        assertEquals(1, sub.getCompletionStage().toCompletableFuture().get(10, SECONDS).size(),
+            "the members ran on the session of the transaction");
+        session.rollback().toCompletableFuture().get(10, SECONDS);
+      }
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void dependentParallelGroupFailsWithItsMember() throws Exception {
+    DataSource pooled = new PgDataSourceBuilder()
+        .url("jdbc:postgresql://" + postgres.getContainerIpAddress() + ":" + postgres.getMappedPort(5432)
+            + "/" + postgres.getDatabaseName())
+        .username(postgres.getUsername())
+        .password(postgres.getPassword())
+        .property(PgDataSourceProperty.POOL_MAX_SIZE, 2)
+        .build();
+    try (Session session = pooled.getSession()) {
+      OperationGroup<Integer, Integer> operationGroup = session.operationGroup();
+      Submission<Integer> sub = operationGroup
+          .parallel()
+          .collect(CollectorUtils.summingCollector())
+          .submit();
+      operationGroup.rowOperation("select 1 as t")
+          .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      operationGroup.rowOperation("select 1/0 as t")
+          .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      operationGroup.close();
+
+      ExecutionException failure = assertThrows(ExecutionException.class,
+          () -> sub.getCompletionStage().toCompletableFuture().get(10, SECONDS));
+      assertTrue(failure.getCause().getMessage().contains("division by zero"));
+    } finally {
+      pooled.close();
+    }
+  }
+
+  @Test
+  public void independentGroupCompletesAfterFailedLastMember() throws Exception {
+    try (Session session = ds.getSession()) {
+      OperationGroup<Integer, Integer> operationGroup = session.operationGroup();
+      Submission<Integer> sub = operationGroup
+          .independent()
+          .collect(CollectorUtils.summingCollector())
+          .submit();
+      operationGroup.rowOperation("select 2 as t")
+          .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      operationGroup.rowOperation("select 1/0 as t")
+          .collect(CollectorUtils.singleCollector(Integer.class)).submit();
+      operationGroup.close();
+
+      assertEquals(Integer.valueOf(2), sub.getCompletionStage().toCompletableFuture().get(10, SECONDS));
+    }
+  }
+
   public void emitFailure(String errorMessage) {
     fail(errorMessage);
   }
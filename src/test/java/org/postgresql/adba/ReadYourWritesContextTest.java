@@ -0,0 +1,32 @@
+package org.postgresql.adba;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ReadYourWritesContextTest {
+
+  @Test
+  public void parseAndFormat() {
+    assertEquals(0x16B374D848L, ReadYourWritesContext.parseLsn("16/B374D848"));
+    assertEquals("16/B374D848", ReadYourWritesContext.formatLsn(0x16B374D848L));
+    assertEquals("FFFFFFFF/0", ReadYourWritesContext.formatLsn(ReadYourWritesContext.parseLsn("ffffffff/0")));
+    assertThrows(IllegalArgumentException.class, () -> ReadYourWritesContext.parseLsn("16B374D848"));
+    assertThrows(IllegalArgumentException.class, () -> ReadYourWritesContext.parseLsn("16/xyz"));
+  }
+
+  @Test
+  public void advancesToTheLatestWrite() {
+    ReadYourWritesContext context = new ReadYourWritesContext();
+    assertTrue(context.isVisibleAt(0), "nothing written yet");
+
+    context.advance(ReadYourWritesContext.parseLsn("0/3000060"));
+    context.advance(ReadYourWritesContext.parseLsn("0/2000000"));
+    assertEquals("0/3000060", context.toString());
+    assertFalse(context.isVisibleAt(ReadYourWritesContext.parseLsn("0/3000000")));
+    assertTrue(context.isVisibleAt(ReadYourWritesContext.parseLsn("1/0")));
+  }
+}
@@ -0,0 +1,52 @@
+package org.postgresql.adba;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.hostchooser.HostChooser;
+import org.postgresql.adba.hostchooser.HostSpec;
+import org.postgresql.adba.hostchooser.HostStatus;
+
+public class ReplicaLagProbeTest {
+  private static final Duration RECHECK = Duration.ofMinutes(1);
+
+  private static ReplicaLagProbe.Probe probe(Boolean standby, Double lag, String replayed) {
+    ReplicaLagProbe.Probe probe = new ReplicaLagProbe.Probe();
+    probe.standby = standby;
+    probe.lag = lag;
+    probe.replayed = replayed;
+    return probe;
+  }
+
+  @Test
+  public void standbyWithoutReplayedTransactionsIsNotThePrimary() {
+    HostChooser chooser = new HostChooser();
+    HostSpec fresh = new HostSpec("fresh", 5432);
+
+    ReplicaLagProbe.report(chooser, fresh, probe(true, null, null), 5);
+
+    assertEquals(HostStatus.STANDBY_LAGGING, chooser.status(fresh, RECHECK));
+    assertFalse(chooser.hasReplayed(fresh, 1));
+  }
+
+  @Test
+  public void classifiesByRecovery() {
+    HostChooser chooser = new HostChooser();
+    HostSpec primary = new HostSpec("primary", 5432);
+    HostSpec standby = new HostSpec("standby", 5432);
+    HostSpec behind = new HostSpec("behind", 5432);
+
+    ReplicaLagProbe.report(chooser, primary, probe(false, null, null), 5);
+    ReplicaLagProbe.report(chooser, standby, probe(true, 0.0, "0/10"), 5);
+    ReplicaLagProbe.report(chooser, behind, probe(true, 60.0, "0/8"), 5);
+
+    assertEquals(HostStatus.PRIMARY, chooser.status(primary, RECHECK));
+    assertEquals(HostStatus.STANDBY, chooser.status(standby, RECHECK));
+    assertEquals(HostStatus.STANDBY_LAGGING, chooser.status(behind, RECHECK));
+    assertTrue(chooser.hasReplayed(standby, 0x10));
+    assertFalse(chooser.hasReplayed(behind, 0x10));
+  }
+}
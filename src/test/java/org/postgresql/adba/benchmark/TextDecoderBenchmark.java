@@ -0,0 +1,134 @@
+package org.postgresql.adba.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.postgresql.adba.communication.packets.parsers.TextDecoder;
+import org.postgresql.adba.communication.packets.parsers.TextParser;
+
+/**
+ * Compares parsing values in the text format from a String, the way {@link TextParser} does, with decoding them
+ * straight from the bytes of the row with {@link TextDecoder}. The String variants include creating the String, as
+ * that is part of what the decoders avoid.
+ *
+ * <p>Run with the main method from the test classpath, it's not part of the unit tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextDecoderBenchmark {
+  private final byte[] int4 = "1234567".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] int8 = "-1234567890123".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] float8 = "12345.6789".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] bool = "t".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] date = "2018-11-10".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] timestamp = "2018-04-29 20:55:57.692132".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] timestamptz = "2018-04-29 20:55:57.692132+02".getBytes(StandardCharsets.US_ASCII);
+  private final byte[] interval = "1 year 2 mons 3 days 04:05:06".getBytes(StandardCharsets.US_ASCII);
+
+  @Benchmark
+  public Object int4String() {
+    return TextParser.int4Out(string(int4), Integer.class);
+  }
+
+  @Benchmark
+  public Object int4Bytes() {
+    return TextDecoder.int4Out(int4, 0, int4.length, Integer.class);
+  }
+
+  @Benchmark
+  public Object int8String() {
+    return TextParser.int8Out(string(int8), Long.class);
+  }
+
+  @Benchmark
+  public Object int8Bytes() {
+    return TextDecoder.int8Out(int8, 0, int8.length, Long.class);
+  }
+
+  @Benchmark
+  public Object float8String() {
+    return TextParser.float8Out(string(float8), Double.class);
+  }
+
+  @Benchmark
+  public Object float8Bytes() {
+    return TextDecoder.float8Out(float8, 0, float8.length, Double.class);
+  }
+
+  @Benchmark
+  public Object boolString() {
+    return TextParser.boolOut(string(bool), Boolean.class);
+  }
+
+  @Benchmark
+  public Object boolBytes() {
+    return TextDecoder.boolOut(bool, 0, bool.length, Boolean.class);
+  }
+
+  @Benchmark
+  public Object dateString() {
+    return TextParser.dateOut(string(date), LocalDate.class);
+  }
+
+  @Benchmark
+  public Object dateBytes() {
+    return TextDecoder.dateOut(date, 0, date.length, LocalDate.class);
+  }
+
+  @Benchmark
+  public Object timestampString() {
+    return TextParser.timestampOut(string(timestamp), LocalDateTime.class);
+  }
+
+  @Benchmark
+  public Object timestampBytes() {
+    return TextDecoder.timestampOut(timestamp, 0, timestamp.length, LocalDateTime.class);
+  }
+
+  @Benchmark
+  public Object timestamptzString() {
+    return TextParser.timestampTimeZoneOut(string(timestamptz), OffsetDateTime.class);
+  }
+
+  @Benchmark
+  public Object timestamptzBytes() {
+    return TextDecoder.timestampTimeZoneOut(timestamptz, 0, timestamptz.length, OffsetDateTime.class);
+  }
+
+  @Benchmark
+  public Object intervalString() {
+    return TextParser.intervalOut(string(interval), Duration.class);
+  }
+
+  @Benchmark
+  public Object intervalBytes() {
+    return TextDecoder.intervalOut(interval, 0, interval.length, Duration.class);
+  }
+
+  private static String string(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TextDecoderBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,129 @@
+package org.postgresql.adba.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.packets.parsers.BinaryEncoder;
+
+public class ByteBufferPoolOutputStreamTest {
+
+  /**
+   * Buffers of 3 bytes, so that every length and value crosses buffers.
+   */
+  private final ByteBufferPool pool = () -> new PooledByteBuffer() {
+    private final ByteBuffer buffer = ByteBuffer.allocate(3);
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+      return buffer;
+    }
+
+    @Override
+    public void release() {
+    }
+  };
+
+  @Test
+  public void primitives() throws Exception {
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(pool);
+    out.initPacket();
+    out.writeShort(0x0102);
+    out.writeInt(0x03040506);
+    out.writeLong(0x0708090a0b0c0d0eL);
+    out.completePacket();
+
+    assertArrayEquals(new byte[] {0, 0, 0, 18, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}, written(out));
+  }
+
+  @Test
+  public void backPatchedLength() throws Exception {
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(pool);
+    out.initPacket();
+    out.write('x');
+    BinaryEncoder.TEXT.write("hello", out);
+    BinaryEncoder.INT4.write(7, out);
+    BinaryEncoder.TEXT.write(null, out);
+    out.completePacket();
+
+    assertArrayEquals(new byte[] {0, 0, 0, 26, 'x', 0, 0, 0, 5, 'h', 'e', 'l', 'l', 'o', 0, 0, 0, 4, 0, 0, 0, 7,
+        -1, -1, -1, -1}, written(out));
+  }
+
+  @Test
+  public void utf8Text() throws Exception {
+    String text = "select 'a\u00e9\u20ac\ud83d\ude00' -- \ud800 done";
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(pool);
+    out.writeText(text);
+
+    assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), written(out));
+  }
+
+  @Test
+  public void emptyTextIsNotNull() throws Exception {
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(pool);
+    BinaryEncoder.TEXT.write("", out);
+
+    assertArrayEquals(new byte[] {0, 0, 0, 0}, written(out));
+  }
+
+  @Test
+  public void append() throws Exception {
+    ByteBufferPoolOutputStream encoded = new ByteBufferPoolOutputStream(pool);
+    BinaryEncoder.TEXT.write("hello", encoded);
+
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(pool);
+    out.initPacket();
+    out.write('x');
+    out.append(encoded);
+    out.write('y');
+    out.completePacket();
+
+    assertArrayEquals(new byte[] {0, 0, 0, 15, 'x', 0, 0, 0, 5, 'h', 'e', 'l', 'l', 'o', 'y'}, written(out));
+    assertNull(encoded.getNextWrittenBuffer());
+  }
+
+  @Test
+  public void releaseReturnsUnwrittenBuffers() throws Exception {
+    AtomicInteger outstanding = new AtomicInteger();
+    ByteBufferPool counting = () -> {
+      outstanding.incrementAndGet();
+      PooledByteBuffer buffer = pool.getPooledByteBuffer();
+      return new PooledByteBuffer() {
+        @Override
+        public ByteBuffer getByteBuffer() {
+          return buffer.getByteBuffer();
+        }
+
+        @Override
+        public void release() {
+          outstanding.decrementAndGet();
+        }
+      };
+    };
+
+    ByteBufferPoolOutputStream encoded = new ByteBufferPoolOutputStream(counting);
+    BinaryEncoder.TEXT.write("hello", encoded);
+    assertEquals(3, outstanding.get());
+
+    encoded.release();
+    assertEquals(0, outstanding.get());
+    assertNull(encoded.getNextWrittenBuffer());
+  }
+
+  private static byte[] written(ByteBufferPoolOutputStream out) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (PooledByteBuffer buffer = out.getNextWrittenBuffer(); buffer != null; buffer = out.getNextWrittenBuffer()) {
+      ByteBuffer data = buffer.getByteBuffer().flip();
+      while (data.hasRemaining()) {
+        bytes.write(data.get());
+      }
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,170 @@
+package org.postgresql.adba.communication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.PgSessionProperty;
+import org.postgresql.adba.buffer.DefaultByteBufferPool;
+import org.postgresql.adba.execution.DefaultNioLoop;
+import org.postgresql.adba.execution.NioLoop;
+import org.postgresql.adba.execution.NioService;
+import org.postgresql.adba.execution.NioServiceFactory;
+import org.postgresql.adba.hostchooser.HostChooser;
+import org.postgresql.adba.util.PropertyHolder;
+
+public class NetworkConnectionTest {
+
+  private final DefaultNioLoop loop = new DefaultNioLoop();
+
+  /**
+   * Channels of the connect attempts, in the order started, with when each started.
+   */
+  private final List<SelectableChannel> channels = new CopyOnWriteArrayList<>();
+  private final List<Long> started = new CopyOnWriteArrayList<>();
+
+  private final NioLoop recording = new NioLoop() {
+    @Override
+    public NioService registerNioService(SelectableChannel channel, NioServiceFactory factory) throws IOException {
+      channels.add(channel);
+      started.add(System.nanoTime());
+      return loop.registerNioService(channel, factory);
+    }
+  };
+
+  private final List<Closeable> closeables = new ArrayList<>();
+
+  public NetworkConnectionTest() {
+    new Thread(loop).start();
+  }
+
+  @AfterEach
+  public void close() throws IOException {
+    for (Closeable closeable : closeables) {
+      closeable.close();
+    }
+    loop.close();
+  }
+
+  private int listening() throws IOException {
+    ServerSocketChannel server = ServerSocketChannel.open();
+    closeables.add(server);
+    server.bind(new InetSocketAddress("127.0.0.1", 0));
+    return ((InetSocketAddress) server.getLocalAddress()).getPort();
+  }
+
+  private int refusing() throws IOException {
+    try (ServerSocketChannel server = ServerSocketChannel.open()) {
+      server.bind(new InetSocketAddress("127.0.0.1", 0));
+      return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+  }
+
+  /**
+   * A port whose accept queue is full, so that connecting neither completes nor fails.
+   */
+  private int hanging() throws Exception {
+    ServerSocketChannel server = ServerSocketChannel.open();
+    closeables.add(server);
+    server.bind(new InetSocketAddress("127.0.0.1", 0), 1);
+    InetSocketAddress address = (InetSocketAddress) server.getLocalAddress();
+    for (int i = 0; i < 2; i++) {
+      SocketChannel filler = SocketChannel.open();
+      closeables.add(filler);
+      filler.configureBlocking(false);
+      filler.connect(address);
+    }
+    Thread.sleep(100);
+    return address.getPort();
+  }
+
+  private CompletableFuture<NetworkConnectContext> connect(int delayMillis, int... ports) {
+    StringBuilder hosts = new StringBuilder();
+    for (int port : ports) {
+      hosts.append(hosts.length() == 0 ? "" : ",").append("127.0.0.1:").append(port);
+    }
+    PropertyHolder properties = new PropertyHolder();
+    properties.addAllPgDefaults();
+    properties.sessionPropertyFromSessionBuilder(PgSessionProperty.HOST, hosts.toString());
+    properties.sessionPropertyFromSessionBuilder(PgSessionProperty.CONNECT_ATTEMPT_DELAY, delayMillis);
+
+    CompletableFuture<NetworkConnectContext> connected = new CompletableFuture<>();
+    NetworkConnection connection = new NetworkConnection(properties, null, recording, new DefaultByteBufferPool(),
+        null, new HostChooser());
+    connection.sendNetworkConnect(() -> new NetworkConnect() {
+      @Override
+      public NetworkRequest finishConnect(NetworkConnectContext context) {
+        connected.complete(context);
+        return null;
+      }
+
+      @Override
+      public NetworkResponse handleException(Throwable ex) {
+        connected.completeExceptionally(ex);
+        return null;
+      }
+    });
+    return connected;
+  }
+
+  private static int port(NetworkConnectContext context) {
+    return context.getCandidateHost().getHost().getPort();
+  }
+
+  @Test
+  public void fallsThroughToTheNextAddressOnFailure() throws Exception {
+    int listening = listening();
+
+    // without waiting for the stagger delay
+    NetworkConnectContext context = connect(60_000, refusing(), listening).get(5, TimeUnit.SECONDS);
+
+    assertEquals(listening, port(context));
+    assertEquals(2, channels.size());
+  }
+
+  @Test
+  public void staggersTheNextAttempt() throws Exception {
+    int listening = listening();
+
+    NetworkConnectContext context = connect(300, hanging(), listening).get(5, TimeUnit.SECONDS);
+
+    assertEquals(listening, port(context));
+    assertEquals(2, started.size());
+    long stagger = TimeUnit.NANOSECONDS.toMillis(started.get(1) - started.get(0));
+    assertTrue(stagger >= 250, "next attempt started after " + stagger + "ms");
+  }
+
+  @Test
+  public void closesTheLosingChannels() throws Exception {
+    int listening = listening();
+
+    NetworkConnectContext context = connect(50, hanging(), hanging(), listening).get(5, TimeUnit.SECONDS);
+
+    assertEquals(listening, port(context));
+    assertEquals(3, channels.size());
+    assertFalse(channels.get(0).isOpen());
+    assertFalse(channels.get(1).isOpen());
+    assertTrue(context.getSocketChannel().isOpen());
+  }
+
+  @Test
+  public void addressLiteralsNeedNoLookup() {
+    assertTrue(NetworkConnection.isAddressLiteral("127.0.0.1"));
+    assertTrue(NetworkConnection.isAddressLiteral("::1"));
+    assertFalse(NetworkConnection.isAddressLiteral("localhost"));
+    assertFalse(NetworkConnection.isAddressLiteral("db1.example.com"));
+  }
+}
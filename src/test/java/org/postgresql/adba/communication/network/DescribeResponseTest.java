@@ -0,0 +1,78 @@
+package org.postgresql.adba.communication.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.ResultFormatPolicy;
+import org.postgresql.adba.communication.packets.parts.ColumnTypes;
+import org.postgresql.adba.communication.packets.parts.TypeRegistry;
+import org.postgresql.adba.util.PropertyHolder;
+
+public class DescribeResponseTest {
+
+  private static NetworkReadContext reading(BeFrame frame, TypeRegistry types) {
+    ResultFormatPolicy policy = new ResultFormatPolicy(new PropertyHolder());
+    return (NetworkReadContext) Proxy.newProxyInstance(NetworkReadContext.class.getClassLoader(),
+        new Class<?>[] {NetworkReadContext.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getBeFrame":
+              return frame;
+            case "getTypeRegistry":
+              return types;
+            case "getResultFormatPolicy":
+              return policy;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  /**
+   * Row description of a single column named t of the type.
+   */
+  private static BeFrame rowDescription(int oid) {
+    return new BeFrame((byte) 'T', new byte[] {0x00, 0x01, 0x74, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+        (byte) (oid >> 24), (byte) (oid >> 16), (byte) (oid >> 8), (byte) oid, 0x00, 0x04,
+        (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x00, 0x00});
+  }
+
+  private static Query describe(BeFrame frame, TypeRegistry types) throws Exception {
+    Portal portal = new Portal(null);
+    Query query = new Query();
+    portal.setQuery(query);
+    new PortalRecycler().describeResponses.obtain().init(portal).read(reading(frame, types));
+    return query;
+  }
+
+  @Test
+  public void unknownTypesAreDescribedAgainUntilTheTypesAreLoaded() throws Exception {
+    TypeRegistry types = new TypeRegistry(true);
+    assertTrue(types.startLoading());
+
+    Query loading = describe(rowDescription(16400), types);
+    assertEquals(ColumnTypes.OTHER, loading.getRowDescription().getDescriptions()[0].getColumnType());
+    assertFalse(loading.isDescribed());
+
+    types.loaded(List.of(new String[] {"23", "b", "N", "0", "0", "1007"},
+        new String[] {"16400", "d", "N", "23", "0", "0"}));
+
+    Query loaded = describe(rowDescription(16400), types);
+    assertEquals(ColumnTypes.INT4, loaded.getRowDescription().getDescriptions()[0].getColumnType());
+    assertTrue(loaded.isDescribed());
+  }
+
+  @Test
+  public void builtinTypesNeedNotWaitForTheLoad() throws Exception {
+    TypeRegistry types = new TypeRegistry(true);
+    assertTrue(types.startLoading());
+
+    assertTrue(describe(rowDescription(23), types).isDescribed());
+    assertTrue(describe(rowDescription(16400), new TypeRegistry(false)).isDescribed());
+  }
+}
@@ -0,0 +1,32 @@
+package org.postgresql.adba.communication.network;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class PortalRecyclerTest {
+  @Test
+  public void reusesRecycledSteps() {
+    PortalRecycler recycler = new PortalRecycler();
+    BindRequest<?> first = recycler.bindRequests.obtain();
+    BindRequest<?> second = recycler.bindRequests.obtain();
+    assertNotSame(first, second);
+
+    first.recycleRequest();
+
+    assertNull(first.portal);
+    assertSame(first, recycler.bindRequests.obtain());
+  }
+
+  @Test
+  public void responsesAreRecycledSeparately() {
+    PortalRecycler recycler = new PortalRecycler();
+    ExecuteResponse response = recycler.executeResponses.obtain();
+    response.recycleResponse();
+
+    assertSame(response, recycler.executeResponses.obtain());
+    assertNotSame(response, recycler.executeResponses.obtain());
+  }
+}
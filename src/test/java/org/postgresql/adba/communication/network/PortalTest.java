@@ -0,0 +1,57 @@
+package org.postgresql.adba.communication.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import jdk.incubator.sql2.Result;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.packets.CommandComplete;
+import org.postgresql.adba.operations.helpers.ParameterHolder;
+import org.postgresql.adba.submissions.ArrayCountSubmission;
+import org.postgresql.adba.submissions.CloseSubmission;
+
+public class PortalTest {
+
+  private final List<Runnable> queued = new ArrayList<>();
+
+  private static CommandComplete commandComplete(String tag) {
+    return new CommandComplete((tag + "\0").getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void runQueued() {
+    List<Runnable> tasks = new ArrayList<>(queued);
+    queued.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @Test
+  public void arrayCountFinishesOnTheCompletionExecutor() throws Exception {
+    ArrayCountSubmission<List<Result.RowCount>> submission = new ArrayCountSubmission<>(() -> false, t -> { },
+        new ParameterHolder(), "insert into t values ($1)", null);
+    CompletableFuture<List<Result.RowCount>> stage = submission.getCompletionStage().toCompletableFuture();
+    Portal portal = new Portal(submission, queued::add, false, 100);
+
+    assertFalse(portal.hasMoreToExecute());
+    portal.commandComplete(commandComplete("INSERT 0 3"), null);
+    assertFalse(stage.isDone());
+    assertEquals(1, queued.size());
+
+    runQueued();
+    assertTrue(stage.isDone());
+    assertEquals(3, stage.get().get(0).getCount());
+  }
+
+  @Test
+  public void closeFinishesOnTheCompletionExecutor() {
+    Portal portal = new Portal(new CloseSubmission(() -> false, t -> { }), queued::add, false, 100);
+
+    portal.commandComplete(commandComplete("CLOSE"), null);
+
+    assertEquals(1, queued.size());
+  }
+}
@@ -0,0 +1,38 @@
+package org.postgresql.adba.communication.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.BeFrame;
+import org.postgresql.adba.communication.NetworkReadContext;
+import org.postgresql.adba.communication.packets.ReadyForQuery.TransactionStatus;
+
+public class TransactionStatusRequestTest {
+
+  private static NetworkReadContext reading(BeFrame frame) {
+    return (NetworkReadContext) Proxy.newProxyInstance(NetworkReadContext.class.getClassLoader(),
+        new Class<?>[] {NetworkReadContext.class}, (proxy, method, args) -> frame);
+  }
+
+  @Test
+  public void completesWithTheStatusOfTheReadyForQuery() throws Exception {
+    TransactionStatusRequest idle = new TransactionStatusRequest();
+    assertNull(idle.read(reading(new BeFrame((byte) 'Z', new byte[] {'I'}))));
+    assertEquals(TransactionStatus.IDLE, idle.getStatus().toCompletableFuture().get());
+
+    TransactionStatusRequest open = new TransactionStatusRequest();
+    open.read(reading(new BeFrame((byte) 'Z', new byte[] {'T'})));
+    assertEquals(TransactionStatus.OPEN, open.getStatus().toCompletableFuture().get());
+  }
+
+  @Test
+  public void failsWithTheConnection() {
+    TransactionStatusRequest request = new TransactionStatusRequest();
+    request.handleException(new IllegalStateException("expected"));
+    assertThrows(ExecutionException.class, () -> request.getStatus().toCompletableFuture().get());
+  }
+}
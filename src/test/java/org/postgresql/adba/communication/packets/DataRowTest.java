@@ -0,0 +1,66 @@
+package org.postgresql.adba.communication.packets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jdk.incubator.sql2.Result;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.communication.network.Query;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+
+public class DataRowTest {
+  private static final RowDescription DESCRIPTION = new RowDescription(new ColumnDescription[] {
+      new ColumnDescription("Id", 0, (short) 0, 23, (short) 4, -1, (short) 0),
+      new ColumnDescription("name", 0, (short) 0, 25, (short) -1, -1, (short) 0),
+      new ColumnDescription("extra", 0, (short) 0, 25, (short) -1, -1, (short) 0)});
+
+  // three columns: '42', 'abc' and null
+  private static final byte[] PAYLOAD = new byte[] {0x00, 0x03,
+      0x00, 0x00, 0x00, 0x02, '4', '2',
+      0x00, 0x00, 0x00, 0x03, 'a', 'b', 'c',
+      (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+  @Test
+  public void readByIndexAndName() {
+    DataRow row = new DataRow(PAYLOAD, DESCRIPTION, 0, new Query());
+
+    assertEquals(Integer.valueOf(42), row.at(1).get(Integer.class));
+    assertEquals("abc", row.at("NAME").get(String.class));
+    assertEquals(Integer.valueOf(42), row.at("id").get(Integer.class));
+    assertNull(row.at(-1).get(String.class));
+    assertEquals(-1, row.length());
+    assertEquals(0, row.numberOfValuesRemaining());
+    assertThrows(IllegalArgumentException.class, () -> row.at("missing"));
+    assertThrows(IllegalArgumentException.class, () -> row.at(4));
+  }
+
+  @Test
+  public void primitiveGetters() {
+    DataRow row = new DataRow(PAYLOAD, DESCRIPTION, 0, new Query());
+
+    assertEquals(42, row.at("id").getInt());
+    assertEquals(42L, row.getLong());
+    assertEquals(42.0, row.getDouble());
+    assertTrue(row.at(-1).isNull());
+    assertThrows(IllegalStateException.class, row::getLong);
+  }
+
+  @Test
+  public void slice() {
+    DataRow row = new DataRow(PAYLOAD, DESCRIPTION, 0, new Query());
+
+    Result.Column slice = row.at(2).slice(2);
+    assertEquals(1, slice.index());
+    assertEquals(2, slice.absoluteIndex());
+    assertEquals("abc", slice.get(String.class));
+    assertEquals(1, slice.numberOfValuesRemaining());
+    assertThrows(IllegalArgumentException.class, () -> slice.at("id"));
+
+    Result.Column before = row.at(3).slice(-2);
+    assertEquals(1, before.absoluteIndex());
+    assertEquals("abc", before.at(-1).get(String.class));
+    assertEquals(3, row.absoluteIndex());
+  }
+}
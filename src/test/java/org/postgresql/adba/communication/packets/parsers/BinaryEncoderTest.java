@@ -0,0 +1,102 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.buffer.ByteBufferPoolOutputStream;
+import org.postgresql.adba.buffer.DefaultByteBufferPool;
+import org.postgresql.adba.buffer.PooledByteBuffer;
+
+public class BinaryEncoderTest {
+  @Test
+  public void uuid() throws Exception {
+    UUID uuid = UUID.fromString("a81bc81b-dead-4e5d-abff-90865d1e13b1");
+    byte[] bytes = encode(BinaryEncoder.UUID, uuid);
+
+    assertEquals(uuid, BinaryParser.uuid_send(bytes, 4, 20, UUID.class));
+  }
+
+  @Test
+  public void numeric() throws Exception {
+    // ndigits, weight, sign, dscale, digits
+    assertArrayEquals(shorts(3, 1, 0, 3, 1, 2345, 6780), payload(BinaryEncoder.NUMERIC, new BigDecimal("12345.678")));
+    assertArrayEquals(shorts(1, -1, 0x4000, 3, 10), payload(BinaryEncoder.NUMERIC, new BigDecimal("-0.001")));
+    assertArrayEquals(shorts(1, 1, 0, 0, 1), payload(BinaryEncoder.NUMERIC, new BigDecimal("1E+4")));
+    assertArrayEquals(shorts(0, 0, 0, 2), payload(BinaryEncoder.NUMERIC, new BigDecimal("0.00")));
+    assertArrayEquals(shorts(2, 4, 0, 0, 922, 3372), payload(BinaryEncoder.NUMERIC, 922_3372_0000_0000_0000L));
+    assertArrayEquals(shorts(0, 0, 0xC000, 0), payload(BinaryEncoder.NUMERIC, Double.NaN));
+    assertArrayEquals(shorts(0, 0, 0xD000, 0), payload(BinaryEncoder.NUMERIC, Double.POSITIVE_INFINITY));
+    assertArrayEquals(shorts(0, 0, 0xF000, 0), payload(BinaryEncoder.NUMERIC, Float.NEGATIVE_INFINITY));
+    assertArrayEquals(shorts(0, 0, 0xC000, 0), payload(BinaryEncoder.NUMERIC, Float.NaN));
+  }
+
+  @Test
+  public void dateAndTimestamp() throws Exception {
+    LocalDate date = LocalDate.of(2018, 11, 10);
+    assertEquals(date, BinaryParser.date_send(encode(BinaryEncoder.DATE, date), 4, 8, LocalDate.class));
+
+    LocalDateTime timestamp = LocalDateTime.of(1999, 4, 29, 20, 55, 57, 692132999);
+    assertEquals(timestamp.withNano(692132000),
+        BinaryParser.timestamp_send(encode(BinaryEncoder.TIMESTAMP, timestamp), 4, 12, LocalDateTime.class));
+
+    OffsetDateTime timestamptz = OffsetDateTime.of(timestamp, ZoneOffset.ofHours(2));
+    assertEquals(timestamptz.withNano(692132000).withOffsetSameInstant(ZoneOffset.UTC),
+        BinaryParser.timestamptz_send(encode(BinaryEncoder.TIMESTAMPTZ, timestamptz), 4, 12, OffsetDateTime.class));
+  }
+
+  @Test
+  public void array() throws Exception {
+    ParameterEncoder encoder = BinaryEncoder.array(1700, BinaryEncoder.NUMERIC);
+    ByteBuffer bytes = ByteBuffer.wrap(encode(encoder, new BigDecimal[] {BigDecimal.ONE, null}));
+
+    assertEquals(bytes.limit() - 4, bytes.getInt()); // length of the array
+    assertEquals(1, bytes.getInt()); // dimensions
+    assertEquals(1, bytes.getInt()); // has nulls
+    assertEquals(1700, bytes.getInt());
+    assertEquals(2, bytes.getInt()); // length of dimension
+    assertEquals(1, bytes.getInt()); // lower bound
+    assertEquals(10, bytes.getInt()); // length of back-patched element
+    bytes.position(bytes.position() + 10);
+    assertEquals(-1, bytes.getInt());
+    assertEquals(0, bytes.remaining());
+  }
+
+  private static byte[] payload(ParameterEncoder encoder, Object value) throws Exception {
+    byte[] bytes = encode(encoder, value);
+    assertEquals(bytes.length - 4, ByteBuffer.wrap(bytes).getInt());
+    byte[] payload = new byte[bytes.length - 4];
+    System.arraycopy(bytes, 4, payload, 0, payload.length);
+    return payload;
+  }
+
+  private static byte[] shorts(int... values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * 2);
+    for (int value : values) {
+      buffer.putShort((short) value);
+    }
+    return buffer.array();
+  }
+
+  private static byte[] encode(ParameterEncoder encoder, Object value) throws Exception {
+    ByteBufferPoolOutputStream out = new ByteBufferPoolOutputStream(new DefaultByteBufferPool());
+    encoder.write(value, out);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (PooledByteBuffer buffer = out.getNextWrittenBuffer(); buffer != null; buffer = out.getNextWrittenBuffer()) {
+      ByteBuffer data = buffer.getByteBuffer().flip();
+      while (data.hasRemaining()) {
+        bytes.write(data.get());
+      }
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,96 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class BinaryParserTest {
+  @Test
+  public void int4send() {
+    byte[] bytes = new byte[] {0x00, 0x00, 0x01, 0x00};
+
+    assertEquals(256, BinaryParser.int4send(bytes, 0, 4, Integer.class));
+    assertEquals(256L, BinaryParser.int4send(bytes, 0, 4, Long.class));
+  }
+
+  @Test
+  public void int8sendNegative() {
+    byte[] bytes = new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+        (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xfe};
+
+    assertEquals(-2L, BinaryParser.int8send(bytes, 0, 8, Long.class));
+  }
+
+  @Test
+  public void float8send() {
+    byte[] bytes = new byte[] {0x40, 0x09, 0x21, (byte) 0xfb, 0x54, 0x44, 0x2d, 0x18};
+
+    assertEquals(Math.PI, BinaryParser.float8send(bytes, 0, 8, Double.class));
+  }
+
+  @Test
+  public void uuidSend() {
+    UUID uuid = UUID.fromString("a81bc81b-dead-4e5d-abff-90865d1e13b1");
+    byte[] bytes = new byte[16];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (uuid.getMostSignificantBits() >>> (56 - i * 8));
+      bytes[i + 8] = (byte) (uuid.getLeastSignificantBits() >>> (56 - i * 8));
+    }
+
+    assertEquals(uuid, BinaryParser.uuid_send(bytes, 0, 16, UUID.class));
+  }
+
+  @Test
+  public void dateSend() {
+    byte[] bytes = new byte[] {0x00, 0x00, 0x1a, (byte) 0xe8}; // 6888 days after 2000-01-01
+
+    assertEquals(LocalDate.of(2018, 11, 10), BinaryParser.date_send(bytes, 0, 4, LocalDate.class));
+  }
+
+  @Test
+  public void timestampSend() {
+    LocalDateTime expected = LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692132000);
+    long micros = ChronoUnit.MICROS.between(LocalDateTime.of(2000, 1, 1, 0, 0), expected);
+    byte[] bytes = new byte[8];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (micros >>> (56 - i * 8));
+    }
+
+    assertEquals(expected, BinaryParser.timestamp_send(bytes, 0, 8, LocalDateTime.class));
+    assertEquals(expected.toLocalTime(), BinaryParser.timestamp_send(bytes, 0, 8, LocalTime.class));
+    assertEquals(expected.atOffset(ZoneOffset.UTC), BinaryParser.timestamptz_send(bytes, 0, 8, OffsetDateTime.class));
+  }
+
+  @Test
+  public void timestamptzSendMatchesText() {
+    OffsetDateTime instant = OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 692132000, ZoneOffset.ofHours(2));
+    long micros = ChronoUnit.MICROS.between(LocalDateTime.of(2000, 1, 1, 0, 0),
+        instant.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    byte[] bytes = new byte[8];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (micros >>> (56 - i * 8));
+    }
+    String text = "2018-04-29 20:55:57.692132+02";
+    byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+
+    Object binary = BinaryParser.timestamptz_send(bytes, 0, 8, OffsetDateTime.class);
+    assertEquals(binary, TextParser.timestampTimeZoneOut(text, OffsetDateTime.class));
+    assertEquals(binary, TextDecoder.timestampTimeZoneOut(textBytes, 0, textBytes.length, OffsetDateTime.class));
+  }
+
+  @Test
+  public void timestampSendInfinity() {
+    byte[] bytes = new byte[] {0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+        (byte) 0xff};
+
+    assertEquals(LocalDateTime.MAX, BinaryParser.timestamp_send(bytes, 0, 8, LocalDateTime.class));
+  }
+}
@@ -0,0 +1,150 @@
+package org.postgresql.adba.communication.packets.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.util.ByteRangeFunction;
+
+public class TextDecoderTest {
+  @Test
+  public void parseLong() {
+    assertEquals(0L, parseLong("0"));
+    assertEquals(-42L, parseLong("-42"));
+    assertEquals(Long.MAX_VALUE, parseLong("9223372036854775807"));
+    assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808"));
+    assertThrows(NumberFormatException.class, () -> parseLong("9223372036854775808"));
+    assertThrows(NumberFormatException.class, () -> parseLong("1.5"));
+    assertThrows(NumberFormatException.class, () -> parseLong("-"));
+  }
+
+  @Test
+  public void parseDouble() {
+    for (String in : new String[] {"0", "-1.5", "3.141592653589793", "1e+300", "0.1", "123456.789012345", "NaN",
+        "-Infinity", "1.7976931348623157e+308", "12345678901234567890"}) {
+      assertEquals(Double.parseDouble(in), TextDecoder.parseDouble(bytes(in), 1, in.length() + 1), in);
+    }
+  }
+
+  @Test
+  public void parseBoolean() {
+    assertTrue(TextDecoder.parseBoolean(bytes("t"), 1, 2));
+    assertFalse(TextDecoder.parseBoolean(bytes("f"), 1, 2));
+  }
+
+  @Test
+  public void parseEpochMicros() {
+    assertEquals(0L, parseEpochMicros("1970-01-01"));
+    assertEquals(micros(LocalDateTime.of(2018, 4, 29, 20, 55, 57, 692132000)),
+        parseEpochMicros("2018-04-29 20:55:57.692132"));
+    assertEquals(micros(LocalDateTime.of(2018, 4, 29, 20, 55, 57, 500000000)), parseEpochMicros("2018-04-29 20:55:57.5"));
+    assertEquals(micros(LocalDateTime.of(1900, 2, 28, 23, 59, 59)), parseEpochMicros("1900-02-28 23:59:59"));
+    assertEquals(micros(OffsetDateTime.of(2018, 4, 29, 20, 55, 57, 0, ZoneOffset.ofHours(2)).toLocalDateTime()
+        .minusHours(2)), parseEpochMicros("2018-04-29 20:55:57+02"));
+    assertEquals(micros(LocalDateTime.of(2018, 4, 29, 20, 55, 57).plusHours(5).plusMinutes(30)),
+        parseEpochMicros("2018-04-29 20:55:57-05:30"));
+    assertEquals(Long.MAX_VALUE, parseEpochMicros("infinity"));
+    assertEquals(Long.MIN_VALUE, parseEpochMicros("-infinity"));
+  }
+
+  @Test
+  public void decodersMatchTextParser() {
+    assertSame("t", TextParser::boolOut, TextDecoder::boolOut, Boolean.class);
+    assertSame("-32768", TextParser::int2Out, TextDecoder::int2Out, Short.class);
+    assertSame("-32768", TextParser::int2Out, TextDecoder::int2Out, Long.class);
+    assertSame("2147483647", TextParser::int4Out, TextDecoder::int4Out, Integer.class);
+    assertSame("12", TextParser::int4Out, TextDecoder::int4Out, Short.class);
+    assertSame("-9223372036854775808", TextParser::int8Out, TextDecoder::int8Out, Long.class);
+    assertSame("4294967295", TextParser::oidOut, TextDecoder::oidOut, Long.class);
+    assertSame("-1.25e-05", TextParser::float8Out, TextDecoder::float8Out, Double.class);
+    assertSame("2018-11-10", TextParser::dateOut, TextDecoder::dateOut, LocalDate.class);
+    assertSame("13:14:15", TextParser::timeOut, TextDecoder::timeOut, LocalTime.class);
+    assertSame("13:14:15.123456", TextParser::timeOut, TextDecoder::timeOut, LocalTime.class);
+    assertSame("2018-04-29 20:55:57.692132", TextParser::timestampOut, TextDecoder::timestampOut, LocalDateTime.class);
+    assertSame("2018-04-29 20:55:57.692132", TextParser::timestampOut, TextDecoder::timestampOut, LocalTime.class);
+    assertSame("1969-12-31 23:59:59", TextParser::timestampOut, TextDecoder::timestampOut, LocalDateTime.class);
+    assertSame("2018-04-29 20:55:57+02", TextParser::timestampTimeZoneOut, TextDecoder::timestampTimeZoneOut,
+        OffsetDateTime.class);
+    assertSame("2018-04-29 20:55:57.123456-05", TextParser::timestampTimeZoneOut, TextDecoder::timestampTimeZoneOut,
+        OffsetDateTime.class);
+    assertSame("1 year 2 mons 3 days 04:05:06", TextParser::intervalOut, TextDecoder::intervalOut, Duration.class);
+    assertSame("-1 days +02:03:00", TextParser::intervalOut, TextDecoder::intervalOut, Duration.class);
+    assertSame("-123:00:00", TextParser::intervalOut, TextDecoder::intervalOut, Duration.class);
+    assertSame("5 days", TextParser::intervalOut, TextDecoder::intervalOut, Duration.class);
+    assertSame("00:00:00", TextParser::intervalOut, TextDecoder::intervalOut, Duration.class);
+  }
+
+  @Test
+  public void unusualValuesFallBack() {
+    assertEquals(LocalDateTime.of(2018, 4, 29, 20, 55, 57, 500000000),
+        TextDecoder.timestampOut(bytes("2018-04-29 20:55:57.5"), 1, 22, LocalDateTime.class));
+    assertEquals(OffsetDateTime.of(2018, 4, 29, 15, 25, 57, 0, ZoneOffset.UTC),
+        TextDecoder.timestampTimeZoneOut(bytes("2018-04-29 20:55:57+05:30"), 1, 26, OffsetDateTime.class));
+    assertEquals(Duration.ofMillis(1500), TextDecoder.intervalOut(bytes("00:00:01.5"), 1, 11, Duration.class));
+    assertEquals(Duration.ofSeconds(-3), TextDecoder.intervalOut(bytes("@ 3 secs ago"), 1, 13, Duration.class));
+  }
+
+  @Test
+  public void outOfRangeDatesFallBack() {
+    assertThrows(DateTimeParseException.class, () -> TextDecoder.dateOut(bytes("2018-13-01"), 1, 11, LocalDate.class));
+    assertThrows(DateTimeParseException.class, () -> TextDecoder.dateOut(bytes("2018-04-00"), 1, 11, LocalDate.class));
+    assertSame("2018-02-29", TextParser::dateOut, TextDecoder::dateOut, LocalDate.class);
+    assertSame("2018-02-30 12:00:00", TextParser::timestampOut, TextDecoder::timestampOut, LocalDateTime.class);
+    assertEquals(LocalDate.of(2016, 2, 29), TextDecoder.dateOut(bytes("2016-02-29"), 1, 11, LocalDate.class));
+  }
+
+  @Test
+  public void beforeChristFallsBack() {
+    assertEquals(LocalDate.of(-43, 3, 15), TextDecoder.dateOut(bytes("0044-03-15 BC"), 1, 14, LocalDate.class));
+    assertEquals(LocalDateTime.of(0, 2, 29, 12, 0, 0, 500000000),
+        TextDecoder.timestampOut(bytes("0001-02-29 12:00:00.5 BC"), 1, 25, LocalDateTime.class));
+    assertEquals(OffsetDateTime.of(-43, 3, 15, 11, 6, 32, 0, ZoneOffset.UTC),
+        TextDecoder.timestampTimeZoneOut(bytes("0044-03-15 12:00:00+00:53:28 BC"), 1, 32, OffsetDateTime.class));
+    assertEquals(micros(LocalDateTime.of(-43, 3, 15, 0, 0)), parseEpochMicros("0044-03-15 BC"));
+    assertEquals(micros(LocalDateTime.of(-43, 3, 15, 12, 0)), parseEpochMicros("0044-03-15 12:00:00 BC"));
+    assertEquals(micros(LocalDateTime.of(-43, 3, 15, 10, 0)), parseEpochMicros("0044-03-15 12:00:00+02 BC"));
+  }
+
+  @Test
+  public void dateOnlyFallsBack() {
+    assertEquals(micros(LocalDateTime.of(2018, 11, 10, 0, 0)), parseEpochMicros("2018-11-10"));
+    assertEquals(micros(LocalDateTime.of(-1, 1, 1, 0, 0)), parseEpochMicros("0002-01-01 BC"));
+    assertThrows(DateTimeParseException.class, () -> parseEpochMicros("2018-11-1x"));
+  }
+
+  private static void assertSame(String in, BiFunction<String, Class<?>, Object> parser, ByteRangeFunction<Object> decoder,
+      Class<?> requestedClass) {
+    assertEquals(parser.apply(in, requestedClass), decoder.apply(bytes(in), 1, in.length() + 1, requestedClass), in);
+  }
+
+  private static long parseLong(String in) {
+    return TextDecoder.parseLong(bytes(in), 1, in.length() + 1);
+  }
+
+  private static long parseEpochMicros(String in) {
+    return TextDecoder.parseEpochMicros(bytes(in), 1, in.length() + 1);
+  }
+
+  private static long micros(LocalDateTime ldt) {
+    return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), ldt);
+  }
+
+  /**
+   * surrounds the value with other bytes, to check that the decoders stay within the range.
+   */
+  private static byte[] bytes(String in) {
+    return ("x" + in + "9").getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,73 @@
+package org.postgresql.adba.communication.packets.parts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class TypeRegistryTest {
+  @Test
+  public void builtinLookup() {
+    assertEquals(ColumnTypes.INT4, ColumnTypes.lookup(23));
+    assertEquals(ColumnTypes._REGROLE, ColumnTypes.lookup(4097));
+    assertEquals(ColumnTypes.OTHER, ColumnTypes.lookup(0));
+    assertEquals(ColumnTypes.OTHER, ColumnTypes.lookup(-5));
+    assertEquals(ColumnTypes.OTHER, ColumnTypes.lookup(16385));
+  }
+
+  @Test
+  public void resolveCustomTypes() {
+    TypeRegistry instance = new TypeRegistry(true);
+    assertTrue(instance.startLoading());
+    assertFalse(instance.startLoading());
+    assertFalse(instance.isSettled());
+
+    instance.loaded(List.of(
+        row(23, "b", "N", 0, 0, 1007),
+        row(25, "b", "S", 0, 0, 1009),
+        row(16400, "d", "N", 23, 0, 16401), // domain over int4
+        row(16401, "b", "A", 0, 16400, 0), // array of the domain
+        row(16402, "e", "E", 0, 0, 16403), // enum
+        row(16403, "b", "A", 0, 16402, 0), // array of the enum
+        row(16404, "b", "S", 0, 0, 16405), // citext
+        row(16406, "b", "U", 0, 0, 16407), // hstore
+        row(16408, "d", "N", 16400, 0, 0))); // domain over a domain
+
+    assertEquals(ColumnTypes.INT4, instance.lookup(16400));
+    assertEquals(ColumnTypes._INT4, instance.lookup(16401));
+    assertEquals(ColumnTypes.TEXT, instance.lookup(16402));
+    assertEquals(ColumnTypes._TEXT, instance.lookup(16403));
+    assertEquals(ColumnTypes.TEXT, instance.lookup(16404));
+    assertEquals(ColumnTypes.OTHER, instance.lookup(16406));
+    assertEquals(ColumnTypes.INT4, instance.lookup(16408));
+    assertEquals(ColumnTypes.BOOL, instance.lookup(16));
+    assertTrue(instance.isSettled());
+  }
+
+  @Test
+  public void loadFailedLetsTheNextSessionLoad() {
+    TypeRegistry instance = new TypeRegistry(true);
+    assertTrue(instance.startLoading());
+    instance.loadFailed(new IllegalStateException("permission denied for table pg_type"));
+
+    assertEquals(ColumnTypes.OTHER, instance.lookup(16400));
+    assertFalse(instance.isSettled());
+    assertTrue(instance.startLoading());
+  }
+
+  @Test
+  public void disabled() {
+    TypeRegistry instance = new TypeRegistry(false);
+
+    assertFalse(instance.startLoading());
+    assertEquals(ColumnTypes.OTHER, instance.lookup(16400));
+    assertTrue(instance.isSettled());
+  }
+
+  private static String[] row(Object... values) {
+    return Stream.of(values).map(Object::toString).toArray(String[]::new);
+  }
+}
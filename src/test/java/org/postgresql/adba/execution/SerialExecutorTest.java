@@ -0,0 +1,50 @@
+package org.postgresql.adba.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class SerialExecutorTest {
+  @Test
+  public void runsTasksInOrder() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      SerialExecutor executor = new SerialExecutor(pool);
+      List<Integer> ran = new ArrayList<>();
+      CountDownLatch done = new CountDownLatch(1000);
+      for (int i = 0; i < 1000; i++) {
+        int task = i;
+        executor.execute(() -> {
+          ran.add(task);
+          done.countDown();
+        });
+      }
+
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(i, (int) ran.get(i));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void continuesAfterFailingTask() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    SerialExecutor executor = new SerialExecutor(Runnable::run);
+    executor.execute(() -> {
+      throw new IllegalStateException("expected");
+    });
+    executor.execute(done::countDown);
+
+    assertTrue(done.await(1, TimeUnit.SECONDS));
+  }
+}
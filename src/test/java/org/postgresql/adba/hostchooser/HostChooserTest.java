@@ -0,0 +1,109 @@
+package org.postgresql.adba.hostchooser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class HostChooserTest {
+  private static final Duration RECHECK = Duration.ofSeconds(10);
+
+  private final AtomicLong clock = new AtomicLong();
+  private final HostChooser chooser = new HostChooser(clock::get);
+  private final List<HostSpec> hosts = HostSpec.parse("primary,replica1:5433,[::1]:5434", 5432);
+
+  @Test
+  public void parse() {
+    assertEquals(List.of(new HostSpec("primary", 5432), new HostSpec("replica1", 5433), new HostSpec("::1", 5434)),
+        hosts);
+    assertEquals(List.of(new HostSpec("::1", 5432)), HostSpec.parse("::1", 5432));
+    assertEquals("[::1]:5434", hosts.get(2).toString());
+    assertThrows(IllegalArgumentException.class, () -> HostSpec.parse("primary:port", 5432));
+  }
+
+  @Test
+  public void roundRobin() {
+    assertEquals("primary:5432", chooser.candidates(hosts, HostRequirement.ANY, true, RECHECK).get(0).getHost()
+        .toString());
+    assertEquals("replica1:5433", chooser.candidates(hosts, HostRequirement.ANY, true, RECHECK).get(0).getHost()
+        .toString());
+    assertEquals("primary:5432", chooser.candidates(hosts, HostRequirement.ANY, false, RECHECK).get(0).getHost()
+        .toString());
+  }
+
+  @Test
+  public void skipsHostsUntilRecheck() {
+    chooser.report(hosts.get(0), HostStatus.CONNECT_FAILED);
+    chooser.report(hosts.get(1), HostStatus.PRIMARY);
+    chooser.report(hosts.get(1), HostStatus.CONNECT_OK);
+
+    assertEquals(HostStatus.PRIMARY, chooser.status(hosts.get(1), RECHECK), "known role kept");
+    assertEquals("[::1]:5434 (standby), primary:5432 (standby)",
+        names(chooser.candidates(hosts, HostRequirement.STANDBY, false, RECHECK)), "failed last, primary skipped");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertEquals(null, chooser.status(hosts.get(0), RECHECK));
+    assertEquals(3, chooser.candidates(hosts, HostRequirement.STANDBY, false, RECHECK).size());
+  }
+
+  @Test
+  public void preferStandby() {
+    chooser.report(hosts.get(0), HostStatus.PRIMARY);
+    chooser.report(hosts.get(1), HostStatus.STANDBY);
+
+    assertEquals("replica1:5433 (standby), [::1]:5434 (standby), primary:5432 (any), replica1:5433 (any),"
+        + " [::1]:5434 (any)", names(chooser.candidates(hosts, HostRequirement.PREFER_STANDBY, false, RECHECK)));
+  }
+
+  @Test
+  public void laggingStandbysLast() {
+    chooser.report(hosts.get(0), HostStatus.PRIMARY);
+    chooser.reportLag(hosts.get(1), true);
+    chooser.report(hosts.get(1), HostStatus.STANDBY);
+
+    assertEquals(HostStatus.STANDBY_LAGGING, chooser.status(hosts.get(1), RECHECK), "lag kept on reconnect");
+    assertEquals("[::1]:5434 (standby)", names(chooser.candidates(hosts, HostRequirement.STANDBY, false, RECHECK)));
+    assertEquals("[::1]:5434 (standby), primary:5432 (any), [::1]:5434 (any), replica1:5433 (any)",
+        names(chooser.candidates(hosts, HostRequirement.PREFER_STANDBY, false, RECHECK)));
+
+    chooser.reportLag(hosts.get(1), false);
+    assertEquals(HostStatus.STANDBY, chooser.status(hosts.get(1), RECHECK));
+  }
+
+  @Test
+  public void replayedLsn() {
+    chooser.report(hosts.get(0), HostStatus.PRIMARY);
+    chooser.reportReplayedLsn(hosts.get(1), 0x3000060L);
+
+    assertTrue(chooser.hasReplayed(hosts.get(0), Long.MAX_VALUE), "the primary has all writes");
+    assertTrue(chooser.hasReplayed(hosts.get(1), 0x3000060L));
+    assertFalse(chooser.hasReplayed(hosts.get(1), 0x3000061L));
+    assertFalse(chooser.hasReplayed(hosts.get(2), 1L), "unknown");
+  }
+
+  @Test
+  public void requirements() {
+    assertEquals(HostRequirement.PREFER_STANDBY, HostRequirement.lookup("prefer-standby"));
+    assertEquals(HostRequirement.ANY, HostRequirement.lookup(null));
+    assertThrows(IllegalArgumentException.class, () -> HostRequirement.lookup("master"));
+
+    assertTrue(HostRequirement.READ_WRITE.accept(false, false));
+    assertFalse(HostRequirement.READ_WRITE.accept(false, true));
+    assertTrue(HostRequirement.READ_ONLY.accept(true, true));
+    assertFalse(HostRequirement.PRIMARY.accept(true, true));
+    assertTrue(HostRequirement.STANDBY.accept(true, true));
+    assertFalse(HostRequirement.PRIMARY.allowConnectingTo(HostStatus.STANDBY));
+    assertFalse(HostRequirement.ANY.allowConnectingTo(HostStatus.CONNECT_FAILED));
+  }
+
+  private static String names(List<CandidateHost> candidates) {
+    return candidates.stream().map(CandidateHost::toString).collect(Collectors.joining(", "));
+  }
+}
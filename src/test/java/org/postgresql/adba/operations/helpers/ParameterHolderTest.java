@@ -0,0 +1,65 @@
+package org.postgresql.adba.operations.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class ParameterHolderTest {
+  @Test
+  public void countPlaceholders() {
+    assertEquals(0, ParameterHolder.countPlaceholders("select 1"));
+    assertEquals(3, ParameterHolder.countPlaceholders("select $1, $3 where a = $2"));
+    assertEquals(1, ParameterHolder.countPlaceholders("select '$5', \"$4\", $1"));
+    assertEquals(0, ParameterHolder.countPlaceholders("select $$text$$"));
+  }
+
+  @Test
+  public void paramTypesInPlaceholderOrder() throws Exception {
+    ParameterHolder holder = new ParameterHolder("select $1, $2");
+    holder.add("$2", new ValueQueryParameter("text"));
+    holder.add("$1", new ValueQueryParameter(1));
+
+    assertEquals(2, holder.size());
+    assertArrayEquals(new int[] {23, 1043}, holder.getParamTypes());
+    assertSame(holder.getParamTypes(), holder.getParamTypes());
+  }
+
+  @Test
+  public void missingParameter() {
+    ParameterHolder holder = new ParameterHolder("select $1, $2");
+    holder.add("$2", new ValueQueryParameter(1));
+
+    assertThrows(IllegalStateException.class, holder::getParamTypes);
+  }
+
+  @Test
+  public void invalidName() {
+    ParameterHolder holder = new ParameterHolder("select $1");
+
+    assertThrows(IllegalArgumentException.class, () -> holder.add("$a", new ValueQueryParameter(1)));
+    assertThrows(IllegalArgumentException.class, () -> holder.add("$0", new ValueQueryParameter(1)));
+  }
+
+  @Test
+  public void resolveFutures() throws Exception {
+    ParameterHolder holder = new ParameterHolder("select $1, $2");
+    CompletableFuture<Long> value = new CompletableFuture<>();
+    holder.add("$1", new ValueQueryParameter(1));
+    holder.add("$2", new FutureQueryParameter(value));
+
+    CompletableFuture<Void> resolved = holder.resolve();
+    assertFalse(resolved.isDone());
+
+    value.complete(2L);
+    assertTrue(resolved.isDone());
+    assertNull(holder.resolve());
+    assertArrayEquals(new int[] {23, 20}, holder.getParamTypes());
+  }
+}
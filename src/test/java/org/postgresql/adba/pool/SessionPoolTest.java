@@ -0,0 +1,169 @@
+package org.postgresql.adba.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class SessionPoolTest {
+  private final AtomicLong clock = new AtomicLong();
+  private final TestFactory factory = new TestFactory();
+
+  @Test
+  public void borrowersAreServedInOrder() {
+    SessionPool<Integer> pool = pool(0, 1, true);
+    CompletableFuture<Integer> first = pool.borrow().toCompletableFuture();
+    CompletableFuture<Integer> second = pool.borrow().toCompletableFuture();
+    CompletableFuture<Integer> third = pool.borrow().toCompletableFuture();
+
+    assertEquals(Integer.valueOf(1), first.getNow(null));
+    assertFalse(second.isDone());
+
+    assertTrue(pool.release(first.join()));
+    assertEquals(Integer.valueOf(1), second.getNow(null));
+    assertFalse(third.isDone());
+    assertEquals(1, factory.opened.get());
+    assertEquals(1, pool.size());
+    assertFalse(pool.release(42), "not borrowed");
+  }
+
+  @Test
+  public void reusesReturnedSessions() {
+    SessionPool<Integer> pool = pool(0, 2, false);
+    Integer session = pool.borrow().toCompletableFuture().join();
+    pool.release(session);
+
+    assertSame(session, pool.borrow().toCompletableFuture().join());
+    assertEquals(1, factory.opened.get());
+    assertEquals(1, factory.resets.get());
+  }
+
+  @Test
+  public void replacesInvalidSessions() {
+    SessionPool<Integer> pool = pool(0, 1, true);
+    Integer session = pool.borrow().toCompletableFuture().join();
+    pool.release(session);
+    clock.addAndGet(SessionPool.VALIDATION_THRESHOLD_NANOS);
+    factory.valid = false;
+
+    assertEquals(Integer.valueOf(2), pool.borrow().toCompletableFuture().join());
+    assertEquals(List.of(1), factory.closed);
+  }
+
+  @Test
+  public void evictsIdleAndExpiredSessions() {
+    SessionPool<Integer> pool = pool(1, 3, false);
+    pool.start();
+    assertEquals(1, pool.idleCount());
+
+    CompletableFuture<Integer> first = pool.borrow().toCompletableFuture();
+    CompletableFuture<Integer> second = pool.borrow().toCompletableFuture();
+    pool.release(first.join());
+    pool.release(second.join());
+    assertEquals(2, pool.size());
+
+    clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+    pool.housekeep();
+    assertEquals(1, pool.size(), "idle session beyond the minimum size evicted");
+
+    clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+    pool.housekeep();
+    assertEquals(1, pool.size(), "expired session replaced to keep the minimum size");
+    assertEquals(3, factory.opened.get());
+    pool.close();
+  }
+
+  @Test
+  public void failedOpenFailsTheOldestBorrower() {
+    SessionPool<Integer> pool = pool(0, 1, false);
+    factory.fail = true;
+
+    CompletableFuture<Integer> borrower = pool.borrow().toCompletableFuture();
+    assertTrue(borrower.isCompletedExceptionally());
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void prefersSessionsWithAffinity() {
+    SessionPool<Integer> pool = pool(0, 3, false);
+    CompletableFuture<Integer> first = pool.borrow("a").toCompletableFuture();
+    CompletableFuture<Integer> second = pool.borrow("b").toCompletableFuture();
+    CompletableFuture<Integer> third = pool.borrow().toCompletableFuture();
+    pool.release(first.join());
+    pool.release(second.join());
+    pool.release(third.join());
+
+    assertEquals(Integer.valueOf(1), pool.borrow("a").toCompletableFuture().join(), "last borrowed with the hint");
+    factory.affinity = 2;
+    assertEquals(Integer.valueOf(2), pool.borrow("c").toCompletableFuture().join(), "the factory has affinity");
+    assertEquals(Integer.valueOf(3), pool.borrow("d").toCompletableFuture().join(), "falls back to any idle session");
+    assertEquals(3, factory.opened.get());
+  }
+
+  @Test
+  public void tryBorrowTakesOnlyReadyIdleSessions() {
+    SessionPool<Integer> pool = pool(0, 2, true);
+    assertEquals(null, pool.tryBorrow(), "nothing idle");
+
+    Integer session = pool.borrow().toCompletableFuture().join();
+    pool.release(session);
+    assertEquals(session, pool.tryBorrow());
+    pool.release(session);
+
+    clock.addAndGet(SessionPool.VALIDATION_THRESHOLD_NANOS);
+    assertEquals(null, pool.tryBorrow(), "would need validating");
+    assertEquals(1, pool.idleCount());
+  }
+
+  private SessionPool<Integer> pool(int min, int max, boolean validate) {
+    return new SessionPool<>(factory, min, max, Duration.ofMinutes(1), Duration.ofMinutes(10), validate, clock::get);
+  }
+
+  private static class TestFactory implements SessionPool.Factory<Integer> {
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+    private final List<Integer> closed = new ArrayList<>();
+    private boolean valid = true;
+    private boolean fail;
+    private Integer affinity;
+
+    @Override
+    public CompletionStage<Integer> open() {
+      if (fail) {
+        return CompletableFuture.failedFuture(new IllegalStateException("expected"));
+      }
+      return CompletableFuture.completedFuture(opened.incrementAndGet());
+    }
+
+    @Override
+    public CompletionStage<Boolean> validate(Integer session) {
+      return CompletableFuture.completedFuture(valid);
+    }
+
+    @Override
+    public CompletionStage<Void> reset(Integer session) {
+      resets.incrementAndGet();
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close(Integer session) {
+      closed.add(session);
+    }
+
+    @Override
+    public boolean hasAffinity(Integer session, Object hint) {
+      return session.equals(affinity);
+    }
+  }
+}
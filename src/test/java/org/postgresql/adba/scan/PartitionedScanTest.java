@@ -0,0 +1,53 @@
+package org.postgresql.adba.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.incubator.sql2.AdbaType;
+import org.junit.jupiter.api.Test;
+
+public class PartitionedScanTest {
+
+  @Test
+  public void hashPartitions() {
+    Partitioning hash = Partitioning.hash("id", 4);
+    PartitionedScan scan = new PartitionedScan(null, "select id, name from big", hash);
+
+    assertEquals(4, hash.getPartitions());
+    assertEquals("select * from (select id, name from big) as partitioned_scan"
+        + " where coalesce(pg_catalog.hashtext((id)::text) & 2147483647, 0) % 4 = 3", scan.partitionSql(3, null));
+    assertEquals(List.of(), hash.parameters(3));
+    assertThrows(IllegalArgumentException.class, () -> Partitioning.hash("id", 0));
+  }
+
+  @Test
+  public void rangePartitions() {
+    Partitioning ranges = Partitioning.ranges("id", AdbaType.BIGINT, 1000L, 2000L);
+    PartitionedScan scan = new PartitionedScan(null, "select * from big", ranges);
+
+    assertEquals(3, ranges.getPartitions());
+    assertEquals("select * from (select * from big) as partitioned_scan where ((id) < $1 or (id) is null) order by id",
+        scan.partitionSql(0, "id"));
+    assertEquals("(id) >= $1 and (id) < $2", ranges.predicate(1));
+    assertEquals(List.of(1000L, 2000L), ranges.parameters(1));
+    assertEquals("(id) >= $1", ranges.predicate(2));
+    assertEquals(List.of(2000L), ranges.parameters(2));
+    assertEquals("true", Partitioning.ranges("id", AdbaType.BIGINT).predicate(0));
+
+    assertThrows(IllegalArgumentException.class, () -> Partitioning.ranges("id", AdbaType.BIGINT, 2000L, 1000L));
+    assertThrows(IllegalArgumentException.class, () -> Partitioning.ranges("id", AdbaType.BIGINT, (Object) null));
+  }
+
+  @Test
+  public void mergesOrderedPartitions() {
+    List<List<Integer>> partitions = List.of(List.of(1, 4, 7), List.of(), List.of(2, 3, 8, 9), List.of(5, 6));
+
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9),
+        PartitionedScan.merge(partitions, Comparator.naturalOrder(), Collectors.toList()));
+    assertEquals("9,8", PartitionedScan.merge(List.of(List.of(9), List.of(8)), Comparator.reverseOrder(),
+        Collectors.mapping(String::valueOf, Collectors.joining(","))));
+  }
+}
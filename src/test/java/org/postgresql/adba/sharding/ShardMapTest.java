@@ -0,0 +1,69 @@
+package org.postgresql.adba.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import jdk.incubator.sql2.AdbaType;
+import org.junit.jupiter.api.Test;
+
+public class ShardMapTest {
+  private final Shard first = new Shard("first", "db1:5432,db1-replica:5432");
+  private final Shard second = new Shard("second", "db2");
+  private final Shard third = new Shard("third", "db3");
+
+  @Test
+  public void buildKeys() {
+    PgShardingKey key = key("tenant-1", 42);
+    assertEquals(2, key.getSubkeys().size());
+    assertEquals(key, key("tenant-1", 42));
+    assertNotEquals(key, key(42, "tenant-1"));
+    assertThrows(IllegalStateException.class, () -> new PgShardingKeyBuilder().build());
+    assertThrows(IllegalArgumentException.class, () -> new PgShardingKeyBuilder().subkey(null, AdbaType.VARCHAR));
+  }
+
+  @Test
+  public void hashSpreadsKeysOverShards() {
+    HashShardMap map = new HashShardMap(first, second, third);
+    Set<Shard> used = new HashSet<>();
+    for (int tenant = 0; tenant < 30; tenant++) {
+      Shard shard = map.shardFor(key("tenant-" + tenant), null);
+      assertEquals(shard, map.shardFor(key("tenant-" + tenant), null), "stable");
+      used.add(shard);
+    }
+    assertEquals(3, used.size());
+  }
+
+  @Test
+  public void hashesOnlyValueSubkeys() {
+    HashShardMap map = new HashShardMap(first, second, third);
+    UUID tenant = UUID.randomUUID();
+    assertEquals(map.shardFor(key(tenant, LocalDate.of(2024, 1, 31)), null),
+        map.shardFor(key(UUID.fromString(tenant.toString()), LocalDate.of(2024, 1, 31)), null));
+    assertEquals(map.shardFor(key(new byte[] {1, 2}), null), map.shardFor(key(new byte[] {1, 2}), null));
+    assertThrows(IllegalArgumentException.class, () -> map.shardFor(key(new Object()), null));
+    assertThrows(IllegalArgumentException.class, () -> map.shardFor(key("tenant-1", new StringBuilder("a")), null));
+  }
+
+  @Test
+  public void rangesByFirstSubkey() {
+    RangeShardMap map = new RangeShardMap().shard(0, first).shard(1000, second).shard(2000, third);
+    assertEquals(first, map.shardFor(key(999, "ignored"), null));
+    assertEquals(second, map.shardFor(key(1000), null));
+    assertEquals(third, map.shardFor(key(5000), null));
+    assertThrows(IllegalArgumentException.class, () -> map.shardFor(key(-1), null));
+    assertThrows(IllegalArgumentException.class, () -> map.shardFor(key("abc"), null));
+  }
+
+  private static PgShardingKey key(Object... subkeys) {
+    PgShardingKeyBuilder builder = new PgShardingKeyBuilder();
+    for (Object subkey : subkeys) {
+      builder.subkey(subkey, subkey instanceof String ? AdbaType.VARCHAR : AdbaType.INTEGER);
+    }
+    return (PgShardingKey) builder.build();
+  }
+}
@@ -0,0 +1,130 @@
+package org.postgresql.adba.submissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import jdk.incubator.sql2.SqlSkippedException;
+import org.junit.jupiter.api.Test;
+
+public class GroupSubmissionTest {
+
+  @Test
+  public void skipsHeldMembersWhenTheConditionIsFalse() {
+    CompletableFuture<Boolean> condition = new CompletableFuture<>();
+    GroupSubmission<Object> group = new GroupSubmission<>(() -> true, null);
+    group.setCondition(condition);
+    List<Boolean> released = new ArrayList<>();
+    group.whenReleased(released::add);
+
+    LocalSubmission<Object> member = new LocalSubmission<>(() -> true, null, () -> 1, group);
+    assertTrue(group.hold(null, member), "held while the condition is pending");
+    assertFalse(member.getCompletionStage().toCompletableFuture().isDone());
+    assertEquals(List.of(), released);
+
+    condition.complete(false);
+    CompletionException skipped = assertThrows(CompletionException.class,
+        () -> member.getCompletionStage().toCompletableFuture().join());
+    assertTrue(skipped.getCause() instanceof SqlSkippedException);
+    assertEquals(List.of(false), released);
+
+    LocalSubmission<Object> late = new LocalSubmission<>(() -> true, null, () -> 2, group);
+    assertTrue(group.hold(null, late), "skipped once the condition is false");
+    assertTrue(late.getCompletionStage().toCompletableFuture().isCompletedExceptionally());
+  }
+
+  @Test
+  public void submitsMembersOnceTheConditionIsTrue() {
+    GroupSubmission<Object> group = new GroupSubmission<>(() -> true, null);
+    group.setCondition(CompletableFuture.completedFuture(true));
+
+    assertFalse(group.hold(null, new LocalSubmission<>(() -> true, null, () -> 1, group)));
+  }
+
+  @Test
+  public void combinesTheResultsOfTheLanes() {
+    GroupSubmission<List<Integer>> group = new GroupSubmission<>(() -> true, null);
+    group.setCollector(Collectors.toList());
+    GroupSubmission<List<Integer>> first = group.newLane();
+    GroupSubmission<List<Integer>> second = group.newLane();
+    first.addGroupResult(1);
+    second.addGroupResult(2);
+    first.addGroupResult(3);
+
+    group.combine(first);
+    group.combine(second);
+    group.finish(null);
+    assertEquals(List.of(1, 3, 2), group.getCompletionStage().toCompletableFuture().join());
+  }
+
+  @Test
+  public void independentGroupCompletesAfterAFailedLastMember() {
+    GroupSubmission<List<Integer>> group = new GroupSubmission<>(() -> true, null);
+    group.setCollector(Collectors.toList());
+    group.setIndependent(true);
+    LocalSubmission<Integer> first = new LocalSubmission<>(() -> true, null, () -> 1, group);
+    LocalSubmission<Integer> last = new LocalSubmission<>(() -> true, null, () -> {
+      throw new IllegalStateException("failed");
+    }, group);
+    group.addMember(first);
+    group.addMember(last);
+
+    group.finishWhenMembersComplete();
+    first.finish(null);
+    assertFalse(group.getCompletionStage().toCompletableFuture().isDone());
+    last.finish(null);
+
+    assertEquals(List.of(1), group.getCompletionStage().toCompletableFuture().join());
+  }
+
+  @Test
+  public void dependentLanesFailWithTheFirstFailedMember() {
+    GroupSubmission<List<Integer>> group = new GroupSubmission<>(() -> true, null);
+    group.setCollector(Collectors.toList());
+    GroupSubmission<List<Integer>> lane = group.newLane();
+    LocalSubmission<Integer> failed = new LocalSubmission<>(() -> true, null, () -> {
+      throw new IllegalStateException("first");
+    }, lane);
+    LocalSubmission<Integer> later = new LocalSubmission<>(() -> true, null, () -> {
+      throw new IllegalArgumentException("second");
+    }, lane);
+    lane.addMember(failed);
+    lane.addMember(later);
+
+    CompletableFuture<Throwable> completed = lane.membersCompleted();
+    later.finish(null);
+    failed.finish(null);
+    Throwable failure = completed.join();
+    assertTrue(failure instanceof IllegalStateException);
+
+    group.finishMembers(failure);
+    CompletionException thrown = assertThrows(CompletionException.class,
+        () -> group.getCompletionStage().toCompletableFuture().join());
+    assertEquals("first", thrown.getCause().getMessage());
+  }
+
+  @Test
+  public void membersHeldWhileReleasingAreReleasedAfter() {
+    CompletableFuture<Boolean> condition = new CompletableFuture<>();
+    GroupSubmission<Object> group = new GroupSubmission<>(() -> true, null);
+    group.setCondition(condition);
+    List<String> order = new ArrayList<>();
+    group.whenReleased(executed -> order.add("released"));
+
+    LocalSubmission<Object> late = new LocalSubmission<>(() -> true, t -> order.add("late"), () -> 2, group);
+    LocalSubmission<Object> first = new LocalSubmission<>(() -> true, t -> {
+      order.add("first");
+      assertTrue(group.hold(null, late), "held behind the members being released");
+    }, () -> 1, group);
+    assertTrue(group.hold(null, first));
+
+    condition.complete(false);
+    assertEquals(List.of("first", "late", "released"), order);
+  }
+}
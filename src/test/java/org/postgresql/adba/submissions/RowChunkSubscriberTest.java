@@ -0,0 +1,60 @@
+package org.postgresql.adba.submissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import jdk.incubator.sql2.Result;
+import org.junit.jupiter.api.Test;
+
+public class RowChunkSubscriberTest {
+  @Test
+  public void signalsRowsWithinDemand() throws Exception {
+    List<Long> received = new ArrayList<>();
+    CountDownLatch complete = new CountDownLatch(1);
+    SubmissionPublisher<List<Result.RowColumn>> publisher = new SubmissionPublisher<>();
+    publisher.subscribe(new RowChunkSubscriber(new Flow.Subscriber<Result.RowColumn>() {
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(Result.RowColumn item) {
+        received.add(item.rowNumber());
+        subscription.request(1);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        complete.countDown();
+      }
+    }));
+
+    publisher.submit(rows(0, 3));
+    publisher.submit(rows(3, 3));
+    publisher.submit(rows(6, 1));
+    publisher.close();
+
+    assertTrue(complete.await(10, TimeUnit.SECONDS));
+    assertEquals(LongStream.range(0, 7).boxed().collect(Collectors.toList()), received);
+  }
+
+  private static List<Result.RowColumn> rows(long first, int count) {
+    return LongStream.range(first, first + count).mapToObj(RowSubmissionTest::row).collect(Collectors.toList());
+  }
+}
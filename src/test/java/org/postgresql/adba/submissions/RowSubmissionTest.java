@@ -0,0 +1,115 @@
+package org.postgresql.adba.submissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import jdk.incubator.sql2.Result;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.PgBatchCollector;
+import org.postgresql.adba.communication.network.Query;
+import org.postgresql.adba.communication.packets.DataRow;
+import org.postgresql.adba.communication.packets.RowDescription;
+import org.postgresql.adba.communication.packets.parts.ColumnDescription;
+import org.postgresql.adba.operations.helpers.ParameterHolder;
+
+public class RowSubmissionTest {
+  private static final RowDescription DESCRIPTION = new RowDescription(new ColumnDescription[] {
+      new ColumnDescription("id", 0, (short) 0, 23, (short) 4, -1, (short) 0)});
+  private static final int BATCH = 100;
+
+  @Test
+  public void collectInParallelKeepsOrder() throws Exception {
+    int rows = BATCH * 3 + 7;
+    RowSubmission<List<Long>> submission = new RowSubmission<>(() -> true, null, new ParameterHolder(), null, "");
+    submission.setCollector(Collectors.mapping((Result.RowColumn row) -> row.rowNumber(), Collectors.toList()));
+    submission.setRowBatchSize(BATCH);
+    submission.collectInParallel(ForkJoinPool.commonPool());
+
+    for (long i = 0; i < rows; i++) {
+      submission.addRow(row(i));
+    }
+    submission.finish(null);
+
+    // completed by the caller of finish, in the order of the submissions
+    assertTrue(submission.getCompletionStage().toCompletableFuture().isDone());
+    List<Long> collected = submission.getCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    assertEquals(LongStream.range(0, rows).boxed().collect(Collectors.toList()), collected);
+  }
+
+  @Test
+  public void batchCollectorTakesChunks() throws Exception {
+    List<Integer> chunkSizes = new ArrayList<>();
+    RowSubmission<Integer> submission = new RowSubmission<>(() -> true, null, new ParameterHolder(), null, "");
+    submission.setCollector(new PgBatchCollector<Result.RowColumn, int[], Integer>() {
+      @Override
+      public BiConsumer<int[], List<Result.RowColumn>> batchAccumulator() {
+        return (count, rows) -> {
+          chunkSizes.add(rows.size());
+          count[0] += rows.size();
+        };
+      }
+
+      @Override
+      public Supplier<int[]> supplier() {
+        return () -> new int[1];
+      }
+
+      @Override
+      public BiConsumer<int[], Result.RowColumn> accumulator() {
+        return (count, row) -> count[0]++;
+      }
+
+      @Override
+      public BinaryOperator<int[]> combiner() {
+        return (a, b) -> new int[] {a[0] + b[0]};
+      }
+
+      @Override
+      public Function<int[], Integer> finisher() {
+        return count -> count[0];
+      }
+
+      @Override
+      public Set<Characteristics> characteristics() {
+        return Collections.emptySet();
+      }
+    });
+
+    submission.setRowBatchSize(BATCH);
+
+    for (long i = 0; i < BATCH + 1; i++) {
+      submission.addRow(row(i));
+    }
+    submission.finish(null);
+
+    assertEquals(Integer.valueOf(BATCH + 1), submission.getCompletionStage().toCompletableFuture().get());
+    assertEquals(Arrays.asList(BATCH, 1), chunkSizes);
+  }
+
+  @Test
+  public void collectInParallelWithoutRows() throws Exception {
+    RowSubmission<Long> submission = new RowSubmission<>(() -> true, null, new ParameterHolder(), null, "");
+    submission.setCollector(Collectors.counting());
+    submission.collectInParallel(ForkJoinPool.commonPool());
+    submission.finish(null);
+
+    assertEquals(Long.valueOf(0), submission.getCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS));
+  }
+
+  static DataRow row(long rowNumber) {
+    return new DataRow(new byte[] {0x00, 0x01, 0x00, 0x00, 0x00, 0x01, '1'}, DESCRIPTION, rowNumber, new Query());
+  }
+}
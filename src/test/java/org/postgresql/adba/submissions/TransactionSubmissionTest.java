@@ -0,0 +1,52 @@
+package org.postgresql.adba.submissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.CompletableFuture;
+import jdk.incubator.sql2.TransactionOutcome;
+import org.junit.jupiter.api.Test;
+import org.postgresql.adba.ReadYourWritesContext;
+import org.postgresql.adba.communication.packets.CommandComplete;
+
+public class TransactionSubmissionTest {
+
+  @Test
+  public void commitCompletesOnceTheLsnIsRecorded() {
+    ReadYourWritesContext context = new ReadYourWritesContext();
+    CompletableFuture<String> lsn = new CompletableFuture<>();
+    TransactionSubmission submission = new TransactionSubmission(() -> true, null, "COMMIT TRANSACTION");
+    submission.advanceOnCommit(context, lsn);
+
+    submission.finish(CommandComplete.Types.COMMIT);
+    assertFalse(submission.getCompletionStage().toCompletableFuture().isDone());
+
+    lsn.complete("16/B374D848");
+    assertEquals(ReadYourWritesContext.parseLsn("16/B374D848"), context.getLsn());
+    assertEquals(TransactionOutcome.COMMIT, submission.getCompletionStage().toCompletableFuture().join());
+  }
+
+  @Test
+  public void rollbackDoesNotAdvance() {
+    ReadYourWritesContext context = new ReadYourWritesContext();
+    TransactionSubmission submission = new TransactionSubmission(() -> true, null, "COMMIT TRANSACTION");
+    submission.advanceOnCommit(context, CompletableFuture.completedFuture("16/B374D848"));
+
+    submission.finish(CommandComplete.Types.ROLLBACK);
+
+    assertEquals(0, context.getLsn());
+    assertEquals(TransactionOutcome.ROLLBACK, submission.getCompletionStage().toCompletableFuture().join());
+  }
+
+  @Test
+  public void failedLsnStillCompletesTheCommit() {
+    ReadYourWritesContext context = new ReadYourWritesContext();
+    TransactionSubmission submission = new TransactionSubmission(() -> true, null, "COMMIT TRANSACTION");
+    submission.advanceOnCommit(context, CompletableFuture.failedFuture(new IllegalStateException("standby")));
+
+    submission.finish(CommandComplete.Types.COMMIT);
+
+    assertEquals(0, context.getLsn());
+    assertEquals(TransactionOutcome.COMMIT, submission.getCompletionStage().toCompletableFuture().join());
+  }
+}
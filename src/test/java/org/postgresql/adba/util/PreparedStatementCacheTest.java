@@ -3,8 +3,6 @@ package org.postgresql.adba.util;
 import org.junit.jupiter.api.Test;
 import org.postgresql.adba.communication.PreparedStatementCache;
 
-import java.util.Arrays;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -14,15 +12,15 @@ public class PreparedStatementCacheTest {
   public void getNameForQuery() {
     PreparedStatementCache cache = new PreparedStatementCache();
 
-    String name = cache.getQuery("select 1", Arrays.asList(1, 2)).getQueryName();
-    assertEquals(name, cache.getQuery("select 1", Arrays.asList(1, 2)).getQueryName());
-    assertEquals(name, cache.getQuery("select 1", Arrays.asList(1, 2)).getQueryName());
+    String name = cache.getQuery("select 1", new int[] {1, 2}).getQueryName();
+    assertEquals(name, cache.getQuery("select 1", new int[] {1, 2}).getQueryName());
+    assertEquals(name, cache.getQuery("select 1", new int[] {1, 2}).getQueryName());
   }
 
   @Test
   public void getNameForQueryNull() {
     PreparedStatementCache cache = new PreparedStatementCache();
 
-    assertThrows(IllegalArgumentException.class, () -> cache.getQuery(null, Arrays.asList(1, 2)));
+    assertThrows(IllegalArgumentException.class, () -> cache.getQuery(null, new int[] {1, 2}));
   }
 }
\ No newline at end of file